@@ -13,6 +13,7 @@ import com.salesway.common.enums.MembershipStatus;
 import com.salesway.leads.repository.LeadRepository;
 import com.salesway.memberships.entity.CompanyMembership;
 import com.salesway.memberships.repository.CompanyMembershipRepository;
+import com.salesway.security.PrincipalCache;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -33,6 +34,7 @@ public class SuperAdminCompanyService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final SuperAdminAccessService superAdminAccessService;
+    private final PrincipalCache principalCache;
 
     public SuperAdminCompanyService(
             CompanyRepository companyRepository,
@@ -40,7 +42,8 @@ public class SuperAdminCompanyService {
             LeadRepository leadRepository,
             UserRepository userRepository,
             PasswordEncoder passwordEncoder,
-            SuperAdminAccessService superAdminAccessService
+            SuperAdminAccessService superAdminAccessService,
+            PrincipalCache principalCache
     ) {
         this.companyRepository = companyRepository;
         this.companyMembershipRepository = companyMembershipRepository;
@@ -48,6 +51,7 @@ public class SuperAdminCompanyService {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.superAdminAccessService = superAdminAccessService;
+        this.principalCache = principalCache;
     }
 
     @Transactional(readOnly = true)
@@ -106,6 +110,7 @@ public class SuperAdminCompanyService {
         membership.setRole(MembershipRole.MANAGER);
         membership.setStatus(MembershipStatus.ACTIVE);
         companyMembershipRepository.save(membership);
+        principalCache.invalidate(user.getId());
 
         return new SuperAdminCompanyCreateResponse(
                 company.getId(),
@@ -64,6 +64,16 @@ public class AuthController {
         return ResponseEntity.ok(authService.googleLogin(request));
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails userDetails)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
+        }
+        var activeMembership = companyAccessService.getActiveMembership();
+        return ResponseEntity.ok(authService.refreshAccessToken(userDetails.getUser().getId(), activeMembership));
+    }
+
     @PostMapping("/signup")
     public ResponseEntity<SignupResponse> signup(@Valid @RequestBody SignupRequest request) {
         return ResponseEntity.ok(authService.signup(request));
@@ -131,7 +141,7 @@ public class AuthController {
         request.setFirstName(firstName);
         request.setLastName(lastName);
         request.setCompanyName(companyName);
-        stripeBillingService.sendPaymentLink(request, resolveClientIp(httpServletRequest));
+        stripeBillingService.sendPaymentLink(request, httpServletRequest.getRemoteAddr());
 
         return ResponseEntity.accepted().body(new CheckoutValidationResponse("Payment link sent", java.util.List.of()));
     }
@@ -141,7 +151,7 @@ public class AuthController {
             @Valid @RequestBody ForgotPasswordRequest request,
             HttpServletRequest httpServletRequest
     ) {
-        authService.requestPasswordReset(request, resolveClientIp(httpServletRequest));
+        authService.requestPasswordReset(request, httpServletRequest.getRemoteAddr());
         return ResponseEntity.ok(new AuthMessageResponse(
                 "Dacă adresa există în sistem, am trimis instrucțiunile pentru resetarea parolei."
         ));
@@ -153,19 +163,6 @@ public class AuthController {
         return ResponseEntity.noContent().build();
     }
 
-    private String resolveClientIp(HttpServletRequest request) {
-        String forwardedFor = request.getHeader("X-Forwarded-For");
-        if (forwardedFor != null && !forwardedFor.isBlank()) {
-            int separatorIndex = forwardedFor.indexOf(',');
-            return separatorIndex >= 0 ? forwardedFor.substring(0, separatorIndex).trim() : forwardedFor.trim();
-        }
-        String realIp = request.getHeader("X-Real-IP");
-        if (realIp != null && !realIp.isBlank()) {
-            return realIp.trim();
-        }
-        return request.getRemoteAddr();
-    }
-
     @GetMapping("/me")
     public ResponseEntity<CurrentUserResponse> currentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -12,6 +12,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.Instant;
 
@@ -64,6 +65,11 @@ public class User extends AuditedEntity {
     @Column(name = "platform_role", nullable = false)
     private PlatformRole platformRole = PlatformRole.USER;
 
+    // bumped in bulk whenever claims embedded in issued access tokens go stale
+    @ColumnDefault("0")
+    @Column(name = "token_version", nullable = false, insertable = false, updatable = false)
+    private long tokenVersion;
+
     public String getEmail() {
         return email;
     }
@@ -159,4 +165,8 @@ public class User extends AuditedEntity {
     public void setPlatformRole(PlatformRole platformRole) {
         this.platformRole = platformRole;
     }
+
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
 }
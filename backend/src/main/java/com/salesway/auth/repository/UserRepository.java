@@ -2,7 +2,12 @@ package com.salesway.auth.repository;
 
 import com.salesway.auth.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,4 +19,14 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByGoogleSub(String googleSub);
 
     long countByIsActiveTrue();
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Long> findTokenVersionById(@Param("id") UUID id);
+
+    @Query("select u.id, u.tokenVersion from User u where u.id in :ids")
+    List<Object[]> findTokenVersionsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.id in :ids")
+    int incrementTokenVersions(@Param("ids") Collection<UUID> ids);
 }
@@ -29,6 +29,8 @@ import com.salesway.memberships.repository.CompanyMembershipRepository;
 import com.salesway.notifications.service.NotificationService;
 import com.salesway.security.CustomUserDetails;
 import com.salesway.security.JwtService;
+import com.salesway.security.PrincipalCache;
+import com.salesway.security.TokenVersionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -49,7 +51,6 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Base64;
 import java.util.EnumSet;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -77,6 +78,8 @@ public class AuthService {
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final EmailService emailService;
     private final SubscriptionAccessService subscriptionAccessService;
+    private final PrincipalCache principalCache;
+    private final TokenVersionService tokenVersionService;
     private final String resetPasswordBaseUrl;
     private final SecureRandom secureRandom = new SecureRandom();
     private final Map<String, PasswordResetRateLimitEntry> passwordResetRateLimitEntries = new ConcurrentHashMap<>();
@@ -95,6 +98,8 @@ public class AuthService {
             PasswordResetTokenRepository passwordResetTokenRepository,
             EmailService emailService,
             SubscriptionAccessService subscriptionAccessService,
+            PrincipalCache principalCache,
+            TokenVersionService tokenVersionService,
             @Value("${app.auth.reset-password-base-url:http://localhost:3000/reset-password}") String resetPasswordBaseUrl
     ) {
         this.authenticationManager = authenticationManager;
@@ -110,6 +115,8 @@ public class AuthService {
         this.passwordResetTokenRepository = passwordResetTokenRepository;
         this.emailService = emailService;
         this.subscriptionAccessService = subscriptionAccessService;
+        this.principalCache = principalCache;
+        this.tokenVersionService = tokenVersionService;
         this.resetPasswordBaseUrl = resetPasswordBaseUrl;
     }
 
@@ -129,10 +136,7 @@ public class AuthService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "No company access"));
         notifyLogin(user);
 
-        String token = jwtService.generateToken(
-                user.getEmail(),
-                buildJwtClaims(user, membership)
-        );
+        String token = issueAccessToken(user, membership);
 
         return new LoginResponse(token, user.getId(), user.getEmail(), user.getLastLoginAt());
     }
@@ -163,11 +167,21 @@ public class AuthService {
         user.setLastLoginAt(Instant.now());
         userRepository.save(user);
 
-        String token = jwtService.generateToken(
-                user.getEmail(),
-                buildJwtClaims(user, membership)
-        );
+        String token = issueAccessToken(user, membership);
+
+        return new LoginResponse(token, user.getId(), user.getEmail(), user.getLastLoginAt());
+    }
 
+    /**
+     * Re-issues the access token from the current user and membership state, so claims that
+     * went stale after a membership change are trusted again.
+     */
+    @Transactional(readOnly = true)
+    public LoginResponse refreshAccessToken(UUID userId, CompanyMembership membership) {
+        User user = userRepository.findById(userId)
+                .filter(candidate -> Boolean.TRUE.equals(candidate.getIsActive()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized"));
+        String token = issueAccessToken(user, membership);
         return new LoginResponse(token, user.getId(), user.getEmail(), user.getLastLoginAt());
     }
 
@@ -195,10 +209,14 @@ public class AuthService {
 
     @Transactional
     public User updateProfile(CustomUserDetails userDetails, UpdateProfileRequest request) {
-        User user = userDetails.getUser();
+        // the principal may be the shared cached instance; change a managed copy instead
+        User user = userRepository.findById(userDetails.getUser().getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing authentication"));
         user.setFirstName(request.getFirstName().trim());
         user.setLastName(request.getLastName().trim());
-        return userRepository.save(user);
+        user = userRepository.save(user);
+        principalCache.invalidate(user.getId());
+        return user;
     }
 
     @Transactional
@@ -250,6 +268,7 @@ public class AuthService {
         user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
         user.setPasswordUpdatedAt(Instant.now());
         userRepository.save(user);
+        principalCache.invalidate(user.getId());
 
         Instant usedAt = Instant.now();
         resetToken.setUsedAt(usedAt);
@@ -413,7 +432,9 @@ public class AuthService {
         membership.setUser(user);
         membership.setRole(MembershipRole.MANAGER);
         membership.setStatus(MembershipStatus.ACTIVE);
-        return companyMembershipRepository.save(membership);
+        membership = companyMembershipRepository.save(membership);
+        principalCache.invalidate(user.getId());
+        return membership;
     }
 
     private CompanyMembership acceptAgentInvitation(User user, String googleEmail, String inviteToken) {
@@ -463,16 +484,13 @@ public class AuthService {
         invitation.setStatus(InvitationStatus.ACCEPTED);
         invitation.setAcceptedAt(Instant.now());
         invitationRepository.save(invitation);
+        principalCache.invalidate(user.getId());
 
         return membership;
     }
 
-    private Map<String, Object> buildJwtClaims(User user, CompanyMembership membership) {
-        Map<String, Object> claims = new LinkedHashMap<>();
-        claims.put("userId", user.getId().toString());
-        claims.put("companyId", membership.getCompany().getId().toString());
-        claims.put("role", membership.getRole().name());
-        return claims;
+    private String issueAccessToken(User user, CompanyMembership membership) {
+        return jwtService.generateAccessToken(user, membership, tokenVersionService.issueVersion(user.getId()));
     }
 
     private void validateSignup(SignupRequest request, String normalizedEmail) {
@@ -527,6 +545,7 @@ public class AuthService {
         membership.setStatus(MembershipStatus.ACTIVE);
         membership.setManagerMembership(managerMembership);
         companyMembershipRepository.save(membership);
+        principalCache.invalidate(user.getId());
     }
 
     private Optional<CompanyMembership> getPreferredActiveMembership(User user) {
@@ -633,6 +652,7 @@ public class AuthService {
             membership.setManagerMembership(creationContext.managerMembership());
         }
         companyMembershipRepository.save(membership);
+        principalCache.invalidate(user.getId());
     }
 
     private boolean hasText(String value) {
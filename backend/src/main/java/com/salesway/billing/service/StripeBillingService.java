@@ -24,6 +24,7 @@ import com.salesway.manager.service.CompanyAccessService;
 import com.salesway.memberships.entity.CompanyMembership;
 import com.salesway.memberships.repository.CompanyMembershipRepository;
 import com.salesway.security.JwtService;
+import com.salesway.security.TokenVersionService;
 import com.stripe.exception.EventDataObjectDeserializationException;
 import com.stripe.exception.SignatureVerificationException;
 import com.stripe.exception.StripeException;
@@ -51,7 +52,6 @@ import java.net.URI;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.EnumSet;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -85,6 +85,7 @@ public class StripeBillingService {
     private final ProcessedStripeEventRepository processedStripeEventRepository;
     private final PlanCatalogService planCatalogService;
     private final EmailService emailService;
+    private final TokenVersionService tokenVersionService;
     private final Map<String, Instant> recentPaymentLinkRequests = new ConcurrentHashMap<>();
 
     public StripeBillingService(
@@ -100,7 +101,8 @@ public class StripeBillingService {
             PendingSignupRepository pendingSignupRepository,
             ProcessedStripeEventRepository processedStripeEventRepository,
             PlanCatalogService planCatalogService,
-            EmailService emailService
+            EmailService emailService,
+            TokenVersionService tokenVersionService
     ) {
         this.companyAccessService = companyAccessService;
         this.companyRepository = companyRepository;
@@ -115,6 +117,7 @@ public class StripeBillingService {
         this.processedStripeEventRepository = processedStripeEventRepository;
         this.planCatalogService = planCatalogService;
         this.emailService = emailService;
+        this.tokenVersionService = tokenVersionService;
     }
 
     public URI createCheckoutSession(CreateCheckoutSessionRequest request) {
@@ -524,7 +527,7 @@ public class StripeBillingService {
         user.setLastLoginAt(Instant.now());
         userRepository.save(user);
 
-        String token = jwtService.generateToken(user.getEmail(), buildJwtClaims(user, membership));
+        String token = jwtService.generateAccessToken(user, membership, tokenVersionService.issueVersion(user.getId()));
         return new LoginResponse(token, user.getId(), user.getEmail(), user.getLastLoginAt());
     }
 
@@ -958,14 +961,6 @@ public class StripeBillingService {
                         .findFirst());
     }
 
-    private Map<String, Object> buildJwtClaims(User user, CompanyMembership membership) {
-        Map<String, Object> claims = new LinkedHashMap<>();
-        claims.put("userId", user.getId().toString());
-        claims.put("companyId", membership.getCompany().getId().toString());
-        claims.put("role", membership.getRole().name());
-        return claims;
-    }
-
     private String normalizeEmail(String rawEmail) {
         String email = requireText(rawEmail, "email is required").toLowerCase();
         if (!email.contains("@")) {
@@ -3,6 +3,7 @@ package com.salesway.billing.service;
 import com.salesway.companies.entity.Company;
 import com.salesway.companies.repository.CompanyRepository;
 import com.salesway.leads.repository.LeadRepository;
+import com.salesway.leads.service.LeadListViewService;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,13 +19,16 @@ public class SubscriptionGracePeriodService {
 
     private final CompanyRepository companyRepository;
     private final LeadRepository leadRepository;
+    private final LeadListViewService leadListViewService;
 
     public SubscriptionGracePeriodService(
             CompanyRepository companyRepository,
-            LeadRepository leadRepository
+            LeadRepository leadRepository,
+            LeadListViewService leadListViewService
     ) {
         this.companyRepository = companyRepository;
         this.leadRepository = leadRepository;
+        this.leadListViewService = leadListViewService;
     }
 
     @Scheduled(cron = "${app.billing.subscription-grace-scan-cron:0 */15 * * * *}")
@@ -34,6 +38,7 @@ public class SubscriptionGracePeriodService {
         List<Company> companies = companyRepository.findBySubscriptionGraceUntilBeforeAndLeadsDeactivatedAtIsNull(now);
         for (Company company : companies) {
             int deactivatedLeads = leadRepository.deactivateByCompanyId(company.getId());
+            leadListViewService.deactivateByCompanyId(company.getId());
             company.setLeadsDeactivatedAt(now);
             companyRepository.save(company);
             log.info(
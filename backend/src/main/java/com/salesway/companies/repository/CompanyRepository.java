@@ -2,6 +2,7 @@ package com.salesway.companies.repository;
 
 import com.salesway.companies.entity.Company;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.Instant;
 import java.util.List;
@@ -16,4 +17,7 @@ public interface CompanyRepository extends JpaRepository<Company, UUID> {
     Optional<Company> findByStripeSubscriptionId(String stripeSubscriptionId);
 
     List<Company> findBySubscriptionGraceUntilBeforeAndLeadsDeactivatedAtIsNull(Instant now);
+
+    @Query("SELECT DISTINCT c.timezone FROM Company c")
+    List<String> findDistinctTimezones();
 }
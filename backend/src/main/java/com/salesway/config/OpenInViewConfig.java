@@ -0,0 +1,28 @@
+package com.salesway.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open-in-view for every request except the long-lived streams. A stream's request lasts until
+ * the stream closes, and the entity manager bound to it would hold a pooled connection for all
+ * of that time. Declaring the interceptor here replaces the one Spring Boot registers for every
+ * path.
+ */
+@Configuration
+public class OpenInViewConfig implements WebMvcConfigurer {
+    static final String[] STREAM_PATHS = {"/manager/overview/stream"};
+
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor()).excludePathPatterns(STREAM_PATHS);
+    }
+}
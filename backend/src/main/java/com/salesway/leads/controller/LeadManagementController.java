@@ -1,5 +1,6 @@
 package com.salesway.leads.controller;
 
+import com.salesway.leads.dto.CursorPageResponse;
 import com.salesway.leads.dto.LeadDetailResponse;
 import com.salesway.leads.dto.LeadEventResponse;
 import com.salesway.leads.dto.LeadListItemResponse;
@@ -12,18 +13,27 @@ import com.salesway.leads.dto.LeadAnswersUpdateRequest;
 import com.salesway.leads.dto.LeadCallCreateRequest;
 import com.salesway.leads.dto.LeadDetailAnswerItemResponse;
 import com.salesway.leads.dto.LeadNoteRequest;
+import com.salesway.leads.dto.LeadOverviewResponse;
 import com.salesway.leads.dto.LeadTaskCreateRequest;
+import com.salesway.leads.dto.LeadFacetsResponse;
 import com.salesway.leads.dto.LeadFormResponse;
+import com.salesway.leads.dto.LeadImportResponse;
 import com.salesway.leads.dto.LeadStageUpdateRequest;
 import com.salesway.leads.dto.LeadStatusUpdateRequest;
 import com.salesway.leads.service.LeadDetailsService;
 import com.salesway.leads.dto.LeadScoringEnqueueResponse;
 import com.salesway.leads.service.LeadAiInsightsAsyncService;
 import com.salesway.leads.service.LeadAsyncScoringService;
+import com.salesway.leads.service.LeadExportService;
+import com.salesway.leads.service.LeadFacetService;
+import com.salesway.leads.service.LeadOverviewService;
+import com.salesway.leads.service.LeadImportService;
 import com.salesway.tasks.dto.TaskBoardResponse;
 import com.salesway.leads.service.LeadManagementService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -34,6 +44,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -45,17 +57,29 @@ public class LeadManagementController {
     private final LeadDetailsService leadDetailsService;
     private final LeadAsyncScoringService leadAsyncScoringService;
     private final LeadAiInsightsAsyncService leadAiInsightsAsyncService;
+    private final LeadImportService leadImportService;
+    private final LeadExportService leadExportService;
+    private final LeadFacetService leadFacetService;
+    private final LeadOverviewService leadOverviewService;
 
     public LeadManagementController(
             LeadManagementService leadManagementService,
             LeadDetailsService leadDetailsService,
             LeadAsyncScoringService leadAsyncScoringService,
-            LeadAiInsightsAsyncService leadAiInsightsAsyncService
+            LeadAiInsightsAsyncService leadAiInsightsAsyncService,
+            LeadImportService leadImportService,
+            LeadExportService leadExportService,
+            LeadFacetService leadFacetService,
+            LeadOverviewService leadOverviewService
     ) {
         this.leadManagementService = leadManagementService;
         this.leadDetailsService = leadDetailsService;
         this.leadAsyncScoringService = leadAsyncScoringService;
         this.leadAiInsightsAsyncService = leadAiInsightsAsyncService;
+        this.leadImportService = leadImportService;
+        this.leadExportService = leadExportService;
+        this.leadFacetService = leadFacetService;
+        this.leadOverviewService = leadOverviewService;
     }
 
     @GetMapping
@@ -85,11 +109,93 @@ public class LeadManagementController {
         ));
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponse<LeadListItemResponse>> listByCursor(
+            @RequestParam(name = "status", required = false) String status,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "q", required = false) String q,
+            @RequestParam(name = "createdFrom", required = false) String createdFrom,
+            @RequestParam(name = "createdTo", required = false) String createdTo,
+            @RequestParam(name = "assignedTo", required = false) String assignedTo,
+            @RequestParam(name = "hasOpenTasks", required = false) Boolean hasOpenTasks,
+            @RequestParam(name = "source", required = false) String source,
+            @RequestParam(name = "sort", required = false) String sort
+    ) {
+        return ResponseEntity.ok(leadManagementService.listLeads(
+                status,
+                cursor,
+                size,
+                q,
+                createdFrom,
+                createdTo,
+                assignedTo,
+                hasOpenTasks,
+                source,
+                sort
+        ));
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<LeadFacetsResponse> facets(
+            @RequestParam(name = "status", required = false) String status,
+            @RequestParam(name = "q", required = false) String q,
+            @RequestParam(name = "createdFrom", required = false) String createdFrom,
+            @RequestParam(name = "createdTo", required = false) String createdTo,
+            @RequestParam(name = "assignedTo", required = false) String assignedTo,
+            @RequestParam(name = "hasOpenTasks", required = false) Boolean hasOpenTasks,
+            @RequestParam(name = "source", required = false) String source
+    ) {
+        LeadManagementService.LeadSearch search = leadManagementService.resolveLeadSearch(
+                status, q, createdFrom, createdTo, assignedTo, hasOpenTasks, source);
+        return ResponseEntity.ok(leadFacetService.getFacets(search));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(name = "format", required = false) String format,
+            @RequestParam(name = "status", required = false) String status,
+            @RequestParam(name = "q", required = false) String q,
+            @RequestParam(name = "createdFrom", required = false) String createdFrom,
+            @RequestParam(name = "createdTo", required = false) String createdTo,
+            @RequestParam(name = "assignedTo", required = false) String assignedTo,
+            @RequestParam(name = "hasOpenTasks", required = false) Boolean hasOpenTasks,
+            @RequestParam(name = "source", required = false) String source
+    ) {
+        String resolvedFormat = leadExportService.resolveFormat(format);
+        // filters are resolved on the request thread, the body is written on an async one
+        LeadManagementService.LeadSearch search = leadManagementService.resolveLeadSearch(
+                status, q, createdFrom, createdTo, assignedTo, hasOpenTasks, source);
+        boolean ndjson = LeadImportService.FORMAT_NDJSON.equals(resolvedFormat);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType("application/x-ndjson") : MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"leads." + resolvedFormat + "\"")
+                .body(output -> leadExportService.writeLeads(search, resolvedFormat, output));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<LeadImportResponse> importLeads(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(name = "format", required = false) String format,
+            @RequestParam(name = "delimiter", defaultValue = ",") char delimiter
+    ) {
+        return ResponseEntity.ok(leadImportService.importLeads(file, format, delimiter));
+    }
+
     @GetMapping("/{leadId}")
     public ResponseEntity<LeadDetailResponse> getDetail(@PathVariable("leadId") UUID leadId) {
         return ResponseEntity.ok(leadManagementService.getLead(leadId));
     }
 
+    @GetMapping("/{leadId}/overview")
+    public ResponseEntity<LeadOverviewResponse> getOverview(
+            @PathVariable("leadId") UUID leadId,
+            @RequestParam(name = "fields", required = false) String fields,
+            @RequestParam(name = "activitiesSize", defaultValue = "20") int activitiesSize
+    ) {
+        return ResponseEntity.ok(leadOverviewService.getOverview(leadId, fields, activitiesSize));
+    }
+
     @GetMapping("/{leadId}/answers")
     public ResponseEntity<List<LeadDetailAnswerItemResponse>> getAnswers(@PathVariable("leadId") UUID leadId) {
         return ResponseEntity.ok(leadDetailsService.getAnswers(leadId));
@@ -145,6 +251,16 @@ public class LeadManagementController {
         return ResponseEntity.ok(leadManagementService.getEvents(leadId, page, size, types));
     }
 
+    @GetMapping("/{leadId}/events/cursor")
+    public ResponseEntity<CursorPageResponse<LeadEventResponse>> getEventsByCursor(
+            @PathVariable("leadId") UUID leadId,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "types", required = false) String types
+    ) {
+        return ResponseEntity.ok(leadManagementService.getEvents(leadId, cursor, size, types));
+    }
+
     @PostMapping("/{leadId}/notes")
     public ResponseEntity<Void> addNote(
             @PathVariable("leadId") UUID leadId,
@@ -163,6 +279,15 @@ public class LeadManagementController {
         return ResponseEntity.ok(leadDetailsService.getActivities(leadId, page, size));
     }
 
+    @GetMapping("/{leadId}/activities/cursor")
+    public ResponseEntity<CursorPageResponse<LeadActivityResponse>> getActivitiesByCursor(
+            @PathVariable("leadId") UUID leadId,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(leadDetailsService.getActivities(leadId, cursor, size));
+    }
+
     @PostMapping("/{leadId}/calls")
     public ResponseEntity<LeadActivityResponse> addCall(
             @PathVariable("leadId") UUID leadId,
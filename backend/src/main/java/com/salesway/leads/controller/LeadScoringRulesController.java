@@ -0,0 +1,59 @@
+package com.salesway.leads.controller;
+
+import com.salesway.leads.dto.LeadRescoringJobResponse;
+import com.salesway.leads.dto.LeadScoringRulesRequest;
+import com.salesway.leads.dto.LeadScoringRulesResponse;
+import com.salesway.leads.service.LeadRescoringService;
+import com.salesway.leads.service.LeadScoringRulesService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/manager/lead-scoring-rules")
+public class LeadScoringRulesController {
+    private final LeadScoringRulesService leadScoringRulesService;
+    private final LeadRescoringService leadRescoringService;
+
+    public LeadScoringRulesController(
+            LeadScoringRulesService leadScoringRulesService,
+            LeadRescoringService leadRescoringService
+    ) {
+        this.leadScoringRulesService = leadScoringRulesService;
+        this.leadRescoringService = leadRescoringService;
+    }
+
+    @GetMapping
+    public ResponseEntity<LeadScoringRulesResponse> getRules() {
+        return ResponseEntity.ok(leadScoringRulesService.getRules());
+    }
+
+    @PutMapping
+    public ResponseEntity<LeadScoringRulesResponse> updateRules(@Valid @RequestBody LeadScoringRulesRequest request) {
+        return ResponseEntity.ok(leadScoringRulesService.updateRules(request));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<LeadScoringRulesResponse> resetRules() {
+        return ResponseEntity.ok(leadScoringRulesService.resetRules());
+    }
+
+    @PostMapping("/rescore")
+    public ResponseEntity<LeadRescoringJobResponse> startRescoring() {
+        return ResponseEntity.accepted().body(leadRescoringService.startRescoring());
+    }
+
+    @GetMapping("/rescore/{jobId}")
+    public ResponseEntity<LeadRescoringJobResponse> getRescoringJob(@PathVariable("jobId") UUID jobId) {
+        return ResponseEntity.ok(leadRescoringService.getJob(jobId));
+    }
+}
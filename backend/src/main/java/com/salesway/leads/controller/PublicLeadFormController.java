@@ -1,10 +1,16 @@
 package com.salesway.leads.controller;
 
 import com.salesway.leads.dto.LeadFormResponse;
+import com.salesway.leads.dto.PublicLeadIntakeStatusResponse;
 import com.salesway.leads.dto.PublicLeadSubmitRequest;
 import com.salesway.leads.dto.PublicLeadSubmitResponse;
 import com.salesway.leads.service.LeadCaptureService;
+import com.salesway.leads.service.LeadFormDefinition;
+import com.salesway.leads.service.LeadIntakeService;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,19 +18,42 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/public/lead-form")
 public class PublicLeadFormController {
     private final LeadCaptureService leadCaptureService;
+    private final LeadIntakeService leadIntakeService;
+    private final CacheControl publicFormCacheControl;
 
-    public PublicLeadFormController(LeadCaptureService leadCaptureService) {
+    public PublicLeadFormController(
+            LeadCaptureService leadCaptureService,
+            LeadIntakeService leadIntakeService,
+            @Value("${app.leads.public-form-max-age-seconds:60}") long publicFormMaxAgeSeconds
+    ) {
         this.leadCaptureService = leadCaptureService;
+        this.leadIntakeService = leadIntakeService;
+        this.publicFormCacheControl = CacheControl.maxAge(Duration.ofSeconds(publicFormMaxAgeSeconds)).cachePublic();
     }
 
     @GetMapping("/{publicSlug}")
-    public ResponseEntity<LeadFormResponse> getPublicForm(@PathVariable("publicSlug") String publicSlug) {
-        return ResponseEntity.ok(leadCaptureService.getPublicForm(publicSlug));
+    public ResponseEntity<LeadFormResponse> getPublicForm(@PathVariable("publicSlug") String publicSlug, WebRequest webRequest) {
+        LeadFormDefinition definition = leadCaptureService.getPublicFormDefinition(publicSlug);
+        if (webRequest.checkNotModified(definition.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(definition.getEtag())
+                    .cacheControl(publicFormCacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(definition.getEtag())
+                .cacheControl(publicFormCacheControl)
+                .body(definition.getResponse());
     }
 
     @PostMapping("/{publicSlug}/submit")
@@ -32,6 +61,18 @@ public class PublicLeadFormController {
             @PathVariable("publicSlug") String publicSlug,
             @Valid @RequestBody PublicLeadSubmitRequest request
     ) {
+        Optional<PublicLeadSubmitResponse> queued = leadIntakeService.enqueue(publicSlug, request);
+        if (queued.isPresent()) {
+            return ResponseEntity.accepted().body(queued.get());
+        }
         return ResponseEntity.ok(leadCaptureService.submitLead(publicSlug, request));
     }
+
+    @GetMapping("/{publicSlug}/submissions/{intakeId}")
+    public ResponseEntity<PublicLeadIntakeStatusResponse> getSubmissionStatus(
+            @PathVariable("publicSlug") String publicSlug,
+            @PathVariable("intakeId") UUID intakeId
+    ) {
+        return ResponseEntity.ok(leadIntakeService.getStatus(publicSlug, intakeId));
+    }
 }
@@ -0,0 +1,7 @@
+package com.salesway.leads.dto;
+
+public record LeadFacetCountResponse(
+        String value,
+        long count
+) {
+}
@@ -0,0 +1,12 @@
+package com.salesway.leads.dto;
+
+import java.util.List;
+
+public record LeadFacetsResponse(
+        long total,
+        List<LeadFacetCountResponse> statuses,
+        List<LeadFacetCountResponse> sources,
+        List<LeadFacetCountResponse> stages,
+        List<LeadFacetCountResponse> assignees
+) {
+}
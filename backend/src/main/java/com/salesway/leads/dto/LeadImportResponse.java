@@ -0,0 +1,14 @@
+package com.salesway.leads.dto;
+
+import java.util.List;
+
+public record LeadImportResponse(
+        int totalRows,
+        int importedRows,
+        int duplicateRows,
+        int failedRows,
+        List<String> ignoredColumns,
+        List<LeadImportRowError> errors,
+        boolean errorsTruncated
+) {
+}
@@ -0,0 +1,4 @@
+package com.salesway.leads.dto;
+
+public record LeadImportRowError(int row, String message) {
+}
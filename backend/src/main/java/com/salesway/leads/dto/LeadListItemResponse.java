@@ -15,6 +15,9 @@ public record LeadListItemResponse(
         Instant lastActivityAt,
         String source,
         boolean isDuplicate,
-        UUID duplicateGroupId
+        UUID duplicateGroupId,
+        UUID stageId,
+        Integer aiScore,
+        int openTaskCount
 ) {
 }
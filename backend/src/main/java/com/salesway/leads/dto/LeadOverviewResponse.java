@@ -0,0 +1,17 @@
+package com.salesway.leads.dto;
+
+import com.salesway.tasks.dto.TaskBoardResponse;
+
+import java.util.List;
+
+/**
+ * The lead detail page in one payload; sections the client did not ask for are {@code null}.
+ */
+public record LeadOverviewResponse(
+        LeadDetailResponse lead,
+        List<LeadDetailAnswerItemResponse> answers,
+        CursorPageResponse<LeadActivityResponse> activities,
+        List<TaskBoardResponse> tasks,
+        LeadAiInsightsResponse aiInsights
+) {
+}
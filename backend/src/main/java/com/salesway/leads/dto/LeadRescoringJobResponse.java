@@ -0,0 +1,15 @@
+package com.salesway.leads.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record LeadRescoringJobResponse(
+        UUID jobId,
+        String status,
+        int totalLeads,
+        int processedLeads,
+        Instant startedAt,
+        Instant finishedAt,
+        String error
+) {
+}
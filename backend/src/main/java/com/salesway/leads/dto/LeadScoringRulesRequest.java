@@ -0,0 +1,121 @@
+package com.salesway.leads.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LeadScoringRulesRequest {
+    @Valid
+    @NotNull
+    private List<Signal> signals = new ArrayList<>();
+
+    @Valid
+    @NotNull
+    private List<Criterion> criteria = new ArrayList<>();
+
+    public List<Signal> getSignals() {
+        return signals;
+    }
+
+    public void setSignals(List<Signal> signals) {
+        this.signals = signals;
+    }
+
+    public List<Criterion> getCriteria() {
+        return criteria;
+    }
+
+    public void setCriteria(List<Criterion> criteria) {
+        this.criteria = criteria;
+    }
+
+    public static class Signal {
+        @NotBlank
+        private String key;
+        @NotEmpty
+        private List<@NotBlank String> phrases = new ArrayList<>();
+
+        public String getKey() {
+            return key;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        public List<String> getPhrases() {
+            return phrases;
+        }
+
+        public void setPhrases(List<String> phrases) {
+            this.phrases = phrases;
+        }
+    }
+
+    public static class Criterion {
+        @NotBlank
+        private String label;
+        @Valid
+        @NotNull
+        private List<Tier> tiers = new ArrayList<>();
+        @NotNull
+        @Min(0)
+        @Max(10)
+        private Integer defaultScore;
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel(String label) {
+            this.label = label;
+        }
+
+        public List<Tier> getTiers() {
+            return tiers;
+        }
+
+        public void setTiers(List<Tier> tiers) {
+            this.tiers = tiers;
+        }
+
+        public Integer getDefaultScore() {
+            return defaultScore;
+        }
+
+        public void setDefaultScore(Integer defaultScore) {
+            this.defaultScore = defaultScore;
+        }
+    }
+
+    public static class Tier {
+        @NotEmpty
+        private List<@NotBlank String> signals = new ArrayList<>();
+        @NotNull
+        @Min(0)
+        @Max(10)
+        private Integer score;
+
+        public List<String> getSignals() {
+            return signals;
+        }
+
+        public void setSignals(List<String> signals) {
+            this.signals = signals;
+        }
+
+        public Integer getScore() {
+            return score;
+        }
+
+        public void setScore(Integer score) {
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.salesway.leads.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record LeadScoringRulesResponse(
+        boolean customized,
+        Instant updatedAt,
+        List<Signal> signals,
+        List<Criterion> criteria
+) {
+    public record Signal(String key, List<String> phrases) {
+    }
+
+    public record Criterion(String label, List<Tier> tiers, int defaultScore) {
+    }
+
+    public record Tier(List<String> signals, int score) {
+    }
+}
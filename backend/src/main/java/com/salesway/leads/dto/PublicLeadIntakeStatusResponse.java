@@ -0,0 +1,6 @@
+package com.salesway.leads.dto;
+
+import java.util.UUID;
+
+public record PublicLeadIntakeStatusResponse(UUID intakeId, String status, UUID leadId, String error) {
+}
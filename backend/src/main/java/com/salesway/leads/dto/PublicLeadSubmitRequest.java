@@ -6,6 +6,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.util.List;
 import java.util.UUID;
@@ -48,13 +49,17 @@ public class PublicLeadSubmitRequest {
 
     public static class Standard {
         @NotBlank
+        @Size(max = 255)
         private String firstName;
         @NotBlank
+        @Size(max = 255)
         private String lastName;
         @Email
         @NotBlank
+        @Size(max = 255)
         private String email;
         @NotBlank
+        @Size(max = 255)
         private String phone;
 
         public String getFirstName() {
@@ -114,15 +119,25 @@ public class PublicLeadSubmitRequest {
     }
 
     public static class Tracking {
+        @Size(max = 255)
         private String source;
+        @Size(max = 255)
         private String campaign;
+        @Size(max = 255)
         private String adSet;
+        @Size(max = 255)
         private String adId;
+        @Size(max = 255)
         private String utmSource;
+        @Size(max = 255)
         private String utmCampaign;
+        @Size(max = 255)
         private String utmMedium;
+        @Size(max = 255)
         private String utmContent;
+        @Size(max = 255)
         private String landingPage;
+        @Size(max = 255)
         private String referrer;
 
         public String getSource() {
@@ -3,5 +3,5 @@ package com.salesway.leads.dto;
 import java.time.Instant;
 import java.util.UUID;
 
-public record PublicLeadSubmitResponse(UUID leadId, Instant submittedAt, String status) {
+public record PublicLeadSubmitResponse(UUID leadId, Instant submittedAt, String status, UUID intakeId) {
 }
@@ -11,6 +11,7 @@ import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -85,6 +86,29 @@ public class Lead extends AuditedEntity {
     @Column(name = "duplicate_of_lead_id")
     private UUID duplicateOfLeadId;
 
+    @Column(name = "email_hash")
+    private String emailHash;
+
+    @Column(name = "phone_hash")
+    private String phoneHash;
+
+    @Column(name = "intake_id")
+    private UUID intakeId;
+
+    @Column(name = "search_document")
+    private String searchDocument;
+
+    @Column(name = "search_phone_digits")
+    private String searchPhoneDigits;
+
+    /**
+     * Maintained by {@link com.salesway.leads.service.LeadOpenTaskService} with atomic delta
+     * updates, so entity flushes never write it back.
+     */
+    @ColumnDefault("0")
+    @Column(name = "open_task_count", nullable = false, insertable = false, updatable = false)
+    private int openTaskCount;
+
     @Column(name = "ai_status")
     private String aiStatus;
 
@@ -270,6 +294,50 @@ public class Lead extends AuditedEntity {
         this.duplicateOfLeadId = duplicateOfLeadId;
     }
 
+    public String getEmailHash() {
+        return emailHash;
+    }
+
+    public void setEmailHash(String emailHash) {
+        this.emailHash = emailHash;
+    }
+
+    public String getPhoneHash() {
+        return phoneHash;
+    }
+
+    public void setPhoneHash(String phoneHash) {
+        this.phoneHash = phoneHash;
+    }
+
+    public UUID getIntakeId() {
+        return intakeId;
+    }
+
+    public void setIntakeId(UUID intakeId) {
+        this.intakeId = intakeId;
+    }
+
+    public String getSearchDocument() {
+        return searchDocument;
+    }
+
+    public void setSearchDocument(String searchDocument) {
+        this.searchDocument = searchDocument;
+    }
+
+    public String getSearchPhoneDigits() {
+        return searchPhoneDigits;
+    }
+
+    public void setSearchPhoneDigits(String searchPhoneDigits) {
+        this.searchPhoneDigits = searchPhoneDigits;
+    }
+
+    public int getOpenTaskCount() {
+        return openTaskCount;
+    }
+
     public String getAiStatus() {
         return aiStatus;
     }
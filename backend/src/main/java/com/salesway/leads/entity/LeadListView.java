@@ -0,0 +1,224 @@
+package com.salesway.leads.entity;
+
+import com.salesway.common.auditing.AuditedEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read model behind the lead list: one row per lead with everything a list row shows, kept in
+ * step with the lead by {@code LeadListViewService} inside the writing transaction.
+ */
+@Entity
+@Table(name = "lead_list_view")
+public class LeadListView extends AuditedEntity {
+    @Id
+    @Column(name = "lead_id", nullable = false, updatable = false)
+    private UUID id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "lead_id", nullable = false)
+    private Lead lead;
+
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    @Column(name = "status", nullable = false)
+    private String status;
+
+    @Column(name = "source", nullable = false)
+    private String source;
+
+    @Column(name = "stage_id")
+    private UUID stageId;
+
+    @Column(name = "assigned_to_user_id")
+    private UUID assignedToUserId;
+
+    @Column(name = "first_name", nullable = false)
+    private String firstName;
+
+    @Column(name = "last_name", nullable = false)
+    private String lastName;
+
+    @Column(name = "email", nullable = false)
+    private String email;
+
+    @Column(name = "phone", nullable = false)
+    private String phone;
+
+    @Column(name = "submitted_at", nullable = false)
+    private Instant submittedAt;
+
+    @Column(name = "last_activity_at")
+    private Instant lastActivityAt;
+
+    @Column(name = "ai_score")
+    private Integer aiScore;
+
+    // seeded from the lead on insert, afterwards moved only by LeadOpenTaskService deltas
+    @Column(name = "open_task_count", nullable = false, updatable = false)
+    private int openTaskCount;
+
+    @Column(name = "duplicate_group_id")
+    private UUID duplicateGroupId;
+
+    @Column(name = "search_document")
+    private String searchDocument;
+
+    @Column(name = "search_phone_digits")
+    private String searchPhoneDigits;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public Lead getLead() {
+        return lead;
+    }
+
+    public void setLead(Lead lead) {
+        this.lead = lead;
+    }
+
+    public UUID getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(UUID companyId) {
+        this.companyId = companyId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public UUID getStageId() {
+        return stageId;
+    }
+
+    public void setStageId(UUID stageId) {
+        this.stageId = stageId;
+    }
+
+    public UUID getAssignedToUserId() {
+        return assignedToUserId;
+    }
+
+    public void setAssignedToUserId(UUID assignedToUserId) {
+        this.assignedToUserId = assignedToUserId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Instant submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Instant getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public void setLastActivityAt(Instant lastActivityAt) {
+        this.lastActivityAt = lastActivityAt;
+    }
+
+    public Integer getAiScore() {
+        return aiScore;
+    }
+
+    public void setAiScore(Integer aiScore) {
+        this.aiScore = aiScore;
+    }
+
+    public int getOpenTaskCount() {
+        return openTaskCount;
+    }
+
+    public void setOpenTaskCount(int openTaskCount) {
+        this.openTaskCount = openTaskCount;
+    }
+
+    public UUID getDuplicateGroupId() {
+        return duplicateGroupId;
+    }
+
+    public void setDuplicateGroupId(UUID duplicateGroupId) {
+        this.duplicateGroupId = duplicateGroupId;
+    }
+
+    public String getSearchDocument() {
+        return searchDocument;
+    }
+
+    public void setSearchDocument(String searchDocument) {
+        this.searchDocument = searchDocument;
+    }
+
+    public String getSearchPhoneDigits() {
+        return searchPhoneDigits;
+    }
+
+    public void setSearchPhoneDigits(String searchPhoneDigits) {
+        this.searchPhoneDigits = searchPhoneDigits;
+    }
+}
@@ -0,0 +1,135 @@
+package com.salesway.leads.entity;
+
+import com.salesway.common.auditing.AuditedEntity;
+import com.salesway.companies.entity.Company;
+import com.salesway.leads.enums.LeadRescoringJobStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "lead_rescoring_jobs")
+public class LeadRescoringJob extends AuditedEntity {
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "company_id", nullable = false)
+    private Company company;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private LeadRescoringJobStatus status = LeadRescoringJobStatus.PENDING;
+
+    @Column(name = "requested_by_user_id")
+    private UUID requestedByUserId;
+
+    @Column(name = "total_leads", nullable = false)
+    private int totalLeads;
+
+    @Column(name = "processed_leads", nullable = false)
+    private int processedLeads;
+
+    @Column(name = "last_lead_id")
+    private UUID lastLeadId;
+
+    @Column(name = "locked_until")
+    private Instant lockedUntil;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "error", columnDefinition = "text")
+    private String error;
+
+    public Company getCompany() {
+        return company;
+    }
+
+    public void setCompany(Company company) {
+        this.company = company;
+    }
+
+    public LeadRescoringJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(LeadRescoringJobStatus status) {
+        this.status = status;
+    }
+
+    public UUID getRequestedByUserId() {
+        return requestedByUserId;
+    }
+
+    public void setRequestedByUserId(UUID requestedByUserId) {
+        this.requestedByUserId = requestedByUserId;
+    }
+
+    public int getTotalLeads() {
+        return totalLeads;
+    }
+
+    public void setTotalLeads(int totalLeads) {
+        this.totalLeads = totalLeads;
+    }
+
+    public int getProcessedLeads() {
+        return processedLeads;
+    }
+
+    public void setProcessedLeads(int processedLeads) {
+        this.processedLeads = processedLeads;
+    }
+
+    public UUID getLastLeadId() {
+        return lastLeadId;
+    }
+
+    public void setLastLeadId(UUID lastLeadId) {
+        this.lastLeadId = lastLeadId;
+    }
+
+    public Instant getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(Instant lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
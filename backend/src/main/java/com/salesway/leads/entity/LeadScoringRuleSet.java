@@ -0,0 +1,44 @@
+package com.salesway.leads.entity;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.salesway.common.auditing.AuditedEntity;
+import com.salesway.companies.entity.Company;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+@Entity
+@Table(name = "lead_scoring_rule_sets")
+public class LeadScoringRuleSet extends AuditedEntity {
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "company_id", nullable = false)
+    private Company company;
+
+    @NotNull
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "rules", nullable = false, columnDefinition = "jsonb")
+    private JsonNode rules;
+
+    public Company getCompany() {
+        return company;
+    }
+
+    public void setCompany(Company company) {
+        this.company = company;
+    }
+
+    public JsonNode getRules() {
+        return rules;
+    }
+
+    public void setRules(JsonNode rules) {
+        this.rules = rules;
+    }
+}
@@ -0,0 +1,8 @@
+package com.salesway.leads.enums;
+
+public enum LeadRescoringJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -14,6 +14,8 @@ public interface LeadAnswerRepository extends JpaRepository<LeadAnswer, UUID> {
 
     List<LeadAnswer> findByLeadIdOrderByDisplayOrderSnapshotAscCreatedAtAsc(UUID leadId);
 
+    List<LeadAnswer> findByLeadIdInOrderByDisplayOrderSnapshotAscCreatedAtAsc(Collection<UUID> leadIds);
+
     List<LeadAnswer> findByLeadIdAndQuestionIdIn(UUID leadId, Collection<UUID> questionIds);
 
     @Query("""
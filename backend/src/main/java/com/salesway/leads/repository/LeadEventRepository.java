@@ -6,9 +6,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface LeadEventRepository extends JpaRepository<LeadEvent, UUID> {
@@ -21,6 +23,47 @@ public interface LeadEventRepository extends JpaRepository<LeadEvent, UUID> {
             Pageable pageable
     );
 
+    List<LeadEvent> findByCompanyIdAndLeadIdOrderByCreatedAtDescIdDesc(UUID companyId, UUID leadId, Pageable pageable);
+
+    List<LeadEvent> findByCompanyIdAndLeadIdAndTypeInOrderByCreatedAtDescIdDesc(
+            UUID companyId,
+            UUID leadId,
+            Collection<LeadEventType> types,
+            Pageable pageable
+    );
+
+    @Query("""
+            select e from LeadEvent e
+            where e.company.id = :companyId
+              and e.lead.id = :leadId
+              and (e.createdAt < :createdAt or (e.createdAt = :createdAt and e.id < :id))
+            order by e.createdAt desc, e.id desc
+            """)
+    List<LeadEvent> findPageBefore(
+            @Param("companyId") UUID companyId,
+            @Param("leadId") UUID leadId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
+
+    @Query("""
+            select e from LeadEvent e
+            where e.company.id = :companyId
+              and e.lead.id = :leadId
+              and e.type in :types
+              and (e.createdAt < :createdAt or (e.createdAt = :createdAt and e.id < :id))
+            order by e.createdAt desc, e.id desc
+            """)
+    List<LeadEvent> findPageBeforeWithTypes(
+            @Param("companyId") UUID companyId,
+            @Param("leadId") UUID leadId,
+            @Param("types") Collection<LeadEventType> types,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
+
     @Query("""
             select max(e.createdAt) from LeadEvent e
             where e.company.id = :companyId and e.lead.id = :leadId
@@ -0,0 +1,38 @@
+package com.salesway.leads.repository;
+
+import com.salesway.leads.entity.LeadListView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.UUID;
+
+public interface LeadListViewRepository extends JpaRepository<LeadListView, UUID>, JpaSpecificationExecutor<LeadListView> {
+    @Modifying
+    @Query("""
+            update LeadListView v
+            set v.status = 'inactive'
+            where v.companyId = :companyId
+              and lower(v.status) <> 'inactive'
+            """)
+    int deactivateByCompanyId(@Param("companyId") UUID companyId);
+
+    @Modifying
+    @Query("update LeadListView v set v.openTaskCount = v.openTaskCount + :delta where v.id = :leadId")
+    int adjustOpenTaskCount(@Param("leadId") UUID leadId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("""
+            update LeadListView v
+            set v.openTaskCount = :actual
+            where v.id = :leadId
+              and v.openTaskCount = :expected
+            """)
+    int repairOpenTaskCount(
+            @Param("leadId") UUID leadId,
+            @Param("expected") int expected,
+            @Param("actual") int actual
+    );
+}
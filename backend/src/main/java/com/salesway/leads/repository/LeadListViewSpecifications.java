@@ -0,0 +1,59 @@
+package com.salesway.leads.repository;
+
+import com.salesway.leads.dto.LeadSearchCriteria;
+import com.salesway.leads.entity.LeadListView;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link LeadSpecifications#byCriteria} against the lead list read model, where every filter is
+ * a plain column predicate.
+ */
+public final class LeadListViewSpecifications {
+    private LeadListViewSpecifications() {
+    }
+
+    public static Specification<LeadListView> byCriteria(UUID companyId, LeadSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("companyId"), companyId));
+
+            if (criteria.status() != null) {
+                predicates.add(cb.equal(root.get("status"), criteria.status()));
+            }
+            if (criteria.createdFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("submittedAt"), criteria.createdFrom()));
+            }
+            if (criteria.createdTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("submittedAt"), criteria.createdTo()));
+            }
+            if (criteria.assignedToUserId() != null) {
+                predicates.add(cb.equal(root.get("assignedToUserId"), criteria.assignedToUserId()));
+            }
+            if (criteria.visibleToUserId() != null) {
+                Predicate assignedToViewer = cb.equal(root.get("assignedToUserId"), criteria.visibleToUserId());
+                Predicate unassigned = cb.isNull(root.get("assignedToUserId"));
+                predicates.add(criteria.includeUnassignedForVisibleUser()
+                        ? cb.or(assignedToViewer, unassigned)
+                        : assignedToViewer);
+            }
+            if (criteria.source() != null) {
+                predicates.add(cb.equal(cb.upper(root.get("source")), criteria.source()));
+            }
+            if (criteria.q() != null && !criteria.q().isBlank()) {
+                predicates.add(LeadSpecifications.matchesQuery(root, cb, criteria.q()));
+            }
+            if (criteria.hasOpenTasks() != null) {
+                predicates.add(Boolean.TRUE.equals(criteria.hasOpenTasks())
+                        ? cb.greaterThan(root.get("openTaskCount"), 0)
+                        : cb.equal(root.get("openTaskCount"), 0));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -1,8 +1,10 @@
 package com.salesway.leads.repository;
 
 import com.salesway.leads.entity.Lead;
+import com.salesway.tasks.enums.TaskBoardStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -10,6 +12,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,6 +24,12 @@ public interface LeadRepository extends JpaRepository<Lead, UUID>, JpaSpecificat
 
     Optional<Lead> findByIdAndCompanyId(UUID id, UUID companyId);
 
+    @EntityGraph(attributePaths = "standardFields")
+    List<Lead> findByCompanyIdOrderByIdAsc(UUID companyId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "standardFields")
+    List<Lead> findByCompanyIdAndIdGreaterThanOrderByIdAsc(UUID companyId, UUID afterId, Pageable pageable);
+
     @Query("""
             select l from Lead l
             where l.company.id = :companyId
@@ -44,8 +53,55 @@ public interface LeadRepository extends JpaRepository<Lead, UUID>, JpaSpecificat
             @Param("since") Instant since
     );
 
+    @Query("""
+            select l.id, l.duplicateGroupId from Lead l
+            where l.company.id = :companyId
+              and l.submittedAt >= :since
+              and (l.emailHash = :emailHash or l.phoneHash = :phoneHash)
+            order by l.submittedAt desc
+            """)
+    List<Object[]> findRecentDuplicateCandidates(
+            @Param("companyId") UUID companyId,
+            @Param("since") Instant since,
+            @Param("emailHash") String emailHash,
+            @Param("phoneHash") String phoneHash,
+            Pageable pageable
+    );
+
+    @Query("""
+            select l.id, l.company.id, l.emailHash, l.phoneHash from Lead l
+            where l.submittedAt >= :since
+              and l.id > :afterId
+            order by l.id asc
+            """)
+    List<Object[]> findContactHashesSince(
+            @Param("since") Instant since,
+            @Param("afterId") UUID afterId,
+            Pageable pageable
+    );
+
+    @Query("""
+            select l.emailHash, l.phoneHash from Lead l
+            where l.company.id = :companyId
+              and (l.emailHash in :emailHashes or l.phoneHash in :phoneHashes)
+            """)
+    List<Object[]> findContactHashesByCompanyIdAndHashes(
+            @Param("companyId") UUID companyId,
+            @Param("emailHashes") Collection<String> emailHashes,
+            @Param("phoneHashes") Collection<String> phoneHashes
+    );
+
+    @Query("select l.intakeId, l.id from Lead l where l.intakeId in :intakeIds")
+    List<Object[]> findIdsByIntakeIdIn(@Param("intakeIds") List<UUID> intakeIds);
+
+    @Query("select l.id from Lead l where l.intakeId = :intakeId and l.leadForm.publicSlug = :publicSlug")
+    Optional<UUID> findIdByIntakeIdAndPublicSlug(@Param("intakeId") UUID intakeId, @Param("publicSlug") String publicSlug);
+
     long countByCompanyId(UUID companyId);
 
+    @Query("select l.company.id from Lead l where l.id = :leadId")
+    Optional<UUID> findCompanyIdById(@Param("leadId") UUID leadId);
+
     @Modifying
     @Query("""
             update Lead l
@@ -60,4 +116,37 @@ public interface LeadRepository extends JpaRepository<Lead, UUID>, JpaSpecificat
             where l.company.id = :companyId
             """)
     Instant findMaxLastActivityAtByCompanyId(@Param("companyId") UUID companyId);
+
+    @Modifying
+    @Query("update Lead l set l.openTaskCount = l.openTaskCount + :delta where l.id = :leadId")
+    int adjustOpenTaskCount(@Param("leadId") UUID leadId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("""
+            update Lead l
+            set l.openTaskCount = :actual
+            where l.id = :leadId
+              and l.openTaskCount = :expected
+            """)
+    int repairOpenTaskCount(
+            @Param("leadId") UUID leadId,
+            @Param("expected") int expected,
+            @Param("actual") int actual
+    );
+
+    @Query("""
+            select l.id, l.openTaskCount, v.openTaskCount,
+                   (select count(t) from TaskBoardItem t
+                    where t.leadId = l.id
+                      and t.status <> :doneStatus)
+            from Lead l
+            left join LeadListView v on v.id = l.id
+            where l.id > :afterId
+            order by l.id
+            """)
+    List<Object[]> findOpenTaskCountsAfter(
+            @Param("afterId") UUID afterId,
+            @Param("doneStatus") TaskBoardStatus doneStatus,
+            Pageable pageable
+    );
 }
@@ -0,0 +1,59 @@
+package com.salesway.leads.repository;
+
+import com.salesway.leads.entity.LeadRescoringJob;
+import com.salesway.leads.enums.LeadRescoringJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface LeadRescoringJobRepository extends JpaRepository<LeadRescoringJob, UUID> {
+    Optional<LeadRescoringJob> findByIdAndCompanyId(UUID id, UUID companyId);
+
+    Optional<LeadRescoringJob> findFirstByCompanyIdAndStatusInOrderByCreatedAtDesc(
+            UUID companyId,
+            Collection<LeadRescoringJobStatus> statuses
+    );
+
+    @Query("""
+            select j.id from LeadRescoringJob j
+            where j.status in :statuses
+              and (j.lockedUntil is null or j.lockedUntil < :now)
+            order by j.createdAt asc
+            """)
+    List<UUID> findClaimableJobIds(
+            @Param("statuses") Collection<LeadRescoringJobStatus> statuses,
+            @Param("now") Instant now
+    );
+
+    @Modifying
+    @Query("""
+            update LeadRescoringJob j
+            set j.lockedUntil = :lockedUntil,
+                j.status = com.salesway.leads.enums.LeadRescoringJobStatus.RUNNING,
+                j.startedAt = coalesce(j.startedAt, :now)
+            where j.id = :jobId
+              and j.status in (com.salesway.leads.enums.LeadRescoringJobStatus.PENDING, com.salesway.leads.enums.LeadRescoringJobStatus.RUNNING)
+              and (j.lockedUntil is null or j.lockedUntil < :now)
+            """)
+    int claim(
+            @Param("jobId") UUID jobId,
+            @Param("now") Instant now,
+            @Param("lockedUntil") Instant lockedUntil
+    );
+
+    @Modifying
+    @Query("""
+            update LeadRescoringJob j
+            set j.lockedUntil = null
+            where j.id = :jobId
+              and j.status = com.salesway.leads.enums.LeadRescoringJobStatus.RUNNING
+            """)
+    int release(@Param("jobId") UUID jobId);
+}
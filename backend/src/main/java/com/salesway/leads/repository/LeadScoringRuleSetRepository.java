@@ -0,0 +1,11 @@
+package com.salesway.leads.repository;
+
+import com.salesway.leads.entity.LeadScoringRuleSet;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface LeadScoringRuleSetRepository extends JpaRepository<LeadScoringRuleSet, UUID> {
+    Optional<LeadScoringRuleSet> findByCompanyId(UUID companyId);
+}
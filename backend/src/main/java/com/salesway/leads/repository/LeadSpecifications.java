@@ -2,19 +2,22 @@ package com.salesway.leads.repository;
 
 import com.salesway.leads.dto.LeadSearchCriteria;
 import com.salesway.leads.entity.Lead;
-import com.salesway.tasks.entity.TaskBoardItem;
-import com.salesway.tasks.enums.TaskBoardStatus;
-import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.JoinType;
+import com.salesway.leads.service.LeadSearchDocument;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
-import jakarta.persistence.criteria.Subquery;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 public final class LeadSpecifications {
+    private static final char LIKE_ESCAPE = '\\';
+
     private LeadSpecifications() {
     }
 
@@ -46,30 +49,83 @@ public final class LeadSpecifications {
                 predicates.add(cb.equal(cb.upper(root.get("source")), criteria.source()));
             }
             if (criteria.q() != null && !criteria.q().isBlank()) {
-                Join<Object, Object> standardJoin = root.join("standardFields", JoinType.LEFT);
-                String pattern = "%" + criteria.q().trim().toLowerCase() + "%";
-                predicates.add(cb.or(
-                        cb.like(cb.lower(standardJoin.get("firstName")), pattern),
-                        cb.like(cb.lower(standardJoin.get("lastName")), pattern),
-                        cb.like(cb.lower(standardJoin.get("email")), pattern),
-                        cb.like(cb.lower(standardJoin.get("phone")), pattern)
-                ));
+                predicates.add(matchesQuery(root, cb, criteria.q()));
             }
             if (criteria.hasOpenTasks() != null) {
-                Subquery<UUID> taskSubquery = query.subquery(UUID.class);
-                var taskRoot = taskSubquery.from(TaskBoardItem.class);
-                Join<Object, Object> membershipJoin = taskRoot.join("membership", JoinType.INNER);
-                taskSubquery.select(taskRoot.get("id"));
-                taskSubquery.where(
-                        cb.equal(taskRoot.get("leadId"), root.get("id")),
-                        cb.equal(membershipJoin.get("company").get("id"), companyId),
-                        cb.notEqual(taskRoot.get("status"), TaskBoardStatus.DONE)
-                );
-                Predicate existsPredicate = cb.exists(taskSubquery);
-                predicates.add(Boolean.TRUE.equals(criteria.hasOpenTasks()) ? existsPredicate : cb.not(existsPredicate));
+                predicates.add(Boolean.TRUE.equals(criteria.hasOpenTasks())
+                        ? cb.greaterThan(root.get("openTaskCount"), 0)
+                        : cb.equal(root.get("openTaskCount"), 0));
             }
 
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Orders matches by how well the query matches a word of the search document, newest first
+     * on ties. Only applies to the page query; the count query drops the ordering.
+     */
+    public static <T> Specification<T> orderByRelevance(String q) {
+        return (root, query, cb) -> {
+            String folded = LeadSearchDocument.fold(q);
+            if (!folded.isEmpty() && !Long.class.equals(query.getResultType())) {
+                query.orderBy(
+                        cb.desc(cb.function("word_similarity", Double.class, cb.literal(folded), root.get("searchDocument"))),
+                        cb.desc(root.get("submittedAt"))
+                );
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Orders by the sort field and then id, and when a position is given only keeps the rows
+     * after it. {@code lastActivityAt} falls back to {@code submittedAt} so rows without
+     * activity still have a position.
+     */
+    public static <T> Specification<T> keyset(String field, boolean descending, Instant key, UUID id) {
+        return (root, query, cb) -> {
+            Expression<Instant> sortKey = keysetExpression(root, cb, field);
+            query.orderBy(
+                    descending ? cb.desc(sortKey) : cb.asc(sortKey),
+                    descending ? cb.desc(root.get("id")) : cb.asc(root.get("id"))
+            );
+            if (key == null || id == null) {
+                return null;
+            }
+            Path<UUID> idPath = root.get("id");
+            return descending
+                    ? cb.or(cb.lessThan(sortKey, key), cb.and(cb.equal(sortKey, key), cb.lessThan(idPath, id)))
+                    : cb.or(cb.greaterThan(sortKey, key), cb.and(cb.equal(sortKey, key), cb.greaterThan(idPath, id)));
+        };
+    }
+
+    public static Instant keysetValue(String field, Instant submittedAt, Instant lastActivityAt) {
+        if ("lastActivityAt".equals(field) && lastActivityAt != null) {
+            return lastActivityAt;
+        }
+        return submittedAt;
+    }
+
+    private static Expression<Instant> keysetExpression(Root<?> root, CriteriaBuilder cb, String field) {
+        if ("lastActivityAt".equals(field)) {
+            return cb.coalesce(root.<Instant>get("lastActivityAt"), root.<Instant>get("submittedAt"));
+        }
+        return root.get("submittedAt");
+    }
+
+    // Each term is a substring match on the search document, which the trigram index serves;
+    // phone-looking queries additionally prefix-match the E.164 digits.
+    static Predicate matchesQuery(Root<?> root, CriteriaBuilder cb, String q) {
+        List<Predicate> terms = new ArrayList<>();
+        for (String term : LeadSearchDocument.queryTerms(q)) {
+            terms.add(cb.like(root.get("searchDocument"), "%" + LeadSearchDocument.escapeLike(term) + "%", LIKE_ESCAPE));
+        }
+        Predicate documentMatch = cb.and(terms.toArray(new Predicate[0]));
+        String phonePrefix = LeadSearchDocument.phonePrefix(q);
+        if (phonePrefix == null) {
+            return documentMatch;
+        }
+        return cb.or(documentMatch, cb.like(root.get("searchPhoneDigits"), phonePrefix + "%"));
+    }
 }
@@ -0,0 +1,141 @@
+package com.salesway.leads.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Bounded in-process buffer for AI insights jobs used while Redis is unreachable.
+ * When a journal path is configured every change is appended to that file as one record
+ * ({@code +payload} for an offer, {@code -} for a poll, {@code <payload} for a push back) so
+ * buffered jobs survive a restart of the node. The journal is compacted to the live jobs once
+ * it holds more than twice the capacity in records, and truncated whenever the queue drains.
+ */
+@Component
+public class LeadAiInsightsLocalQueue {
+    private static final Logger LOG = LoggerFactory.getLogger(LeadAiInsightsLocalQueue.class);
+    private static final String OFFER = "+";
+    private static final String POLL = "-";
+    private static final String PUSH_BACK = "<";
+
+    private final Deque<String> payloads = new ArrayDeque<>();
+    private final int capacity;
+    private final Path journalPath;
+    private int journalRecords;
+
+    public LeadAiInsightsLocalQueue(
+            @Value("${app.leads.ai-insights-local-queue-capacity:1000}") int capacity,
+            @Value("${app.leads.ai-insights-local-queue-journal-path:}") String journalPath
+    ) {
+        this.capacity = Math.max(1, capacity);
+        this.journalPath = journalPath == null || journalPath.isBlank() ? null : Path.of(journalPath.trim());
+    }
+
+    @PostConstruct
+    synchronized void restoreJournal() {
+        if (journalPath == null || !Files.exists(journalPath)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(journalPath, StandardCharsets.UTF_8)) {
+                replay(line);
+            }
+            compactJournal();
+            LOG.info("AI insights local queue restored {} jobs from journal={}", payloads.size(), journalPath);
+        } catch (IOException exception) {
+            LOG.error("AI insights local queue failed to read journal={}", journalPath, exception);
+        }
+    }
+
+    public synchronized boolean offer(String payload) {
+        if (payloads.size() >= capacity) {
+            return false;
+        }
+        payloads.addLast(payload);
+        appendToJournal(OFFER + payload);
+        return true;
+    }
+
+    public synchronized String poll() {
+        String payload = payloads.pollFirst();
+        if (payload != null) {
+            appendToJournal(POLL);
+        }
+        return payload;
+    }
+
+    public synchronized void pushBack(String payload) {
+        payloads.addFirst(payload);
+        appendToJournal(PUSH_BACK + payload);
+    }
+
+    public synchronized int size() {
+        return payloads.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private void replay(String record) {
+        if (record.isBlank()) {
+            return;
+        }
+        if (record.equals(POLL)) {
+            payloads.pollFirst();
+        } else if (record.startsWith(PUSH_BACK)) {
+            payloads.addFirst(record.substring(PUSH_BACK.length()));
+        } else if (payloads.size() < capacity) {
+            // journals written before records were prefixed hold bare payloads
+            payloads.addLast(record.startsWith(OFFER) ? record.substring(OFFER.length()) : record);
+        }
+    }
+
+    private void appendToJournal(String record) {
+        if (journalPath == null) {
+            return;
+        }
+        if (payloads.isEmpty() || journalRecords >= 2 * capacity) {
+            compactJournal();
+            return;
+        }
+        try {
+            Files.writeString(
+                    journalPath,
+                    record + System.lineSeparator(),
+                    StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND
+            );
+            journalRecords++;
+        } catch (IOException exception) {
+            LOG.error("AI insights local queue failed to append to journal={}", journalPath, exception);
+        }
+    }
+
+    private void compactJournal() {
+        // rewrites at most capacity lines once per capacity appends, so each change stays O(1) amortized
+        try {
+            List<String> lines = new ArrayList<>(payloads.size());
+            for (String payload : payloads) {
+                lines.add(OFFER + payload);
+            }
+            Files.write(journalPath, lines, StandardCharsets.UTF_8);
+            journalRecords = lines.size();
+        } catch (IOException exception) {
+            LOG.error("AI insights local queue failed to compact journal={}", journalPath, exception);
+        }
+    }
+}
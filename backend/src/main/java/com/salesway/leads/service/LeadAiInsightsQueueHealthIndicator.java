@@ -0,0 +1,28 @@
+package com.salesway.leads.service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LeadAiInsightsQueueHealthIndicator implements HealthIndicator {
+    public static final Status DEGRADED = new Status("DEGRADED", "Redis unavailable, AI insights jobs buffered locally");
+
+    private final LeadAiInsightsQueueService leadAiInsightsQueueService;
+
+    public LeadAiInsightsQueueHealthIndicator(LeadAiInsightsQueueService leadAiInsightsQueueService) {
+        this.leadAiInsightsQueueService = leadAiInsightsQueueService;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = leadAiInsightsQueueService.isDegraded() ? Health.status(DEGRADED) : Health.up();
+        builder.withDetail("localBacklog", leadAiInsightsQueueService.getLocalBacklogSize())
+                .withDetail("localCapacity", leadAiInsightsQueueService.getLocalCapacity());
+        if (leadAiInsightsQueueService.getRedisUnavailableSince() != null) {
+            builder.withDetail("redisUnavailableSince", leadAiInsightsQueueService.getRedisUnavailableSince().toString());
+        }
+        return builder.build();
+    }
+}
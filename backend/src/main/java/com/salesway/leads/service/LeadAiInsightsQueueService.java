@@ -2,6 +2,9 @@ package com.salesway.leads.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -13,24 +16,109 @@ import java.time.Instant;
 @Service
 public class LeadAiInsightsQueueService {
     public static final String LEAD_AI_INSIGHTS_QUEUE_KEY = "lead-ai-insights-regenerate-queue";
+    private static final Logger LOG = LoggerFactory.getLogger(LeadAiInsightsQueueService.class);
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final LeadAiInsightsLocalQueue localQueue;
+    private volatile Instant redisUnavailableSince;
 
-    public LeadAiInsightsQueueService(RedisTemplate<String, Object> redisTemplate, ObjectMapper objectMapper) {
+    public LeadAiInsightsQueueService(
+            RedisTemplate<String, Object> redisTemplate,
+            ObjectMapper objectMapper,
+            LeadAiInsightsLocalQueue localQueue
+    ) {
         this.redisTemplate = redisTemplate;
         this.objectMapper = objectMapper;
+        this.localQueue = localQueue;
     }
 
     public LeadAiInsightsJob enqueueRegeneration(UUID leadId) {
+        LeadAiInsightsJob job = new LeadAiInsightsJob(UUID.randomUUID(), leadId, Instant.now());
+        String payload;
         try {
-            LeadAiInsightsJob job = new LeadAiInsightsJob(UUID.randomUUID(), leadId, Instant.now());
-            String payload = objectMapper.writeValueAsString(job);
-            redisTemplate.opsForList().leftPush(LEAD_AI_INSIGHTS_QUEUE_KEY, payload);
-            return job;
+            payload = objectMapper.writeValueAsString(job);
         } catch (JsonProcessingException exception) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to enqueue AI insights regeneration job", exception);
         }
+        try {
+            redisTemplate.opsForList().leftPush(LEAD_AI_INSIGHTS_QUEUE_KEY, payload);
+            markRedisAvailable();
+            return job;
+        } catch (DataAccessException exception) {
+            markRedisUnavailable(exception);
+        }
+        if (!localQueue.offer(payload)) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "AI insights queue is temporarily unavailable");
+        }
+        LOG.warn("AI insights job buffered locally because Redis is unavailable leadId={} jobId={} localBacklog={}",
+                leadId, job.jobId(), localQueue.size());
+        return job;
+    }
+
+    public String pollNextPayload() {
+        if (redisUnavailableSince == null || localQueue.size() == 0) {
+            try {
+                Object payload = redisTemplate.opsForList().rightPop(LEAD_AI_INSIGHTS_QUEUE_KEY);
+                markRedisAvailable();
+                if (payload != null) {
+                    return payload.toString();
+                }
+            } catch (DataAccessException exception) {
+                markRedisUnavailable(exception);
+            }
+        }
+        return localQueue.poll();
+    }
+
+    public int replayLocalBacklog() {
+        int replayed = 0;
+        String payload;
+        while ((payload = localQueue.poll()) != null) {
+            try {
+                redisTemplate.opsForList().leftPush(LEAD_AI_INSIGHTS_QUEUE_KEY, payload);
+                markRedisAvailable();
+                replayed++;
+            } catch (DataAccessException exception) {
+                localQueue.pushBack(payload);
+                markRedisUnavailable(exception);
+                break;
+            }
+        }
+        if (replayed > 0) {
+            LOG.info("AI insights local backlog replayed into Redis replayed={} remaining={}", replayed, localQueue.size());
+        }
+        return replayed;
+    }
+
+    public boolean isDegraded() {
+        return redisUnavailableSince != null || localQueue.size() > 0;
+    }
+
+    public Instant getRedisUnavailableSince() {
+        return redisUnavailableSince;
+    }
+
+    public int getLocalBacklogSize() {
+        return localQueue.size();
+    }
+
+    public int getLocalCapacity() {
+        return localQueue.capacity();
+    }
+
+    private void markRedisAvailable() {
+        if (redisUnavailableSince != null) {
+            LOG.info("AI insights queue Redis connection recovered unavailableSince={}", redisUnavailableSince);
+            redisUnavailableSince = null;
+        }
+    }
+
+    private void markRedisUnavailable(DataAccessException exception) {
+        if (redisUnavailableSince == null) {
+            redisUnavailableSince = Instant.now();
+            LOG.warn("AI insights queue switched to local fallback because Redis is unavailable", exception);
+        }
     }
 
     public record LeadAiInsightsJob(UUID jobId, UUID leadId, Instant enqueuedAt) {
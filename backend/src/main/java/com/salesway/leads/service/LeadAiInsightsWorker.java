@@ -4,7 +4,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -14,18 +13,18 @@ import java.util.UUID;
 public class LeadAiInsightsWorker {
     private static final Logger LOG = LoggerFactory.getLogger(LeadAiInsightsWorker.class);
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final LeadAiInsightsQueueService leadAiInsightsQueueService;
     private final ObjectMapper objectMapper;
     private final LeadAiInsightsAsyncService leadAiInsightsAsyncService;
     private final boolean enabled;
 
     public LeadAiInsightsWorker(
-            RedisTemplate<String, Object> redisTemplate,
+            LeadAiInsightsQueueService leadAiInsightsQueueService,
             ObjectMapper objectMapper,
             LeadAiInsightsAsyncService leadAiInsightsAsyncService,
             @Value("${app.leads.ai-insights-worker-enabled:true}") boolean enabled
     ) {
-        this.redisTemplate = redisTemplate;
+        this.leadAiInsightsQueueService = leadAiInsightsQueueService;
         this.objectMapper = objectMapper;
         this.leadAiInsightsAsyncService = leadAiInsightsAsyncService;
         this.enabled = enabled;
@@ -36,14 +35,15 @@ public class LeadAiInsightsWorker {
         if (!enabled) {
             return;
         }
+        leadAiInsightsQueueService.replayLocalBacklog();
         while (true) {
-            Object payload = redisTemplate.opsForList().rightPop(LeadAiInsightsQueueService.LEAD_AI_INSIGHTS_QUEUE_KEY);
+            String payload = leadAiInsightsQueueService.pollNextPayload();
             if (payload == null) {
                 return;
             }
             try {
                 LeadAiInsightsQueueService.LeadAiInsightsJob job = objectMapper.readValue(
-                        payload.toString(),
+                        payload,
                         LeadAiInsightsQueueService.LeadAiInsightsJob.class
                 );
                 UUID leadId = job.leadId();
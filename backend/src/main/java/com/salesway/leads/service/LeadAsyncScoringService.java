@@ -21,7 +21,6 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -35,6 +34,8 @@ public class LeadAsyncScoringService {
     private final ManagerAccessService managerAccessService;
     private final LeadScoringQueueService leadScoringQueueService;
     private final SubscriptionAccessService subscriptionAccessService;
+    private final LeadScoringRulesService leadScoringRulesService;
+    private final LeadListViewService leadListViewService;
 
     public LeadAsyncScoringService(
             LeadRepository leadRepository,
@@ -42,7 +43,9 @@ public class LeadAsyncScoringService {
             LeadAnswerRepository leadAnswerRepository,
             ManagerAccessService managerAccessService,
             LeadScoringQueueService leadScoringQueueService,
-            SubscriptionAccessService subscriptionAccessService
+            SubscriptionAccessService subscriptionAccessService,
+            LeadScoringRulesService leadScoringRulesService,
+            LeadListViewService leadListViewService
     ) {
         this.leadRepository = leadRepository;
         this.leadStandardFieldsRepository = leadStandardFieldsRepository;
@@ -50,6 +53,8 @@ public class LeadAsyncScoringService {
         this.managerAccessService = managerAccessService;
         this.leadScoringQueueService = leadScoringQueueService;
         this.subscriptionAccessService = subscriptionAccessService;
+        this.leadScoringRulesService = leadScoringRulesService;
+        this.leadListViewService = leadListViewService;
     }
 
     @Transactional
@@ -93,13 +98,28 @@ public class LeadAsyncScoringService {
         subscriptionAccessService.assertAiFeaturesAvailable(lead.getCompany());
         LeadStandardFields standardFields = leadStandardFieldsRepository.findByLeadId(leadId).orElse(null);
         List<LeadAnswer> answers = leadAnswerRepository.findByLeadIdOrderByDisplayOrderSnapshotAscCreatedAtAsc(leadId);
+        return scoreLead(lead.getCompany().getId(), lead.getStatus(), standardFields, answers);
+    }
+
+    public ScoringResult scoreLead(UUID companyId, String status, LeadStandardFields standardFields, List<LeadAnswer> answers) {
+        return scoreLead(leadScoringRulesService.getCompiledRules(companyId), status, standardFields, answers);
+    }
+
+    /**
+     * Scores with an already resolved rule set, so a batch of leads is scored with the same rules.
+     */
+    public ScoringResult scoreLead(
+            LeadScoringRules rules,
+            String status,
+            LeadStandardFields standardFields,
+            List<LeadAnswer> answers
+    ) {
         boolean hasEmail = standardFields != null && standardFields.getEmail() != null && !standardFields.getEmail().isBlank();
         boolean hasPhone = standardFields != null && standardFields.getPhone() != null && !standardFields.getPhone().isBlank();
         String combinedAnswers = answers.stream()
                 .map(this::answerText)
                 .filter(value -> !value.isBlank())
-                .collect(Collectors.joining(" "))
-                .toLowerCase(Locale.ROOT);
+                .collect(Collectors.joining(" "));
         int requiredAnswers = (int) answers.stream()
                 .filter(answer -> Boolean.TRUE.equals(answer.getRequiredSnapshot()))
                 .count();
@@ -107,35 +127,18 @@ public class LeadAsyncScoringService {
                 .filter(answer -> Boolean.TRUE.equals(answer.getRequiredSnapshot()))
                 .filter(answer -> !answerText(answer).isBlank())
                 .count();
-        boolean readyNow = containsAny(combinedAnswers, "acum", "cat mai curand", "cât mai curând", "imediat");
-        boolean highPriority = containsAny(combinedAnswers, "prioritar", "prioritate 9", "prioritate 10", "9", "10");
-        boolean costOfInaction = containsAny(combinedAnswers, "stagn", "fara progres", "fără progres", "pierd", "stress", "stres", "frust");
-        boolean valueOriented = containsAny(combinedAnswers, "valoare", "rezultate masurabile", "rezultate măsurabile", "directie clara", "direcție clară", "exemple concrete");
-        boolean priceSensitive = containsAny(combinedAnswers, "pret", "preț", "buget")
-                && !valueOriented;
-        boolean clearProblem = containsAny(combinedAnswers, "problema", "blocaj", "obstacol", "lipsa", "dificultat", "strategie");
-        boolean awareProblem = containsAny(combinedAnswers, "costul", "ma incetineste", "mă încetinește", "impact", "stagnare", "fara un job", "fără un job");
-        boolean singleDecisionMaker = containsAny(combinedAnswers, "singurul decident", "singurul", "doar eu decid");
-        boolean progressTimeline = containsAny(combinedAnswers, "1-2 luni", "1 2 luni", "6 luni", "urmatoarele luni", "următoarele luni");
-        boolean examplesRequested = containsAny(combinedAnswers, "exemple concrete", "feedback concret", "rezultate", "oferte", "interviuri");
-
-        List<CriterionScore> criteria = new ArrayList<>();
-        criteria.add(new CriterionScore("Contactability", rateContactability(hasEmail, hasPhone)));
-        criteria.add(new CriterionScore("Data Completeness", rateDataCompleteness(answers.size(), requiredAnswers, answeredRequired)));
-        criteria.add(new CriterionScore("Problem Clarity", clearProblem ? 9 : 3));
-        criteria.add(new CriterionScore("Problem Awareness", awareProblem || costOfInaction ? 9 : 3));
-        criteria.add(new CriterionScore("Urgency To Change", readyNow || highPriority ? 9 : 4));
-        criteria.add(new CriterionScore("Cost Of Inaction", costOfInaction ? 9 : 3));
-        criteria.add(new CriterionScore("Value Orientation", valueOriented ? 9 : priceSensitive ? 2 : 5));
-        criteria.add(new CriterionScore("Decision Authority", singleDecisionMaker ? 10 : 5));
-        criteria.add(new CriterionScore("Timeline Clarity", progressTimeline ? 8 : 4));
-        criteria.add(new CriterionScore("Proof Need / Validation", examplesRequested ? 8 : 5));
+        LeadScoringRules.Evaluation evaluation = rules.evaluate(combinedAnswers);
+
+        List<LeadScoringRules.CriterionScore> criteria = new ArrayList<>();
+        criteria.add(new LeadScoringRules.CriterionScore("Contactability", rateContactability(hasEmail, hasPhone)));
+        criteria.add(new LeadScoringRules.CriterionScore("Data Completeness", rateDataCompleteness(answers.size(), requiredAnswers, answeredRequired)));
+        criteria.addAll(evaluation.criteria());
 
         int score = criteria.stream()
-                .mapToInt(CriterionScore::value)
+                .mapToInt(LeadScoringRules.CriterionScore::value)
                 .sum();
 
-        String summary = buildSummary(lead, criteria, answers.size(), hasEmail, hasPhone, priceSensitive);
+        String summary = buildSummary(status, criteria, answers.size(), hasEmail, hasPhone, evaluation.matchedSignals());
 
         return new ScoringResult(score, summary);
     }
@@ -149,6 +152,8 @@ public class LeadAsyncScoringService {
         lead.setAiSummary(result.summary());
         lead.setAiError(null);
         leadRepository.save(lead);
+        // ai_score is projected into lead_list_view; the AI status and error are not
+        leadListViewService.refresh(lead);
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -199,41 +204,31 @@ public class LeadAsyncScoringService {
         return answer.getAnswerValue().asText("");
     }
 
-    private boolean containsAny(String source, String... needles) {
-        for (String needle : needles) {
-            if (source.contains(needle.toLowerCase(Locale.ROOT))) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private String buildSummary(
-            Lead lead,
-            List<CriterionScore> criteria,
+            String status,
+            List<LeadScoringRules.CriterionScore> criteria,
             int answersCount,
             boolean hasEmail,
             boolean hasPhone,
-            boolean priceSensitive
+            List<String> matchedSignals
     ) {
         String breakdown = criteria.stream()
                 .map(criterion -> criterion.label() + "=" + criterion.value() + "/10")
                 .collect(Collectors.joining(", "));
-        return "Async scoring completed. Total score is the sum of 10 criteria scored 0-10. status="
-                + lead.getStatus()
+        return "Async scoring completed. Total score is the sum of "
+                + criteria.size()
+                + " criteria scored 0-10. status="
+                + status
                 + ", answers="
                 + answersCount
                 + ", hasEmail="
                 + hasEmail
                 + ", hasPhone="
                 + hasPhone
-                + ", priceSensitive="
-                + priceSensitive
+                + ", matchedSignals="
+                + matchedSignals
                 + ", breakdown=["
                 + breakdown
                 + "].";
     }
-
-    private record CriterionScore(String label, int value) {
-    }
 }
@@ -1,17 +1,13 @@
 package com.salesway.leads.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.salesway.billing.service.SubscriptionAccessService;
-import com.salesway.leads.dto.LeadFormResponse;
-import com.salesway.leads.dto.LeadQuestionResponse;
+import com.salesway.companies.entity.Company;
+import com.salesway.companies.repository.CompanyRepository;
 import com.salesway.leads.dto.PublicLeadSubmitRequest;
 import com.salesway.leads.dto.PublicLeadSubmitResponse;
 import com.salesway.leads.entity.Lead;
 import com.salesway.leads.entity.LeadAnswer;
-import com.salesway.leads.entity.LeadForm;
-import com.salesway.leads.entity.LeadFormQuestion;
 import com.salesway.leads.entity.LeadStandardFields;
 import com.salesway.leads.enums.LeadEventType;
 import com.salesway.leads.enums.LeadSource;
@@ -20,31 +16,31 @@ import com.salesway.leads.repository.LeadFormQuestionRepository;
 import com.salesway.leads.repository.LeadFormRepository;
 import com.salesway.leads.repository.LeadRepository;
 import com.salesway.leads.repository.LeadStandardFieldsRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
-import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class LeadCaptureService {
-    private static final Set<String> TEXT_TYPES = Set.of("short_text", "long_text");
-
     private final LeadFormRepository leadFormRepository;
     private final LeadFormQuestionRepository questionRepository;
     private final LeadRepository leadRepository;
     private final LeadStandardFieldsRepository standardFieldsRepository;
     private final LeadAnswerRepository answerRepository;
     private final LeadEventService leadEventService;
-    private final ObjectMapper objectMapper;
+    private final LeadFormDefinitionCache leadFormDefinitionCache;
+    private final CompanyRepository companyRepository;
+    private final LeadDuplicateFilter leadDuplicateFilter;
+    private final LeadListViewService leadListViewService;
     private final int dedupeWindowDays;
     private final SubscriptionAccessService subscriptionAccessService;
 
@@ -55,7 +51,10 @@ public class LeadCaptureService {
             LeadStandardFieldsRepository standardFieldsRepository,
             LeadAnswerRepository answerRepository,
             LeadEventService leadEventService,
-            ObjectMapper objectMapper,
+            LeadFormDefinitionCache leadFormDefinitionCache,
+            CompanyRepository companyRepository,
+            LeadDuplicateFilter leadDuplicateFilter,
+            LeadListViewService leadListViewService,
             SubscriptionAccessService subscriptionAccessService,
             @org.springframework.beans.factory.annotation.Value("${app.leads.dedupe-window-days:7}") int dedupeWindowDays
     ) {
@@ -65,37 +64,30 @@ public class LeadCaptureService {
         this.standardFieldsRepository = standardFieldsRepository;
         this.answerRepository = answerRepository;
         this.leadEventService = leadEventService;
-        this.objectMapper = objectMapper;
+        this.leadFormDefinitionCache = leadFormDefinitionCache;
+        this.companyRepository = companyRepository;
+        this.leadDuplicateFilter = leadDuplicateFilter;
+        this.leadListViewService = leadListViewService;
         this.subscriptionAccessService = subscriptionAccessService;
         this.dedupeWindowDays = dedupeWindowDays;
     }
 
-    @Transactional(readOnly = true)
-    public LeadFormResponse getPublicForm(String publicSlug) {
-        LeadForm form = leadFormRepository.findByPublicSlugAndIsActiveTrue(publicSlug)
+    public LeadFormDefinition getPublicFormDefinition(String publicSlug) {
+        return leadFormDefinitionCache.findActive(publicSlug)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Lead form not found"));
-
-        List<LeadQuestionResponse> questions = questionRepository.findByLeadFormIdAndIsActiveTrueOrderByDisplayOrderAsc(form.getId())
-                .stream().map(q -> new LeadQuestionResponse(
-                        q.getId(), q.getQuestionType(), q.getLabel(), q.getPlaceholder(),
-                        q.getHelpText(), q.getRequired(), toJson(q.getOptionsJson()), q.getDisplayOrder(), q.getIsActive()
-                )).toList();
-
-        return new LeadFormResponse(form.getId(), form.getTitle(), form.getPublicSlug(), form.getIsActive(), questions);
     }
 
     @Transactional
     public PublicLeadSubmitResponse submitLead(String publicSlug, PublicLeadSubmitRequest request) {
-        LeadForm form = leadFormRepository.findByPublicSlugAndIsActiveTrue(publicSlug)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Lead form not found"));
-        subscriptionAccessService.assertCanCreateLead(form.getCompany());
-
-        List<LeadFormQuestion> activeQuestions = questionRepository.findByLeadFormIdAndIsActiveTrue(form.getId());
-        Map<UUID, LeadFormQuestion> questionsById = new HashMap<>();
-        for (LeadFormQuestion question : activeQuestions) {
-            questionsById.put(question.getId(), question);
-        }
+        LeadFormDefinition form = getPublicFormDefinition(publicSlug);
+        Company company = loadCompanyAcceptingLeads(form);
+        validateSubmission(form, request);
+        PreparedSubmission prepared = prepare(form, company, request, Instant.now(), null);
+        Lead savedLead = persist(prepared, prepared.recentDuplicate());
+        return new PublicLeadSubmitResponse(savedLead.getId(), savedLead.getSubmittedAt(), savedLead.getStatus(), null);
+    }
 
+    public void validateSubmission(LeadFormDefinition form, PublicLeadSubmitRequest request) {
         Map<UUID, JsonNode> incomingAnswersByQuestionId = new HashMap<>();
         for (PublicLeadSubmitRequest.Answer answer : request.getAnswers()) {
             if (incomingAnswersByQuestionId.put(answer.getQuestionId(), answer.getValue()) != null) {
@@ -103,71 +95,172 @@ public class LeadCaptureService {
             }
         }
 
-        List<UUID> missingRequired = activeQuestions.stream()
-                .filter(q -> Boolean.TRUE.equals(q.getRequired()))
-                .map(LeadFormQuestion::getId)
-                .filter(id -> !incomingAnswersByQuestionId.containsKey(id))
-                .toList();
-
+        List<UUID> missingRequired = form.missingRequiredQuestionIds(incomingAnswersByQuestionId.keySet());
         if (!missingRequired.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "missing required questionIds: " + missingRequired);
         }
 
         for (PublicLeadSubmitRequest.Answer answerItem : request.getAnswers()) {
-            LeadFormQuestion question = questionsById.get(answerItem.getQuestionId());
+            LeadFormDefinition.Question question = form.getQuestion(answerItem.getQuestionId());
             if (question == null) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "questionId invalid or inactive for this form: " + answerItem.getQuestionId());
             }
-            validateAnswerValue(question, answerItem.getValue());
+            question.validate(answerItem.getValue());
+        }
+    }
+
+    /**
+     * Persists buffered submissions in one transaction, in the order they were received. Intake
+     * ids that already produced a lead are reported with that lead, so a redelivered batch is
+     * idempotent, and submissions inside the batch are deduplicated against each other.
+     */
+    @Transactional
+    public List<IntakeResult> persistIntakeBatch(List<IntakeSubmission> submissions) {
+        Map<UUID, UUID> existingLeadIds = new HashMap<>();
+        for (Object[] row : leadRepository.findIdsByIntakeIdIn(submissions.stream().map(IntakeSubmission::intakeId).toList())) {
+            existingLeadIds.put((UUID) row[0], (UUID) row[1]);
+        }
+
+        Map<UUID, Company> companies = new HashMap<>();
+        List<IntakeResult> results = new ArrayList<>(submissions.size());
+        List<PreparedSubmission> accepted = new ArrayList<>(submissions.size());
+        for (IntakeSubmission submission : submissions) {
+            UUID existingLeadId = existingLeadIds.get(submission.intakeId());
+            if (existingLeadId != null) {
+                results.add(new IntakeResult(submission.intakeId(), existingLeadId, null));
+                continue;
+            }
+            try {
+                LeadFormDefinition form = getPublicFormDefinition(submission.publicSlug());
+                Company company = companies.computeIfAbsent(form.getCompanyId(), ignored -> loadCompany(form));
+                subscriptionAccessService.assertCanCreateLead(company);
+                validateSubmission(form, submission.request());
+                accepted.add(prepare(form, company, submission.request(), submission.receivedAt(), submission.intakeId()));
+            } catch (ResponseStatusException exception) {
+                results.add(new IntakeResult(submission.intakeId(), null, exception.getReason()));
+            }
         }
 
+        // Duplicate lookups above ran before any insert; earlier submissions of this batch are
+        // matched here instead, newest first like the query.
+        Map<String, DuplicateCandidate> batchContacts = new HashMap<>();
+        for (PreparedSubmission prepared : accepted) {
+            DuplicateCandidate duplicate = firstNonNull(
+                    batchContacts.get(prepared.company().getId() + "|" + prepared.emailHash()),
+                    batchContacts.get(prepared.company().getId() + "|" + prepared.phoneHash()),
+                    prepared.recentDuplicate()
+            );
+            Lead savedLead = persist(prepared, duplicate);
+            DuplicateCandidate saved = new DuplicateCandidate(savedLead.getId(), savedLead.getDuplicateGroupId());
+            if (prepared.emailHash() != null) {
+                batchContacts.put(prepared.company().getId() + "|" + prepared.emailHash(), saved);
+            }
+            if (prepared.phoneHash() != null) {
+                batchContacts.put(prepared.company().getId() + "|" + prepared.phoneHash(), saved);
+            }
+            results.add(new IntakeResult(prepared.intakeId(), savedLead.getId(), null));
+        }
+        return results;
+    }
+
+    private Company loadCompanyAcceptingLeads(LeadFormDefinition form) {
+        Company company = loadCompany(form);
+        subscriptionAccessService.assertCanCreateLead(company);
+        return company;
+    }
+
+    private Company loadCompany(LeadFormDefinition form) {
+        return companyRepository.findById(form.getCompanyId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Lead form not found"));
+    }
+
+    private PreparedSubmission prepare(
+            LeadFormDefinition form,
+            Company company,
+            PublicLeadSubmitRequest request,
+            Instant submittedAt,
+            UUID intakeId
+    ) {
         String normalizedEmail = request.getStandard().getEmail().trim().toLowerCase();
         String normalizedPhone = request.getStandard().getPhone().trim();
-        Lead duplicateCandidate = findDuplicateCandidate(form.getCompany().getId(), normalizedEmail, normalizedPhone);
+        String emailHash = LeadContactNormalizer.emailHash(normalizedEmail);
+        String phoneHash = LeadContactNormalizer.phoneHash(normalizedPhone);
+        return new PreparedSubmission(
+                form,
+                company,
+                request,
+                submittedAt,
+                intakeId,
+                normalizedEmail,
+                normalizedPhone,
+                emailHash,
+                phoneHash,
+                findDuplicateCandidate(company.getId(), emailHash, phoneHash)
+        );
+    }
 
+    private Lead persist(PreparedSubmission prepared, DuplicateCandidate duplicateCandidate) {
+        LeadFormDefinition form = prepared.form();
+        PublicLeadSubmitRequest request = prepared.request();
         Lead lead = new Lead();
-        lead.setCompany(form.getCompany());
-        lead.setLeadForm(form);
+        lead.setCompany(prepared.company());
+        lead.setLeadForm(leadFormRepository.getReferenceById(form.getFormId()));
         applyTracking(lead, request.getTracking());
         if (lead.getSource() == null) {
             lead.setSource(LeadSource.FORM.name());
         }
         lead.setStatus("new");
-        lead.setSubmittedAt(Instant.now());
+        lead.setSubmittedAt(prepared.submittedAt());
         lead.setLastActivityAt(lead.getSubmittedAt());
+        lead.setEmailHash(prepared.emailHash());
+        lead.setPhoneHash(prepared.phoneHash());
+        lead.setIntakeId(prepared.intakeId());
+        LeadSearchDocument.apply(
+                lead,
+                request.getStandard().getFirstName(),
+                request.getStandard().getLastName(),
+                prepared.normalizedEmail(),
+                prepared.normalizedPhone()
+        );
         if (duplicateCandidate != null) {
-            lead.setDuplicateOfLeadId(duplicateCandidate.getId());
+            lead.setDuplicateOfLeadId(duplicateCandidate.leadId());
             lead.setDuplicateGroupId(
-                    duplicateCandidate.getDuplicateGroupId() != null
-                            ? duplicateCandidate.getDuplicateGroupId()
-                            : duplicateCandidate.getId()
+                    duplicateCandidate.duplicateGroupId() != null
+                            ? duplicateCandidate.duplicateGroupId()
+                            : duplicateCandidate.leadId()
             );
         }
         Lead savedLead = leadRepository.save(lead);
+        leadDuplicateFilter.add(prepared.company().getId(), prepared.emailHash(), prepared.phoneHash());
 
         LeadStandardFields standardFields = new LeadStandardFields();
         standardFields.setLead(savedLead);
         standardFields.setFirstName(request.getStandard().getFirstName());
         standardFields.setLastName(request.getStandard().getLastName());
-        standardFields.setEmail(normalizedEmail);
-        standardFields.setPhone(normalizedPhone);
+        standardFields.setEmail(prepared.normalizedEmail());
+        standardFields.setPhone(prepared.normalizedPhone());
         standardFieldsRepository.save(standardFields);
+        leadListViewService.create(savedLead, standardFields);
 
+        List<LeadAnswer> answers = new ArrayList<>(request.getAnswers().size());
         for (PublicLeadSubmitRequest.Answer answerItem : request.getAnswers()) {
-            LeadFormQuestion question = questionsById.get(answerItem.getQuestionId());
+            LeadFormDefinition.Question question = form.getQuestion(answerItem.getQuestionId());
             LeadAnswer answer = new LeadAnswer();
             answer.setLead(savedLead);
-            answer.setQuestion(question);
+            answer.setQuestion(questionRepository.getReferenceById(question.getId()));
             answer.setAnswerValue(answerItem.getValue());
             answer.setQuestionLabelSnapshot(question.getLabel());
             answer.setQuestionTypeSnapshot(question.getQuestionType());
-            answer.setRequiredSnapshot(question.getRequired());
+            answer.setRequiredSnapshot(question.isRequired());
             answer.setOptionsSnapshot(question.getOptionsJson());
             answer.setDisplayOrderSnapshot(question.getDisplayOrder());
-            answerRepository.save(answer);
+            answers.add(answer);
         }
+        answerRepository.saveAll(answers);
 
+        // Ids are generated client-side, so nothing above has flushed yet; stamping the event with the
+        // submission time keeps the lead clean and the commit sends one insert batch per table.
         leadEventService.appendSystemEvent(
                 savedLead,
                 LeadEventType.LEAD_CREATED,
@@ -175,22 +268,34 @@ public class LeadCaptureService {
                 Map.of(
                         "source", savedLead.getSource(),
                         "isDuplicate", savedLead.getDuplicateGroupId() != null
-                )
+                ),
+                savedLead.getSubmittedAt()
         );
-        leadRepository.save(savedLead);
-
-        return new PublicLeadSubmitResponse(savedLead.getId(), savedLead.getSubmittedAt(), savedLead.getStatus());
+        return savedLead;
     }
 
-    private Lead findDuplicateCandidate(UUID companyId, String email, String phone) {
+    private DuplicateCandidate findDuplicateCandidate(UUID companyId, String emailHash, String phoneHash) {
+        if (!leadDuplicateFilter.mightContain(companyId, emailHash, phoneHash)) {
+            return null;
+        }
         Instant since = Instant.now().minusSeconds((long) dedupeWindowDays * 24L * 3600L);
-        return standardFieldsRepository.findRecentPotentialDuplicates(companyId, since, email, phone)
+        return leadRepository.findRecentDuplicateCandidates(companyId, since, emailHash, phoneHash, PageRequest.of(0, 1))
                 .stream()
-                .map(LeadStandardFields::getLead)
+                .map(row -> new DuplicateCandidate((UUID) row[0], (UUID) row[1]))
                 .findFirst()
                 .orElse(null);
     }
 
+    @SafeVarargs
+    private static <T> T firstNonNull(T... values) {
+        for (T value : values) {
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
     private void applyTracking(Lead lead, PublicLeadSubmitRequest.Tracking tracking) {
         if (tracking == null) {
             return;
@@ -215,117 +320,26 @@ public class LeadCaptureService {
         return trimmed.isEmpty() ? null : trimmed;
     }
 
-    private void validateAnswerValue(LeadFormQuestion question, JsonNode value) {
-        String questionType = question.getQuestionType();
-        UUID questionId = question.getId();
-
-        if (TEXT_TYPES.contains(questionType)) {
-            if (!value.isTextual()) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "answers[questionId=" + questionId + "].value invalid type: expected string for " + questionType);
-            }
-            return;
-        }
-
-        if ("single_select".equals(questionType)) {
-            List<String> options = extractSelectOptions(question);
-            if (!value.isTextual()) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "answers[questionId=" + questionId + "].value invalid type: expected string for single_select");
-            }
-            String selected = value.asText();
-            if (!options.contains(selected)) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "answers[questionId=" + questionId + "].value invalid: not in options");
-            }
-            return;
-        }
-
-        if ("multi_select".equals(questionType)) {
-            List<String> options = extractSelectOptions(question);
-            if (!value.isArray()) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "answers[questionId=" + questionId + "].value invalid type: expected array for multi_select");
-            }
-            for (JsonNode selected : value) {
-                if (!selected.isTextual()) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                            "answers[questionId=" + questionId + "].value invalid type: expected array of strings");
-                }
-                if (!options.contains(selected.asText())) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                            "answers[questionId=" + questionId + "].value invalid: contains option outside allowed list");
-                }
-            }
-            return;
-        }
-
-        if ("number".equals(questionType) && !value.isNumber()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "answers[questionId=" + questionId + "].value invalid type: expected number");
-        }
-
-        if ("boolean".equals(questionType) && !value.isBoolean()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "answers[questionId=" + questionId + "].value invalid type: expected boolean");
-        }
-
-        if ("date".equals(questionType)) {
-            if (!value.isTextual()) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "answers[questionId=" + questionId + "].value invalid type: expected date string (yyyy-MM-dd)");
-            }
-            try {
-                LocalDate.parse(value.asText());
-            } catch (DateTimeParseException exception) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "answers[questionId=" + questionId + "].value invalid date format: expected yyyy-MM-dd");
-            }
-        }
+    public record IntakeSubmission(UUID intakeId, String publicSlug, Instant receivedAt, PublicLeadSubmitRequest request) {
     }
 
-    private List<String> extractSelectOptions(LeadFormQuestion question) {
-        JsonNode optionsNode = question.getOptionsJson();
-        if (optionsNode == null) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "optionsJson invalid JSON for questionId=" + question.getId() + ": expected non-empty JSON array of strings");
-        }
-
-        JsonNode parsedNode = optionsNode;
-        if (optionsNode.isTextual()) {
-            try {
-                parsedNode = objectMapper.readTree(optionsNode.asText());
-            } catch (JsonProcessingException exception) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "optionsJson invalid JSON for questionId=" + question.getId(), exception);
-            }
-        }
-
-        if (!parsedNode.isArray() || parsedNode.isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "optionsJson invalid JSON for questionId=" + question.getId() + ": expected non-empty JSON array of strings");
-        }
-
-        List<String> options = new java.util.ArrayList<>();
-        for (JsonNode optionNode : parsedNode) {
-            if (!optionNode.isTextual() || optionNode.asText().isBlank()) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "optionsJson invalid JSON for questionId=" + question.getId() + ": expected non-empty JSON array of strings");
-            }
-            options.add(optionNode.asText());
-        }
-        return options;
+    public record IntakeResult(UUID intakeId, UUID leadId, String error) {
     }
 
-    private String toJson(Object value) {
-        if (value == null) {
-            return null;
-        }
+    private record DuplicateCandidate(UUID leadId, UUID duplicateGroupId) {
+    }
 
-        try {
-            return objectMapper.writeValueAsString(value);
-        } catch (JsonProcessingException exception) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid answer payload", exception);
-        }
+    private record PreparedSubmission(
+            LeadFormDefinition form,
+            Company company,
+            PublicLeadSubmitRequest request,
+            Instant submittedAt,
+            UUID intakeId,
+            String normalizedEmail,
+            String normalizedPhone,
+            String emailHash,
+            String phoneHash,
+            DuplicateCandidate recentDuplicate
+    ) {
     }
 }
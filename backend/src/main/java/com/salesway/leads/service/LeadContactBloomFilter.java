@@ -0,0 +1,65 @@
+package com.salesway.leads.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over contact hashes produced by {@link LeadContactNormalizer}. The
+ * keys are already SHA-256 hex digests, so the two probe hashes are read straight from them.
+ */
+final class LeadContactBloomFilter {
+    private static final long MAX_BITS = 1L << 26;
+    private static final int MAX_HASHES = 16;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private LeadContactBloomFilter(long bitCount, int hashCount) {
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.words = new AtomicLongArray((int) ((bitCount + Long.SIZE - 1) / Long.SIZE));
+    }
+
+    static LeadContactBloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long insertions = Math.max(1L, expectedInsertions);
+        long bits = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        bits = Math.max(Long.SIZE, Math.min(bits, MAX_BITS));
+        int hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round((double) bits / insertions * Math.log(2))));
+        return new LeadContactBloomFilter(bits, hashes);
+    }
+
+    void put(String contactHash) {
+        if (contactHash == null) {
+            return;
+        }
+        long first = Long.parseUnsignedLong(contactHash.substring(0, 16), 16);
+        long second = Long.parseUnsignedLong(contactHash.substring(16, 32), 16);
+        for (int index = 0; index < hashCount; index++) {
+            long bit = Long.remainderUnsigned(first + index * second, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String contactHash) {
+        if (contactHash == null) {
+            return false;
+        }
+        long first = Long.parseUnsignedLong(contactHash.substring(0, 16), 16);
+        long second = Long.parseUnsignedLong(contactHash.substring(16, 32), 16);
+        for (int index = 0; index < hashCount; index++) {
+            long bit = Long.remainderUnsigned(first + index * second, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,68 @@
+package com.salesway.leads.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Canonical forms of lead contact data used for duplicate detection. Phones are rewritten to
+ * E.164, treating national numbers (leading 0 or nine bare digits) as Romanian; the V19
+ * migration applies the same rules when backfilling existing leads.
+ */
+public final class LeadContactNormalizer {
+    static final String DEFAULT_COUNTRY_CODE = "40";
+    private static final int NATIONAL_NUMBER_LENGTH = 9;
+
+    private LeadContactNormalizer() {
+    }
+
+    public static String normalizeEmail(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static String normalizePhone(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        String trimmed = phone.trim();
+        String digits = trimmed.replaceAll("[^0-9]", "");
+        if (digits.isEmpty()) {
+            return "";
+        }
+        if (trimmed.startsWith("+")) {
+            return "+" + digits;
+        }
+        if (digits.startsWith("00")) {
+            return "+" + digits.substring(2);
+        }
+        if (digits.startsWith("0")) {
+            return "+" + DEFAULT_COUNTRY_CODE + digits.substring(1);
+        }
+        if (digits.length() == NATIONAL_NUMBER_LENGTH) {
+            return "+" + DEFAULT_COUNTRY_CODE + digits;
+        }
+        return "+" + digits;
+    }
+
+    public static String emailHash(String email) {
+        return sha256Hex(normalizeEmail(email));
+    }
+
+    public static String phoneHash(String phone) {
+        return sha256Hex(normalizePhone(phone));
+    }
+
+    private static String sha256Hex(String normalized) {
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.salesway.leads.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forward-only RFC 4180 reader: quoted fields may contain separators, doubled quotes and line
+ * breaks. Only the record being parsed is held in memory.
+ */
+final class LeadCsvReader {
+    private static final char QUOTE = '"';
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private final char separator;
+    private int pending = -2;
+
+    LeadCsvReader(Reader reader, char separator) {
+        this.reader = reader;
+        this.separator = separator;
+    }
+
+    /**
+     * Returns the next record, or {@code null} at end of input. Blank lines are skipped.
+     */
+    List<String> readRecord() throws IOException {
+        if (pending == -2) {
+            pending = reader.read();
+            if (pending == BYTE_ORDER_MARK) {
+                pending = reader.read();
+            }
+        }
+        while (pending == '\r' || pending == '\n') {
+            pending = reader.read();
+        }
+        if (pending == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int current = pending;
+        while (true) {
+            if (quoted) {
+                if (current == -1) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (current == QUOTE) {
+                    int next = reader.read();
+                    if (next == QUOTE) {
+                        field.append(QUOTE);
+                    } else {
+                        quoted = false;
+                        current = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) current);
+                }
+            } else if (current == QUOTE && field.isEmpty()) {
+                quoted = true;
+            } else if (current == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (current == '\r' || current == '\n' || current == -1) {
+                fields.add(field.toString());
+                if (current == '\r') {
+                    current = reader.read();
+                    pending = current == '\n' ? reader.read() : current;
+                } else {
+                    pending = current == -1 ? -1 : reader.read();
+                }
+                return fields;
+            } else {
+                field.append((char) current);
+            }
+            current = reader.read();
+        }
+    }
+}
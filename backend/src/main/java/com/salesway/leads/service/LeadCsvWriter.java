@@ -0,0 +1,60 @@
+package com.salesway.leads.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Writes RFC 4180 records readable by {@link LeadCsvReader}: fields containing the separator,
+ * quotes or line breaks are quoted and embedded quotes doubled. Fields starting with a
+ * character a spreadsheet would read as a formula ({@code = + - @}, tab or carriage return)
+ * are prefixed with {@code '} and quoted, since exported answers come from public forms.
+ * Numbers and phone numbers such as {@code -5} or {@code +40 721 234 567} cannot call a function
+ * and are written as they are, so they import again unchanged.
+ */
+final class LeadCsvWriter {
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+    private static final Pattern NUMBER_OR_PHONE = Pattern.compile("[+-]?\\d[\\d .()-]*");
+
+    private final Writer writer;
+    private final char separator;
+
+    LeadCsvWriter(Writer writer, char separator) {
+        this.writer = writer;
+        this.separator = separator;
+    }
+
+    void writeRecord(List<String> fields) throws IOException {
+        for (int index = 0; index < fields.size(); index++) {
+            if (index > 0) {
+                writer.write(separator);
+            }
+            writeField(fields.get(index));
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean formula = FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0
+                && !NUMBER_OR_PHONE.matcher(value).matches();
+        if (formula) {
+            value = "'" + value;
+        }
+        boolean quote = formula
+                || value.indexOf(separator) >= 0
+                || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0
+                || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
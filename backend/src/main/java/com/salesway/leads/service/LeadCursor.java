@@ -0,0 +1,60 @@
+package com.salesway.leads.service;
+
+import com.salesway.leads.dto.CursorPageResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keyset position after the last row of a page: its sort key and id. The encoded form is opaque
+ * to clients and carries the ordering it was issued for, so a cursor cannot be replayed against
+ * a different sort.
+ */
+public record LeadCursor(Instant key, UUID id) {
+    private static final String SEPARATOR = "|";
+
+    public static String encode(String ordering, Instant key, UUID id) {
+        String raw = ordering + SEPARATOR + key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns {@code null} for a missing cursor, i.e. the first page.
+     */
+    public static LeadCursor decode(String ordering, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !parts[0].equals(ordering)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new LeadCursor(Instant.parse(parts[1]), UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}; the extra row only
+     * signals that another page exists.
+     */
+    public static <E, R> CursorPageResponse<R> slice(
+            List<E> rows,
+            int size,
+            Function<E, R> mapper,
+            Function<E, String> cursorOf
+    ) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)) : null;
+        return new CursorPageResponse<>(pageRows.stream().map(mapper).toList(), size, nextCursor, hasNext);
+    }
+}
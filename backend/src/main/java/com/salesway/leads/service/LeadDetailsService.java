@@ -15,6 +15,7 @@ import com.salesway.chatbot.entity.KbChunk;
 import com.salesway.chatbot.entity.KbDocument;
 import com.salesway.chatbot.repository.KbChunkRepository;
 import com.salesway.chatbot.repository.KbDocumentRepository;
+import com.salesway.leads.dto.CursorPageResponse;
 import com.salesway.leads.dto.LeadActivityResponse;
 import com.salesway.leads.dto.LeadAiInsightFactorResponse;
 import com.salesway.leads.dto.LeadAiInsightFeedbackRequest;
@@ -72,8 +73,6 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedHashMap;
@@ -94,6 +93,14 @@ public class LeadDetailsService {
     private static final double MIN_VECTOR_SIMILARITY = 0.20;
     private static final double MIN_AI_GUIDANCE_CONFIDENCE = 0.55;
     private static final Set<String> TEXT_TYPES = Set.of("short_text", "long_text");
+    private static final Set<LeadEventType> ACTIVITY_EVENT_TYPES = Set.of(
+            LeadEventType.NOTE_ADDED,
+            LeadEventType.CALL_LOGGED,
+            LeadEventType.TASK_CREATED,
+            LeadEventType.TASK_COMPLETED,
+            LeadEventType.STATUS_CHANGED,
+            LeadEventType.EMAIL_SENT
+    );
     private static final Logger LOG = LoggerFactory.getLogger(LeadDetailsService.class);
     private final LeadRepository leadRepository;
     private final LeadAnswerRepository leadAnswerRepository;
@@ -107,6 +114,8 @@ public class LeadDetailsService {
     private final CompanyMembershipRepository companyMembershipRepository;
     private final CompanyAccessService companyAccessService;
     private final LeadEventService leadEventService;
+    private final LeadListViewService leadListViewService;
+    private final LeadOpenTaskService leadOpenTaskService;
     private final ManagerAccessService managerAccessService;
     private final UserRepository userRepository;
     private final KbDocumentRepository kbDocumentRepository;
@@ -129,6 +138,8 @@ public class LeadDetailsService {
             CompanyMembershipRepository companyMembershipRepository,
             CompanyAccessService companyAccessService,
             LeadEventService leadEventService,
+            LeadListViewService leadListViewService,
+            LeadOpenTaskService leadOpenTaskService,
             ManagerAccessService managerAccessService,
             UserRepository userRepository,
             KbDocumentRepository kbDocumentRepository,
@@ -150,6 +161,8 @@ public class LeadDetailsService {
         this.companyMembershipRepository = companyMembershipRepository;
         this.companyAccessService = companyAccessService;
         this.leadEventService = leadEventService;
+        this.leadListViewService = leadListViewService;
+        this.leadOpenTaskService = leadOpenTaskService;
         this.managerAccessService = managerAccessService;
         this.userRepository = userRepository;
         this.kbDocumentRepository = kbDocumentRepository;
@@ -164,8 +177,11 @@ public class LeadDetailsService {
     public List<LeadDetailAnswerItemResponse> getAnswers(UUID leadId) {
         CompanyMembership membership = companyAccessService.getActiveMembership();
         Lead lead = getLeadOrThrow(leadId, membership);
-        return leadAnswerRepository.findByLeadIdOrderByDisplayOrderSnapshotAscCreatedAtAsc(lead.getId())
-                .stream()
+        return toAnswerItems(leadAnswerRepository.findByLeadIdOrderByDisplayOrderSnapshotAscCreatedAtAsc(lead.getId()));
+    }
+
+    List<LeadDetailAnswerItemResponse> toAnswerItems(List<LeadAnswer> answers) {
+        return answers.stream()
                 .map(this::toAnswerResponse)
                 .toList();
     }
@@ -287,6 +303,7 @@ public class LeadDetailsService {
 
         lead.setLastActivityAt(Instant.now());
         leadRepository.save(lead);
+        leadListViewService.refresh(lead);
 
         return leadAnswerRepository.findByLeadIdOrderByDisplayOrderSnapshotAscCreatedAtAsc(leadId)
                 .stream()
@@ -300,24 +317,40 @@ public class LeadDetailsService {
         CompanyMembership membership = companyAccessService.getActiveMembership();
         Lead lead = getLeadOrThrow(leadId, membership);
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Collection<LeadEventType> types = EnumSet.of(
-                LeadEventType.NOTE_ADDED,
-                LeadEventType.CALL_LOGGED,
-                LeadEventType.TASK_CREATED,
-                LeadEventType.TASK_COMPLETED,
-                LeadEventType.STATUS_CHANGED,
-                LeadEventType.EMAIL_SENT
-        );
         Page<LeadEvent> events = leadEventRepository.findByCompanyIdAndLeadIdAndTypeInOrderByCreatedAtDesc(
                 membership.getCompany().getId(),
                 lead.getId(),
-                types,
+                ACTIVITY_EVENT_TYPES,
                 pageable
         );
         Map<UUID, String> actorNames = resolveActorNames(events.getContent());
         return events.map(event -> toActivityResponse(event, actorNames.get(event.getActorUserId())));
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<LeadActivityResponse> getActivities(UUID leadId, String cursor, int size) {
+        CompanyMembership membership = companyAccessService.getActiveMembership();
+        return getActivities(membership, getLeadOrThrow(leadId, membership), cursor, size);
+    }
+
+    CursorPageResponse<LeadActivityResponse> getActivities(CompanyMembership membership, Lead lead, String cursor, int size) {
+        validatePaging(0, size);
+        List<LeadEvent> events = leadEventService.findEventsAfter(
+                membership.getCompany().getId(),
+                lead.getId(),
+                ACTIVITY_EVENT_TYPES,
+                LeadCursor.decode(LeadEventService.CURSOR_ORDERING, cursor),
+                size + 1
+        );
+        Map<UUID, String> actorNames = resolveActorNames(events);
+        return LeadCursor.slice(
+                events,
+                size,
+                event -> toActivityResponse(event, actorNames.get(event.getActorUserId())),
+                LeadEventService::cursorOf
+        );
+    }
+
     @Transactional
     public LeadActivityResponse addCall(UUID leadId, LeadCallCreateRequest request) {
         CompanyMembership membership = managerAccessService.getManagerMembership();
@@ -373,6 +406,7 @@ public class LeadDetailsService {
         task.setStatus(TaskBoardStatus.TODO);
         task.setAssigneeUserId(assigneeUserId);
         TaskBoardItem savedTask = taskBoardItemRepository.save(task);
+        leadOpenTaskService.taskCreated(lead.getId(), savedTask.getStatus());
 
         leadEventService.appendEvent(
                 lead,
@@ -400,8 +434,12 @@ public class LeadDetailsService {
     @Transactional
     public LeadAiInsightsResponse getAiInsights(UUID leadId) {
         CompanyMembership membership = companyAccessService.getActiveMembership();
+        return getAiInsights(membership, getLeadOrThrow(leadId, membership));
+    }
+
+    LeadAiInsightsResponse getAiInsights(CompanyMembership membership, Lead lead) {
         UUID companyId = membership.getCompany().getId();
-        Lead lead = getLeadOrThrow(leadId, membership);
+        UUID leadId = lead.getId();
         billingUsageService.assertUsageAvailable(lead.getCompany(), UsageType.AI_INSIGHTS, 1);
         expireStaleInFlightInsightsStatus(lead);
         AiInsightsRefreshState refreshState = loadAiInsightsRefreshState(lead, companyId);
@@ -0,0 +1,210 @@
+package com.salesway.leads.service;
+
+import com.salesway.leads.repository.LeadRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-company Bloom filters over the contact hashes of leads submitted within the dedupe
+ * window. A negative answer means no recent lead shares the email or phone, so the duplicate
+ * query can be skipped. Until the filters are loaded and this node receives other nodes'
+ * inserts over Redis, every lookup answers "maybe".
+ */
+@Service
+public class LeadDuplicateFilter {
+    public static final String LEAD_DUPLICATE_FILTER_CHANNEL = "lead-duplicate-filter-additions";
+    private static final Logger LOG = LoggerFactory.getLogger(LeadDuplicateFilter.class);
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+    private static final int REBUILD_PAGE_SIZE = 5000;
+    private static final long MIN_EXPECTED_INSERTIONS = 1024L;
+
+    private final LeadRepository leadRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final boolean enabled;
+    private final int dedupeWindowDays;
+    private final double falsePositiveRate;
+    private final MessageListener additionListener = (message, pattern) -> onRemoteAddition(message.getBody());
+    private final Object rebuildLock = new Object();
+
+    private volatile Map<UUID, LeadContactBloomFilter> current = new ConcurrentHashMap<>();
+    private volatile Map<UUID, LeadContactBloomFilter> previous = Map.of();
+    private volatile Map<UUID, LeadContactBloomFilter> rebuilding;
+    private volatile boolean loaded;
+    private volatile boolean subscribed;
+
+    public LeadDuplicateFilter(
+            LeadRepository leadRepository,
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${app.leads.duplicate-filter-enabled:true}") boolean enabled,
+            @Value("${app.leads.dedupe-window-days:7}") int dedupeWindowDays,
+            @Value("${app.leads.duplicate-filter-false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.leadRepository = leadRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.enabled = enabled;
+        this.dedupeWindowDays = dedupeWindowDays;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public boolean mightContain(UUID companyId, String emailHash, String phoneHash) {
+        if (!enabled || !loaded || !subscribed) {
+            return true;
+        }
+        return mightContain(current.get(companyId), emailHash, phoneHash)
+                || mightContain(previous.get(companyId), emailHash, phoneHash);
+    }
+
+    public void add(UUID companyId, String emailHash, String phoneHash) {
+        if (!enabled) {
+            return;
+        }
+        addLocally(companyId, emailHash, phoneHash);
+        try {
+            redisTemplate.convertAndSend(LEAD_DUPLICATE_FILTER_CHANNEL, companyId + "|" + emailHash + "|" + phoneHash);
+        } catch (DataAccessException exception) {
+            LOG.warn("Failed to publish lead duplicate filter addition companyId={}, disabling fast path until resubscribed",
+                    companyId, exception);
+            subscribed = false;
+        }
+    }
+
+    /**
+     * Reloads the filters from leads inside the dedupe window, which also ages out contacts
+     * that fell out of it. The replaced filters stay consulted until the next rebuild, so an
+     * insert racing with the reload cannot be lost.
+     */
+    @Scheduled(
+            initialDelayString = "${app.leads.duplicate-filter-rebuild-initial-delay-ms:0}",
+            fixedDelayString = "${app.leads.duplicate-filter-rebuild-ms:21600000}"
+    )
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            ensureSubscribed();
+            Map<UUID, LeadContactBloomFilter> next = new ConcurrentHashMap<>();
+            rebuilding = next;
+            try {
+                Instant since = Instant.now().minusSeconds((long) dedupeWindowDays * 24L * 3600L);
+                Map<UUID, Long> leadsByCompany = new HashMap<>();
+                List<Object[]> rows = loadAll(since);
+                for (Object[] row : rows) {
+                    leadsByCompany.merge((UUID) row[1], 1L, Long::sum);
+                }
+                for (Object[] row : rows) {
+                    UUID companyId = (UUID) row[1];
+                    LeadContactBloomFilter filter = next.computeIfAbsent(companyId,
+                            ignored -> newFilter(leadsByCompany.get(companyId) * 2));
+                    filter.put((String) row[2]);
+                    filter.put((String) row[3]);
+                }
+                previous = current;
+                current = next;
+                loaded = true;
+                LOG.info("Lead duplicate filter rebuilt companies={} leads={}", next.size(), rows.size());
+            } catch (DataAccessException exception) {
+                LOG.error("Lead duplicate filter rebuild failed, keeping previous filters", exception);
+            } finally {
+                rebuilding = null;
+            }
+        }
+    }
+
+    /**
+     * Additions published by other nodes while this one was unsubscribed are lost, so the fast
+     * path only comes back after a fresh rebuild once Redis is reachable again.
+     */
+    @Scheduled(fixedDelayString = "${app.leads.duplicate-filter-recovery-ms:30000}")
+    public void recover() {
+        if (!enabled || (loaded && subscribed)) {
+            return;
+        }
+        ensureSubscribed();
+        if (subscribed) {
+            rebuild();
+        }
+    }
+
+    private List<Object[]> loadAll(Instant since) {
+        List<Object[]> rows = new ArrayList<>();
+        UUID afterId = MIN_UUID;
+        while (true) {
+            List<Object[]> page = leadRepository.findContactHashesSince(since, afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            rows.addAll(page);
+            if (page.size() < REBUILD_PAGE_SIZE) {
+                return rows;
+            }
+            afterId = (UUID) page.get(page.size() - 1)[0];
+        }
+    }
+
+    private void ensureSubscribed() {
+        if (subscribed) {
+            return;
+        }
+        try {
+            listenerContainer.addMessageListener(additionListener, new ChannelTopic(LEAD_DUPLICATE_FILTER_CHANNEL));
+            subscribed = true;
+        } catch (RuntimeException exception) {
+            LOG.warn("Lead duplicate filter could not subscribe to additions, every submission checks the database: {}",
+                    exception.getMessage());
+        }
+    }
+
+    private void onRemoteAddition(byte[] body) {
+        Object payload = redisTemplate.getValueSerializer().deserialize(body);
+        if (payload == null) {
+            return;
+        }
+        String[] parts = payload.toString().split("\\|", -1);
+        if (parts.length != 3) {
+            return;
+        }
+        addLocally(UUID.fromString(parts[0]), nullIfLiteral(parts[1]), nullIfLiteral(parts[2]));
+    }
+
+    private void addLocally(UUID companyId, String emailHash, String phoneHash) {
+        LeadContactBloomFilter filter = current.computeIfAbsent(companyId, ignored -> newFilter(MIN_EXPECTED_INSERTIONS));
+        filter.put(emailHash);
+        filter.put(phoneHash);
+        Map<UUID, LeadContactBloomFilter> inProgress = rebuilding;
+        if (inProgress != null) {
+            LeadContactBloomFilter pending = inProgress.computeIfAbsent(companyId, ignored -> newFilter(MIN_EXPECTED_INSERTIONS));
+            pending.put(emailHash);
+            pending.put(phoneHash);
+        }
+    }
+
+    private LeadContactBloomFilter newFilter(long expectedInsertions) {
+        return LeadContactBloomFilter.create(Math.max(MIN_EXPECTED_INSERTIONS, expectedInsertions), falsePositiveRate);
+    }
+
+    private boolean mightContain(LeadContactBloomFilter filter, String emailHash, String phoneHash) {
+        return filter != null && (filter.mightContain(emailHash) || filter.mightContain(phoneHash));
+    }
+
+    private String nullIfLiteral(String value) {
+        return "null".equals(value) ? null : value;
+    }
+}
@@ -2,6 +2,7 @@ package com.salesway.leads.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesway.leads.dto.CursorPageResponse;
 import com.salesway.leads.dto.LeadEventResponse;
 import com.salesway.leads.entity.Lead;
 import com.salesway.leads.entity.LeadEvent;
@@ -9,27 +10,34 @@ import com.salesway.leads.enums.LeadEventType;
 import com.salesway.leads.repository.LeadEventRepository;
 import com.salesway.security.AuthenticatedUserService;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 @Service
 public class LeadEventService {
+    static final String CURSOR_ORDERING = "events";
+
     private final LeadEventRepository leadEventRepository;
+    private final LeadListViewService leadListViewService;
     private final AuthenticatedUserService authenticatedUserService;
     private final ObjectMapper objectMapper;
 
     public LeadEventService(
             LeadEventRepository leadEventRepository,
+            LeadListViewService leadListViewService,
             AuthenticatedUserService authenticatedUserService,
             ObjectMapper objectMapper
     ) {
         this.leadEventRepository = leadEventRepository;
+        this.leadListViewService = leadListViewService;
         this.authenticatedUserService = authenticatedUserService;
         this.objectMapper = objectMapper;
     }
@@ -44,6 +52,11 @@ public class LeadEventService {
         appendEvent(lead, type, summary, payload, null);
     }
 
+    @Transactional
+    public void appendSystemEvent(Lead lead, LeadEventType type, String summary, Map<String, Object> payload, Instant occurredAt) {
+        appendEvent(lead, type, summary, payload, null, occurredAt);
+    }
+
     @Transactional(readOnly = true)
     public Page<LeadEventResponse> getEvents(
             UUID companyId,
@@ -57,12 +70,70 @@ public class LeadEventService {
         return page.map(this::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<LeadEventResponse> getEvents(
+            UUID companyId,
+            UUID leadId,
+            String cursor,
+            int size,
+            Collection<LeadEventType> types
+    ) {
+        LeadCursor position = LeadCursor.decode(CURSOR_ORDERING, cursor);
+        return LeadCursor.slice(
+                findEventsAfter(companyId, leadId, types, position, size + 1),
+                size,
+                this::toResponse,
+                LeadEventService::cursorOf
+        );
+    }
+
+    /**
+     * Newest-first events following the cursor position, or from the newest when it is
+     * {@code null}; ties on the timestamp are broken by id.
+     */
+    @Transactional(readOnly = true)
+    public List<LeadEvent> findEventsAfter(
+            UUID companyId,
+            UUID leadId,
+            Collection<LeadEventType> types,
+            LeadCursor position,
+            int limit
+    ) {
+        Pageable pageable = PageRequest.of(0, limit);
+        boolean allTypes = types == null || types.isEmpty();
+        if (position == null) {
+            return allTypes
+                    ? leadEventRepository.findByCompanyIdAndLeadIdOrderByCreatedAtDescIdDesc(companyId, leadId, pageable)
+                    : leadEventRepository.findByCompanyIdAndLeadIdAndTypeInOrderByCreatedAtDescIdDesc(
+                            companyId, leadId, types, pageable);
+        }
+        return allTypes
+                ? leadEventRepository.findPageBefore(companyId, leadId, position.key(), position.id(), pageable)
+                : leadEventRepository.findPageBeforeWithTypes(
+                        companyId, leadId, types, position.key(), position.id(), pageable);
+    }
+
+    public static String cursorOf(LeadEvent event) {
+        return LeadCursor.encode(CURSOR_ORDERING, event.getCreatedAt(), event.getId());
+    }
+
     private void appendEvent(
             Lead lead,
             LeadEventType type,
             String summary,
             Map<String, Object> payload,
             UUID actorUserId
+    ) {
+        appendEvent(lead, type, summary, payload, actorUserId, Instant.now());
+    }
+
+    private void appendEvent(
+            Lead lead,
+            LeadEventType type,
+            String summary,
+            Map<String, Object> payload,
+            UUID actorUserId,
+            Instant occurredAt
     ) {
         LeadEvent event = new LeadEvent();
         event.setLead(lead);
@@ -73,7 +144,8 @@ public class LeadEventService {
         JsonNode payloadNode = payload == null ? null : objectMapper.valueToTree(payload);
         event.setPayload(payloadNode);
         leadEventRepository.save(event);
-        lead.setLastActivityAt(Instant.now());
+        lead.setLastActivityAt(occurredAt);
+        leadListViewService.refresh(lead);
     }
 
     private LeadEventResponse toResponse(LeadEvent event) {
@@ -0,0 +1,257 @@
+package com.salesway.leads.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesway.leads.entity.Lead;
+import com.salesway.leads.entity.LeadAnswer;
+import com.salesway.leads.entity.LeadFormQuestion;
+import com.salesway.leads.entity.LeadStandardFields;
+import com.salesway.leads.repository.LeadAnswerRepository;
+import com.salesway.leads.repository.LeadFormQuestionRepository;
+import com.salesway.leads.repository.LeadFormRepository;
+import com.salesway.leads.repository.LeadSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams the leads matching the list filters as CSV or NDJSON. Leads are read through a
+ * forward-only cursor with a JDBC fetch size and written chunk by chunk; each chunk loads its
+ * answers in one query and is then evicted from the persistence context, so memory stays flat
+ * however many leads the company has.
+ */
+@Service
+public class LeadExportService {
+    private static final List<String> STANDARD_COLUMNS = List.of(
+            "id", "firstName", "lastName", "email", "phone", "status", "source", "campaign",
+            "submittedAt", "lastActivityAt", "assignedToUserId", "aiScore", "aiStatus"
+    );
+
+    private final EntityManager entityManager;
+    private final LeadFormRepository leadFormRepository;
+    private final LeadFormQuestionRepository questionRepository;
+    private final LeadAnswerRepository answerRepository;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public LeadExportService(
+            EntityManager entityManager,
+            LeadFormRepository leadFormRepository,
+            LeadFormQuestionRepository questionRepository,
+            LeadAnswerRepository answerRepository,
+            ObjectMapper objectMapper,
+            @Value("${app.leads.export-fetch-size:500}") int fetchSize
+    ) {
+        this.entityManager = entityManager;
+        this.leadFormRepository = leadFormRepository;
+        this.questionRepository = questionRepository;
+        this.answerRepository = answerRepository;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    public String resolveFormat(String format) {
+        String normalized = format == null || format.isBlank()
+                ? LeadImportService.FORMAT_CSV
+                : format.trim().toLowerCase(Locale.ROOT);
+        if (!LeadImportService.FORMAT_CSV.equals(normalized) && !LeadImportService.FORMAT_NDJSON.equals(normalized)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format invalid. Allowed: csv, ndjson");
+        }
+        return normalized;
+    }
+
+    @Transactional(readOnly = true)
+    public void writeLeads(LeadManagementService.LeadSearch search, String format, OutputStream output) throws IOException {
+        List<LeadFormQuestion> questions = leadFormRepository.findByCompanyId(search.companyId())
+                .map(form -> questionRepository.findByLeadFormIdAndIsActiveTrueOrderByDisplayOrderAsc(form.getId()))
+                .orElse(List.of());
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        LeadExportSink sink = LeadImportService.FORMAT_NDJSON.equals(format)
+                ? new NdjsonSink(writer)
+                : new CsvSink(writer, questions);
+        sink.begin();
+
+        try (Stream<Lead> leads = openCursor(search)) {
+            Iterator<Lead> iterator = leads.iterator();
+            List<Lead> chunk = new ArrayList<>(fetchSize);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == fetchSize || !iterator.hasNext()) {
+                    writeChunk(chunk, sink);
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private Stream<Lead> openCursor(LeadManagementService.LeadSearch search) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Lead> query = cb.createQuery(Lead.class);
+        Root<Lead> root = query.from(Lead.class);
+        root.fetch("standardFields", JoinType.LEFT);
+        query.select(root)
+                .where(LeadSpecifications.byCriteria(search.companyId(), search.criteria()).toPredicate(root, query, cb))
+                .orderBy(cb.desc(root.get("submittedAt")), cb.desc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private void writeChunk(List<Lead> chunk, LeadExportSink sink) throws IOException {
+        Map<UUID, List<LeadAnswer>> answersByLeadId = answerRepository
+                .findByLeadIdInOrderByDisplayOrderSnapshotAscCreatedAtAsc(chunk.stream().map(Lead::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(answer -> answer.getLead().getId()));
+        for (Lead lead : chunk) {
+            sink.write(lead, answersByLeadId.getOrDefault(lead.getId(), List.of()));
+        }
+    }
+
+    private static List<String> standardValues(Lead lead) {
+        LeadStandardFields standard = lead.getStandardFields();
+        List<String> values = new ArrayList<>(STANDARD_COLUMNS.size());
+        values.add(lead.getId().toString());
+        values.add(standard == null ? null : standard.getFirstName());
+        values.add(standard == null ? null : standard.getLastName());
+        values.add(standard == null ? null : standard.getEmail());
+        values.add(standard == null ? null : standard.getPhone());
+        values.add(lead.getStatus());
+        values.add(lead.getSource());
+        values.add(lead.getCampaign());
+        values.add(lead.getSubmittedAt() == null ? null : lead.getSubmittedAt().toString());
+        values.add(lead.getLastActivityAt() == null ? null : lead.getLastActivityAt().toString());
+        values.add(lead.getAssignedToUserId() == null ? null : lead.getAssignedToUserId().toString());
+        values.add(lead.getAiScore() == null ? null : lead.getAiScore().toString());
+        values.add(lead.getAiStatus());
+        return values;
+    }
+
+    private interface LeadExportSink {
+        void begin() throws IOException;
+
+        void write(Lead lead, List<LeadAnswer> answers) throws IOException;
+    }
+
+    /**
+     * One column per active question of the company form, headed by its label so the file can be
+     * imported again; multi-select answers are joined with semicolons.
+     */
+    private static final class CsvSink implements LeadExportSink {
+        private final LeadCsvWriter csv;
+        private final List<LeadFormQuestion> questions;
+
+        private CsvSink(Writer writer, List<LeadFormQuestion> questions) {
+            this.csv = new LeadCsvWriter(writer, ',');
+            this.questions = questions;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            List<String> header = new ArrayList<>(STANDARD_COLUMNS);
+            questions.forEach(question -> header.add(question.getLabel()));
+            csv.writeRecord(header);
+        }
+
+        @Override
+        public void write(Lead lead, List<LeadAnswer> answers) throws IOException {
+            Map<UUID, JsonNode> valuesByQuestionId = new LinkedHashMap<>();
+            for (LeadAnswer answer : answers) {
+                valuesByQuestionId.put(answer.getQuestion().getId(), answer.getAnswerValue());
+            }
+            List<String> record = standardValues(lead);
+            for (LeadFormQuestion question : questions) {
+                record.add(cell(valuesByQuestionId.get(question.getId())));
+            }
+            csv.writeRecord(record);
+        }
+
+        private String cell(JsonNode value) {
+            if (value == null || value.isNull()) {
+                return null;
+            }
+            if (value.isArray()) {
+                List<String> selected = new ArrayList<>(value.size());
+                value.forEach(item -> selected.add(item.asText()));
+                return String.join(";", selected);
+            }
+            return value.asText();
+        }
+    }
+
+    /**
+     * One JSON object per line with the standard columns and an {@code answers} array holding
+     * every stored answer, including those to questions deactivated since.
+     */
+    private final class NdjsonSink implements LeadExportSink {
+        private final Writer writer;
+
+        private NdjsonSink(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void write(Lead lead, List<LeadAnswer> answers) throws IOException {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            List<String> values = standardValues(lead);
+            for (int index = 0; index < STANDARD_COLUMNS.size(); index++) {
+                String column = STANDARD_COLUMNS.get(index);
+                if ("aiScore".equals(column) && lead.getAiScore() != null) {
+                    generator.writeNumberField(column, lead.getAiScore());
+                } else {
+                    generator.writeStringField(column, values.get(index));
+                }
+            }
+            generator.writeArrayFieldStart("answers");
+            for (LeadAnswer answer : answers) {
+                generator.writeStartObject();
+                generator.writeStringField("questionId", answer.getQuestion().getId().toString());
+                generator.writeStringField("label", answer.getQuestionLabelSnapshot());
+                generator.writeFieldName("value");
+                if (answer.getAnswerValue() == null) {
+                    generator.writeNull();
+                } else {
+                    objectMapper.writeTree(generator, answer.getAnswerValue());
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.flush();
+            writer.write('\n');
+        }
+    }
+}
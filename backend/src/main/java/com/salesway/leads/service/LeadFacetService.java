@@ -0,0 +1,212 @@
+package com.salesway.leads.service;
+
+import com.salesway.leads.dto.LeadFacetCountResponse;
+import com.salesway.leads.dto.LeadFacetsResponse;
+import com.salesway.leads.dto.LeadSearchCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the leads matching the list filters by status, source, stage and assignee in one
+ * {@code GROUPING SETS} query over the lead list read model. Results are cached per company and
+ * filter set for a few seconds; lead writes evict the company once they commit. Other nodes are
+ * not notified, so they serve their copy until the TTL runs out.
+ */
+@Service
+public class LeadFacetService {
+    // bit positions of GROUPING(status, source, stage_id, assigned_to_user_id); a set bit means
+    // the column is rolled up in that row
+    private static final int STATUS_ROWS = 0b0111;
+    private static final int SOURCE_ROWS = 0b1011;
+    private static final int STAGE_ROWS = 0b1101;
+    private static final int ASSIGNEE_ROWS = 0b1110;
+    private static final int TOTAL_ROW = 0b1111;
+
+    private final EntityManager entityManager;
+    private final long ttlMs;
+    private final int maxEntriesPerCompany;
+    private final Map<UUID, CompanyFacets> facetsByCompany = new ConcurrentHashMap<>();
+
+    public LeadFacetService(
+            EntityManager entityManager,
+            @Value("${app.leads.facets-cache-ttl-ms:15000}") long ttlMs,
+            @Value("${app.leads.facets-cache-max-entries-per-company:64}") int maxEntriesPerCompany
+    ) {
+        this.entityManager = entityManager;
+        this.ttlMs = ttlMs;
+        this.maxEntriesPerCompany = maxEntriesPerCompany;
+    }
+
+    @Transactional(readOnly = true)
+    public LeadFacetsResponse getFacets(LeadManagementService.LeadSearch search) {
+        CompanyFacets company = facetsByCompany.computeIfAbsent(search.companyId(), id -> new CompanyFacets());
+        long now = System.currentTimeMillis();
+        CachedFacets cached = company.entries.get(search.criteria());
+        if (cached != null && now - cached.loadedAtMs() < ttlMs) {
+            return cached.facets();
+        }
+        long generation = company.generation.get();
+        LeadFacetsResponse facets = toResponse(buildQuery(search.companyId(), search.criteria()).getResultList());
+        // a lead write that committed while the query ran may not be in the result
+        if (company.generation.get() == generation) {
+            if (company.entries.size() >= maxEntriesPerCompany) {
+                company.entries.values().removeIf(entry -> now - entry.loadedAtMs() >= ttlMs);
+                if (company.entries.size() >= maxEntriesPerCompany) {
+                    company.entries.clear();
+                }
+            }
+            company.entries.put(search.criteria(), new CachedFacets(facets, now));
+        }
+        return facets;
+    }
+
+    /**
+     * Evicts the company's cached facets once the surrounding transaction commits (immediately
+     * when there is none).
+     */
+    public void invalidate(UUID companyId) {
+        if (companyId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(companyId);
+                }
+            });
+        } else {
+            evict(companyId);
+        }
+    }
+
+    private void evict(UUID companyId) {
+        CompanyFacets company = facetsByCompany.get(companyId);
+        if (company != null) {
+            company.generation.incrementAndGet();
+            company.entries.clear();
+        }
+    }
+
+    /**
+     * Mirrors {@link com.salesway.leads.repository.LeadListViewSpecifications#byCriteria}; the
+     * criteria API has no grouping sets, so the predicates are spelled out in SQL here.
+     */
+    private Query buildQuery(UUID companyId, LeadSearchCriteria criteria) {
+        StringBuilder where = new StringBuilder("company_id = :companyId");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("companyId", companyId);
+
+        if (criteria.status() != null) {
+            where.append(" AND status = :status");
+            parameters.put("status", criteria.status());
+        }
+        if (criteria.createdFrom() != null) {
+            where.append(" AND submitted_at >= :createdFrom");
+            parameters.put("createdFrom", criteria.createdFrom());
+        }
+        if (criteria.createdTo() != null) {
+            where.append(" AND submitted_at <= :createdTo");
+            parameters.put("createdTo", criteria.createdTo());
+        }
+        if (criteria.assignedToUserId() != null) {
+            where.append(" AND assigned_to_user_id = :assignedToUserId");
+            parameters.put("assignedToUserId", criteria.assignedToUserId());
+        }
+        if (criteria.visibleToUserId() != null) {
+            where.append(criteria.includeUnassignedForVisibleUser()
+                    ? " AND (assigned_to_user_id = :visibleToUserId OR assigned_to_user_id IS NULL)"
+                    : " AND assigned_to_user_id = :visibleToUserId");
+            parameters.put("visibleToUserId", criteria.visibleToUserId());
+        }
+        if (criteria.source() != null) {
+            where.append(" AND upper(source) = :source");
+            parameters.put("source", criteria.source());
+        }
+        if (criteria.q() != null && !criteria.q().isBlank()) {
+            List<String> terms = new ArrayList<>();
+            for (String term : LeadSearchDocument.queryTerms(criteria.q())) {
+                // backslash is PostgreSQL's default LIKE escape, matching escapeLike
+                String name = "term" + terms.size();
+                terms.add("search_document LIKE :" + name);
+                parameters.put(name, "%" + LeadSearchDocument.escapeLike(term) + "%");
+            }
+            String documentMatch = terms.isEmpty() ? "TRUE" : "(" + String.join(" AND ", terms) + ")";
+            String phonePrefix = LeadSearchDocument.phonePrefix(criteria.q());
+            if (phonePrefix == null) {
+                where.append(" AND ").append(documentMatch);
+            } else {
+                where.append(" AND (").append(documentMatch).append(" OR search_phone_digits LIKE :phonePrefix)");
+                parameters.put("phonePrefix", phonePrefix + "%");
+            }
+        }
+        if (criteria.hasOpenTasks() != null) {
+            where.append(Boolean.TRUE.equals(criteria.hasOpenTasks())
+                    ? " AND open_task_count > 0"
+                    : " AND open_task_count = 0");
+        }
+
+        Query query = entityManager.createNativeQuery("""
+                SELECT status,
+                       upper(source),
+                       CAST(stage_id AS VARCHAR),
+                       CAST(assigned_to_user_id AS VARCHAR),
+                       GROUPING(status, upper(source), stage_id, assigned_to_user_id),
+                       count(*)
+                FROM lead_list_view
+                WHERE %s
+                GROUP BY GROUPING SETS ((status), (upper(source)), (stage_id), (assigned_to_user_id), ())
+                """.formatted(where));
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+
+    static LeadFacetsResponse toResponse(List<?> rows) {
+        long total = 0;
+        List<LeadFacetCountResponse> statuses = new ArrayList<>();
+        List<LeadFacetCountResponse> sources = new ArrayList<>();
+        List<LeadFacetCountResponse> stages = new ArrayList<>();
+        List<LeadFacetCountResponse> assignees = new ArrayList<>();
+        for (Object item : rows) {
+            Object[] row = (Object[]) item;
+            long count = ((Number) row[5]).longValue();
+            switch (((Number) row[4]).intValue()) {
+                case STATUS_ROWS -> statuses.add(new LeadFacetCountResponse((String) row[0], count));
+                case SOURCE_ROWS -> sources.add(new LeadFacetCountResponse((String) row[1], count));
+                case STAGE_ROWS -> stages.add(new LeadFacetCountResponse((String) row[2], count));
+                case ASSIGNEE_ROWS -> assignees.add(new LeadFacetCountResponse((String) row[3], count));
+                case TOTAL_ROW -> total = count;
+                default -> {
+                }
+            }
+        }
+        Comparator<LeadFacetCountResponse> byCount = Comparator.comparingLong(LeadFacetCountResponse::count).reversed();
+        statuses.sort(byCount);
+        sources.sort(byCount);
+        stages.sort(byCount);
+        assignees.sort(byCount);
+        return new LeadFacetsResponse(total, statuses, sources, stages, assignees);
+    }
+
+    private static final class CompanyFacets {
+        private final AtomicLong generation = new AtomicLong();
+        private final Map<LeadSearchCriteria, CachedFacets> entries = new ConcurrentHashMap<>();
+    }
+
+    private record CachedFacets(LeadFacetsResponse facets, long loadedAtMs) {
+    }
+}
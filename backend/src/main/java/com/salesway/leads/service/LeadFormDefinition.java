@@ -0,0 +1,300 @@
+package com.salesway.leads.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesway.leads.dto.LeadFormResponse;
+import com.salesway.leads.dto.LeadQuestionResponse;
+import com.salesway.leads.entity.LeadForm;
+import com.salesway.leads.entity.LeadFormQuestion;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of an active public lead form: the rendered response with its ETag and
+ * the active questions with select options parsed once, so submissions validate without
+ * touching the database.
+ */
+public final class LeadFormDefinition {
+    private static final Set<String> TEXT_TYPES = Set.of("short_text", "long_text");
+
+    private final UUID formId;
+    private final UUID companyId;
+    private final LeadFormResponse response;
+    private final String etag;
+    private final Map<UUID, Question> questionsById;
+
+    private LeadFormDefinition(UUID formId, UUID companyId, LeadFormResponse response, String etag, Map<UUID, Question> questionsById) {
+        this.formId = formId;
+        this.companyId = companyId;
+        this.response = response;
+        this.etag = etag;
+        this.questionsById = questionsById;
+    }
+
+    public static LeadFormDefinition compile(LeadForm form, List<LeadFormQuestion> activeQuestions, ObjectMapper objectMapper) {
+        List<LeadFormQuestion> ordered = activeQuestions.stream()
+                .sorted(Comparator.comparing(LeadFormQuestion::getDisplayOrder))
+                .toList();
+        Map<UUID, Question> questionsById = new LinkedHashMap<>();
+        List<LeadQuestionResponse> questionResponses = new ArrayList<>(ordered.size());
+        for (LeadFormQuestion question : ordered) {
+            questionsById.put(question.getId(), Question.compile(question, objectMapper));
+            questionResponses.add(new LeadQuestionResponse(
+                    question.getId(), question.getQuestionType(), question.getLabel(), question.getPlaceholder(),
+                    question.getHelpText(), question.getRequired(), toJson(question.getOptionsJson(), objectMapper),
+                    question.getDisplayOrder(), question.getIsActive()
+            ));
+        }
+        LeadFormResponse response = new LeadFormResponse(
+                form.getId(), form.getTitle(), form.getPublicSlug(), form.getIsActive(), List.copyOf(questionResponses));
+        return new LeadFormDefinition(
+                form.getId(),
+                form.getCompany().getId(),
+                response,
+                etagOf(response, objectMapper),
+                Collections.unmodifiableMap(questionsById)
+        );
+    }
+
+    public UUID getFormId() {
+        return formId;
+    }
+
+    public UUID getCompanyId() {
+        return companyId;
+    }
+
+    public LeadFormResponse getResponse() {
+        return response;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public Question getQuestion(UUID questionId) {
+        return questionsById.get(questionId);
+    }
+
+    public Collection<Question> getQuestions() {
+        return questionsById.values();
+    }
+
+    public List<UUID> missingRequiredQuestionIds(Set<UUID> answeredQuestionIds) {
+        return questionsById.values().stream()
+                .filter(Question::isRequired)
+                .map(Question::getId)
+                .filter(id -> !answeredQuestionIds.contains(id))
+                .toList();
+    }
+
+    private static String toJson(JsonNode value, ObjectMapper objectMapper) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException exception) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to serialize optionsJson", exception);
+        }
+    }
+
+    private static String etagOf(LeadFormResponse response, ObjectMapper objectMapper) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(response));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("Failed to compute lead form ETag", exception);
+        }
+    }
+
+    public static final class Question {
+        private final UUID id;
+        private final String questionType;
+        private final String label;
+        private final boolean required;
+        private final JsonNode optionsJson;
+        private final Integer displayOrder;
+        private final Set<String> options;
+        private final String optionsError;
+
+        private Question(
+                UUID id,
+                String questionType,
+                String label,
+                boolean required,
+                JsonNode optionsJson,
+                Integer displayOrder,
+                Set<String> options,
+                String optionsError
+        ) {
+            this.id = id;
+            this.questionType = questionType;
+            this.label = label;
+            this.required = required;
+            this.optionsJson = optionsJson;
+            this.displayOrder = displayOrder;
+            this.options = options;
+            this.optionsError = optionsError;
+        }
+
+        static Question compile(LeadFormQuestion question, ObjectMapper objectMapper) {
+            Set<String> options = Set.of();
+            String optionsError = null;
+            if ("single_select".equals(question.getQuestionType()) || "multi_select".equals(question.getQuestionType())) {
+                try {
+                    options = parseSelectOptions(question, objectMapper);
+                } catch (IllegalArgumentException exception) {
+                    optionsError = exception.getMessage();
+                }
+            }
+            return new Question(
+                    question.getId(),
+                    question.getQuestionType(),
+                    question.getLabel(),
+                    Boolean.TRUE.equals(question.getRequired()),
+                    question.getOptionsJson(),
+                    question.getDisplayOrder(),
+                    options,
+                    optionsError
+            );
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public String getQuestionType() {
+            return questionType;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+
+        public JsonNode getOptionsJson() {
+            return optionsJson;
+        }
+
+        public Integer getDisplayOrder() {
+            return displayOrder;
+        }
+
+        public void validate(JsonNode value) {
+            if (TEXT_TYPES.contains(questionType)) {
+                if (!value.isTextual()) {
+                    throw invalid("invalid type: expected string for " + questionType);
+                }
+                return;
+            }
+
+            if ("single_select".equals(questionType)) {
+                requireOptions();
+                if (!value.isTextual()) {
+                    throw invalid("invalid type: expected string for single_select");
+                }
+                if (!options.contains(value.asText())) {
+                    throw invalid("invalid: not in options");
+                }
+                return;
+            }
+
+            if ("multi_select".equals(questionType)) {
+                requireOptions();
+                if (!value.isArray()) {
+                    throw invalid("invalid type: expected array for multi_select");
+                }
+                for (JsonNode selected : value) {
+                    if (!selected.isTextual()) {
+                        throw invalid("invalid type: expected array of strings");
+                    }
+                    if (!options.contains(selected.asText())) {
+                        throw invalid("invalid: contains option outside allowed list");
+                    }
+                }
+                return;
+            }
+
+            if ("number".equals(questionType) && !value.isNumber()) {
+                throw invalid("invalid type: expected number");
+            }
+
+            if ("boolean".equals(questionType) && !value.isBoolean()) {
+                throw invalid("invalid type: expected boolean");
+            }
+
+            if ("date".equals(questionType)) {
+                if (!value.isTextual()) {
+                    throw invalid("invalid type: expected date string (yyyy-MM-dd)");
+                }
+                try {
+                    LocalDate.parse(value.asText());
+                } catch (DateTimeParseException exception) {
+                    throw invalid("invalid date format: expected yyyy-MM-dd");
+                }
+            }
+        }
+
+        private void requireOptions() {
+            if (optionsError != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, optionsError);
+            }
+        }
+
+        private ResponseStatusException invalid(String detail) {
+            return new ResponseStatusException(HttpStatus.BAD_REQUEST, "answers[questionId=" + id + "].value " + detail);
+        }
+
+        private static Set<String> parseSelectOptions(LeadFormQuestion question, ObjectMapper objectMapper) {
+            String shapeError = "optionsJson invalid JSON for questionId=" + question.getId()
+                    + ": expected non-empty JSON array of strings";
+            JsonNode optionsNode = question.getOptionsJson();
+            if (optionsNode == null) {
+                throw new IllegalArgumentException(shapeError);
+            }
+
+            JsonNode parsedNode = optionsNode;
+            if (optionsNode.isTextual()) {
+                try {
+                    parsedNode = objectMapper.readTree(optionsNode.asText());
+                } catch (JsonProcessingException exception) {
+                    throw new IllegalArgumentException("optionsJson invalid JSON for questionId=" + question.getId());
+                }
+            }
+
+            if (!parsedNode.isArray() || parsedNode.isEmpty()) {
+                throw new IllegalArgumentException(shapeError);
+            }
+
+            Set<String> options = new LinkedHashSet<>();
+            for (JsonNode optionNode : parsedNode) {
+                if (!optionNode.isTextual() || optionNode.asText().isBlank()) {
+                    throw new IllegalArgumentException(shapeError);
+                }
+                options.add(optionNode.asText());
+            }
+            return Set.copyOf(options);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.salesway.leads.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesway.leads.entity.LeadForm;
+import com.salesway.leads.repository.LeadFormQuestionRepository;
+import com.salesway.leads.repository.LeadFormRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-node cache of compiled public lead forms keyed by slug. Edits evict locally and publish
+ * the slug on a Redis channel so other nodes evict too; the TTL bounds staleness when a
+ * message is missed.
+ */
+@Service
+public class LeadFormDefinitionCache {
+    public static final String LEAD_FORM_INVALIDATION_CHANNEL = "lead-form-definition-invalidations";
+    private static final Logger LOG = LoggerFactory.getLogger(LeadFormDefinitionCache.class);
+
+    private final LeadFormRepository leadFormRepository;
+    private final LeadFormQuestionRepository questionRepository;
+    private final ObjectMapper objectMapper;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final long ttlMs;
+    private final Map<String, CachedDefinition> definitionsBySlug = new ConcurrentHashMap<>();
+    private final MessageListener invalidationListener = (message, pattern) -> onInvalidation(message.getBody());
+    private volatile boolean subscribed;
+
+    public LeadFormDefinitionCache(
+            LeadFormRepository leadFormRepository,
+            LeadFormQuestionRepository questionRepository,
+            ObjectMapper objectMapper,
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${app.leads.public-form-cache-ttl-ms:300000}") long ttlMs
+    ) {
+        this.leadFormRepository = leadFormRepository;
+        this.questionRepository = questionRepository;
+        this.objectMapper = objectMapper;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.ttlMs = ttlMs;
+    }
+
+    public Optional<LeadFormDefinition> findActive(String publicSlug) {
+        CachedDefinition cached = definitionsBySlug.get(publicSlug);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAtMs() < ttlMs) {
+            return Optional.of(cached.definition());
+        }
+        Optional<LeadForm> form = leadFormRepository.findByPublicSlugAndIsActiveTrue(publicSlug);
+        if (form.isEmpty()) {
+            definitionsBySlug.remove(publicSlug);
+            return Optional.empty();
+        }
+        LeadFormDefinition definition = LeadFormDefinition.compile(
+                form.get(),
+                questionRepository.findByLeadFormIdAndIsActiveTrue(form.get().getId()),
+                objectMapper
+        );
+        definitionsBySlug.put(publicSlug, new CachedDefinition(definition, System.currentTimeMillis()));
+        return Optional.of(definition);
+    }
+
+    /**
+     * Evicts the given slugs once the surrounding transaction commits (immediately when there
+     * is none), so no node can reload the pre-edit definition in between.
+     */
+    public void invalidate(String... publicSlugs) {
+        List<String> slugs = Arrays.stream(publicSlugs).filter(Objects::nonNull).distinct().toList();
+        if (slugs.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAndPublish(slugs);
+                }
+            });
+        } else {
+            evictAndPublish(slugs);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.leads.public-form-cache-subscribe-initial-delay-ms:0}",
+            fixedDelayString = "${app.leads.public-form-cache-subscribe-retry-ms:30000}"
+    )
+    public void ensureSubscribed() {
+        if (subscribed) {
+            return;
+        }
+        try {
+            listenerContainer.addMessageListener(invalidationListener, new ChannelTopic(LEAD_FORM_INVALIDATION_CHANNEL));
+            subscribed = true;
+            LOG.info("Lead form cache subscribed to invalidation channel={}", LEAD_FORM_INVALIDATION_CHANNEL);
+        } catch (RuntimeException exception) {
+            LOG.warn("Lead form cache could not subscribe to invalidations, relying on TTL ttlMs={}: {}",
+                    ttlMs, exception.getMessage());
+        }
+    }
+
+    private void onInvalidation(byte[] body) {
+        Object slug = redisTemplate.getValueSerializer().deserialize(body);
+        if (slug != null) {
+            definitionsBySlug.remove(slug.toString());
+        }
+    }
+
+    private void evictAndPublish(List<String> slugs) {
+        for (String slug : slugs) {
+            definitionsBySlug.remove(slug);
+            try {
+                redisTemplate.convertAndSend(LEAD_FORM_INVALIDATION_CHANNEL, slug);
+            } catch (DataAccessException exception) {
+                LOG.warn("Failed to publish lead form invalidation slug={}, other nodes refresh within ttlMs={}",
+                        slug, ttlMs, exception);
+            }
+        }
+    }
+
+    private record CachedDefinition(LeadFormDefinition definition, long loadedAtMs) {
+    }
+}
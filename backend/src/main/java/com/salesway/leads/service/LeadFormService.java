@@ -53,19 +53,22 @@ public class LeadFormService {
     private final ManagerAccessService managerAccessService;
     private final CompanyRepository companyRepository;
     private final ObjectMapper objectMapper;
+    private final LeadFormDefinitionCache leadFormDefinitionCache;
 
     public LeadFormService(
             LeadFormRepository leadFormRepository,
             LeadFormQuestionRepository questionRepository,
             ManagerAccessService managerAccessService,
             CompanyRepository companyRepository,
-            ObjectMapper objectMapper
+            ObjectMapper objectMapper,
+            LeadFormDefinitionCache leadFormDefinitionCache
     ) {
         this.leadFormRepository = leadFormRepository;
         this.questionRepository = questionRepository;
         this.managerAccessService = managerAccessService;
         this.companyRepository = companyRepository;
         this.objectMapper = objectMapper;
+        this.leadFormDefinitionCache = leadFormDefinitionCache;
     }
 
     @Transactional(readOnly = true)
@@ -82,10 +85,12 @@ public class LeadFormService {
     @Transactional
     public LeadFormResponse upsertForm(LeadFormUpdateRequest request) {
         LeadForm form = getOrCreateFormForManager();
+        String previousSlug = form.getPublicSlug();
         form.setTitle(request.getTitle());
         form.setPublicSlug(request.getPublicSlug());
         form.setIsActive(Boolean.TRUE.equals(request.getIsActive()));
         LeadForm saved = leadFormRepository.save(form);
+        leadFormDefinitionCache.invalidate(previousSlug, saved.getPublicSlug());
         return new LeadFormResponse(saved.getId(), saved.getTitle(), saved.getPublicSlug(), saved.getIsActive(),
                 questionRepository.findByLeadFormIdAndIsActiveTrueOrderByDisplayOrderAsc(saved.getId())
                         .stream().map(this::toQuestionResponse).toList());
@@ -98,7 +103,9 @@ public class LeadFormService {
         question.setLeadForm(form);
         applyQuestionRequest(question, request);
         question.setIsActive(true);
-        return toQuestionResponse(questionRepository.save(question));
+        LeadFormQuestion saved = questionRepository.save(question);
+        leadFormDefinitionCache.invalidate(form.getPublicSlug());
+        return toQuestionResponse(saved);
     }
 
     @Transactional
@@ -107,7 +114,9 @@ public class LeadFormService {
         LeadFormQuestion question = questionRepository.findByIdAndLeadFormId(questionId, form.getId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Question not found"));
         applyQuestionRequest(question, request);
-        return toQuestionResponse(questionRepository.save(question));
+        LeadFormQuestion saved = questionRepository.save(question);
+        leadFormDefinitionCache.invalidate(form.getPublicSlug());
+        return toQuestionResponse(saved);
     }
 
     @Transactional
@@ -131,6 +140,7 @@ public class LeadFormService {
             question.setDisplayOrder(index + 1);
         }
         questionRepository.saveAll(activeQuestions);
+        leadFormDefinitionCache.invalidate(form.getPublicSlug());
     }
 
     @Transactional
@@ -140,6 +150,7 @@ public class LeadFormService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Question not found"));
         question.setIsActive(false);
         questionRepository.save(question);
+        leadFormDefinitionCache.invalidate(form.getPublicSlug());
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,180 @@
+package com.salesway.leads.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.salesway.companies.repository.CompanyRepository;
+import com.salesway.leads.entity.Lead;
+import com.salesway.leads.entity.LeadAnswer;
+import com.salesway.leads.entity.LeadStandardFields;
+import com.salesway.leads.enums.LeadEventType;
+import com.salesway.leads.repository.LeadAnswerRepository;
+import com.salesway.leads.repository.LeadFormQuestionRepository;
+import com.salesway.leads.repository.LeadFormRepository;
+import com.salesway.leads.repository.LeadRepository;
+import com.salesway.leads.repository.LeadStandardFieldsRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Writes one batch of imported rows per transaction, so a later batch sees the contacts
+ * committed by earlier ones. The persistence context is cleared after every batch: an import
+ * request keeps its open-in-view context across all of its batches, which would otherwise hold
+ * every imported lead until the file is done.
+ */
+@Component
+public class LeadImportBatchWriter {
+    private static final List<String> NO_HASHES = List.of("");
+
+    private final EntityManager entityManager;
+    private final LeadRepository leadRepository;
+    private final LeadStandardFieldsRepository standardFieldsRepository;
+    private final LeadAnswerRepository answerRepository;
+    private final LeadFormRepository leadFormRepository;
+    private final LeadFormQuestionRepository questionRepository;
+    private final CompanyRepository companyRepository;
+    private final LeadEventService leadEventService;
+    private final LeadDuplicateFilter leadDuplicateFilter;
+    private final LeadListViewService leadListViewService;
+
+    public LeadImportBatchWriter(
+            EntityManager entityManager,
+            LeadRepository leadRepository,
+            LeadStandardFieldsRepository standardFieldsRepository,
+            LeadAnswerRepository answerRepository,
+            LeadFormRepository leadFormRepository,
+            LeadFormQuestionRepository questionRepository,
+            CompanyRepository companyRepository,
+            LeadEventService leadEventService,
+            LeadDuplicateFilter leadDuplicateFilter,
+            LeadListViewService leadListViewService
+    ) {
+        this.entityManager = entityManager;
+        this.leadRepository = leadRepository;
+        this.standardFieldsRepository = standardFieldsRepository;
+        this.answerRepository = answerRepository;
+        this.leadFormRepository = leadFormRepository;
+        this.questionRepository = questionRepository;
+        this.companyRepository = companyRepository;
+        this.leadEventService = leadEventService;
+        this.leadDuplicateFilter = leadDuplicateFilter;
+        this.leadListViewService = leadListViewService;
+    }
+
+    /**
+     * Inserts the rows whose email and phone are unknown to the company and returns the row
+     * numbers that were skipped as duplicates, either of an existing lead or of an earlier row.
+     */
+    @Transactional
+    public List<Integer> writeBatch(UUID companyId, UUID formId, List<Row> rows) {
+        Set<String> knownHashes = new HashSet<>();
+        List<String> emailHashes = rows.stream().map(Row::emailHash).filter(Objects::nonNull).toList();
+        List<String> phoneHashes = rows.stream().map(Row::phoneHash).filter(Objects::nonNull).toList();
+        for (Object[] existing : leadRepository.findContactHashesByCompanyIdAndHashes(
+                companyId,
+                emailHashes.isEmpty() ? NO_HASHES : emailHashes,
+                phoneHashes.isEmpty() ? NO_HASHES : phoneHashes
+        )) {
+            addHash(knownHashes, (String) existing[0]);
+            addHash(knownHashes, (String) existing[1]);
+        }
+
+        List<Integer> duplicateRows = new ArrayList<>();
+        List<Lead> leads = new ArrayList<>(rows.size());
+        List<LeadStandardFields> standardFields = new ArrayList<>(rows.size());
+        List<LeadAnswer> answers = new ArrayList<>();
+        for (Row row : rows) {
+            if (isKnown(knownHashes, row.emailHash()) || isKnown(knownHashes, row.phoneHash())) {
+                duplicateRows.add(row.rowNumber());
+                continue;
+            }
+            addHash(knownHashes, row.emailHash());
+            addHash(knownHashes, row.phoneHash());
+
+            Lead lead = new Lead();
+            lead.setCompany(companyRepository.getReferenceById(companyId));
+            lead.setLeadForm(leadFormRepository.getReferenceById(formId));
+            lead.setSource(row.source());
+            lead.setStatus("new");
+            lead.setSubmittedAt(row.submittedAt());
+            lead.setLastActivityAt(row.submittedAt());
+            lead.setEmailHash(row.emailHash());
+            lead.setPhoneHash(row.phoneHash());
+            LeadSearchDocument.apply(lead, row.firstName(), row.lastName(), row.email(), row.phone());
+            leads.add(lead);
+
+            LeadStandardFields fields = new LeadStandardFields();
+            fields.setLead(lead);
+            fields.setFirstName(row.firstName());
+            fields.setLastName(row.lastName());
+            fields.setEmail(row.email());
+            fields.setPhone(row.phone());
+            standardFields.add(fields);
+
+            for (Map.Entry<LeadFormDefinition.Question, JsonNode> entry : row.answers().entrySet()) {
+                LeadFormDefinition.Question question = entry.getKey();
+                LeadAnswer answer = new LeadAnswer();
+                answer.setLead(lead);
+                answer.setQuestion(questionRepository.getReferenceById(question.getId()));
+                answer.setAnswerValue(entry.getValue());
+                answer.setQuestionLabelSnapshot(question.getLabel());
+                answer.setQuestionTypeSnapshot(question.getQuestionType());
+                answer.setRequiredSnapshot(question.isRequired());
+                answer.setOptionsSnapshot(question.getOptionsJson());
+                answer.setDisplayOrderSnapshot(question.getDisplayOrder());
+                answers.add(answer);
+            }
+        }
+
+        leadRepository.saveAll(leads);
+        standardFieldsRepository.saveAll(standardFields);
+        leadListViewService.createAll(standardFields);
+        answerRepository.saveAll(answers);
+        for (Lead lead : leads) {
+            leadEventService.appendSystemEvent(
+                    lead,
+                    LeadEventType.LEAD_CREATED,
+                    "Lead imported",
+                    Map.of("source", lead.getSource(), "isDuplicate", false),
+                    lead.getSubmittedAt()
+            );
+            leadDuplicateFilter.add(companyId, lead.getEmailHash(), lead.getPhoneHash());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return duplicateRows;
+    }
+
+    // a missing email or phone is not a contact, so it never makes two rows duplicates
+    private static boolean isKnown(Set<String> knownHashes, String hash) {
+        return hash != null && knownHashes.contains(hash);
+    }
+
+    private static void addHash(Set<String> knownHashes, String hash) {
+        if (hash != null) {
+            knownHashes.add(hash);
+        }
+    }
+
+    public record Row(
+            int rowNumber,
+            String firstName,
+            String lastName,
+            String email,
+            String phone,
+            String emailHash,
+            String phoneHash,
+            String source,
+            Instant submittedAt,
+            Map<LeadFormDefinition.Question, JsonNode> answers
+    ) {
+    }
+}
@@ -0,0 +1,449 @@
+package com.salesway.leads.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.salesway.billing.service.SubscriptionAccessService;
+import com.salesway.leads.dto.LeadImportResponse;
+import com.salesway.leads.dto.LeadImportRowError;
+import com.salesway.leads.dto.PublicLeadSubmitRequest;
+import com.salesway.leads.entity.LeadForm;
+import com.salesway.leads.enums.LeadSource;
+import com.salesway.leads.repository.LeadFormQuestionRepository;
+import com.salesway.leads.repository.LeadFormRepository;
+import com.salesway.manager.service.ManagerAccessService;
+import com.salesway.memberships.entity.CompanyMembership;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk lead import for managers migrating from another CRM. The file is read one record at a
+ * time and written in batches through {@link LeadImportBatchWriter}, so memory use does not
+ * depend on the file size. Columns (CSV header names or NDJSON keys) map to the standard fields
+ * and to the company form's active questions by id or label; answers, including the form's
+ * required questions, are checked with the same rules as public submissions. Rows whose email
+ * or phone already belongs to a lead of the company, or to an earlier row, are skipped as
+ * duplicates.
+ */
+@Service
+public class LeadImportService {
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+    private static final Logger LOG = LoggerFactory.getLogger(LeadImportService.class);
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final String MULTI_SELECT_SEPARATOR = ";";
+    private static final Object UNMAPPED = new Object();
+    private static final Map<String, StandardColumn> STANDARD_COLUMNS = Map.ofEntries(
+            Map.entry("firstname", StandardColumn.FIRST_NAME),
+            Map.entry("lastname", StandardColumn.LAST_NAME),
+            Map.entry("email", StandardColumn.EMAIL),
+            Map.entry("phone", StandardColumn.PHONE),
+            Map.entry("source", StandardColumn.SOURCE),
+            Map.entry("submittedat", StandardColumn.SUBMITTED_AT)
+    );
+
+    private final LeadFormRepository leadFormRepository;
+    private final LeadFormQuestionRepository questionRepository;
+    private final LeadImportBatchWriter batchWriter;
+    private final ManagerAccessService managerAccessService;
+    private final SubscriptionAccessService subscriptionAccessService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public LeadImportService(
+            LeadFormRepository leadFormRepository,
+            LeadFormQuestionRepository questionRepository,
+            LeadImportBatchWriter batchWriter,
+            ManagerAccessService managerAccessService,
+            SubscriptionAccessService subscriptionAccessService,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${app.leads.import-batch-size:500}") int batchSize
+    ) {
+        this.leadFormRepository = leadFormRepository;
+        this.questionRepository = questionRepository;
+        this.batchWriter = batchWriter;
+        this.managerAccessService = managerAccessService;
+        this.subscriptionAccessService = subscriptionAccessService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    public LeadImportResponse importLeads(MultipartFile file, String format, char delimiter) {
+        CompanyMembership membership = managerAccessService.getManagerMembership();
+        subscriptionAccessService.assertCanCreateLead(membership.getCompany());
+        UUID companyId = membership.getCompany().getId();
+        LeadForm form = leadFormRepository.findByCompanyId(companyId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Lead form not found"));
+        LeadFormDefinition definition = LeadFormDefinition.compile(
+                form, questionRepository.findByLeadFormIdAndIsActiveTrue(form.getId()), objectMapper);
+
+        ImportRun run = new ImportRun(companyId, definition);
+        try (Reader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            if (FORMAT_NDJSON.equals(resolveFormat(file, format))) {
+                readNdjson((BufferedReader) reader, run);
+            } else {
+                readCsv(reader, delimiter, run);
+            }
+        } catch (IOException exception) {
+            if (run.lastRowNumber == 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Import file could not be read: " + exception.getMessage());
+            }
+            // rows before the unreadable one are kept, like rows of any other failed record
+            run.reject(run.lastRowNumber + 1, "file could not be read from here on: " + exception.getMessage());
+        }
+        run.flush();
+        LOG.info("Lead import finished companyId={} rows={} imported={} duplicates={} failed={}",
+                companyId, run.totalRows, run.importedRows, run.duplicateRows, run.failedRows);
+        return new LeadImportResponse(
+                run.totalRows,
+                run.importedRows,
+                run.duplicateRows,
+                run.failedRows,
+                List.copyOf(run.ignoredColumns),
+                List.copyOf(run.errors),
+                run.errorsTruncated
+        );
+    }
+
+    private String resolveFormat(MultipartFile file, String format) {
+        if (format != null && !format.isBlank()) {
+            String normalized = format.trim().toLowerCase(Locale.ROOT);
+            if (!FORMAT_CSV.equals(normalized) && !FORMAT_NDJSON.equals(normalized)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format invalid. Allowed: csv, ndjson");
+            }
+            return normalized;
+        }
+        String filename = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase(Locale.ROOT);
+        return filename.endsWith(".ndjson") || filename.endsWith(".jsonl") ? FORMAT_NDJSON : FORMAT_CSV;
+    }
+
+    private void readCsv(Reader reader, char delimiter, ImportRun run) throws IOException {
+        LeadCsvReader csv = new LeadCsvReader(reader, delimiter);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Import file is empty");
+        }
+        List<Object> targets = header.stream().map(run::resolveColumn).toList();
+        List<String> missing = new ArrayList<>();
+        for (StandardColumn required : List.of(
+                StandardColumn.FIRST_NAME, StandardColumn.LAST_NAME, StandardColumn.EMAIL, StandardColumn.PHONE)) {
+            if (!targets.contains(required)) {
+                missing.add(required.columnName);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "missing columns: " + missing);
+        }
+
+        int rowNumber = 1;
+        run.lastRowNumber = rowNumber;
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            rowNumber++;
+            Map<Object, JsonNode> values = new LinkedHashMap<>();
+            for (int index = 0; index < targets.size() && index < record.size(); index++) {
+                String cell = record.get(index).trim();
+                if (targets.get(index) != null && !cell.isEmpty()) {
+                    values.put(targets.get(index), fromCell(targets.get(index), cell));
+                }
+            }
+            run.accept(rowNumber, values);
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        int rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            run.lastRowNumber = rowNumber;
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException exception) {
+                run.reject(rowNumber, "invalid JSON: " + exception.getOriginalMessage());
+                continue;
+            }
+            if (!node.isObject()) {
+                run.reject(rowNumber, "invalid JSON: expected an object");
+                continue;
+            }
+            Map<Object, JsonNode> values = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                Object target = run.resolveColumn(field.getKey());
+                if (target != null && !field.getValue().isNull()) {
+                    values.put(target, field.getValue());
+                }
+            }
+            run.accept(rowNumber, values);
+        }
+    }
+
+    /**
+     * CSV cells are always text, so typed questions are converted before validation: numbers and
+     * booleans are parsed and multi-select cells list their options separated by semicolons.
+     */
+    private JsonNode fromCell(Object target, String cell) {
+        JsonNodeFactory nodes = objectMapper.getNodeFactory();
+        if (target instanceof LeadFormDefinition.Question question) {
+            switch (question.getQuestionType()) {
+                case "number" -> {
+                    try {
+                        return nodes.numberNode(new BigDecimal(cell));
+                    } catch (NumberFormatException ignored) {
+                        return nodes.textNode(cell);
+                    }
+                }
+                case "boolean" -> {
+                    if ("true".equalsIgnoreCase(cell) || "false".equalsIgnoreCase(cell)) {
+                        return nodes.booleanNode(Boolean.parseBoolean(cell.toLowerCase(Locale.ROOT)));
+                    }
+                    return nodes.textNode(cell);
+                }
+                case "multi_select" -> {
+                    ArrayNode selected = nodes.arrayNode();
+                    for (String option : cell.split(MULTI_SELECT_SEPARATOR)) {
+                        if (!option.isBlank()) {
+                            selected.add(option.trim());
+                        }
+                    }
+                    return selected;
+                }
+                default -> {
+                    return nodes.textNode(cell);
+                }
+            }
+        }
+        return nodes.textNode(cell);
+    }
+
+    private static String normalizeColumn(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+
+    private enum StandardColumn {
+        FIRST_NAME("firstName"),
+        LAST_NAME("lastName"),
+        EMAIL("email"),
+        PHONE("phone"),
+        SOURCE("source"),
+        SUBMITTED_AT("submittedAt");
+
+        private final String columnName;
+
+        StandardColumn(String columnName) {
+            this.columnName = columnName;
+        }
+    }
+
+    private final class ImportRun {
+        private final UUID companyId;
+        private final LeadFormDefinition definition;
+        private final Map<String, LeadFormDefinition.Question> questionsByColumn = new HashMap<>();
+        private final Map<String, Object> resolvedColumns = new HashMap<>();
+        private final Set<String> ignoredColumns = new LinkedHashSet<>();
+        private final List<LeadImportRowError> errors = new ArrayList<>();
+        private final List<LeadImportBatchWriter.Row> batch = new ArrayList<>();
+        private final Instant importedAt = Instant.now();
+        private int lastRowNumber;
+        private int totalRows;
+        private int importedRows;
+        private int duplicateRows;
+        private int failedRows;
+        private boolean errorsTruncated;
+
+        private ImportRun(UUID companyId, LeadFormDefinition definition) {
+            this.companyId = companyId;
+            this.definition = definition;
+            for (LeadFormDefinition.Question question : definition.getQuestions()) {
+                questionsByColumn.put(question.getId().toString(), question);
+                questionsByColumn.putIfAbsent(normalizeColumn(question.getLabel()), question);
+            }
+        }
+
+        private Object resolveColumn(String name) {
+            Object target = resolvedColumns.computeIfAbsent(name == null ? "" : name.trim(), this::lookupColumn);
+            return target == UNMAPPED ? null : target;
+        }
+
+        private Object lookupColumn(String name) {
+            Object target = STANDARD_COLUMNS.get(normalizeColumn(name));
+            if (target == null) {
+                target = questionsByColumn.get(name.toLowerCase(Locale.ROOT));
+            }
+            if (target == null) {
+                target = questionsByColumn.get(normalizeColumn(name));
+            }
+            if (target == null) {
+                ignoredColumns.add(name);
+                return UNMAPPED;
+            }
+            return target;
+        }
+
+        private void accept(int rowNumber, Map<Object, JsonNode> values) {
+            totalRows++;
+            lastRowNumber = rowNumber;
+            PublicLeadSubmitRequest.Standard standard = new PublicLeadSubmitRequest.Standard();
+            standard.setFirstName(text(values.get(StandardColumn.FIRST_NAME)));
+            standard.setLastName(text(values.get(StandardColumn.LAST_NAME)));
+            standard.setEmail(text(values.get(StandardColumn.EMAIL)));
+            standard.setPhone(text(values.get(StandardColumn.PHONE)));
+            Set<ConstraintViolation<PublicLeadSubmitRequest.Standard>> violations = validator.validate(standard);
+            if (!violations.isEmpty()) {
+                failed(rowNumber, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+
+            Map<LeadFormDefinition.Question, JsonNode> answers = new LinkedHashMap<>();
+            String source;
+            Instant submittedAt;
+            try {
+                for (Map.Entry<Object, JsonNode> value : values.entrySet()) {
+                    if (value.getKey() instanceof LeadFormDefinition.Question question) {
+                        question.validate(value.getValue());
+                        answers.put(question, value.getValue());
+                    }
+                }
+                List<UUID> missingRequired = definition.missingRequiredQuestionIds(answers.keySet().stream()
+                        .map(LeadFormDefinition.Question::getId)
+                        .collect(Collectors.toSet()));
+                if (!missingRequired.isEmpty()) {
+                    throw new IllegalArgumentException("missing required questionIds: " + missingRequired);
+                }
+                String rawSource = LeadSource.normalize(text(values.get(StandardColumn.SOURCE)));
+                source = rawSource == null ? LeadSource.OTHER.name() : rawSource;
+                submittedAt = parseSubmittedAt(text(values.get(StandardColumn.SUBMITTED_AT)));
+            } catch (ResponseStatusException exception) {
+                failed(rowNumber, exception.getReason());
+                return;
+            } catch (IllegalArgumentException exception) {
+                failed(rowNumber, exception.getMessage());
+                return;
+            }
+
+            String email = standard.getEmail().trim().toLowerCase(Locale.ROOT);
+            String phone = standard.getPhone().trim();
+            batch.add(new LeadImportBatchWriter.Row(
+                    rowNumber,
+                    standard.getFirstName().trim(),
+                    standard.getLastName().trim(),
+                    email,
+                    phone,
+                    LeadContactNormalizer.emailHash(email),
+                    LeadContactNormalizer.phoneHash(phone),
+                    source,
+                    submittedAt,
+                    answers
+            ));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void reject(int rowNumber, String message) {
+            totalRows++;
+            failed(rowNumber, message);
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<LeadImportBatchWriter.Row> rows = List.copyOf(batch);
+            batch.clear();
+            try {
+                recordOutcome(rows, batchWriter.writeBatch(companyId, definition.getFormId(), rows));
+            } catch (RuntimeException batchFailure) {
+                LOG.warn("Lead import batch failed companyId={} rows={}, retrying row by row", companyId, rows.size(), batchFailure);
+                for (LeadImportBatchWriter.Row row : rows) {
+                    try {
+                        recordOutcome(List.of(row), batchWriter.writeBatch(companyId, definition.getFormId(), List.of(row)));
+                    } catch (RuntimeException rowFailure) {
+                        failed(row.rowNumber(), "could not be saved");
+                    }
+                }
+            }
+            LOG.info("Lead import progress companyId={} rows={} imported={} duplicates={} failed={}",
+                    companyId, totalRows, importedRows, duplicateRows, failedRows);
+        }
+
+        private void recordOutcome(List<LeadImportBatchWriter.Row> rows, List<Integer> duplicates) {
+            importedRows += rows.size() - duplicates.size();
+            duplicateRows += duplicates.size();
+            for (Integer duplicate : duplicates) {
+                report(duplicate, "duplicate: email or phone already belongs to a lead");
+            }
+        }
+
+        private Instant parseSubmittedAt(String value) {
+            if (value == null) {
+                return importedAt;
+            }
+            try {
+                return value.length() == 10 ? LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant() : Instant.parse(value);
+            } catch (DateTimeParseException exception) {
+                throw new IllegalArgumentException("submittedAt invalid: expected ISO-8601 instant or yyyy-MM-dd");
+            }
+        }
+
+        private void failed(int rowNumber, String message) {
+            failedRows++;
+            report(rowNumber, message);
+        }
+
+        private void report(int rowNumber, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new LeadImportRowError(rowNumber, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        private String text(JsonNode value) {
+            return value == null ? null : value.asText();
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.salesway.leads.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesway.leads.dto.PublicLeadIntakeStatusResponse;
+import com.salesway.leads.dto.PublicLeadSubmitRequest;
+import com.salesway.leads.dto.PublicLeadSubmitResponse;
+import com.salesway.leads.repository.LeadRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Buffers public form submissions in a Redis stream so that traffic spikes are answered with a
+ * 202 as soon as the submission is validated against the cached form. A background writer drains
+ * the stream in receive order through {@link LeadCaptureService#persistIntakeBatch}, which keys
+ * each lead by its intake id so redelivered entries cannot create a second lead. When Redis is
+ * unavailable the caller falls back to the synchronous submit.
+ *
+ * <p>A submission the database refuses outright is rejected. One that keeps failing for other
+ * reasons is retried on later batches, alongside new entries so it does not hold them back, and
+ * moved to the dead-letter stream once it has used up its attempts.
+ */
+@Service
+public class LeadIntakeService {
+    public static final String LEAD_INTAKE_STREAM_KEY = "lead-intake";
+    public static final String LEAD_INTAKE_DEAD_LETTER_STREAM_KEY = "lead-intake:dead-letter";
+    static final String LEAD_INTAKE_GROUP = "lead-intake-writers";
+    private static final String STATUS_KEY_PREFIX = "lead-intake:status:";
+    private static final String ATTEMPTS_KEY = "lead-intake:attempts";
+    private static final String PAYLOAD_FIELD = "payload";
+    private static final String REJECTED_ERROR = "Submission could not be processed";
+    private static final Logger LOG = LoggerFactory.getLogger(LeadIntakeService.class);
+
+    private final LeadCaptureService leadCaptureService;
+    private final LeadRepository leadRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration statusTtl;
+    private final Duration claimIdle;
+    private final int maxAttempts;
+    private final String consumerName = "intake-" + UUID.randomUUID();
+    private volatile boolean groupReady;
+
+    public LeadIntakeService(
+            LeadCaptureService leadCaptureService,
+            LeadRepository leadRepository,
+            RedisTemplate<String, Object> redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.leads.async-intake-enabled:false}") boolean enabled,
+            @Value("${app.leads.async-intake-status-ttl-hours:24}") long statusTtlHours,
+            @Value("${app.leads.async-intake-claim-idle-ms:60000}") long claimIdleMs,
+            @Value("${app.leads.async-intake-max-attempts:5}") int maxAttempts
+    ) {
+        this.leadCaptureService = leadCaptureService;
+        this.leadRepository = leadRepository;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.statusTtl = Duration.ofHours(statusTtlHours);
+        this.claimIdle = Duration.ofMillis(claimIdleMs);
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Validates the submission and appends it to the intake stream. Returns empty when async
+     * intake is disabled or Redis cannot take the write, in which case the submission must be
+     * persisted synchronously.
+     */
+    public Optional<PublicLeadSubmitResponse> enqueue(String publicSlug, PublicLeadSubmitRequest request) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        LeadFormDefinition form = leadCaptureService.getPublicFormDefinition(publicSlug);
+        leadCaptureService.validateSubmission(form, request);
+
+        BufferedSubmission submission = new BufferedSubmission(UUID.randomUUID(), publicSlug, Instant.now(), request);
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(submission);
+        } catch (JsonProcessingException exception) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to buffer lead submission", exception);
+        }
+        try {
+            writeStatus(submission.intakeId(), new IntakeStatus(publicSlug, IntakeState.QUEUED, null, null));
+            redisTemplate.opsForStream().add(LEAD_INTAKE_STREAM_KEY, Map.of(PAYLOAD_FIELD, payload));
+        } catch (DataAccessException exception) {
+            LOG.warn("Lead intake buffer unavailable, submitting synchronously slug={}", publicSlug, exception);
+            return Optional.empty();
+        }
+        return Optional.of(new PublicLeadSubmitResponse(
+                null,
+                submission.receivedAt(),
+                IntakeState.QUEUED.name().toLowerCase(Locale.ROOT),
+                submission.intakeId()
+        ));
+    }
+
+    public PublicLeadIntakeStatusResponse getStatus(String publicSlug, UUID intakeId) {
+        IntakeStatus status = readStatus(intakeId);
+        if (status != null && publicSlug.equals(status.publicSlug())) {
+            return new PublicLeadIntakeStatusResponse(
+                    intakeId,
+                    status.state().name().toLowerCase(Locale.ROOT),
+                    status.leadId(),
+                    status.error()
+            );
+        }
+        return leadRepository.findIdByIntakeIdAndPublicSlug(intakeId, publicSlug)
+                .map(leadId -> new PublicLeadIntakeStatusResponse(
+                        intakeId,
+                        IntakeState.PERSISTED.name().toLowerCase(Locale.ROOT),
+                        leadId,
+                        null
+                ))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Submission not found"));
+    }
+
+    /**
+     * Persists up to {@code batchSize} buffered submissions and returns how many stream entries
+     * were settled. Entries this consumer could not persist earlier are retried first, then entries
+     * that crashed consumers left pending for longer than the claim timeout, and the rest of the
+     * batch is filled with new ones.
+     */
+    public int processBatch(int batchSize) {
+        if (!enabled || !ensureGroup()) {
+            return 0;
+        }
+        List<MapRecord<String, Object, Object>> records = readBatch(batchSize);
+        if (records.isEmpty()) {
+            return 0;
+        }
+
+        List<RecordId> settled = new ArrayList<>(records.size());
+        Map<UUID, MapRecord<String, Object, Object>> recordsByIntakeId = new HashMap<>();
+        List<LeadCaptureService.IntakeSubmission> submissions = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            BufferedSubmission submission = decode(record);
+            if (submission == null) {
+                settled.add(record.getId());
+                continue;
+            }
+            recordsByIntakeId.put(submission.intakeId(), record);
+            submissions.add(new LeadCaptureService.IntakeSubmission(
+                    submission.intakeId(),
+                    submission.publicSlug(),
+                    submission.receivedAt(),
+                    submission.request()
+            ));
+        }
+
+        List<UUID> failed = new ArrayList<>();
+        List<LeadCaptureService.IntakeResult> results = new ArrayList<>(persist(submissions, failed));
+        for (UUID intakeId : failed) {
+            if (redisTemplate.opsForHash().increment(ATTEMPTS_KEY, intakeId.toString(), 1) >= maxAttempts) {
+                deadLetter(recordsByIntakeId.get(intakeId));
+                results.add(new LeadCaptureService.IntakeResult(intakeId, null, REJECTED_ERROR));
+            }
+        }
+
+        List<Object> settledIntakeIds = new ArrayList<>(results.size());
+        for (LeadCaptureService.IntakeResult result : results) {
+            IntakeStatus status = result.leadId() != null
+                    ? new IntakeStatus(slugOf(submissions, result.intakeId()), IntakeState.PERSISTED, result.leadId(), null)
+                    : new IntakeStatus(slugOf(submissions, result.intakeId()), IntakeState.REJECTED, null, result.error());
+            writeStatus(result.intakeId(), status);
+            settled.add(recordsByIntakeId.get(result.intakeId()).getId());
+            settledIntakeIds.add(result.intakeId().toString());
+        }
+
+        if (!settled.isEmpty()) {
+            RecordId[] ids = settled.toArray(RecordId[]::new);
+            StreamOperations<String, Object, Object> stream = redisTemplate.opsForStream();
+            stream.acknowledge(LEAD_INTAKE_STREAM_KEY, LEAD_INTAKE_GROUP, ids);
+            stream.delete(LEAD_INTAKE_STREAM_KEY, ids);
+        }
+        if (!settledIntakeIds.isEmpty()) {
+            redisTemplate.opsForHash().delete(ATTEMPTS_KEY, settledIntakeIds.toArray());
+        }
+        return settled.size();
+    }
+
+    /**
+     * Persists the submissions, one by one when the batch fails. Submissions that failed for a
+     * reason that may pass are added to {@code failed} and get no result.
+     */
+    private List<LeadCaptureService.IntakeResult> persist(
+            List<LeadCaptureService.IntakeSubmission> submissions,
+            List<UUID> failed
+    ) {
+        if (submissions.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return leadCaptureService.persistIntakeBatch(submissions);
+        } catch (RuntimeException batchFailure) {
+            LOG.warn("Lead intake batch of {} failed, persisting submissions one by one", submissions.size(), batchFailure);
+        }
+        List<LeadCaptureService.IntakeResult> results = new ArrayList<>(submissions.size());
+        for (LeadCaptureService.IntakeSubmission submission : submissions) {
+            try {
+                results.addAll(leadCaptureService.persistIntakeBatch(List.of(submission)));
+            } catch (NonTransientDataAccessException exception) {
+                // a constraint or data error fails the same way on every retry
+                LOG.error("Lead intake submission rejected by the database intakeId={}", submission.intakeId(), exception);
+                results.add(new LeadCaptureService.IntakeResult(submission.intakeId(), null, REJECTED_ERROR));
+            } catch (DataAccessException exception) {
+                // left pending; the database is the likely culprit, so the entry is retried later
+                LOG.error("Lead intake submission could not be persisted intakeId={}", submission.intakeId(), exception);
+                failed.add(submission.intakeId());
+            } catch (RuntimeException exception) {
+                LOG.error("Lead intake submission rejected intakeId={}", submission.intakeId(), exception);
+                results.add(new LeadCaptureService.IntakeResult(submission.intakeId(), null, REJECTED_ERROR));
+            }
+        }
+        return results;
+    }
+
+    private List<MapRecord<String, Object, Object>> readBatch(int batchSize) {
+        StreamOperations<String, Object, Object> stream = redisTemplate.opsForStream();
+        Consumer consumer = Consumer.from(LEAD_INTAKE_GROUP, consumerName);
+        StreamReadOptions options = StreamReadOptions.empty().count(batchSize);
+
+        List<MapRecord<String, Object, Object>> records = new ArrayList<>(batchSize);
+        @SuppressWarnings("unchecked")
+        List<MapRecord<String, Object, Object>> retried = stream.read(
+                consumer, options, StreamOffset.create(LEAD_INTAKE_STREAM_KEY, ReadOffset.from("0")));
+        if (retried != null) {
+            records.addAll(retried);
+        }
+
+        if (records.isEmpty()) {
+            List<RecordId> stale = new ArrayList<>();
+            for (PendingMessage pending : stream.pending(LEAD_INTAKE_STREAM_KEY, LEAD_INTAKE_GROUP, Range.unbounded(), batchSize)) {
+                if (pending.getElapsedTimeSinceLastDelivery().compareTo(claimIdle) >= 0) {
+                    stale.add(pending.getId());
+                }
+            }
+            if (!stale.isEmpty()) {
+                List<MapRecord<String, Object, Object>> claimed = stream.claim(
+                        LEAD_INTAKE_STREAM_KEY, LEAD_INTAKE_GROUP, consumerName, claimIdle, stale.toArray(RecordId[]::new));
+                if (claimed != null && !claimed.isEmpty()) {
+                    LOG.info("Lead intake claimed {} stale submissions", claimed.size());
+                    records.addAll(claimed);
+                }
+            }
+        }
+
+        if (records.size() < batchSize) {
+            @SuppressWarnings("unchecked")
+            List<MapRecord<String, Object, Object>> fresh = stream.read(
+                    consumer,
+                    StreamReadOptions.empty().count(batchSize - records.size()),
+                    StreamOffset.create(LEAD_INTAKE_STREAM_KEY, ReadOffset.lastConsumed())
+            );
+            if (fresh != null) {
+                records.addAll(fresh);
+            }
+        }
+        return records;
+    }
+
+    private void deadLetter(MapRecord<String, Object, Object> record) {
+        LOG.error("Lead intake entry id={} failed {} times, moving it to {}",
+                record.getId(), maxAttempts, LEAD_INTAKE_DEAD_LETTER_STREAM_KEY);
+        redisTemplate.opsForStream().add(LEAD_INTAKE_DEAD_LETTER_STREAM_KEY, record.getValue());
+    }
+
+    private boolean ensureGroup() {
+        if (groupReady) {
+            return true;
+        }
+        try {
+            redisTemplate.opsForStream().createGroup(LEAD_INTAKE_STREAM_KEY, ReadOffset.from("0"), LEAD_INTAKE_GROUP);
+            groupReady = true;
+        } catch (DataAccessException exception) {
+            if (exception.getMessage() != null && exception.getMessage().contains("BUSYGROUP")) {
+                groupReady = true;
+            } else {
+                LOG.warn("Lead intake consumer group unavailable: {}", exception.getMessage());
+            }
+        }
+        return groupReady;
+    }
+
+    private BufferedSubmission decode(MapRecord<String, Object, Object> record) {
+        Object payload = record.getValue().get(PAYLOAD_FIELD);
+        try {
+            return objectMapper.readValue(String.valueOf(payload), BufferedSubmission.class);
+        } catch (JsonProcessingException exception) {
+            LOG.error("Dropping unreadable lead intake entry id={}", record.getId(), exception);
+            return null;
+        }
+    }
+
+    private String slugOf(List<LeadCaptureService.IntakeSubmission> submissions, UUID intakeId) {
+        for (LeadCaptureService.IntakeSubmission submission : submissions) {
+            if (submission.intakeId().equals(intakeId)) {
+                return submission.publicSlug();
+            }
+        }
+        return null;
+    }
+
+    private void writeStatus(UUID intakeId, IntakeStatus status) {
+        try {
+            redisTemplate.opsForValue().set(STATUS_KEY_PREFIX + intakeId, objectMapper.writeValueAsString(status), statusTtl);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Failed to serialize lead intake status", exception);
+        }
+    }
+
+    private IntakeStatus readStatus(UUID intakeId) {
+        try {
+            Object value = redisTemplate.opsForValue().get(STATUS_KEY_PREFIX + intakeId);
+            return value == null ? null : objectMapper.readValue(value.toString(), IntakeStatus.class);
+        } catch (DataAccessException | JsonProcessingException exception) {
+            LOG.warn("Lead intake status lookup failed intakeId={}: {}", intakeId, exception.getMessage());
+            return null;
+        }
+    }
+
+    enum IntakeState {
+        QUEUED,
+        PERSISTED,
+        REJECTED
+    }
+
+    record BufferedSubmission(UUID intakeId, String publicSlug, Instant receivedAt, PublicLeadSubmitRequest request) {
+    }
+
+    record IntakeStatus(String publicSlug, IntakeState state, UUID leadId, String error) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.salesway.leads.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LeadIntakeWorker {
+    private static final Logger LOG = LoggerFactory.getLogger(LeadIntakeWorker.class);
+
+    private final LeadIntakeService leadIntakeService;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public LeadIntakeWorker(
+            LeadIntakeService leadIntakeService,
+            @Value("${app.leads.intake-worker-enabled:true}") boolean enabled,
+            @Value("${app.leads.intake-worker-batch-size:200}") int batchSize
+    ) {
+        this.leadIntakeService = leadIntakeService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.leads.intake-worker-fixed-delay-ms:500}")
+    public void drain() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            while (leadIntakeService.processBatch(batchSize) == batchSize) {
+                // a full batch means the buffer is still backed up, keep draining before sleeping
+            }
+        } catch (Exception exception) {
+            LOG.error("Lead intake worker failed, buffered submissions stay pending", exception);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.salesway.leads.service;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Aho-Corasick automaton over diacritic-folded, lower-cased text. Every phrase belongs to a
+ * signal; a single pass over the input reports which signals had at least one phrase occur
+ * as a substring, regardless of how many phrases are registered.
+ */
+public final class LeadKeywordMatcher {
+    public static final int MAX_SIGNALS = Long.SIZE;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final List<String> signalKeys;
+    private final List<Map<Character, Integer>> transitions;
+    private final int[] failure;
+    private final long[] outputs;
+    private final long allSignalsMask;
+
+    private LeadKeywordMatcher(
+            List<String> signalKeys,
+            List<Map<Character, Integer>> transitions,
+            int[] failure,
+            long[] outputs
+    ) {
+        this.signalKeys = signalKeys;
+        this.transitions = transitions;
+        this.failure = failure;
+        this.outputs = outputs;
+        this.allSignalsMask = signalKeys.size() == MAX_SIGNALS ? -1L : (1L << signalKeys.size()) - 1;
+    }
+
+    public static LeadKeywordMatcher compile(Map<String, List<String>> phrasesBySignal) {
+        if (phrasesBySignal.size() > MAX_SIGNALS) {
+            throw new IllegalArgumentException("At most " + MAX_SIGNALS + " signals are supported");
+        }
+        List<String> signalKeys = new ArrayList<>(phrasesBySignal.keySet());
+        List<Map<Character, Integer>> transitions = new ArrayList<>();
+        List<Long> nodeOutputs = new ArrayList<>();
+        transitions.add(new HashMap<>());
+        nodeOutputs.add(0L);
+
+        for (int signalIndex = 0; signalIndex < signalKeys.size(); signalIndex++) {
+            for (String phrase : phrasesBySignal.get(signalKeys.get(signalIndex))) {
+                String folded = fold(phrase);
+                if (folded.isEmpty()) {
+                    continue;
+                }
+                int state = 0;
+                for (int index = 0; index < folded.length(); index++) {
+                    char symbol = folded.charAt(index);
+                    Integer next = transitions.get(state).get(symbol);
+                    if (next == null) {
+                        next = transitions.size();
+                        transitions.add(new HashMap<>());
+                        nodeOutputs.add(0L);
+                        transitions.get(state).put(symbol, next);
+                    }
+                    state = next;
+                }
+                nodeOutputs.set(state, nodeOutputs.get(state) | (1L << signalIndex));
+            }
+        }
+
+        int[] failure = new int[transitions.size()];
+        long[] outputs = new long[transitions.size()];
+        for (int index = 0; index < outputs.length; index++) {
+            outputs[index] = nodeOutputs.get(index);
+        }
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : transitions.get(0).values()) {
+            failure[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions.get(state).entrySet()) {
+                int child = edge.getValue();
+                int fallback = failure[state];
+                while (fallback != 0 && !transitions.get(fallback).containsKey(edge.getKey())) {
+                    fallback = failure[fallback];
+                }
+                Integer fallbackTarget = transitions.get(fallback).get(edge.getKey());
+                failure[child] = fallbackTarget == null || fallbackTarget == child ? 0 : fallbackTarget;
+                outputs[child] |= outputs[failure[child]];
+                queue.add(child);
+            }
+        }
+        return new LeadKeywordMatcher(List.copyOf(signalKeys), transitions, failure, outputs);
+    }
+
+    public static String fold(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    public long matchMask(String text) {
+        String folded = fold(text);
+        long found = 0L;
+        int state = 0;
+        for (int index = 0; index < folded.length() && found != allSignalsMask; index++) {
+            char symbol = folded.charAt(index);
+            Integer next = transitions.get(state).get(symbol);
+            while (next == null && state != 0) {
+                state = failure[state];
+                next = transitions.get(state).get(symbol);
+            }
+            state = next == null ? 0 : next;
+            found |= outputs[state];
+        }
+        return found;
+    }
+
+    public long maskOf(String signalKey) {
+        int index = signalKeys.indexOf(signalKey);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown signal: " + signalKey);
+        }
+        return 1L << index;
+    }
+
+    public List<String> signalsIn(long mask) {
+        List<String> matched = new ArrayList<>();
+        for (int index = 0; index < signalKeys.size(); index++) {
+            if ((mask & (1L << index)) != 0) {
+                matched.add(signalKeys.get(index));
+            }
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,140 @@
+package com.salesway.leads.service;
+
+import com.salesway.leads.entity.Lead;
+import com.salesway.leads.entity.LeadListView;
+import com.salesway.leads.entity.LeadStandardFields;
+import com.salesway.leads.repository.LeadListViewRepository;
+import com.salesway.leads.repository.LeadStandardFieldsRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains {@link LeadListView}. Every write path that changes something the lead list shows
+ * calls in here within its own transaction, so the list never reads a row that disagrees with
+ * the committed lead, and the lead facet counts of the company are evicted with it.
+ */
+@Service
+public class LeadListViewService {
+    private final LeadListViewRepository leadListViewRepository;
+    private final LeadStandardFieldsRepository standardFieldsRepository;
+    private final LeadFacetService leadFacetService;
+
+    public LeadListViewService(
+            LeadListViewRepository leadListViewRepository,
+            LeadStandardFieldsRepository standardFieldsRepository,
+            LeadFacetService leadFacetService
+    ) {
+        this.leadListViewRepository = leadListViewRepository;
+        this.standardFieldsRepository = standardFieldsRepository;
+        this.leadFacetService = leadFacetService;
+    }
+
+    /**
+     * Adds the row of a lead created in the current transaction.
+     */
+    @Transactional
+    public void create(Lead lead, LeadStandardFields standardFields) {
+        leadListViewRepository.save(newRow(lead, standardFields));
+        leadFacetService.invalidate(lead.getCompany().getId());
+    }
+
+    /**
+     * Batch form of {@link #create}; {@code standardFields} holds one entry per lead.
+     */
+    @Transactional
+    public void createAll(Collection<LeadStandardFields> standardFields) {
+        List<LeadListView> rows = new ArrayList<>(standardFields.size());
+        for (LeadStandardFields fields : standardFields) {
+            rows.add(newRow(fields.getLead(), fields));
+        }
+        leadListViewRepository.saveAll(rows);
+        rows.stream().map(LeadListView::getCompanyId).distinct().forEach(leadFacetService::invalidate);
+    }
+
+    /**
+     * Copies the lead-owned columns (status, stage, assignee, activity, score, duplicate group)
+     * onto the row, creating it if the lead predates the read model.
+     */
+    @Transactional
+    public void refresh(Lead lead) {
+        // findById is served from the persistence context, so refreshing right after a write
+        // does not force an early flush
+        leadListViewRepository.findById(lead.getId()).ifPresentOrElse(
+                row -> copyLeadColumns(lead, row),
+                () -> createMissing(List.of(lead))
+        );
+        leadFacetService.invalidate(lead.getCompany().getId());
+    }
+
+    @Transactional
+    public void refreshAll(Collection<Lead> leads) {
+        if (leads.isEmpty()) {
+            return;
+        }
+        Map<UUID, LeadListView> rows = leadListViewRepository.findAllById(leads.stream().map(Lead::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(LeadListView::getId, Function.identity()));
+        List<Lead> missing = new ArrayList<>();
+        for (Lead lead : leads) {
+            LeadListView row = rows.get(lead.getId());
+            if (row == null) {
+                missing.add(lead);
+            } else {
+                copyLeadColumns(lead, row);
+            }
+        }
+        createMissing(missing);
+        leads.stream().map(lead -> lead.getCompany().getId()).distinct().forEach(leadFacetService::invalidate);
+    }
+
+    @Transactional
+    public int deactivateByCompanyId(UUID companyId) {
+        leadFacetService.invalidate(companyId);
+        return leadListViewRepository.deactivateByCompanyId(companyId);
+    }
+
+    private void createMissing(List<Lead> leads) {
+        for (Lead lead : leads) {
+            LeadStandardFields standardFields = lead.getStandardFields() != null
+                    ? lead.getStandardFields()
+                    : standardFieldsRepository.findByLeadId(lead.getId()).orElse(null);
+            if (standardFields != null) {
+                leadListViewRepository.save(newRow(lead, standardFields));
+            }
+        }
+    }
+
+    private LeadListView newRow(Lead lead, LeadStandardFields standardFields) {
+        LeadListView row = new LeadListView();
+        row.setLead(lead);
+        row.setCompanyId(lead.getCompany().getId());
+        row.setFirstName(standardFields.getFirstName());
+        row.setLastName(standardFields.getLastName());
+        row.setEmail(standardFields.getEmail());
+        row.setPhone(standardFields.getPhone());
+        row.setSubmittedAt(lead.getSubmittedAt());
+        row.setSearchDocument(lead.getSearchDocument());
+        row.setSearchPhoneDigits(lead.getSearchPhoneDigits());
+        row.setOpenTaskCount(lead.getOpenTaskCount());
+        copyLeadColumns(lead, row);
+        return row;
+    }
+
+    private void copyLeadColumns(Lead lead, LeadListView row) {
+        row.setStatus(lead.getStatus());
+        row.setSource(lead.getSource());
+        row.setStageId(lead.getStage() != null ? lead.getStage().getId() : null);
+        row.setAssignedToUserId(lead.getAssignedToUserId());
+        row.setLastActivityAt(lead.getLastActivityAt());
+        row.setAiScore(lead.getAiScore());
+        row.setDuplicateGroupId(lead.getDuplicateGroupId());
+    }
+}
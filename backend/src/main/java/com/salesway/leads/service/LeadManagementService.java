@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.salesway.common.enums.MembershipRole;
 import com.salesway.common.enums.MembershipStatus;
+import com.salesway.leads.dto.CursorPageResponse;
 import com.salesway.leads.dto.LeadAnswerResponse;
 import com.salesway.leads.dto.LeadDetailResponse;
 import com.salesway.leads.dto.LeadEventResponse;
@@ -14,11 +15,14 @@ import com.salesway.leads.dto.LeadSearchCriteria;
 import com.salesway.leads.entity.PipelineStage;
 import com.salesway.leads.entity.Lead;
 import com.salesway.leads.entity.LeadAnswer;
+import com.salesway.leads.entity.LeadListView;
 import com.salesway.leads.entity.LeadStandardFields;
 import com.salesway.leads.enums.LeadEventType;
 import com.salesway.leads.enums.LeadSource;
 import com.salesway.leads.enums.LeadStatus;
 import com.salesway.leads.repository.LeadAnswerRepository;
+import com.salesway.leads.repository.LeadListViewRepository;
+import com.salesway.leads.repository.LeadListViewSpecifications;
 import com.salesway.leads.repository.LeadRepository;
 import com.salesway.leads.repository.LeadSpecifications;
 import com.salesway.leads.repository.LeadStandardFieldsRepository;
@@ -35,6 +39,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -60,6 +65,8 @@ public class LeadManagementService {
     private static final Logger LOG = LoggerFactory.getLogger(LeadManagementService.class);
 
     private final LeadRepository leadRepository;
+    private final LeadListViewRepository leadListViewRepository;
+    private final LeadListViewService leadListViewService;
     private final LeadStandardFieldsRepository standardFieldsRepository;
     private final LeadAnswerRepository leadAnswerRepository;
     private final CompanyAccessService companyAccessService;
@@ -72,6 +79,8 @@ public class LeadManagementService {
 
     public LeadManagementService(
             LeadRepository leadRepository,
+            LeadListViewRepository leadListViewRepository,
+            LeadListViewService leadListViewService,
             LeadStandardFieldsRepository standardFieldsRepository,
             LeadAnswerRepository leadAnswerRepository,
             CompanyAccessService companyAccessService,
@@ -83,6 +92,8 @@ public class LeadManagementService {
             ObjectMapper objectMapper
     ) {
         this.leadRepository = leadRepository;
+        this.leadListViewRepository = leadListViewRepository;
+        this.leadListViewService = leadListViewService;
         this.standardFieldsRepository = standardFieldsRepository;
         this.leadAnswerRepository = leadAnswerRepository;
         this.companyAccessService = companyAccessService;
@@ -108,6 +119,77 @@ public class LeadManagementService {
             String sort
     ) {
         validatePaging(page, size);
+        LeadSearch search = resolveLeadSearch(status, q, createdFrom, createdTo, assignedTo, hasOpenTasks, source);
+        Specification<LeadListView> specification = LeadListViewSpecifications.byCriteria(search.companyId(), search.criteria());
+        Pageable pageable;
+        if ((sort == null || sort.isBlank()) && q != null && !q.isBlank()) {
+            specification = specification.and(LeadSpecifications.orderByRelevance(q));
+            pageable = PageRequest.of(page, size);
+        } else {
+            pageable = PageRequest.of(page, size, parseSort(sort));
+        }
+        Page<LeadListView> rows = leadListViewRepository.findAll(specification, pageable);
+
+        return rows.map(this::toListResponse);
+    }
+
+    /**
+     * Keyset variant of {@link #listLeads}: no count query, and the cost of a page does not grow
+     * with its depth. Results follow the requested sort rather than search relevance.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<LeadListItemResponse> listLeads(
+            String status,
+            String cursor,
+            int size,
+            String q,
+            String createdFrom,
+            String createdTo,
+            String assignedTo,
+            Boolean hasOpenTasks,
+            String source,
+            String sort
+    ) {
+        validatePaging(0, size);
+        LeadSearch search = resolveLeadSearch(status, q, createdFrom, createdTo, assignedTo, hasOpenTasks, source);
+        SortKey sortKey = parseSortKey(sort);
+        String ordering = sortKey.field() + "," + sortKey.direction().name().toLowerCase(Locale.ROOT);
+        LeadCursor position = LeadCursor.decode(ordering, cursor);
+        boolean descending = sortKey.direction().isDescending();
+        Specification<LeadListView> specification = LeadListViewSpecifications.byCriteria(search.companyId(), search.criteria())
+                .and(LeadSpecifications.keyset(
+                        sortKey.field(),
+                        descending,
+                        position == null ? null : position.key(),
+                        position == null ? null : position.id()
+                ));
+        List<LeadListView> rows = leadListViewRepository.findBy(specification, query -> query.limit(size + 1).all());
+        return LeadCursor.slice(
+                rows,
+                size,
+                this::toListResponse,
+                row -> LeadCursor.encode(
+                        ordering,
+                        LeadSpecifications.keysetValue(sortKey.field(), row.getSubmittedAt(), row.getLastActivityAt()),
+                        row.getId()
+                )
+        );
+    }
+
+    /**
+     * Resolves the list filters against the caller's membership, so that every reader of the
+     * lead list (paging, export) applies the same scoping and validation.
+     */
+    @Transactional(readOnly = true)
+    public LeadSearch resolveLeadSearch(
+            String status,
+            String q,
+            String createdFrom,
+            String createdTo,
+            String assignedTo,
+            Boolean hasOpenTasks,
+            String source
+    ) {
         String normalizedStatus = LeadStatus.normalize(status);
         String normalizedSource = LeadSource.normalize(source);
         CompanyMembership membership = companyAccessService.getActiveMembership();
@@ -138,22 +220,25 @@ public class LeadManagementService {
                 membership.getRole() == MembershipRole.AGENT ? membership.getUser().getId() : null,
                 membership.getRole() == MembershipRole.AGENT
         );
-        Pageable pageable = PageRequest.of(page, size, parseSort(sort));
-        Page<Lead> leads = leadRepository.findAll(LeadSpecifications.byCriteria(companyId, criteria), pageable);
-
-        return leads.map(this::toListResponse);
+        return new LeadSearch(companyId, criteria);
     }
 
     @Transactional(readOnly = true)
     public LeadDetailResponse getLead(UUID leadId) {
         CompanyMembership membership = companyAccessService.getActiveMembership();
-        UUID companyId = membership.getCompany().getId();
         Lead lead = getLeadOrThrow(leadId, membership);
+        return toDetailResponse(lead, leadAnswerRepository.findByLeadIdOrderByDisplayOrderSnapshotAscCreatedAtAsc(lead.getId()));
+    }
 
+    /**
+     * Builds the detail of an already authorized lead from its answers, so callers that need
+     * the answers for more than one section load them once.
+     */
+    LeadDetailResponse toDetailResponse(Lead lead, List<LeadAnswer> leadAnswers) {
+        UUID companyId = lead.getCompany().getId();
         LeadStandardFields standard = standardFieldsRepository.findByLeadId(lead.getId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Lead standard fields missing"));
-        List<LeadAnswerResponse> answers = leadAnswerRepository.findByLeadIdOrderByDisplayOrderSnapshotAscCreatedAtAsc(lead.getId())
-                .stream().map(this::toAnswerResponse).toList();
+        List<LeadAnswerResponse> answers = leadAnswers.stream().map(this::toAnswerResponse).toList();
         List<UUID> relatedLeadIds = lead.getDuplicateGroupId() == null
                 ? List.of()
                 : leadRepository.findByCompanyIdAndDuplicateGroupId(companyId, lead.getDuplicateGroupId())
@@ -279,12 +364,14 @@ public class LeadManagementService {
         if (stageId == null) {
             lead.setStage(null);
             leadRepository.save(lead);
+            leadListViewService.refresh(lead);
             return;
         }
         PipelineStage stage = pipelineStageRepository.findByIdAndCompanyId(stageId, companyId)
                 .orElseThrow(() -> new IllegalArgumentException("stageId does not belong to current company"));
         lead.setStage(stage);
         leadRepository.save(lead);
+        leadListViewService.refresh(lead);
     }
 
     @Transactional(readOnly = true)
@@ -304,6 +391,20 @@ public class LeadManagementService {
         return leadEventService.getEvents(companyId, leadId, pageable, parsedTypes);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<LeadEventResponse> getEvents(
+            UUID leadId,
+            String cursor,
+            int size,
+            String types
+    ) {
+        validatePaging(0, size);
+        CompanyMembership membership = companyAccessService.getActiveMembership();
+        UUID companyId = membership.getCompany().getId();
+        getLeadOrThrow(leadId, membership);
+        return leadEventService.getEvents(companyId, leadId, cursor, size, parseEventTypes(types));
+    }
+
     @Transactional(readOnly = true)
     public List<TaskBoardResponse> getLeadTasks(UUID leadId) {
         CompanyMembership membership = companyAccessService.getActiveMembership();
@@ -312,12 +413,16 @@ public class LeadManagementService {
         return taskBoardService.getTasksForCompany(companyId, leadId, null, null, null, null);
     }
 
+    List<TaskBoardResponse> getLeadTasks(Lead lead) {
+        return taskBoardService.getTasksForCompany(lead.getCompany().getId(), lead.getId(), null, null, null, null);
+    }
+
     private Lead getLeadOrThrow(UUID leadId, UUID companyId) {
         return leadRepository.findByIdAndCompanyId(leadId, companyId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Lead not found"));
     }
 
-    private Lead getLeadOrThrow(UUID leadId, CompanyMembership membership) {
+    Lead getLeadOrThrow(UUID leadId, CompanyMembership membership) {
         Lead lead = getLeadOrThrow(leadId, membership.getCompany().getId());
         if (membership.getRole() == MembershipRole.AGENT) {
             UUID currentUserId = membership.getUser().getId();
@@ -329,25 +434,23 @@ public class LeadManagementService {
         return lead;
     }
 
-    private LeadListItemResponse toListResponse(Lead lead) {
-        LeadStandardFields standard = lead.getStandardFields();
-        if (standard == null) {
-            standard = standardFieldsRepository.findByLeadId(lead.getId())
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Lead standard fields missing"));
-        }
+    private LeadListItemResponse toListResponse(LeadListView row) {
         return new LeadListItemResponse(
-                lead.getId(),
-                lead.getStatus(),
-                lead.getSubmittedAt(),
-                standard.getFirstName(),
-                standard.getLastName(),
-                standard.getEmail(),
-                standard.getPhone(),
-                lead.getAssignedToUserId(),
-                lead.getLastActivityAt(),
-                lead.getSource(),
-                lead.getDuplicateGroupId() != null,
-                lead.getDuplicateGroupId()
+                row.getId(),
+                row.getStatus(),
+                row.getSubmittedAt(),
+                row.getFirstName(),
+                row.getLastName(),
+                row.getEmail(),
+                row.getPhone(),
+                row.getAssignedToUserId(),
+                row.getLastActivityAt(),
+                row.getSource(),
+                row.getDuplicateGroupId() != null,
+                row.getDuplicateGroupId(),
+                row.getStageId(),
+                row.getAiScore(),
+                row.getOpenTaskCount()
         );
     }
 
@@ -412,6 +515,14 @@ public class LeadManagementService {
         if (rawSort == null || rawSort.isBlank()) {
             return Sort.by(Sort.Direction.DESC, "submittedAt");
         }
+        SortKey sortKey = parseSortKey(rawSort);
+        return Sort.by(sortKey.direction(), sortKey.field()).and(Sort.by(Sort.Direction.DESC, "submittedAt"));
+    }
+
+    private SortKey parseSortKey(String rawSort) {
+        if (rawSort == null || rawSort.isBlank()) {
+            return new SortKey("submittedAt", Sort.Direction.DESC);
+        }
         String[] chunks = rawSort.split(",");
         if (chunks.length != 2) {
             throw new IllegalArgumentException("Invalid sort format. Expected: field,asc|desc");
@@ -428,7 +539,7 @@ public class LeadManagementService {
             case "desc" -> Sort.Direction.DESC;
             default -> throw new IllegalArgumentException("Invalid sort direction. Allowed: asc, desc");
         };
-        return Sort.by(direction, mappedField).and(Sort.by(Sort.Direction.DESC, "submittedAt"));
+        return new SortKey(mappedField, direction);
     }
 
     private Instant parseDateParam(String raw, boolean startOfDay, String parameter) {
@@ -478,4 +589,10 @@ public class LeadManagementService {
         payload.put("to", to);
         return payload;
     }
+
+    private record SortKey(String field, Sort.Direction direction) {
+    }
+
+    public record LeadSearch(UUID companyId, LeadSearchCriteria criteria) {
+    }
 }
@@ -0,0 +1,44 @@
+package com.salesway.leads.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+public class LeadOpenTaskReconciliationWorker {
+    private static final Logger LOG = LoggerFactory.getLogger(LeadOpenTaskReconciliationWorker.class);
+
+    private final LeadOpenTaskService leadOpenTaskService;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public LeadOpenTaskReconciliationWorker(
+            LeadOpenTaskService leadOpenTaskService,
+            @Value("${app.leads.open-task-reconcile-enabled:true}") boolean enabled,
+            @Value("${app.leads.open-task-reconcile-batch-size:1000}") int batchSize
+    ) {
+        this.leadOpenTaskService = leadOpenTaskService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${app.leads.open-task-reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            UUID afterId = LeadOpenTaskService.MIN_UUID;
+            while (afterId != null) {
+                // one transaction per batch keeps each recount short
+                afterId = leadOpenTaskService.reconcileBatch(afterId, batchSize);
+            }
+        } catch (Exception exception) {
+            LOG.error("Open task count reconciliation failed, retrying on the next run", exception);
+        }
+    }
+}
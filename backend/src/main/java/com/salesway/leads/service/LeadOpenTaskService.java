@@ -0,0 +1,135 @@
+package com.salesway.leads.service;
+
+import com.salesway.leads.repository.LeadListViewRepository;
+import com.salesway.leads.repository.LeadRepository;
+import com.salesway.tasks.enums.TaskBoardStatus;
+import com.salesway.tasks.repository.TaskBoardItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keeps {@code leads.open_task_count} and its copy on the lead list read model in step with the
+ * task board. Task writes apply atomic +1/-1 deltas in their own transaction, so concurrent
+ * writers never lose an update; {@link #reconcileBatch} repairs whatever drift is left. Every
+ * change evicts the company's cached facets, whose {@code hasOpenTasks} counts depend on it.
+ */
+@Service
+public class LeadOpenTaskService {
+    private static final Logger LOG = LoggerFactory.getLogger(LeadOpenTaskService.class);
+    public static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final LeadRepository leadRepository;
+    private final LeadListViewRepository leadListViewRepository;
+    private final TaskBoardItemRepository taskBoardItemRepository;
+    private final LeadFacetService leadFacetService;
+
+    public LeadOpenTaskService(
+            LeadRepository leadRepository,
+            LeadListViewRepository leadListViewRepository,
+            TaskBoardItemRepository taskBoardItemRepository,
+            LeadFacetService leadFacetService
+    ) {
+        this.leadRepository = leadRepository;
+        this.leadListViewRepository = leadListViewRepository;
+        this.taskBoardItemRepository = taskBoardItemRepository;
+        this.leadFacetService = leadFacetService;
+    }
+
+    public static boolean isOpen(TaskBoardStatus status) {
+        return status != null && status != TaskBoardStatus.DONE;
+    }
+
+    @Transactional
+    public void taskCreated(UUID leadId, TaskBoardStatus status) {
+        if (isOpen(status)) {
+            adjust(leadId, 1);
+        }
+    }
+
+    /**
+     * Covers both status transitions and moving a task to another lead.
+     */
+    @Transactional
+    public void taskChanged(UUID oldLeadId, TaskBoardStatus oldStatus, UUID newLeadId, TaskBoardStatus newStatus) {
+        if (Objects.equals(oldLeadId, newLeadId) && isOpen(oldStatus) == isOpen(newStatus)) {
+            return;
+        }
+        if (isOpen(oldStatus)) {
+            adjust(oldLeadId, -1);
+        }
+        if (isOpen(newStatus)) {
+            adjust(newLeadId, 1);
+        }
+    }
+
+    @Transactional
+    public void taskDeleted(UUID leadId, TaskBoardStatus status) {
+        if (isOpen(status)) {
+            adjust(leadId, -1);
+        }
+    }
+
+    /**
+     * Releases the open tasks of a membership whose task board is about to be deleted in bulk.
+     */
+    @Transactional
+    public void membershipTasksDeleted(UUID membershipId) {
+        for (Object[] row : taskBoardItemRepository.countOpenByLeadForMembershipId(membershipId, TaskBoardStatus.DONE)) {
+            adjust((UUID) row[0], -((Number) row[1]).intValue());
+        }
+    }
+
+    /**
+     * Recounts the open tasks of up to {@code batchSize} leads after {@code afterId} and repairs
+     * the ones that drifted. A repair only lands if the stored count is still the one that was
+     * read, so a task write racing the recount is never overwritten.
+     *
+     * @return the id to continue after, or {@code null} once every lead has been checked
+     */
+    @Transactional
+    public UUID reconcileBatch(UUID afterId, int batchSize) {
+        List<Object[]> rows = leadRepository.findOpenTaskCountsAfter(
+                afterId,
+                TaskBoardStatus.DONE,
+                PageRequest.of(0, batchSize)
+        );
+        int repaired = 0;
+        for (Object[] row : rows) {
+            UUID leadId = (UUID) row[0];
+            int stored = ((Number) row[1]).intValue();
+            Integer storedInView = row[2] != null ? ((Number) row[2]).intValue() : null;
+            int actual = ((Number) row[3]).intValue();
+            if (stored != actual) {
+                repaired += leadRepository.repairOpenTaskCount(leadId, stored, actual);
+            }
+            if (storedInView != null && storedInView != actual
+                    && leadListViewRepository.repairOpenTaskCount(leadId, storedInView, actual) > 0) {
+                invalidateFacets(leadId);
+            }
+        }
+        if (repaired > 0) {
+            LOG.warn("Repaired open task count drift on {} leads", repaired);
+        }
+        return rows.size() < batchSize ? null : (UUID) rows.get(rows.size() - 1)[0];
+    }
+
+    private void adjust(UUID leadId, int delta) {
+        if (leadId == null || delta == 0) {
+            return;
+        }
+        leadRepository.adjustOpenTaskCount(leadId, delta);
+        leadListViewRepository.adjustOpenTaskCount(leadId, delta);
+        invalidateFacets(leadId);
+    }
+
+    private void invalidateFacets(UUID leadId) {
+        leadRepository.findCompanyIdById(leadId).ifPresent(leadFacetService::invalidate);
+    }
+}
@@ -0,0 +1,115 @@
+package com.salesway.leads.service;
+
+import com.salesway.leads.dto.CursorPageResponse;
+import com.salesway.leads.dto.LeadActivityResponse;
+import com.salesway.leads.dto.LeadAiInsightsResponse;
+import com.salesway.leads.dto.LeadDetailAnswerItemResponse;
+import com.salesway.leads.dto.LeadDetailResponse;
+import com.salesway.leads.dto.LeadOverviewResponse;
+import com.salesway.leads.entity.Lead;
+import com.salesway.leads.entity.LeadAnswer;
+import com.salesway.leads.repository.LeadAnswerRepository;
+import com.salesway.manager.service.CompanyAccessService;
+import com.salesway.memberships.entity.CompanyMembership;
+import com.salesway.tasks.dto.TaskBoardResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the sections of the lead detail page in one pass: the membership and the lead are
+ * resolved and authorized once, then every requested section reads from the same transaction
+ * and persistence context instead of re-loading them per request.
+ */
+@Service
+public class LeadOverviewService {
+    private final CompanyAccessService companyAccessService;
+    private final LeadManagementService leadManagementService;
+    private final LeadDetailsService leadDetailsService;
+    private final LeadAnswerRepository leadAnswerRepository;
+
+    public LeadOverviewService(
+            CompanyAccessService companyAccessService,
+            LeadManagementService leadManagementService,
+            LeadDetailsService leadDetailsService,
+            LeadAnswerRepository leadAnswerRepository
+    ) {
+        this.companyAccessService = companyAccessService;
+        this.leadManagementService = leadManagementService;
+        this.leadDetailsService = leadDetailsService;
+        this.leadAnswerRepository = leadAnswerRepository;
+    }
+
+    /**
+     * Not read-only: the AI insights section regenerates a stale snapshot the same way
+     * {@link LeadDetailsService#getAiInsights(UUID)} does, which uses AI quota and can fail on
+     * its own. It is therefore only loaded when {@code fields} names it; every other section is
+     * loaded by default.
+     */
+    @Transactional
+    public LeadOverviewResponse getOverview(UUID leadId, String fields, int activitiesSize) {
+        Set<Section> sections = parseSections(fields);
+        CompanyMembership membership = companyAccessService.getActiveMembership();
+        Lead lead = leadManagementService.getLeadOrThrow(leadId, membership);
+
+        // the detail and the answers sections render the same rows
+        List<LeadAnswer> answers = sections.contains(Section.LEAD) || sections.contains(Section.ANSWERS)
+                ? leadAnswerRepository.findByLeadIdOrderByDisplayOrderSnapshotAscCreatedAtAsc(lead.getId())
+                : List.of();
+        LeadDetailResponse detail = sections.contains(Section.LEAD)
+                ? leadManagementService.toDetailResponse(lead, answers)
+                : null;
+        List<LeadDetailAnswerItemResponse> answerItems = sections.contains(Section.ANSWERS)
+                ? leadDetailsService.toAnswerItems(answers)
+                : null;
+        CursorPageResponse<LeadActivityResponse> activities = sections.contains(Section.ACTIVITIES)
+                ? leadDetailsService.getActivities(membership, lead, null, activitiesSize)
+                : null;
+        List<TaskBoardResponse> tasks = sections.contains(Section.TASKS)
+                ? leadManagementService.getLeadTasks(lead)
+                : null;
+        LeadAiInsightsResponse aiInsights = sections.contains(Section.AI_INSIGHTS)
+                ? leadDetailsService.getAiInsights(membership, lead)
+                : null;
+        return new LeadOverviewResponse(detail, answerItems, activities, tasks, aiInsights);
+    }
+
+    static Set<Section> parseSections(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.complementOf(EnumSet.of(Section.AI_INSIGHTS));
+        }
+        Set<Section> sections = EnumSet.noneOf(Section.class);
+        for (String value : fields.split(",")) {
+            String field = value.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            sections.add(Arrays.stream(Section.values())
+                    .filter(section -> section.field.equalsIgnoreCase(field))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid field: " + field + ". Allowed: "
+                            + Arrays.stream(Section.values()).map(section -> section.field).collect(Collectors.joining(", ")))));
+        }
+        return sections;
+    }
+
+    enum Section {
+        LEAD("lead"),
+        ANSWERS("answers"),
+        ACTIVITIES("activities"),
+        TASKS("tasks"),
+        AI_INSIGHTS("aiInsights");
+
+        private final String field;
+
+        Section(String field) {
+            this.field = field;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.salesway.leads.service;
+
+import com.salesway.billing.service.SubscriptionAccessService;
+import com.salesway.leads.dto.LeadRescoringJobResponse;
+import com.salesway.leads.entity.Lead;
+import com.salesway.leads.entity.LeadAnswer;
+import com.salesway.leads.entity.LeadRescoringJob;
+import com.salesway.leads.enums.LeadAiStatus;
+import com.salesway.leads.enums.LeadRescoringJobStatus;
+import com.salesway.leads.repository.LeadAnswerRepository;
+import com.salesway.leads.repository.LeadRepository;
+import com.salesway.leads.repository.LeadRescoringJobRepository;
+import com.salesway.manager.service.ManagerAccessService;
+import com.salesway.memberships.entity.CompanyMembership;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+public class LeadRescoringService {
+    private static final Logger LOG = LoggerFactory.getLogger(LeadRescoringService.class);
+    private static final EnumSet<LeadRescoringJobStatus> ACTIVE_STATUSES =
+            EnumSet.of(LeadRescoringJobStatus.PENDING, LeadRescoringJobStatus.RUNNING);
+
+    private final LeadRescoringJobRepository jobRepository;
+    private final LeadRepository leadRepository;
+    private final LeadAnswerRepository answerRepository;
+    private final LeadAsyncScoringService leadAsyncScoringService;
+    private final LeadScoringRulesService leadScoringRulesService;
+    private final ManagerAccessService managerAccessService;
+    private final SubscriptionAccessService subscriptionAccessService;
+    private final LeadListViewService leadListViewService;
+    private final int pageSize;
+    private final long leaseMs;
+
+    public LeadRescoringService(
+            LeadRescoringJobRepository jobRepository,
+            LeadRepository leadRepository,
+            LeadAnswerRepository answerRepository,
+            LeadAsyncScoringService leadAsyncScoringService,
+            LeadScoringRulesService leadScoringRulesService,
+            ManagerAccessService managerAccessService,
+            SubscriptionAccessService subscriptionAccessService,
+            LeadListViewService leadListViewService,
+            @Value("${app.leads.rescoring-page-size:500}") int pageSize,
+            @Value("${app.leads.rescoring-lease-ms:120000}") long leaseMs
+    ) {
+        this.jobRepository = jobRepository;
+        this.leadRepository = leadRepository;
+        this.answerRepository = answerRepository;
+        this.leadAsyncScoringService = leadAsyncScoringService;
+        this.leadScoringRulesService = leadScoringRulesService;
+        this.managerAccessService = managerAccessService;
+        this.subscriptionAccessService = subscriptionAccessService;
+        this.leadListViewService = leadListViewService;
+        this.pageSize = Math.max(1, pageSize);
+        this.leaseMs = leaseMs;
+    }
+
+    @Transactional
+    public LeadRescoringJobResponse startRescoring() {
+        CompanyMembership membership = managerAccessService.getManagerMembership();
+        UUID companyId = membership.getCompany().getId();
+        subscriptionAccessService.assertAiFeaturesAvailable(membership.getCompany());
+        Optional<LeadRescoringJob> active = jobRepository.findFirstByCompanyIdAndStatusInOrderByCreatedAtDesc(companyId, ACTIVE_STATUSES);
+        if (active.isPresent()) {
+            return toResponse(active.get());
+        }
+        LeadRescoringJob job = new LeadRescoringJob();
+        job.setCompany(membership.getCompany());
+        job.setStatus(LeadRescoringJobStatus.PENDING);
+        job.setRequestedByUserId(membership.getUser().getId());
+        job.setTotalLeads((int) leadRepository.countByCompanyId(companyId));
+        LeadRescoringJob saved = jobRepository.save(job);
+        LOG.info("Lead rescoring job created companyId={} jobId={} totalLeads={}", companyId, saved.getId(), saved.getTotalLeads());
+        return toResponse(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public LeadRescoringJobResponse getJob(UUID jobId) {
+        CompanyMembership membership = managerAccessService.getManagerMembership();
+        return jobRepository.findByIdAndCompanyId(jobId, membership.getCompany().getId())
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Rescoring job not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<UUID> findClaimableJobIds() {
+        return jobRepository.findClaimableJobIds(ACTIVE_STATUSES, Instant.now());
+    }
+
+    @Transactional
+    public boolean claimJob(UUID jobId) {
+        Instant now = Instant.now();
+        return jobRepository.claim(jobId, now, now.plusMillis(leaseMs)) == 1;
+    }
+
+    @Transactional
+    public boolean processNextPage(UUID jobId) {
+        LeadRescoringJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Rescoring job not found"));
+        if (job.getStatus() != LeadRescoringJobStatus.RUNNING) {
+            return false;
+        }
+        UUID companyId = job.getCompany().getId();
+        PageRequest page = PageRequest.of(0, pageSize);
+        List<Lead> leads = job.getLastLeadId() == null
+                ? leadRepository.findByCompanyIdOrderByIdAsc(companyId, page)
+                : leadRepository.findByCompanyIdAndIdGreaterThanOrderByIdAsc(companyId, job.getLastLeadId(), page);
+        if (leads.isEmpty()) {
+            job.setStatus(LeadRescoringJobStatus.COMPLETED);
+            job.setFinishedAt(Instant.now());
+            job.setLockedUntil(null);
+            jobRepository.save(job);
+            LOG.info("Lead rescoring job completed companyId={} jobId={} processedLeads={}", companyId, jobId, job.getProcessedLeads());
+            return false;
+        }
+
+        List<UUID> leadIds = leads.stream().map(Lead::getId).toList();
+        Map<UUID, List<LeadAnswer>> answersByLeadId = answerRepository
+                .findByLeadIdInOrderByDisplayOrderSnapshotAscCreatedAtAsc(leadIds)
+                .stream()
+                .collect(Collectors.groupingBy(answer -> answer.getLead().getId()));
+
+        LeadScoringRules rules = leadScoringRulesService.getCompiledRules(companyId);
+        Map<UUID, LeadAsyncScoringService.ScoringResult> results = leads.parallelStream()
+                .collect(Collectors.toConcurrentMap(
+                        Lead::getId,
+                        lead -> leadAsyncScoringService.scoreLead(
+                                rules,
+                                lead.getStatus(),
+                                lead.getStandardFields(),
+                                answersByLeadId.getOrDefault(lead.getId(), List.of())
+                        )
+                ));
+
+        for (Lead lead : leads) {
+            LeadAsyncScoringService.ScoringResult result = results.get(lead.getId());
+            lead.setAiStatus(LeadAiStatus.COMPLETED.name());
+            lead.setAiScore(result.score());
+            lead.setAiSummary(result.summary());
+            lead.setAiError(null);
+        }
+        leadRepository.saveAll(leads);
+        leadListViewService.refreshAll(leads);
+
+        job.setProcessedLeads(job.getProcessedLeads() + leads.size());
+        job.setLastLeadId(leadIds.get(leadIds.size() - 1));
+        job.setLockedUntil(Instant.now().plusMillis(leaseMs));
+        jobRepository.save(job);
+        return true;
+    }
+
+    /**
+     * Gives up the lease of a job that still has pages left, so the next worker run can claim it
+     * right away instead of waiting for the lease to expire.
+     */
+    @Transactional
+    public void releaseJob(UUID jobId) {
+        jobRepository.release(jobId);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void markFailed(UUID jobId, Exception exception) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(LeadRescoringJobStatus.FAILED);
+            job.setError(exception.getMessage() == null ? "Lead rescoring failed" : exception.getMessage());
+            job.setFinishedAt(Instant.now());
+            job.setLockedUntil(null);
+            jobRepository.save(job);
+        });
+    }
+
+    private LeadRescoringJobResponse toResponse(LeadRescoringJob job) {
+        return new LeadRescoringJobResponse(
+                job.getId(),
+                job.getStatus().name().toLowerCase(Locale.ROOT),
+                job.getTotalLeads(),
+                job.getProcessedLeads(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                job.getError()
+        );
+    }
+}
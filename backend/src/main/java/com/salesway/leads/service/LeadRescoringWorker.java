@@ -0,0 +1,60 @@
+package com.salesway.leads.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+public class LeadRescoringWorker {
+    private static final Logger LOG = LoggerFactory.getLogger(LeadRescoringWorker.class);
+
+    private final LeadRescoringService leadRescoringService;
+    private final boolean enabled;
+    private final int maxPagesPerRun;
+
+    public LeadRescoringWorker(
+            LeadRescoringService leadRescoringService,
+            @Value("${app.leads.rescoring-worker-enabled:true}") boolean enabled,
+            @Value("${app.leads.rescoring-max-pages-per-run:10}") int maxPagesPerRun
+    ) {
+        this.leadRescoringService = leadRescoringService;
+        this.enabled = enabled;
+        this.maxPagesPerRun = Math.max(1, maxPagesPerRun);
+    }
+
+    @Scheduled(fixedDelayString = "${app.leads.rescoring-worker-fixed-delay-ms:5000}")
+    public void processJobs() {
+        if (!enabled) {
+            return;
+        }
+        // the scheduler thread is shared with every other job, so one run processes a bounded number of pages
+        int remainingPages = maxPagesPerRun;
+        for (UUID jobId : leadRescoringService.findClaimableJobIds()) {
+            if (remainingPages == 0) {
+                return;
+            }
+            if (!leadRescoringService.claimJob(jobId)) {
+                continue;
+            }
+            LOG.info("Lead rescoring worker claimed jobId={}", jobId);
+            try {
+                // each page commits its scores together with the job cursor, so the next run resumes from there
+                boolean morePages = true;
+                while (remainingPages > 0 && morePages) {
+                    morePages = leadRescoringService.processNextPage(jobId);
+                    remainingPages--;
+                }
+                if (morePages) {
+                    leadRescoringService.releaseJob(jobId);
+                }
+            } catch (Exception exception) {
+                LOG.error("Lead rescoring worker failed for jobId={}", jobId, exception);
+                leadRescoringService.markFailed(jobId, exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.salesway.leads.service;
+
+import com.salesway.leads.dto.LeadScoringRulesRequest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiled, immutable form of a company's keyword scoring rules. A criterion scores the first
+ * tier whose signals matched the answers, or its default score when none did.
+ */
+public final class LeadScoringRules {
+    public static final int MAX_TOTAL_SCORE = 100;
+    public static final int STRUCTURAL_CRITERIA_MAX_SCORE = 20;
+
+    private final LeadKeywordMatcher matcher;
+    private final List<CompiledCriterion> criteria;
+
+    private LeadScoringRules(LeadKeywordMatcher matcher, List<CompiledCriterion> criteria) {
+        this.matcher = matcher;
+        this.criteria = criteria;
+    }
+
+    public static LeadScoringRules compile(LeadScoringRulesRequest definition) {
+        Map<String, List<String>> phrasesBySignal = new LinkedHashMap<>();
+        for (LeadScoringRulesRequest.Signal signal : definition.getSignals()) {
+            String key = signal.getKey() == null ? "" : signal.getKey().trim();
+            if (key.isEmpty()) {
+                throw new IllegalArgumentException("signals[].key must not be blank");
+            }
+            if (signal.getPhrases() == null || signal.getPhrases().stream().allMatch(phrase -> LeadKeywordMatcher.fold(phrase).isBlank())) {
+                throw new IllegalArgumentException("signals[key=" + key + "].phrases must contain at least one phrase");
+            }
+            if (phrasesBySignal.put(key, List.copyOf(signal.getPhrases())) != null) {
+                throw new IllegalArgumentException("signals key duplicated: " + key);
+            }
+        }
+        if (phrasesBySignal.size() > LeadKeywordMatcher.MAX_SIGNALS) {
+            throw new IllegalArgumentException("signals must contain at most " + LeadKeywordMatcher.MAX_SIGNALS + " entries");
+        }
+        LeadKeywordMatcher matcher = LeadKeywordMatcher.compile(phrasesBySignal);
+
+        List<CompiledCriterion> criteria = new ArrayList<>();
+        Set<String> labels = new HashSet<>();
+        int maxScore = STRUCTURAL_CRITERIA_MAX_SCORE;
+        for (LeadScoringRulesRequest.Criterion criterion : definition.getCriteria()) {
+            String label = criterion.getLabel() == null ? "" : criterion.getLabel().trim();
+            if (label.isEmpty()) {
+                throw new IllegalArgumentException("criteria[].label must not be blank");
+            }
+            if (!labels.add(label.toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("criteria label duplicated: " + label);
+            }
+            int defaultScore = requireScore(criterion.getDefaultScore(), label);
+            int criterionMax = defaultScore;
+            List<CompiledTier> tiers = new ArrayList<>();
+            for (LeadScoringRulesRequest.Tier tier : criterion.getTiers() == null ? List.<LeadScoringRulesRequest.Tier>of() : criterion.getTiers()) {
+                long mask = 0L;
+                for (String signalKey : tier.getSignals()) {
+                    String key = signalKey == null ? "" : signalKey.trim();
+                    if (!phrasesBySignal.containsKey(key)) {
+                        throw new IllegalArgumentException("criteria[label=" + label + "] references unknown signal: " + key);
+                    }
+                    mask |= matcher.maskOf(key);
+                }
+                int score = requireScore(tier.getScore(), label);
+                criterionMax = Math.max(criterionMax, score);
+                tiers.add(new CompiledTier(mask, score));
+            }
+            maxScore += criterionMax;
+            criteria.add(new CompiledCriterion(label, List.copyOf(tiers), defaultScore));
+        }
+        if (maxScore > MAX_TOTAL_SCORE) {
+            throw new IllegalArgumentException("criteria maximum total score must not exceed " + MAX_TOTAL_SCORE
+                    + " (including " + STRUCTURAL_CRITERIA_MAX_SCORE + " for contactability and data completeness)");
+        }
+        return new LeadScoringRules(matcher, List.copyOf(criteria));
+    }
+
+    public Evaluation evaluate(String answersText) {
+        long matched = matcher.matchMask(answersText);
+        List<CriterionScore> scores = new ArrayList<>(criteria.size());
+        for (CompiledCriterion criterion : criteria) {
+            scores.add(new CriterionScore(criterion.label(), criterion.score(matched)));
+        }
+        return new Evaluation(scores, matcher.signalsIn(matched));
+    }
+
+    private static int requireScore(Integer score, String label) {
+        if (score == null || score < 0 || score > 10) {
+            throw new IllegalArgumentException("criteria[label=" + label + "] scores must be between 0 and 10");
+        }
+        return score;
+    }
+
+    public record CriterionScore(String label, int value) {
+    }
+
+    public record Evaluation(List<CriterionScore> criteria, List<String> matchedSignals) {
+    }
+
+    private record CompiledTier(long signalMask, int score) {
+    }
+
+    private record CompiledCriterion(String label, List<CompiledTier> tiers, int defaultScore) {
+        int score(long matchedSignals) {
+            for (CompiledTier tier : tiers) {
+                if ((tier.signalMask() & matchedSignals) != 0) {
+                    return tier.score();
+                }
+            }
+            return defaultScore;
+        }
+    }
+}
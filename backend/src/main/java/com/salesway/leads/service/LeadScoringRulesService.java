@@ -0,0 +1,181 @@
+package com.salesway.leads.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesway.leads.dto.LeadScoringRulesRequest;
+import com.salesway.leads.dto.LeadScoringRulesResponse;
+import com.salesway.leads.entity.LeadScoringRuleSet;
+import com.salesway.leads.repository.LeadScoringRuleSetRepository;
+import com.salesway.manager.service.ManagerAccessService;
+import com.salesway.memberships.entity.CompanyMembership;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class LeadScoringRulesService {
+    private static final Logger LOG = LoggerFactory.getLogger(LeadScoringRulesService.class);
+    private static final LeadScoringRules DEFAULT_RULES = LeadScoringRules.compile(defaultDefinition());
+
+    private final LeadScoringRuleSetRepository ruleSetRepository;
+    private final ManagerAccessService managerAccessService;
+    private final ObjectMapper objectMapper;
+    private final long cacheTtlMs;
+    private final Map<UUID, CachedRules> compiledByCompanyId = new ConcurrentHashMap<>();
+
+    public LeadScoringRulesService(
+            LeadScoringRuleSetRepository ruleSetRepository,
+            ManagerAccessService managerAccessService,
+            ObjectMapper objectMapper,
+            @Value("${app.leads.scoring-rules-cache-ttl-ms:300000}") long cacheTtlMs
+    ) {
+        this.ruleSetRepository = ruleSetRepository;
+        this.managerAccessService = managerAccessService;
+        this.objectMapper = objectMapper;
+        this.cacheTtlMs = cacheTtlMs;
+    }
+
+    @Transactional(readOnly = true)
+    public LeadScoringRulesResponse getRules() {
+        CompanyMembership membership = managerAccessService.getManagerMembership();
+        Optional<LeadScoringRuleSet> ruleSet = ruleSetRepository.findByCompanyId(membership.getCompany().getId());
+        return ruleSet
+                .map(saved -> toResponse(true, saved, readDefinition(saved)))
+                .orElseGet(() -> toResponse(false, null, defaultDefinition()));
+    }
+
+    @Transactional
+    public LeadScoringRulesResponse updateRules(LeadScoringRulesRequest request) {
+        CompanyMembership membership = managerAccessService.getManagerMembership();
+        UUID companyId = membership.getCompany().getId();
+        LeadScoringRules compiled = LeadScoringRules.compile(request);
+        LeadScoringRuleSet ruleSet = ruleSetRepository.findByCompanyId(companyId).orElseGet(() -> {
+            LeadScoringRuleSet created = new LeadScoringRuleSet();
+            created.setCompany(membership.getCompany());
+            return created;
+        });
+        ruleSet.setRules(objectMapper.valueToTree(request));
+        LeadScoringRuleSet saved = ruleSetRepository.save(ruleSet);
+        compiledByCompanyId.put(companyId, new CachedRules(compiled, System.currentTimeMillis()));
+        LOG.info("Lead scoring rules updated companyId={} signals={} criteria={}",
+                companyId, request.getSignals().size(), request.getCriteria().size());
+        return toResponse(true, saved, request);
+    }
+
+    @Transactional
+    public LeadScoringRulesResponse resetRules() {
+        CompanyMembership membership = managerAccessService.getManagerMembership();
+        UUID companyId = membership.getCompany().getId();
+        ruleSetRepository.findByCompanyId(companyId).ifPresent(ruleSetRepository::delete);
+        compiledByCompanyId.remove(companyId);
+        return toResponse(false, null, defaultDefinition());
+    }
+
+    public LeadScoringRules getCompiledRules(UUID companyId) {
+        CachedRules cached = compiledByCompanyId.get(companyId);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAtMs() < cacheTtlMs) {
+            return cached.rules();
+        }
+        LeadScoringRules rules = ruleSetRepository.findByCompanyId(companyId)
+                .map(ruleSet -> compileStored(companyId, ruleSet))
+                .orElse(DEFAULT_RULES);
+        compiledByCompanyId.put(companyId, new CachedRules(rules, System.currentTimeMillis()));
+        return rules;
+    }
+
+    public static LeadScoringRulesRequest defaultDefinition() {
+        LeadScoringRulesRequest definition = new LeadScoringRulesRequest();
+        definition.setSignals(List.of(
+                signal("readyNow", "acum", "cat mai curand", "imediat"),
+                signal("highPriority", "prioritar", "prioritate 9", "prioritate 10", "9", "10"),
+                signal("costOfInaction", "stagn", "fara progres", "pierd", "stress", "stres", "frust"),
+                signal("valueOriented", "valoare", "rezultate masurabile", "directie clara", "exemple concrete"),
+                signal("priceMentioned", "pret", "buget"),
+                signal("clearProblem", "problema", "blocaj", "obstacol", "lipsa", "dificultat", "strategie"),
+                signal("awareProblem", "costul", "ma incetineste", "impact", "stagnare", "fara un job"),
+                signal("singleDecisionMaker", "singurul decident", "singurul", "doar eu decid"),
+                signal("progressTimeline", "1-2 luni", "1 2 luni", "6 luni", "urmatoarele luni"),
+                signal("examplesRequested", "exemple concrete", "feedback concret", "rezultate", "oferte", "interviuri")
+        ));
+        definition.setCriteria(List.of(
+                criterion("Problem Clarity", 3, tier(9, "clearProblem")),
+                criterion("Problem Awareness", 3, tier(9, "awareProblem", "costOfInaction")),
+                criterion("Urgency To Change", 4, tier(9, "readyNow", "highPriority")),
+                criterion("Cost Of Inaction", 3, tier(9, "costOfInaction")),
+                criterion("Value Orientation", 5, tier(9, "valueOriented"), tier(2, "priceMentioned")),
+                criterion("Decision Authority", 5, tier(10, "singleDecisionMaker")),
+                criterion("Timeline Clarity", 4, tier(8, "progressTimeline")),
+                criterion("Proof Need / Validation", 5, tier(8, "examplesRequested"))
+        ));
+        return definition;
+    }
+
+    private LeadScoringRules compileStored(UUID companyId, LeadScoringRuleSet ruleSet) {
+        try {
+            return LeadScoringRules.compile(readDefinition(ruleSet));
+        } catch (IllegalArgumentException exception) {
+            LOG.error("Stored lead scoring rules are invalid, falling back to defaults companyId={}", companyId, exception);
+            return DEFAULT_RULES;
+        }
+    }
+
+    private LeadScoringRulesRequest readDefinition(LeadScoringRuleSet ruleSet) {
+        try {
+            return objectMapper.treeToValue(ruleSet.getRules(), LeadScoringRulesRequest.class);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalArgumentException("Stored lead scoring rules are not valid JSON", exception);
+        }
+    }
+
+    private LeadScoringRulesResponse toResponse(boolean customized, LeadScoringRuleSet ruleSet, LeadScoringRulesRequest definition) {
+        return new LeadScoringRulesResponse(
+                customized,
+                ruleSet == null ? null : ruleSet.getUpdatedAt(),
+                definition.getSignals().stream()
+                        .map(signal -> new LeadScoringRulesResponse.Signal(signal.getKey(), signal.getPhrases()))
+                        .toList(),
+                definition.getCriteria().stream()
+                        .map(criterion -> new LeadScoringRulesResponse.Criterion(
+                                criterion.getLabel(),
+                                criterion.getTiers().stream()
+                                        .map(tier -> new LeadScoringRulesResponse.Tier(tier.getSignals(), tier.getScore()))
+                                        .toList(),
+                                criterion.getDefaultScore()
+                        ))
+                        .toList()
+        );
+    }
+
+    private static LeadScoringRulesRequest.Signal signal(String key, String... phrases) {
+        LeadScoringRulesRequest.Signal signal = new LeadScoringRulesRequest.Signal();
+        signal.setKey(key);
+        signal.setPhrases(List.of(phrases));
+        return signal;
+    }
+
+    private static LeadScoringRulesRequest.Criterion criterion(String label, int defaultScore, LeadScoringRulesRequest.Tier... tiers) {
+        LeadScoringRulesRequest.Criterion criterion = new LeadScoringRulesRequest.Criterion();
+        criterion.setLabel(label);
+        criterion.setDefaultScore(defaultScore);
+        criterion.setTiers(List.of(tiers));
+        return criterion;
+    }
+
+    private static LeadScoringRulesRequest.Tier tier(int score, String... signals) {
+        LeadScoringRulesRequest.Tier tier = new LeadScoringRulesRequest.Tier();
+        tier.setScore(score);
+        tier.setSignals(List.of(signals));
+        return tier;
+    }
+
+    private record CachedRules(LeadScoringRules rules, long loadedAtMs) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.salesway.leads.service;
+
+import com.salesway.leads.entity.Lead;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the denormalized text the lead list search box runs against: names, email and phone
+ * folded to lower-case ASCII (so "Ștefănescu" is found by "stefanescu"), plus the phone digits
+ * in E.164 and Romanian national form. The V21 migration backfills existing leads with
+ * {@code unaccent} using the same rules.
+ */
+public final class LeadSearchDocument {
+    static final int MIN_PHONE_PREFIX_DIGITS = 3;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PHONE_QUERY = Pattern.compile("[0-9+()./\\s-]+");
+
+    private LeadSearchDocument() {
+    }
+
+    public static void apply(Lead lead, String firstName, String lastName, String email, String phone) {
+        String digits = phoneDigits(phone);
+        StringJoiner document = new StringJoiner(" ");
+        for (String part : new String[]{firstName, lastName, email}) {
+            String folded = fold(part);
+            if (!folded.isEmpty()) {
+                document.add(folded);
+            }
+        }
+        if (!digits.isEmpty()) {
+            document.add(digits);
+            if (digits.startsWith(LeadContactNormalizer.DEFAULT_COUNTRY_CODE)) {
+                document.add("0" + digits.substring(LeadContactNormalizer.DEFAULT_COUNTRY_CODE.length()));
+            }
+        }
+        lead.setSearchDocument(document.toString());
+        lead.setSearchPhoneDigits(digits.isEmpty() ? null : digits);
+    }
+
+    /**
+     * Lower-cases, strips diacritics and collapses whitespace.
+     */
+    public static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    /**
+     * Splits a search box query into folded terms; every term has to occur in the document.
+     */
+    public static List<String> queryTerms(String query) {
+        String folded = fold(query);
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.asList(folded.split(" "));
+    }
+
+    /**
+     * Returns the E.164 digits a phone-looking query should prefix-match, or {@code null} when
+     * the query contains letters or too few digits to be selective.
+     */
+    public static String phonePrefix(String query) {
+        if (query == null || !PHONE_QUERY.matcher(query.trim()).matches()) {
+            return null;
+        }
+        if (query.replaceAll("[^0-9]", "").length() < MIN_PHONE_PREFIX_DIGITS) {
+            return null;
+        }
+        return phoneDigits(query);
+    }
+
+    /**
+     * Escapes a term for a {@code LIKE} pattern that uses backslash as its escape character.
+     */
+    public static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static String phoneDigits(String phone) {
+        String normalized = LeadContactNormalizer.normalizePhone(phone);
+        return normalized.isEmpty() ? "" : normalized.substring(1);
+    }
+}
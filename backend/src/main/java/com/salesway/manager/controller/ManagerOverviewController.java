@@ -3,14 +3,17 @@ package com.salesway.manager.controller;
 import com.salesway.manager.dto.ManagerAgentResponse;
 import com.salesway.manager.dto.ManagerTeamPerformancePointResponse;
 import com.salesway.manager.service.ManagerOverviewService;
+import com.salesway.manager.service.TeamDashboardStreamService;
 import com.salesway.reports.dto.DailyReportSummaryResponse;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.ZoneOffset;
@@ -21,9 +24,14 @@ import java.util.UUID;
 @RequestMapping("/manager/overview")
 public class ManagerOverviewController {
     private final ManagerOverviewService managerOverviewService;
+    private final TeamDashboardStreamService teamDashboardStreamService;
 
-    public ManagerOverviewController(ManagerOverviewService managerOverviewService) {
+    public ManagerOverviewController(
+            ManagerOverviewService managerOverviewService,
+            TeamDashboardStreamService teamDashboardStreamService
+    ) {
         this.managerOverviewService = managerOverviewService;
+        this.teamDashboardStreamService = teamDashboardStreamService;
     }
 
     @GetMapping("/summary")
@@ -59,4 +67,11 @@ public class ManagerOverviewController {
     ) {
         return ResponseEntity.ok(managerOverviewService.getTeamPerformance(from, to));
     }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTeamDashboard(
+            @RequestParam(value = "teamId", required = false) UUID teamId
+    ) {
+        return teamDashboardStreamService.subscribe(teamId);
+    }
 }
@@ -0,0 +1,27 @@
+package com.salesway.manager.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.salesway.common.enums.DailyReportAuditAction;
+import com.salesway.common.enums.DailyReportStatus;
+import com.salesway.reports.dto.DailyReportInputsResponse;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One report write as pushed to the team dashboard; {@code delta} is what the write added to
+ * the report's inputs, so a dashboard can add it to the totals it already shows.
+ */
+public record TeamDashboardEventResponse(
+        @JsonProperty("action") DailyReportAuditAction action,
+        @JsonProperty("report_id") UUID reportId,
+        @JsonProperty("agent_membership_id") UUID agentMembershipId,
+        @JsonProperty("manager_membership_id") UUID managerMembershipId,
+        @JsonProperty("team_id") UUID teamId,
+        @JsonProperty("report_date") LocalDate reportDate,
+        @JsonProperty("status") DailyReportStatus status,
+        @JsonProperty("delta") DailyReportInputsResponse delta,
+        @JsonProperty("occurred_at") Instant occurredAt
+) {
+}
@@ -4,28 +4,34 @@ import com.salesway.common.enums.MembershipStatus;
 import com.salesway.memberships.entity.CompanyMembership;
 import com.salesway.memberships.repository.CompanyMembershipRepository;
 import com.salesway.security.CustomUserDetails;
+import com.salesway.security.PrincipalCache;
+import com.salesway.security.RequestMemo;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class CompanyAccessService {
+    private static final String MEMO_KEY = "activeMembership";
+
     private final CompanyMembershipRepository companyMembershipRepository;
     private final CompanyContextResolver companyContextResolver;
+    private final PrincipalCache principalCache;
 
     public CompanyAccessService(
             CompanyMembershipRepository companyMembershipRepository,
-            CompanyContextResolver companyContextResolver
+            CompanyContextResolver companyContextResolver,
+            PrincipalCache principalCache
     ) {
         this.companyMembershipRepository = companyMembershipRepository;
         this.companyContextResolver = companyContextResolver;
+        this.principalCache = principalCache;
     }
 
     public CompanyMembership getActiveMembership() {
@@ -35,11 +41,30 @@ public class CompanyAccessService {
         }
 
         UUID userId = userDetails.getUser().getId();
-        List<CompanyMembership> activeMemberships = companyMembershipRepository
-                .findByUserIdAndStatusInOrderByUpdatedAtDescCreatedAtDescIdDesc(
-                        userId,
-                        EnumSet.of(MembershipStatus.ACTIVE)
-                );
+        return RequestMemo.computeIfAbsent(MEMO_KEY, () -> resolveActiveMembership(userId, userDetails.getTokenMembership()));
+    }
+
+    private CompanyMembership resolveActiveMembership(UUID userId, PrincipalCache.MembershipRef tokenMembership) {
+        if (tokenMembership != null && companyContextResolver.resolveCompanyId()
+                .map(tokenMembership.companyId()::equals)
+                .orElse(true)) {
+            Optional<CompanyMembership> membership = loadIfStillActive(tokenMembership);
+            if (membership.isPresent()) {
+                return membership.get();
+            }
+        }
+        PrincipalCache.MembershipRef selected = selectMembership(principalCache.findActiveMemberships(userId));
+        Optional<CompanyMembership> membership = loadIfStillActive(selected);
+        if (membership.isPresent()) {
+            return membership.get();
+        }
+        // the cached refs went stale between the change and its invalidation; retry uncached
+        principalCache.evictLocally(userId);
+        return loadIfStillActive(selectMembership(principalCache.findActiveMemberships(userId)))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "Active company membership required"));
+    }
+
+    private PrincipalCache.MembershipRef selectMembership(List<PrincipalCache.MembershipRef> activeMemberships) {
         if (activeMemberships.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Active company membership required");
         }
@@ -48,7 +73,7 @@ public class CompanyAccessService {
         if (requestedCompanyId.isPresent()) {
             UUID companyId = requestedCompanyId.get();
             return activeMemberships.stream()
-                    .filter(membership -> membership.getCompany().getId().equals(companyId))
+                    .filter(membership -> membership.companyId().equals(companyId))
                     .findFirst()
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "Membership not found for requested company"));
         }
@@ -58,4 +83,9 @@ public class CompanyAccessService {
         }
         throw new ResponseStatusException(HttpStatus.CONFLICT, "Ambiguous company context. Provide X-Company-Id");
     }
+
+    private Optional<CompanyMembership> loadIfStillActive(PrincipalCache.MembershipRef ref) {
+        return companyMembershipRepository.findById(ref.membershipId())
+                .filter(membership -> membership.getStatus() == MembershipStatus.ACTIVE);
+    }
 }
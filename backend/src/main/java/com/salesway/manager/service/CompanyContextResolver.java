@@ -1,6 +1,8 @@
 package com.salesway.manager.service;
 
+import com.salesway.security.JwtAuthenticationFilter;
 import com.salesway.security.JwtService;
+import com.salesway.security.RequestMemo;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpHeaders;
@@ -17,6 +19,7 @@ import static org.springframework.http.HttpStatus.BAD_REQUEST;
 @Service
 public class CompanyContextResolver {
     private static final String COMPANY_HEADER = "X-Company-Id";
+    private static final String MEMO_KEY = "companyContext";
 
     private final JwtService jwtService;
 
@@ -25,6 +28,10 @@ public class CompanyContextResolver {
     }
 
     public Optional<UUID> resolveCompanyId() {
+        return RequestMemo.computeIfAbsent(MEMO_KEY, this::resolveFromRequest);
+    }
+
+    private Optional<UUID> resolveFromRequest() {
         HttpServletRequest request = currentRequest();
         if (request == null) {
             return Optional.empty();
@@ -41,7 +48,9 @@ public class CompanyContextResolver {
         }
         String token = authHeader.substring(7);
         try {
-            Claims claims = jwtService.parseClaims(token);
+            Claims claims = request.getAttribute(JwtAuthenticationFilter.CLAIMS_ATTRIBUTE) instanceof Claims parsed
+                    ? parsed
+                    : jwtService.parseClaims(token);
             Object companyIdClaim = claims.get("companyId");
             if (companyIdClaim == null) {
                 return Optional.empty();
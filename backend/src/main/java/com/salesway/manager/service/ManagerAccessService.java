@@ -5,6 +5,8 @@ import com.salesway.common.enums.MembershipStatus;
 import com.salesway.memberships.entity.CompanyMembership;
 import com.salesway.memberships.repository.CompanyMembershipRepository;
 import com.salesway.security.CustomUserDetails;
+import com.salesway.security.PrincipalCache;
+import com.salesway.security.RequestMemo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -16,11 +18,14 @@ import org.springframework.web.server.ResponseStatusException;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class ManagerAccessService {
     private static final Logger LOG = LoggerFactory.getLogger(ManagerAccessService.class);
+    private static final String MEMO_KEY = "managerMembership";
+    private static final Set<MembershipRole> MANAGER_ROLES = EnumSet.of(MembershipRole.MANAGER, MembershipRole.ADMIN);
 
     private final CompanyMembershipRepository companyMembershipRepository;
     private final CompanyContextResolver companyContextResolver;
@@ -40,11 +45,26 @@ public class ManagerAccessService {
         }
 
         UUID userId = userDetails.getUser().getId();
+        return RequestMemo.computeIfAbsent(MEMO_KEY, () -> resolveManagerMembership(userId, userDetails.getTokenMembership()));
+    }
+
+    private CompanyMembership resolveManagerMembership(UUID userId, PrincipalCache.MembershipRef tokenMembership) {
         Optional<UUID> requestedCompanyId = companyContextResolver.resolveCompanyId();
+        if (tokenMembership != null
+                && MANAGER_ROLES.contains(tokenMembership.role())
+                && requestedCompanyId.map(tokenMembership.companyId()::equals).orElse(true)) {
+            // at most one membership per company, so the token's one is the one the queries below would pick
+            Optional<CompanyMembership> membership = companyMembershipRepository.findById(tokenMembership.membershipId())
+                    .filter(candidate -> candidate.getStatus() == MembershipStatus.ACTIVE
+                            && MANAGER_ROLES.contains(candidate.getRole()));
+            if (membership.isPresent()) {
+                return membership.get();
+            }
+        }
         List<CompanyMembership> managerOrAdmin = companyMembershipRepository
                 .findByUserIdAndRoleInAndStatusInOrderByUpdatedAtDescCreatedAtDescIdDesc(
                         userId,
-                        EnumSet.of(MembershipRole.MANAGER, MembershipRole.ADMIN),
+                        MANAGER_ROLES,
                         EnumSet.of(MembershipStatus.ACTIVE)
                 );
         List<CompanyMembership> activeMemberships = companyMembershipRepository
@@ -15,13 +15,15 @@ import com.salesway.reports.repository.DailyReportAuditLogRepository;
 import com.salesway.reports.repository.DailyReportInputsRepository;
 import com.salesway.reports.repository.DailyReportMetricsRepository;
 import com.salesway.reports.repository.DailyReportRepository;
+import com.salesway.reports.service.DailyReportDraftBuffer;
+import com.salesway.reports.service.DailyReportKpis;
+import com.salesway.reports.service.DailyReportRollupService;
+import com.salesway.reports.service.DailyReportTotals;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Collections;
@@ -33,26 +35,33 @@ import java.util.stream.Collectors;
 
 @Service
 public class ManagerReportService {
-    private static final BigDecimal ZERO = BigDecimal.ZERO;
-
     private final ManagerAccessService managerAccessService;
     private final DailyReportRepository dailyReportRepository;
     private final DailyReportInputsRepository dailyReportInputsRepository;
     private final DailyReportMetricsRepository dailyReportMetricsRepository;
     private final DailyReportAuditLogRepository dailyReportAuditLogRepository;
+    private final DailyReportRollupService dailyReportRollupService;
+    private final TeamDashboardStreamService teamDashboardStreamService;
+    private final DailyReportDraftBuffer dailyReportDraftBuffer;
 
     public ManagerReportService(
             ManagerAccessService managerAccessService,
             DailyReportRepository dailyReportRepository,
             DailyReportInputsRepository dailyReportInputsRepository,
             DailyReportMetricsRepository dailyReportMetricsRepository,
-            DailyReportAuditLogRepository dailyReportAuditLogRepository
+            DailyReportAuditLogRepository dailyReportAuditLogRepository,
+            DailyReportRollupService dailyReportRollupService,
+            TeamDashboardStreamService teamDashboardStreamService,
+            DailyReportDraftBuffer dailyReportDraftBuffer
     ) {
         this.managerAccessService = managerAccessService;
         this.dailyReportRepository = dailyReportRepository;
         this.dailyReportInputsRepository = dailyReportInputsRepository;
         this.dailyReportMetricsRepository = dailyReportMetricsRepository;
         this.dailyReportAuditLogRepository = dailyReportAuditLogRepository;
+        this.dailyReportRollupService = dailyReportRollupService;
+        this.teamDashboardStreamService = teamDashboardStreamService;
+        this.dailyReportDraftBuffer = dailyReportDraftBuffer;
     }
 
     @Transactional(readOnly = true)
@@ -79,7 +88,8 @@ public class ManagerReportService {
     @Transactional
     public ManagerDailyReportResponse updateReport(UUID reportId, ManagerDailyReportUpdateRequest request) {
         CompanyMembership manager = managerAccessService.getManagerMembership();
-        DailyReport report = dailyReportRepository.findById(reportId)
+        // the same row lock a draft flush or submit takes, held before the inputs are read
+        DailyReport report = dailyReportRepository.findByIdForUpdate(reportId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Report not found"));
 
         if (!report.getCompany().getId().equals(manager.getCompany().getId())) {
@@ -90,6 +100,9 @@ public class ManagerReportService {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Report is locked");
         }
 
+        // the manager's values replace the agent's buffered draft, which a later flush would write over them
+        dailyReportDraftBuffer.discard(report.getAgentMembership().getId(), report.getReportDate());
+
         DailyReportInputs inputs = dailyReportInputsRepository
                 .findByDailyReportId(report.getId())
                 .orElseGet(() -> {
@@ -98,6 +111,7 @@ public class ManagerReportService {
                     return fresh;
                 });
 
+        DailyReportTotals before = DailyReportTotals.of(inputs);
         applyInputs(inputs, request);
         dailyReportInputsRepository.save(inputs);
 
@@ -111,7 +125,13 @@ public class ManagerReportService {
         }
         dailyReportRepository.save(report);
         updateMetrics(report, inputs);
+        dailyReportRollupService.inputsChanged(report, before, inputs);
         writeAudit(report, manager, DailyReportAuditAction.MANAGER_EDIT);
+        teamDashboardStreamService.reportChanged(
+                DailyReportAuditAction.MANAGER_EDIT,
+                report,
+                DailyReportTotals.of(inputs).minus(before)
+        );
 
         return toManagerResponse(report, inputs);
     }
@@ -201,43 +221,12 @@ public class ManagerReportService {
                     return fresh;
                 });
 
-        int totalSales = inputs.getSalesOneCallClose() + inputs.getFollowupSales() + inputs.getUpsells();
-        metrics.setTotalSales(totalSales);
-        metrics.setTriagePassthroughRate(rate(inputs.getPickups(), inputs.getOutboundDials()));
-
-        int salesCallShowups = Math.max(0, inputs.getSalesCallOnCalendar() - inputs.getNoShow() - inputs.getCancel());
-        metrics.setSalesCallShowupRate(rate(salesCallShowups, inputs.getSalesCallOnCalendar()));
-        metrics.setSitRate(rate(inputs.getSalesCallBookedFromOutbound(), inputs.getConversations30sPlus()));
-        metrics.setOneCallCloseRate(rate(inputs.getSalesOneCallClose(), totalSales));
-        metrics.setFollowupCloseRate(rate(inputs.getFollowupSales(), totalSales));
-        metrics.setTotalClosingRate(rate(totalSales, inputs.getSalesCallOnCalendar()));
-        metrics.setUpsellCloseRate(rate(inputs.getUpsells(), inputs.getUpsellConversationTaken()));
-        metrics.setCashCollectionRate(rate(inputs.getNewCashCollected(), inputs.getContractValue()));
-        metrics.setAvgContractValuePerSale(divide(inputs.getContractValue(), totalSales, 2));
-        metrics.setAvgCashCollectedPerSale(divide(inputs.getNewCashCollected(), totalSales, 2));
+        DailyReportKpis.applyTo(metrics, DailyReportTotals.of(inputs));
         metrics.setComputedAt(Instant.now());
 
         dailyReportMetricsRepository.save(metrics);
     }
 
-    private BigDecimal rate(int numerator, int denominator) {
-        return divide(new BigDecimal(numerator), denominator, 5);
-    }
-
-    private BigDecimal rate(BigDecimal numerator, BigDecimal denominator) {
-        if (denominator == null || denominator.compareTo(ZERO) <= 0) {
-            return ZERO;
-        }
-        return numerator.divide(denominator, 5, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal divide(BigDecimal numerator, int denominator, int scale) {
-        if (denominator <= 0) {
-            return ZERO;
-        }
-        return numerator.divide(new BigDecimal(denominator), scale, RoundingMode.HALF_UP);
-    }
-
     private ManagerDailyReportResponse toManagerResponse(DailyReport report, DailyReportInputs inputs) {
         DailyReportInputsResponse inputsResponse = new DailyReportInputsResponse(
                 inputs.getOutboundDials(),
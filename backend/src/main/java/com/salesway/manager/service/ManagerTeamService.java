@@ -13,10 +13,13 @@ import com.salesway.calendar.repository.CalendarEventRepository;
 import com.salesway.calendar.repository.CalendarIntegrationRepository;
 import com.salesway.chatbot.repository.ChatConversationRepository;
 import com.salesway.goals.repository.GoalRepository;
+import com.salesway.leads.service.LeadOpenTaskService;
 import com.salesway.notifications.repository.NotificationRepository;
 import com.salesway.reports.repository.DailyReportAuditLogRepository;
 import com.salesway.reports.repository.DailyReportInputsRepository;
 import com.salesway.reports.repository.DailyReportRepository;
+import com.salesway.reports.service.DailyReportRollupService;
+import com.salesway.security.PrincipalCache;
 import com.salesway.teams.entity.Team;
 import com.salesway.teams.repository.TeamRepository;
 import com.salesway.tasks.repository.TaskBoardItemRepository;
@@ -53,6 +56,9 @@ public class ManagerTeamService {
     private final TeamRepository teamRepository;
     private final PasswordEncoder passwordEncoder;
     private final SubscriptionAccessService subscriptionAccessService;
+    private final LeadOpenTaskService leadOpenTaskService;
+    private final PrincipalCache principalCache;
+    private final DailyReportRollupService dailyReportRollupService;
 
     public ManagerTeamService(
             ManagerAccessService managerAccessService,
@@ -71,7 +77,10 @@ public class ManagerTeamService {
             TaskRepository taskRepository,
             TeamRepository teamRepository,
             PasswordEncoder passwordEncoder,
-            SubscriptionAccessService subscriptionAccessService
+            SubscriptionAccessService subscriptionAccessService,
+            LeadOpenTaskService leadOpenTaskService,
+            PrincipalCache principalCache,
+            DailyReportRollupService dailyReportRollupService
     ) {
         this.managerAccessService = managerAccessService;
         this.userRepository = userRepository;
@@ -90,6 +99,9 @@ public class ManagerTeamService {
         this.teamRepository = teamRepository;
         this.passwordEncoder = passwordEncoder;
         this.subscriptionAccessService = subscriptionAccessService;
+        this.leadOpenTaskService = leadOpenTaskService;
+        this.principalCache = principalCache;
+        this.dailyReportRollupService = dailyReportRollupService;
     }
 
     @Transactional
@@ -123,6 +135,7 @@ public class ManagerTeamService {
         }
 
         CompanyMembership savedMembership = companyMembershipRepository.save(membership);
+        principalCache.invalidate(savedUser.getId());
         return new ManagerAgentCreateResponse(savedMembership.getId(), savedUser.getId(), savedUser.getEmail());
     }
 
@@ -158,6 +171,7 @@ public class ManagerTeamService {
         List<UUID> reportIds = reportIdSet.stream().toList();
         if (!reportIds.isEmpty()) {
             taskProgressRepository.deleteByComputedFromReportIdIn(reportIds);
+            dailyReportRollupService.reportsDeleted(manager.getCompany().getId(), reportIds);
             dailyReportAuditLogRepository.deleteByDailyReportIdIn(reportIds);
             dailyReportInputsRepository.deleteByDailyReportIdIn(reportIds);
             dailyReportRepository.deleteAllByIdInBatch(reportIds);
@@ -178,10 +192,12 @@ public class ManagerTeamService {
         calendarEventRepository.deleteByMembershipId(membershipId);
         calendarIntegrationRepository.deleteByMembershipId(membershipId);
         chatConversationRepository.deleteByMembershipId(membershipId);
+        leadOpenTaskService.membershipTasksDeleted(membershipId);
         taskBoardItemRepository.deleteByMembershipId(membershipId);
 
         companyMembershipRepository.delete(membership);
         userRepository.delete(membership.getUser());
+        principalCache.invalidate(userId);
     }
 
     @Transactional
@@ -208,6 +224,7 @@ public class ManagerTeamService {
         membership.setStatus(MembershipStatus.INACTIVE);
         userRepository.save(user);
         companyMembershipRepository.save(membership);
+        principalCache.invalidate(userId);
     }
 
     private void validatePassword(String password, String normalizedEmail) {
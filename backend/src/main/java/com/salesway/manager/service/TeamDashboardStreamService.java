@@ -0,0 +1,413 @@
+package com.salesway.manager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesway.common.enums.DailyReportAuditAction;
+import com.salesway.common.enums.MembershipRole;
+import com.salesway.manager.dto.TeamDashboardEventResponse;
+import com.salesway.memberships.entity.CompanyMembership;
+import com.salesway.reports.dto.DailyReportInputsResponse;
+import com.salesway.reports.entity.DailyReport;
+import com.salesway.reports.service.DailyReportTotals;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes report writes to open team dashboards as server-sent events. A dashboard subscribes
+ * for its manager's scope: an admin sees the whole company, a manager the agents reporting to
+ * them, and either can narrow it to one team. Each committed write is serialized once, sent to
+ * the matching dashboards on this node and published on a Redis channel so the other nodes
+ * send it to theirs.
+ *
+ * <p>Events are queued per dashboard and written by a small send pool, so the committing request,
+ * the Redis listener and the heartbeat never wait on a client's socket. A dashboard that falls
+ * further behind than its backlog is closed and reconnects.
+ *
+ * <p>A stream stays open for up to the timeout, so its request is kept out of open-in-view (see
+ * {@code OpenInViewConfig}) and the manager is resolved in a short transaction of its own.
+ */
+@Service
+public class TeamDashboardStreamService {
+    public static final String DASHBOARD_EVENT_CHANNEL = "team-dashboard-events";
+    static final String REPORT_EVENT = "report";
+    private static final Logger LOG = LoggerFactory.getLogger(TeamDashboardStreamService.class);
+
+    private final ManagerAccessService managerAccessService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final int maxSubscribers;
+    private final int subscriberBacklog;
+    private final ExecutorService sendExecutor;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<UUID, Set<Subscriber>> subscribersByCompany = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final MessageListener eventListener = (message, pattern) -> onMessage(message.getBody());
+    private volatile boolean subscribed;
+
+    public TeamDashboardStreamService(
+            ManagerAccessService managerAccessService,
+            PlatformTransactionManager transactionManager,
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            ObjectMapper objectMapper,
+            @Value("${app.manager.dashboard-stream-timeout-ms:1800000}") long timeoutMs,
+            @Value("${app.manager.dashboard-stream-max-subscribers:5000}") int maxSubscribers,
+            @Value("${app.manager.dashboard-stream-subscriber-backlog:64}") int subscriberBacklog,
+            @Value("${app.manager.dashboard-stream-send-threads:4}") int sendThreads
+    ) {
+        this(managerAccessService, transactionManager, redisTemplate, listenerContainer, objectMapper, timeoutMs,
+                maxSubscribers, subscriberBacklog, sendExecutor(sendThreads, maxSubscribers));
+    }
+
+    TeamDashboardStreamService(
+            ManagerAccessService managerAccessService,
+            PlatformTransactionManager transactionManager,
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            ObjectMapper objectMapper,
+            long timeoutMs,
+            int maxSubscribers,
+            int subscriberBacklog,
+            ExecutorService sendExecutor
+    ) {
+        this.managerAccessService = managerAccessService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.maxSubscribers = maxSubscribers;
+        this.subscriberBacklog = subscriberBacklog;
+        this.sendExecutor = sendExecutor;
+    }
+
+    /**
+     * Who a dashboard stream is for, with the events waiting to be written to it; a null manager
+     * or team means no narrowing on it.
+     */
+    static final class Subscriber {
+        private final SseEmitter emitter;
+        private final UUID companyId;
+        private final UUID managerMembershipId;
+        private final UUID teamId;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile Exception failure;
+
+        Subscriber(SseEmitter emitter, UUID companyId, UUID managerMembershipId, UUID teamId, int backlog) {
+            this.emitter = emitter;
+            this.companyId = companyId;
+            this.managerMembershipId = managerMembershipId;
+            this.teamId = teamId;
+            this.pending = new ArrayBlockingQueue<>(backlog);
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        UUID companyId() {
+            return companyId;
+        }
+
+        boolean matches(UUID eventManagerMembershipId, UUID eventTeamId) {
+            return (managerMembershipId == null || managerMembershipId.equals(eventManagerMembershipId))
+                    && (teamId == null || teamId.equals(eventTeamId));
+        }
+    }
+
+    private record Scope(UUID companyId, UUID managerMembershipId) {
+    }
+
+    public SseEmitter subscribe(UUID teamId) {
+        // the connection goes back to the pool here rather than when the stream closes
+        Scope scope = readOnlyTransaction.execute(status -> {
+            CompanyMembership manager = managerAccessService.getManagerMembership();
+            return new Scope(
+                    manager.getCompany().getId(),
+                    manager.getRole() == MembershipRole.ADMIN ? null : manager.getId()
+            );
+        });
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open dashboard streams");
+        }
+        UUID companyId = scope.companyId();
+        Subscriber subscriber = new Subscriber(
+                new SseEmitter(timeoutMs),
+                companyId,
+                scope.managerMembershipId(),
+                teamId,
+                subscriberBacklog
+        );
+        subscribersByCompany.computeIfAbsent(companyId, ignored -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriber.emitter().onCompletion(() -> remove(subscriber));
+        subscriber.emitter().onTimeout(() -> remove(subscriber));
+        subscriber.emitter().onError(error -> remove(subscriber));
+        // the first event flushes the response headers so the client sees the stream open
+        send(subscriber, SseEmitter.event().name("ready").data("{}", MediaType.APPLICATION_JSON));
+        return subscriber.emitter();
+    }
+
+    /**
+     * Pushes a report write to the dashboards that can see the agent once the surrounding
+     * transaction commits. A draft save that changed nothing is not pushed.
+     */
+    public void reportChanged(DailyReportAuditAction action, DailyReport report, DailyReportTotals delta) {
+        if (action == DailyReportAuditAction.DRAFT_UPDATE && delta.isZero()) {
+            return;
+        }
+        CompanyMembership agent = report.getAgentMembership();
+        UUID companyId = report.getCompany().getId();
+        UUID managerMembershipId = agent.getManagerMembership() == null ? null : agent.getManagerMembership().getId();
+        UUID teamId = agent.getTeam() == null ? null : agent.getTeam().getId();
+        TeamDashboardEventResponse event = new TeamDashboardEventResponse(
+                action,
+                report.getId(),
+                agent.getId(),
+                managerMembershipId,
+                teamId,
+                report.getReportDate(),
+                report.getStatus(),
+                toInputsResponse(delta),
+                Instant.now()
+        );
+        afterCommit(() -> {
+            String payload;
+            try {
+                payload = objectMapper.writeValueAsString(event);
+            } catch (JsonProcessingException exception) {
+                LOG.warn("Failed to serialize dashboard event reportId={}", event.reportId(), exception);
+                return;
+            }
+            deliver(companyId, managerMembershipId, teamId, payload);
+            publish(String.join("|", nodeId, companyId.toString(), text(managerMembershipId), text(teamId), payload));
+        });
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.manager.dashboard-stream-subscribe-initial-delay-ms:0}",
+            fixedDelayString = "${app.manager.dashboard-stream-subscribe-retry-ms:30000}"
+    )
+    public void ensureSubscribed() {
+        if (subscribed) {
+            return;
+        }
+        try {
+            listenerContainer.addMessageListener(eventListener, new ChannelTopic(DASHBOARD_EVENT_CHANNEL));
+            subscribed = true;
+            LOG.info("Team dashboard stream subscribed to channel={}", DASHBOARD_EVENT_CHANNEL);
+        } catch (RuntimeException exception) {
+            LOG.warn("Team dashboard stream could not subscribe, only writes on this node are pushed: {}",
+                    exception.getMessage());
+        }
+    }
+
+    /**
+     * Keeps idle streams open through proxies and drops the ones whose client has gone away.
+     */
+    @Scheduled(fixedDelayString = "${app.manager.dashboard-stream-heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribersByCompany.values().forEach(subscribers ->
+                subscribers.forEach(subscriber -> send(subscriber, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void deliver(UUID companyId, UUID managerMembershipId, UUID teamId, String payload) {
+        Set<Subscriber> subscribers = subscribersByCompany.get(companyId);
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(managerMembershipId, teamId)) {
+                send(subscriber, SseEmitter.event().name(REPORT_EVENT).data(payload, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    /**
+     * Queues the event for the subscriber's sender; a subscriber whose backlog is full is
+     * dropped rather than waited on.
+     */
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.pending.offer(event)) {
+            LOG.info("Dropping dashboard stream companyId={} over backlog={}", subscriber.companyId(), subscriberBacklog);
+            subscriber.closed = true;
+            remove(subscriber);
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                sendExecutor.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException exception) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.closed && (event = subscriber.pending.poll()) != null) {
+                write(subscriber, event);
+            }
+            if (subscriber.closed) {
+                subscriber.pending.clear();
+                if (subscriber.failure != null) {
+                    subscriber.emitter().completeWithError(subscriber.failure);
+                } else {
+                    subscriber.emitter().complete();
+                }
+            }
+            subscriber.draining.set(false);
+            // an event queued after the last poll but before the flag was cleared
+        } while (!subscriber.closed && !subscriber.pending.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void write(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter().send(event);
+        } catch (IOException | IllegalStateException exception) {
+            subscriber.failure = exception;
+            subscriber.closed = true;
+            remove(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        Set<Subscriber> subscribers = subscribersByCompany.get(subscriber.companyId());
+        if (subscribers != null && subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            if (subscribers.isEmpty()) {
+                subscribersByCompany.remove(subscriber.companyId(), subscribers);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(DASHBOARD_EVENT_CHANNEL, message);
+        } catch (DataAccessException exception) {
+            LOG.warn("Failed to publish dashboard event, dashboards on other nodes miss it until they reload", exception);
+        }
+    }
+
+    private void onMessage(byte[] body) {
+        Object message = redisTemplate.getValueSerializer().deserialize(body);
+        if (message == null) {
+            return;
+        }
+        // the payload is JSON and may itself contain the separator, so it is always the last part
+        String[] parts = message.toString().split("\\|", 5);
+        try {
+            if (parts.length < 5 || nodeId.equals(parts[0])) {
+                return;
+            }
+            deliver(UUID.fromString(parts[1]), uuid(parts[2]), uuid(parts[3]), parts[4]);
+        } catch (RuntimeException exception) {
+            LOG.warn("Ignoring malformed dashboard event message={}", message);
+        }
+    }
+
+    private static ExecutorService sendExecutor(int threads, int maxSubscribers) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        // a subscriber has at most one drain task queued, so the queue never overflows
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxSubscribers)), runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-stream-send-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static DailyReportInputsResponse toInputsResponse(DailyReportTotals delta) {
+        return new DailyReportInputsResponse(
+                Math.toIntExact(delta.outboundDials()),
+                Math.toIntExact(delta.pickups()),
+                Math.toIntExact(delta.conversations30sPlus()),
+                Math.toIntExact(delta.salesCallBookedFromOutbound()),
+                Math.toIntExact(delta.salesCallOnCalendar()),
+                Math.toIntExact(delta.noShow()),
+                Math.toIntExact(delta.rescheduleRequest()),
+                Math.toIntExact(delta.cancel()),
+                Math.toIntExact(delta.deposits()),
+                Math.toIntExact(delta.salesOneCallClose()),
+                Math.toIntExact(delta.followupSales()),
+                Math.toIntExact(delta.upsellConversationTaken()),
+                Math.toIntExact(delta.upsells()),
+                delta.contractValue(),
+                delta.newCashCollected(),
+                null
+        );
+    }
+
+    private static String text(UUID id) {
+        return id == null ? "" : id.toString();
+    }
+
+    private static UUID uuid(String text) {
+        return text.isEmpty() ? null : UUID.fromString(text);
+    }
+}
@@ -4,6 +4,8 @@ import com.salesway.common.enums.MembershipRole;
 import com.salesway.common.enums.MembershipStatus;
 import com.salesway.memberships.entity.CompanyMembership;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
 import java.util.List;
@@ -90,4 +92,7 @@ public interface CompanyMembershipRepository extends JpaRepository<CompanyMember
             Collection<MembershipRole> roles,
             Collection<MembershipStatus> statuses
     );
+
+    @Query("select m.id from CompanyMembership m where m.managerMembership.id = :managerMembershipId")
+    List<UUID> findIdsByManagerMembershipId(@Param("managerMembershipId") UUID managerMembershipId);
 }
@@ -23,7 +23,9 @@ import java.time.Instant;
 @Table(name = "notifications",
         indexes = {
                 @Index(name = "idx_notifications_recipient", columnList = "recipient_membership_id, status"),
-                @Index(name = "idx_notifications_company", columnList = "company_id")
+                @Index(name = "idx_notifications_company", columnList = "company_id"),
+                @Index(name = "idx_notifications_recipient_type_scheduled",
+                        columnList = "recipient_membership_id, type, scheduled_for")
         })
 public class Notification extends AuditedEntity {
     @NotNull
@@ -13,6 +13,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -31,6 +33,26 @@ public class NotificationService {
             NotificationType type,
             Map<String, Object> payload,
             Instant scheduledFor
+    ) {
+        return notificationRepository.save(buildNotification(company, recipient, type, payload, scheduledFor));
+    }
+
+    /**
+     * Saves notifications built with {@link #buildNotification} together, so their inserts are batched.
+     */
+    public List<Notification> createNotifications(Collection<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return List.of();
+        }
+        return notificationRepository.saveAll(notifications);
+    }
+
+    public Notification buildNotification(
+            Company company,
+            CompanyMembership recipient,
+            NotificationType type,
+            Map<String, Object> payload,
+            Instant scheduledFor
     ) {
         Notification notification = new Notification();
         notification.setCompany(company);
@@ -39,7 +61,7 @@ public class NotificationService {
         notification.setStatus(NotificationStatus.PENDING);
         notification.setScheduledFor(scheduledFor);
         notification.setPayloadJsonText(toJson(payload));
-        return notificationRepository.save(notification);
+        return notification;
     }
 
     private String toJson(Map<String, Object> payload) {
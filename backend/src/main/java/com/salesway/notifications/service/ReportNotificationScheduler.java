@@ -4,27 +4,38 @@ import com.salesway.common.enums.DailyReportStatus;
 import com.salesway.common.enums.MembershipRole;
 import com.salesway.common.enums.MembershipStatus;
 import com.salesway.common.enums.NotificationType;
+import com.salesway.companies.entity.Company;
+import com.salesway.companies.repository.CompanyRepository;
 import com.salesway.memberships.entity.CompanyMembership;
 import com.salesway.memberships.repository.CompanyMembershipRepository;
+import com.salesway.notifications.entity.Notification;
 import com.salesway.notifications.repository.NotificationRepository;
 import com.salesway.reports.entity.DailyReport;
 import com.salesway.reports.repository.DailyReportRepository;
+import com.salesway.reports.service.DailyReportDeadlines;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class ReportNotificationScheduler {
+    private final EntityManager entityManager;
+    private final CompanyRepository companyRepository;
     private final CompanyMembershipRepository companyMembershipRepository;
     private final DailyReportRepository dailyReportRepository;
     private final NotificationRepository notificationRepository;
@@ -33,6 +44,8 @@ public class ReportNotificationScheduler {
     private final int reminderMinutes;
 
     public ReportNotificationScheduler(
+            EntityManager entityManager,
+            CompanyRepository companyRepository,
             CompanyMembershipRepository companyMembershipRepository,
             DailyReportRepository dailyReportRepository,
             NotificationRepository notificationRepository,
@@ -40,6 +53,8 @@ public class ReportNotificationScheduler {
             @Value("${app.notifications.report-deadline-time:23:59:59}") String reportDeadlineTime,
             @Value("${app.notifications.report-reminder-minutes:30}") int reminderMinutes
     ) {
+        this.entityManager = entityManager;
+        this.companyRepository = companyRepository;
         this.companyMembershipRepository = companyMembershipRepository;
         this.dailyReportRepository = dailyReportRepository;
         this.notificationRepository = notificationRepository;
@@ -51,52 +66,41 @@ public class ReportNotificationScheduler {
     @Scheduled(cron = "0 */5 * * * *")
     @Transactional
     public void sendReportReminders() {
-        List<CompanyMembership> agents = companyMembershipRepository.findByRoleAndStatusInAndManagerMembershipIsNotNull(
-                MembershipRole.AGENT,
-                EnumSet.of(MembershipStatus.ACTIVE)
-        );
-
-        for (CompanyMembership agent : agents) {
-            CompanyMembership manager = agent.getManagerMembership();
-            if (manager == null) {
-                continue;
-            }
-
-            ZoneId zoneId = resolveZone(agent.getCompany().getTimezone());
-            ZonedDateTime now = ZonedDateTime.now(zoneId);
-            LocalDate today = now.toLocalDate();
-            ZonedDateTime deadline = ZonedDateTime.of(today, reportDeadlineTime, zoneId);
-            ZonedDateTime reminderAt = deadline.minusMinutes(reminderMinutes);
-
-            DailyReport report = dailyReportRepository
-                    .findByAgentMembershipIdAndReportDate(agent.getId(), today)
-                    .orElse(null);
-
-            if (report != null && report.getStatus() != DailyReportStatus.DRAFT) {
-                continue;
-            }
+        sendReportReminders(Instant.now());
+    }
 
-            if (!now.isAfter(reminderAt) || now.isAfter(deadline)) {
+    /**
+     * Reminds managers of the agents who have not submitted yet, for the timezones whose
+     * reminder window contains {@code now}; the other timezones are not queried at all. The
+     * window ends when the zone's open report day closes, as the finalization sees it.
+     */
+    void sendReportReminders(Instant now) {
+        for (Map.Entry<ZoneId, List<String>> bucket : timezoneBuckets().entrySet()) {
+            ZoneId zoneId = bucket.getKey();
+            LocalDate reportDate = DailyReportDeadlines.openDay(reportDeadlineTime, zoneId, now);
+            Instant closesAt = DailyReportDeadlines.closesAt(reportDate, reportDeadlineTime, zoneId);
+            Instant reminderAt = closesAt.minus(Duration.ofMinutes(reminderMinutes));
+            if (!now.isAfter(reminderAt)) {
                 continue;
             }
 
-            if (hasNotification(manager, NotificationType.REPORT_DUE_30_MIN, zoneId, today)) {
-                continue;
+            List<Notification> reminders = new ArrayList<>();
+            for (ReminderRecipient recipient : findReminderRecipients(bucket.getValue(), reportDate, reminderAt, closesAt)) {
+                reminders.add(notificationService.buildNotification(
+                        entityManager.getReference(Company.class, recipient.companyId()),
+                        entityManager.getReference(CompanyMembership.class, recipient.managerMembershipId()),
+                        NotificationType.REPORT_DUE_30_MIN,
+                        Map.of(
+                                "agent_membership_id", recipient.agentMembershipId().toString(),
+                                "agent_email", recipient.agentEmail(),
+                                "report_date", reportDate.toString(),
+                                "message", "Utilizatorul " + recipient.agentEmail() + " mai are "
+                                        + reminderMinutes + " minute si nu a dat submit."
+                        ),
+                        now
+                ));
             }
-
-            notificationService.createNotification(
-                    agent.getCompany(),
-                    manager,
-                    NotificationType.REPORT_DUE_30_MIN,
-                    Map.of(
-                            "agent_membership_id", agent.getId().toString(),
-                            "agent_email", agent.getUser().getEmail(),
-                            "report_date", today.toString(),
-                            "message", "Utilizatorul " + agent.getUser().getEmail() + " mai are "
-                                    + reminderMinutes + " minute si nu a dat submit."
-                    ),
-                    Instant.now()
-            );
+            notificationService.createNotifications(reminders);
         }
     }
 
@@ -126,7 +130,8 @@ public class ReportNotificationScheduler {
             DailyReport report = dailyReportRepository
                     .findByAgentMembershipIdAndReportDate(agent.getId(), today)
                     .orElse(null);
-            if (report != null && report.getStatus() != DailyReportStatus.DRAFT) {
+            // the end-of-day finalization may already have auto-submitted the report
+            if (report != null && report.getStatus() == DailyReportStatus.SUBMITTED) {
                 continue;
             }
 
@@ -160,6 +165,69 @@ public class ReportNotificationScheduler {
         );
     }
 
+    /**
+     * Active agents of the companies in {@code timezones} whose report for {@code reportDate} is
+     * not submitted yet and whose manager has not been reminded about them in this window.
+     */
+    private List<ReminderRecipient> findReminderRecipients(
+            List<String> timezones,
+            LocalDate reportDate,
+            Instant windowStart,
+            Instant windowEnd
+    ) {
+        List<?> rows = entityManager.createNativeQuery("""
+                        SELECT m.id, m.company_id, m.manager_membership_id, u.email
+                        FROM company_memberships m
+                        JOIN companies c ON c.id = m.company_id
+                        JOIN users u ON u.id = m.user_id
+                        WHERE c.timezone IN (:timezones)
+                          AND m.role = 'AGENT'
+                          AND m.status = 'ACTIVE'
+                          AND m.manager_membership_id IS NOT NULL
+                          AND NOT EXISTS (
+                              SELECT 1 FROM daily_reports r
+                              WHERE r.agent_membership_id = m.id
+                                AND r.report_date = :reportDate
+                                AND r.status <> 'DRAFT'
+                          )
+                          AND NOT EXISTS (
+                              SELECT 1 FROM notifications n
+                              WHERE n.recipient_membership_id = m.manager_membership_id
+                                AND n.type = 'REPORT_DUE_30_MIN'
+                                AND n.scheduled_for BETWEEN :windowStart AND :windowEnd
+                                AND CAST(n.payload_json AS jsonb) ->> 'agent_membership_id' = CAST(m.id AS text)
+                          )
+                        """)
+                .setParameter("timezones", timezones)
+                .setParameter("reportDate", reportDate)
+                .setParameter("windowStart", windowStart)
+                .setParameter("windowEnd", windowEnd)
+                .getResultList();
+        List<ReminderRecipient> recipients = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            recipients.add(new ReminderRecipient(
+                    toUuid(columns[0]),
+                    toUuid(columns[1]),
+                    toUuid(columns[2]),
+                    columns[3].toString()
+            ));
+        }
+        return recipients;
+    }
+
+    private Map<ZoneId, List<String>> timezoneBuckets() {
+        Map<ZoneId, List<String>> buckets = new HashMap<>();
+        for (String timezone : companyRepository.findDistinctTimezones()) {
+            buckets.computeIfAbsent(resolveZone(timezone), ignored -> new ArrayList<>()).add(timezone);
+        }
+        return buckets;
+    }
+
+    private static UUID toUuid(Object value) {
+        return value instanceof UUID id ? id : UUID.fromString(value.toString());
+    }
+
     private ZoneId resolveZone(String timezone) {
         try {
             return ZoneId.of(timezone);
@@ -167,4 +235,7 @@ public class ReportNotificationScheduler {
             return ZoneId.of("UTC");
         }
     }
+
+    private record ReminderRecipient(UUID agentMembershipId, UUID companyId, UUID managerMembershipId, String agentEmail) {
+    }
 }
@@ -15,6 +15,8 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
+import java.time.Instant;
+
 @Entity
 @Table(name = "daily_report_audit_log",
         indexes = {
@@ -45,6 +47,14 @@ public class DailyReportAuditLog extends CreatedOnlyEntity {
     @Column(name = "reason")
     private String reason;
 
+    // consecutive draft saves by the same actor share one entry
+    @NotNull
+    @Column(name = "occurrences", nullable = false)
+    private Integer occurrences = 1;
+
+    @Column(name = "last_occurred_at")
+    private Instant lastOccurredAt;
+
     public DailyReport getDailyReport() {
         return dailyReport;
     }
@@ -92,4 +102,20 @@ public class DailyReportAuditLog extends CreatedOnlyEntity {
     public void setReason(String reason) {
         this.reason = reason;
     }
+
+    public Integer getOccurrences() {
+        return occurrences;
+    }
+
+    public void setOccurrences(Integer occurrences) {
+        this.occurrences = occurrences;
+    }
+
+    public Instant getLastOccurredAt() {
+        return lastOccurredAt;
+    }
+
+    public void setLastOccurredAt(Instant lastOccurredAt) {
+        this.lastOccurredAt = lastOccurredAt;
+    }
 }
@@ -5,11 +5,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface DailyReportAuditLogRepository extends JpaRepository<DailyReportAuditLog, UUID> {
     List<DailyReportAuditLog> findByDailyReportCompanyIdOrderByCreatedAtDesc(UUID companyId, Pageable pageable);
 
+    Optional<DailyReportAuditLog> findFirstByDailyReportIdOrderByCreatedAtDesc(UUID dailyReportId);
+
     void deleteByActorMembershipId(UUID actorMembershipId);
 
     void deleteByDailyReportIdIn(List<UUID> dailyReportIds);
@@ -2,7 +2,11 @@ package com.salesway.reports.repository;
 
 import com.salesway.reports.entity.DailyReport;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.LockModeType;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -11,6 +15,17 @@ import java.util.UUID;
 public interface DailyReportRepository extends JpaRepository<DailyReport, UUID> {
     Optional<DailyReport> findByAgentMembershipIdAndReportDate(UUID membershipId, LocalDate reportDate);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from DailyReport r where r.agentMembership.id = :membershipId and r.reportDate = :reportDate")
+    Optional<DailyReport> findByAgentMembershipIdAndReportDateForUpdate(
+            @Param("membershipId") UUID membershipId,
+            @Param("reportDate") LocalDate reportDate
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from DailyReport r where r.id = :reportId")
+    Optional<DailyReport> findByIdForUpdate(@Param("reportId") UUID reportId);
+
     List<DailyReport> findByAgentMembershipId(UUID membershipId);
 
     List<DailyReport> findBySubmittedByMembershipId(UUID membershipId);
@@ -48,4 +63,40 @@ public interface DailyReportRepository extends JpaRepository<DailyReport, UUID>
     );
 
     void deleteByAgentMembershipId(UUID membershipId);
+
+    @Query("""
+            select r.reportDate,
+                   coalesce(sum(i.outboundDials), 0),
+                   coalesce(sum(i.salesOneCallClose + i.followupSales + i.upsells), 0),
+                   coalesce(sum(i.newCashCollected), 0)
+            from DailyReport r
+            left join DailyReportInputs i on i.dailyReport = r
+            where r.company.id = :companyId
+              and r.reportDate between :from and :to
+            group by r.reportDate
+            order by r.reportDate
+            """)
+    List<Object[]> sumDailyTotalsByCompanyId(
+            @Param("companyId") UUID companyId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Query("""
+            select r.reportDate,
+                   coalesce(sum(i.outboundDials), 0),
+                   coalesce(sum(i.salesOneCallClose + i.followupSales + i.upsells), 0),
+                   coalesce(sum(i.newCashCollected), 0)
+            from DailyReport r
+            left join DailyReportInputs i on i.dailyReport = r
+            where r.agentMembership.managerMembership.id = :managerMembershipId
+              and r.reportDate between :from and :to
+            group by r.reportDate
+            order by r.reportDate
+            """)
+    List<Object[]> sumDailyTotalsByManagerMembershipId(
+            @Param("managerMembershipId") UUID managerMembershipId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
 }
@@ -0,0 +1,87 @@
+package com.salesway.reports.service;
+
+import com.salesway.memberships.repository.CompanyMembershipRepository;
+import com.salesway.reports.dto.DailyReportSummaryResponse;
+import com.salesway.reports.repository.DailyReportRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Report aggregates for the agent and manager views, computed without loading report or
+ * inputs entities: range summaries come from the in-memory {@link DailyReportKpiStore} when the
+ * range is inside its window and from the rollups otherwise, per-day series from one grouped
+ * query. KPIs are derived by {@link DailyReportKpis}.
+ */
+@Service
+public class DailyReportAggregationService {
+    private final DailyReportRollupService dailyReportRollupService;
+    private final DailyReportKpiStore dailyReportKpiStore;
+    private final DailyReportRepository dailyReportRepository;
+    private final CompanyMembershipRepository companyMembershipRepository;
+
+    public DailyReportAggregationService(
+            DailyReportRollupService dailyReportRollupService,
+            DailyReportKpiStore dailyReportKpiStore,
+            DailyReportRepository dailyReportRepository,
+            CompanyMembershipRepository companyMembershipRepository
+    ) {
+        this.dailyReportRollupService = dailyReportRollupService;
+        this.dailyReportKpiStore = dailyReportKpiStore;
+        this.dailyReportRepository = dailyReportRepository;
+        this.companyMembershipRepository = companyMembershipRepository;
+    }
+
+    public record DayTotals(LocalDate reportDate, long outboundDials, long totalSales, BigDecimal newCashCollected) {
+    }
+
+    @Transactional(readOnly = true)
+    public DailyReportSummaryResponse summarizeAgent(UUID companyId, UUID agentMembershipId, LocalDate from, LocalDate to) {
+        DailyReportTotals totals = dailyReportKpiStore.sumForAgents(companyId, List.of(agentMembershipId), from, to)
+                .orElseGet(() -> dailyReportRollupService.sumForAgent(agentMembershipId, from, to));
+        return DailyReportKpis.summarize(from, to, totals);
+    }
+
+    @Transactional(readOnly = true)
+    public DailyReportSummaryResponse summarizeCompany(UUID companyId, LocalDate from, LocalDate to) {
+        DailyReportTotals totals = dailyReportKpiStore.sumForCompany(companyId, from, to)
+                .orElseGet(() -> dailyReportRollupService.sumForCompany(companyId, from, to));
+        return DailyReportKpis.summarize(from, to, totals);
+    }
+
+    @Transactional(readOnly = true)
+    public DailyReportSummaryResponse summarizeManagerTeam(UUID companyId, UUID managerMembershipId, LocalDate from, LocalDate to) {
+        List<UUID> agentMembershipIds = companyMembershipRepository.findIdsByManagerMembershipId(managerMembershipId);
+        DailyReportTotals totals = dailyReportKpiStore.sumForAgents(companyId, agentMembershipIds, from, to)
+                .orElseGet(() -> dailyReportRollupService.sumForManagerTeam(managerMembershipId, from, to));
+        return DailyReportKpis.summarize(from, to, totals);
+    }
+
+    /**
+     * One entry per date that has at least one report, in date order.
+     */
+    @Transactional(readOnly = true)
+    public List<DayTotals> dailyTotalsForCompany(UUID companyId, LocalDate from, LocalDate to) {
+        return toDayTotals(dailyReportRepository.sumDailyTotalsByCompanyId(companyId, from, to));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DayTotals> dailyTotalsForManagerTeam(UUID managerMembershipId, LocalDate from, LocalDate to) {
+        return toDayTotals(dailyReportRepository.sumDailyTotalsByManagerMembershipId(managerMembershipId, from, to));
+    }
+
+    private List<DayTotals> toDayTotals(List<Object[]> rows) {
+        return rows.stream()
+                .map(row -> new DayTotals(
+                        (LocalDate) row[0],
+                        ((Number) row[1]).longValue(),
+                        ((Number) row[2]).longValue(),
+                        (BigDecimal) row[3]
+                ))
+                .toList();
+    }
+}
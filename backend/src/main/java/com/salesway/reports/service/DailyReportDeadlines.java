@@ -0,0 +1,37 @@
+package com.salesway.reports.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * When a report day closes in a zone. Reports are dated by the UTC day they are written on and
+ * stay editable until that UTC day ends, so a day closes at the zone's deadline but never before
+ * the end of its UTC day.
+ */
+public final class DailyReportDeadlines {
+
+    private DailyReportDeadlines() {
+    }
+
+    public static Instant closesAt(LocalDate reportDate, LocalTime deadlineTime, ZoneId zoneId) {
+        Instant deadline = ZonedDateTime.of(reportDate, deadlineTime, zoneId).toInstant();
+        Instant utcDayEnd = reportDate.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        return deadline.isAfter(utcDayEnd) ? deadline : utcDayEnd;
+    }
+
+    /**
+     * The earliest report day still open at {@code now} in the zone, the next one to close.
+     */
+    public static LocalDate openDay(LocalTime deadlineTime, ZoneId zoneId, Instant now) {
+        // every day from the current UTC date on closes after now
+        LocalDate reportDate = now.atZone(ZoneOffset.UTC).toLocalDate();
+        while (closesAt(reportDate.minusDays(1), deadlineTime, zoneId).isAfter(now)) {
+            reportDate = reportDate.minusDays(1);
+        }
+        return reportDate;
+    }
+}
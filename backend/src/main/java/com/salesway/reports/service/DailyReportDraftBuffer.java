@@ -0,0 +1,236 @@
+package com.salesway.reports.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesway.reports.dto.DailyReportInputsRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Holds the latest autosaved draft of each agent's report in Redis, keyed by membership and
+ * report date, so a burst of autosaves costs one database write instead of one per save. Every
+ * save bumps the draft's revision and pushes its flush time back by the debounce; the flush
+ * worker claims drafts that have gone quiet, writes them through
+ * {@link DailyReportService#flushDraft} and clears them only if no save arrived meanwhile.
+ * When Redis cannot take a save the caller writes the draft directly.
+ */
+@Service
+public class DailyReportDraftBuffer {
+    static final String DUE_KEY = "report-drafts:due";
+    private static final String KEY_PREFIX = "report-draft:";
+    private static final String INPUTS_FIELD = "inputs";
+    private static final String REVISION_FIELD = "revision";
+    private static final String FLUSHED_FIELD = "flushed";
+    private static final Logger LOG = LoggerFactory.getLogger(DailyReportDraftBuffer.class);
+
+    // returns the draft's new revision
+    private static final RedisScript<Long> SAVE = new DefaultRedisScript<>("""
+            redis.call('HSET', KEYS[1], 'inputs', ARGV[1])
+            local revision = redis.call('HINCRBY', KEYS[1], 'revision', 1)
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            redis.call('ZADD', KEYS[2], ARGV[2], ARGV[4])
+            return revision
+            """, Long.class);
+
+    // leases up to ARGV[3] due drafts to the caller by pushing their flush time past the lease
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM = new DefaultRedisScript<>("""
+            local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[3]))
+            for _, member in ipairs(due) do
+                redis.call('ZADD', KEYS[1], ARGV[2], member)
+            end
+            return due
+            """, List.class);
+
+    // drops the draft when the flushed revision is still the latest (or the draft expired),
+    // otherwise records how far it was flushed and leaves the newer save scheduled
+    private static final RedisScript<Long> CLEAR = new DefaultRedisScript<>("""
+            local revision = redis.call('HGET', KEYS[1], 'revision')
+            if not revision or revision == ARGV[1] then
+                redis.call('DEL', KEYS[1])
+                redis.call('ZREM', KEYS[2], ARGV[2])
+                return 1
+            end
+            redis.call('HSET', KEYS[1], 'flushed', ARGV[1])
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long debounceMs;
+    private final long leaseMs;
+    private final long ttlMs;
+
+    public DailyReportDraftBuffer(
+            RedisTemplate<String, Object> redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.reports.draft-buffer-enabled:true}") boolean enabled,
+            @Value("${app.reports.draft-buffer-debounce-ms:5000}") long debounceMs,
+            @Value("${app.reports.draft-buffer-lease-ms:60000}") long leaseMs,
+            @Value("${app.reports.draft-buffer-ttl-ms:172800000}") long ttlMs
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.debounceMs = debounceMs;
+        this.leaseMs = leaseMs;
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * A buffered draft; {@code saves} counts the autosaves since it was last flushed.
+     */
+    public record Draft(DailyReportInputsRequest inputs, long revision, long saves) {
+    }
+
+    public record DraftKey(UUID agentMembershipId, LocalDate reportDate) {
+        String member() {
+            return agentMembershipId + ":" + reportDate;
+        }
+
+        static DraftKey parse(String member) {
+            int separator = member.indexOf(':');
+            return new DraftKey(
+                    UUID.fromString(member.substring(0, separator)),
+                    LocalDate.parse(member.substring(separator + 1))
+            );
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return false when the draft was not buffered and must be written directly
+     */
+    public boolean save(UUID agentMembershipId, LocalDate reportDate, DailyReportInputsRequest inputs) {
+        if (!enabled) {
+            return false;
+        }
+        DraftKey key = new DraftKey(agentMembershipId, reportDate);
+        try {
+            redisTemplate.execute(
+                    SAVE,
+                    List.of(key(key), DUE_KEY),
+                    objectMapper.writeValueAsString(inputs),
+                    System.currentTimeMillis() + debounceMs,
+                    ttlMs,
+                    key.member()
+            );
+            return true;
+        } catch (JsonProcessingException | DataAccessException exception) {
+            LOG.warn("Report draft buffer unavailable, writing draft directly agentMembershipId={}: {}",
+                    agentMembershipId, exception.getMessage());
+            return false;
+        }
+    }
+
+    public Optional<Draft> find(UUID agentMembershipId, LocalDate reportDate) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            List<Object> fields = redisTemplate.opsForHash().multiGet(
+                    key(new DraftKey(agentMembershipId, reportDate)),
+                    List.of(INPUTS_FIELD, REVISION_FIELD, FLUSHED_FIELD)
+            );
+            if (fields == null || fields.get(0) == null || fields.get(1) == null) {
+                return Optional.empty();
+            }
+            long revision = ((Number) fields.get(1)).longValue();
+            long flushed = fields.get(2) == null ? 0 : ((Number) fields.get(2)).longValue();
+            DailyReportInputsRequest inputs = objectMapper.readValue(fields.get(0).toString(), DailyReportInputsRequest.class);
+            return Optional.of(new Draft(inputs, revision, revision - flushed));
+        } catch (JsonProcessingException | DataAccessException exception) {
+            LOG.warn("Report draft lookup failed agentMembershipId={}: {}", agentMembershipId, exception.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Leases drafts whose debounce has passed to this node; a lease that is not cleared
+     * expires and the draft is claimed again.
+     */
+    public List<DraftKey> claimDue(int limit) {
+        long nowMs = System.currentTimeMillis();
+        List<?> members = redisTemplate.execute(CLAIM, List.of(DUE_KEY), nowMs, nowMs + leaseMs, (long) limit);
+        if (members == null) {
+            return List.of();
+        }
+        return members.stream()
+                .map(member -> DraftKey.parse(member.toString()))
+                .toList();
+    }
+
+    /**
+     * Every buffered draft of {@code reportDate}, leased or not, for flushing ahead of the
+     * day's finalization.
+     */
+    public List<DraftKey> pending(LocalDate reportDate) {
+        Set<Object> members = redisTemplate.opsForZSet().range(DUE_KEY, 0, -1);
+        if (members == null) {
+            return List.of();
+        }
+        return members.stream()
+                .map(member -> DraftKey.parse(member.toString()))
+                .filter(key -> key.reportDate().equals(reportDate))
+                .toList();
+    }
+
+    /**
+     * Removes the draft after revision {@code revision} was written, unless it was saved again.
+     */
+    public void clear(DraftKey key, long revision) {
+        redisTemplate.execute(CLEAR, List.of(key(key), DUE_KEY), revision, key.member());
+    }
+
+    /**
+     * Drops whatever is buffered for the report once the surrounding transaction commits, for
+     * writes such as a submit that replace the draft.
+     */
+    public void discard(UUID agentMembershipId, LocalDate reportDate) {
+        if (!enabled) {
+            return;
+        }
+        DraftKey key = new DraftKey(agentMembershipId, reportDate);
+        Runnable action = () -> {
+            try {
+                redisTemplate.delete(key(key));
+                redisTemplate.opsForZSet().remove(DUE_KEY, key.member());
+            } catch (DataAccessException exception) {
+                LOG.warn("Failed to discard report draft agentMembershipId={}, the flush will skip it: {}",
+                        agentMembershipId, exception.getMessage());
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String key(DraftKey key) {
+        return KEY_PREFIX + key.member();
+    }
+}
@@ -0,0 +1,73 @@
+package com.salesway.reports.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class DailyReportDraftFlushWorker {
+    private static final Logger LOG = LoggerFactory.getLogger(DailyReportDraftFlushWorker.class);
+
+    private final DailyReportDraftBuffer dailyReportDraftBuffer;
+    private final DailyReportService dailyReportService;
+    private final int batchSize;
+
+    public DailyReportDraftFlushWorker(
+            DailyReportDraftBuffer dailyReportDraftBuffer,
+            DailyReportService dailyReportService,
+            @Value("${app.reports.draft-flush-batch-size:200}") int batchSize
+    ) {
+        this.dailyReportDraftBuffer = dailyReportDraftBuffer;
+        this.dailyReportService = dailyReportService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.draft-flush-fixed-delay-ms:1000}")
+    public void flush() {
+        if (!dailyReportDraftBuffer.isEnabled()) {
+            return;
+        }
+        try {
+            List<DailyReportDraftBuffer.DraftKey> due;
+            do {
+                due = dailyReportDraftBuffer.claimDue(batchSize);
+                due.forEach(this::flush);
+            } while (due.size() == batchSize);
+        } catch (DataAccessException exception) {
+            LOG.warn("Report draft flush could not reach Redis, retrying on the next run: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Writes every buffered draft of {@code reportDate} now, regardless of its debounce.
+     */
+    public void flushPending(LocalDate reportDate) {
+        if (!dailyReportDraftBuffer.isEnabled()) {
+            return;
+        }
+        dailyReportDraftBuffer.pending(reportDate).forEach(this::flush);
+    }
+
+    private void flush(DailyReportDraftBuffer.DraftKey key) {
+        // one transaction per draft; a failed one keeps its lease and is retried when it expires
+        try {
+            Optional<DailyReportDraftBuffer.Draft> draft = dailyReportDraftBuffer.find(key.agentMembershipId(), key.reportDate());
+            if (draft.isEmpty()) {
+                dailyReportDraftBuffer.clear(key, 0);
+                return;
+            }
+            dailyReportService.flushDraft(key.agentMembershipId(), key.reportDate(), draft.get().inputs(), draft.get().saves());
+            dailyReportDraftBuffer.clear(key, draft.get().revision());
+        } catch (Exception exception) {
+            LOG.error("Report draft flush failed agentMembershipId={} reportDate={}, retrying after the lease",
+                    key.agentMembershipId(), key.reportDate(), exception);
+        }
+    }
+}
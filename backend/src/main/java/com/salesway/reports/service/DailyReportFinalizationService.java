@@ -0,0 +1,165 @@
+package com.salesway.reports.service;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * End-of-day finalization of the companies sharing a timezone, as a handful of set-based
+ * statements: the day's drafts become {@code AUTO_SUBMITTED}, agents without a report get an
+ * auto-submitted report of zeros, and every finalized report is given its inputs and metrics
+ * rows where they are missing. Each step only touches rows that are not finalized yet, so a run
+ * can be repeated, or race another node's run, without doing anything twice.
+ */
+@Service
+public class DailyReportFinalizationService {
+    // ids are chunked to stay far below the bind parameter limit
+    private static final int ROLLUP_CHUNK_SIZE = 1_000;
+
+    private static final String IN_TIMEZONES = """
+            company_id IN (SELECT c.id FROM companies c WHERE c.timezone IN (:timezones))""";
+
+    private final EntityManager entityManager;
+    private final DailyReportRollupService dailyReportRollupService;
+
+    public DailyReportFinalizationService(
+            EntityManager entityManager,
+            DailyReportRollupService dailyReportRollupService
+    ) {
+        this.entityManager = entityManager;
+        this.dailyReportRollupService = dailyReportRollupService;
+    }
+
+    public record Result(int autoSubmitted, int createdEmpty) {
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> findTimezones() {
+        List<?> rows = entityManager.createNativeQuery("SELECT DISTINCT timezone FROM companies").getResultList();
+        return rows.stream().map(Object::toString).toList();
+    }
+
+    /**
+     * Finalizes {@code reportDate} for the companies whose timezone is one of
+     * {@code timezones}; {@code deadline} is stamped as the submission time. Agents who joined
+     * after the deadline get no report.
+     */
+    @Transactional
+    public Result finalizeDay(Collection<String> timezones, LocalDate reportDate, Instant deadline) {
+        int autoSubmitted = entityManager.createNativeQuery("""
+                        WITH finalized AS (
+                            UPDATE daily_reports
+                            SET status = 'AUTO_SUBMITTED', submitted_at = :deadline, updated_at = now()
+                            WHERE report_date = :reportDate
+                              AND status = 'DRAFT'
+                              AND %s
+                            RETURNING id
+                        )
+                        INSERT INTO daily_report_audit_log (id, daily_report_id, action, occurrences, created_at)
+                        SELECT gen_random_uuid(), f.id, 'AUTO_SUBMIT', 1, now() FROM finalized f
+                        """.formatted(IN_TIMEZONES))
+                .setParameter("timezones", timezones)
+                .setParameter("reportDate", reportDate)
+                .setParameter("deadline", deadline)
+                .executeUpdate();
+
+        List<?> created = entityManager.createNativeQuery("""
+                        WITH created AS (
+                            INSERT INTO daily_reports (
+                                id, company_id, agent_membership_id, report_date, status, submitted_at, created_at, updated_at
+                            )
+                            SELECT gen_random_uuid(), m.company_id, m.id, :reportDate, 'AUTO_SUBMITTED', :deadline, now(), now()
+                            FROM company_memberships m
+                            WHERE m.%s
+                              AND m.role = 'AGENT'
+                              AND m.status = 'ACTIVE'
+                              AND m.created_at <= :deadline
+                              AND NOT EXISTS (
+                                  SELECT 1 FROM daily_reports r
+                                  WHERE r.agent_membership_id = m.id AND r.report_date = :reportDate
+                              )
+                            ON CONFLICT (agent_membership_id, report_date) DO NOTHING
+                            RETURNING id, company_id
+                        ),
+                        audited AS (
+                            INSERT INTO daily_report_audit_log (id, daily_report_id, action, occurrences, created_at)
+                            SELECT gen_random_uuid(), c.id, 'AUTO_SUBMIT', 1, now() FROM created c
+                        )
+                        SELECT id, company_id FROM created
+                        """.formatted(IN_TIMEZONES))
+                .setParameter("timezones", timezones)
+                .setParameter("reportDate", reportDate)
+                .setParameter("deadline", deadline)
+                .getResultList();
+
+        List<String> inputColumns = DailyReportTotals.COLUMNS.subList(1, DailyReportTotals.COLUMNS.size());
+        entityManager.createNativeQuery("""
+                        INSERT INTO daily_report_inputs (daily_report_id, %s, created_at, updated_at)
+                        SELECT r.id, %s, now(), now()
+                        FROM daily_reports r
+                        WHERE r.report_date = :reportDate
+                          AND r.status = 'AUTO_SUBMITTED'
+                          AND r.%s
+                          AND NOT EXISTS (SELECT 1 FROM daily_report_inputs i WHERE i.daily_report_id = r.id)
+                        ON CONFLICT (daily_report_id) DO NOTHING
+                        """.formatted(
+                        String.join(", ", inputColumns),
+                        inputColumns.stream().map(column -> "0").collect(Collectors.joining(", ")),
+                        IN_TIMEZONES
+                ))
+                .setParameter("timezones", timezones)
+                .setParameter("reportDate", reportDate)
+                .executeUpdate();
+
+        // every write of a report's inputs recomputes its metrics, so a report without a
+        // metrics row still has the zero inputs, for which every KPI is zero
+        entityManager.createNativeQuery("""
+                        INSERT INTO daily_report_metrics (
+                            daily_report_id, total_sales, commission_usd, triage_passthrough_rate,
+                            sales_call_showup_rate, sit_rate, one_call_close_rate, followup_close_rate,
+                            total_closing_rate, upsell_close_rate, cash_collection_rate,
+                            avg_contract_value_per_sale, avg_cash_collected_per_sale, formula_version,
+                            computed_at, created_at, updated_at
+                        )
+                        SELECT r.id, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 'v1', now(), now(), now()
+                        FROM daily_reports r
+                        WHERE r.report_date = :reportDate
+                          AND r.status = 'AUTO_SUBMITTED'
+                          AND r.%s
+                          AND NOT EXISTS (SELECT 1 FROM daily_report_metrics dm WHERE dm.daily_report_id = r.id)
+                        ON CONFLICT (daily_report_id) DO NOTHING
+                        """.formatted(IN_TIMEZONES))
+                .setParameter("timezones", timezones)
+                .setParameter("reportDate", reportDate)
+                .executeUpdate();
+
+        Map<UUID, List<UUID>> createdByCompany = new HashMap<>();
+        for (Object row : created) {
+            Object[] columns = (Object[]) row;
+            createdByCompany.computeIfAbsent(toUuid(columns[1]), ignored -> new ArrayList<>()).add(toUuid(columns[0]));
+        }
+        createdByCompany.forEach((companyId, reportIds) -> {
+            for (int from = 0; from < reportIds.size(); from += ROLLUP_CHUNK_SIZE) {
+                dailyReportRollupService.reportsCreated(
+                        companyId,
+                        reportIds.subList(from, Math.min(from + ROLLUP_CHUNK_SIZE, reportIds.size()))
+                );
+            }
+        });
+        return new Result(autoSubmitted, created.size());
+    }
+
+    private static UUID toUuid(Object value) {
+        return value instanceof UUID id ? id : UUID.fromString(value.toString());
+    }
+}
@@ -0,0 +1,119 @@
+package com.salesway.reports.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the end-of-day finalization once per timezone: for each timezone whose report day closed
+ * less than the grace period ago, the day is finalized for all companies in it. Runs after the
+ * grace period are skipped, and repeated runs inside it find nothing left to do.
+ *
+ * <p>A day closes as {@link DailyReportDeadlines} decides, which holds zones east of UTC back
+ * until UTC midnight.
+ */
+@Component
+public class DailyReportFinalizationWorker {
+    private static final Logger LOG = LoggerFactory.getLogger(DailyReportFinalizationWorker.class);
+
+    private final DailyReportFinalizationService dailyReportFinalizationService;
+    private final DailyReportDraftFlushWorker dailyReportDraftFlushWorker;
+    private final boolean enabled;
+    private final LocalTime reportDeadlineTime;
+    private final Duration grace;
+
+    public DailyReportFinalizationWorker(
+            DailyReportFinalizationService dailyReportFinalizationService,
+            DailyReportDraftFlushWorker dailyReportDraftFlushWorker,
+            @Value("${app.reports.auto-finalize-enabled:true}") boolean enabled,
+            @Value("${app.notifications.report-deadline-time:23:59:59}") String reportDeadlineTime,
+            @Value("${app.reports.auto-finalize-grace-minutes:360}") long graceMinutes
+    ) {
+        this.dailyReportFinalizationService = dailyReportFinalizationService;
+        this.dailyReportDraftFlushWorker = dailyReportDraftFlushWorker;
+        this.enabled = enabled;
+        this.reportDeadlineTime = LocalTime.parse(reportDeadlineTime);
+        this.grace = Duration.ofMinutes(graceMinutes);
+    }
+
+    @Scheduled(cron = "${app.reports.auto-finalize-cron:0 */5 * * * *}")
+    public void finalizeDueDays() {
+        if (!enabled) {
+            return;
+        }
+        Instant now = Instant.now();
+        for (Map.Entry<ZoneId, List<String>> bucket : timezoneBuckets().entrySet()) {
+            DueDay dueDay = lastDueDay(bucket.getKey(), now);
+            if (Duration.between(dueDay.closesAt(), now).compareTo(grace) > 0) {
+                continue;
+            }
+            LocalDate reportDate = dueDay.reportDate();
+            // one transaction per timezone keeps each finalization short
+            try {
+                flushDrafts(reportDate);
+                DailyReportFinalizationService.Result result = dailyReportFinalizationService
+                        .finalizeDay(bucket.getValue(), reportDate, dueDay.closesAt());
+                if (result.autoSubmitted() > 0 || result.createdEmpty() > 0) {
+                    LOG.info("Finalized reports zone={} reportDate={} autoSubmitted={} createdEmpty={}",
+                            bucket.getKey(), reportDate, result.autoSubmitted(), result.createdEmpty());
+                }
+            } catch (Exception exception) {
+                LOG.error("Report finalization failed zone={} reportDate={}, retrying on the next run",
+                        bucket.getKey(), reportDate, exception);
+            }
+        }
+    }
+
+    /**
+     * A report day and the instant it closes for a zone.
+     */
+    record DueDay(LocalDate reportDate, Instant closesAt) {
+    }
+
+    /**
+     * The most recent report day that closed at or before {@code now} in the zone.
+     */
+    DueDay lastDueDay(ZoneId zoneId, Instant now) {
+        LocalDate reportDate = DailyReportDeadlines.openDay(reportDeadlineTime, zoneId, now).minusDays(1);
+        return new DueDay(reportDate, DailyReportDeadlines.closesAt(reportDate, reportDeadlineTime, zoneId));
+    }
+
+    private Map<ZoneId, List<String>> timezoneBuckets() {
+        Map<ZoneId, List<String>> buckets = new HashMap<>();
+        for (String timezone : dailyReportFinalizationService.findTimezones()) {
+            buckets.computeIfAbsent(resolveZone(timezone), ignored -> new ArrayList<>()).add(timezone);
+        }
+        return buckets;
+    }
+
+    private void flushDrafts(LocalDate reportDate) {
+        // drafts still buffered would be dropped once their report is finalized
+        try {
+            dailyReportDraftFlushWorker.flushPending(reportDate);
+        } catch (DataAccessException exception) {
+            LOG.warn("Could not flush buffered drafts before finalization reportDate={}: {}",
+                    reportDate, exception.getMessage());
+        }
+    }
+
+    private static ZoneId resolveZone(String timezone) {
+        try {
+            return ZoneId.of(timezone);
+        } catch (Exception ex) {
+            return ZoneId.of("UTC");
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package com.salesway.reports.service;
+
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-node, per-company copy of the daily report rollups laid out for range queries: for every
+ * agent, and for the company as a whole, one prefix-sum {@code long[]} per KPI column indexed
+ * by day offset, so the sum over any range is two array reads per column. Money is kept in
+ * cents.
+ *
+ * <p>A company is loaded from the day rollups on first use and covers a fixed window of days
+ * up to a little past today; ranges outside it return empty and callers read the rollups
+ * instead, as they do for a company too large for the memory budget or one with a local report
+ * write committing at the time. Committed report writes are applied to the local copy and
+ * published on a Redis channel for the other nodes; the TTL bounds the drift left by a missed
+ * message. When the loaded companies outgrow the memory budget the least recently read ones are
+ * dropped.
+ *
+ * <p>A delta from another node carries no position relative to this node's load, so one that
+ * committed before the load but arrives after it would be counted twice. Remote deltas for a
+ * company loaded within the settle window therefore evict it instead of being applied; a message
+ * delayed past that window is covered by the TTL.
+ */
+@Service
+public class DailyReportKpiStore {
+    public static final String KPI_DELTA_CHANNEL = "report-kpi-deltas";
+    private static final Logger LOG = LoggerFactory.getLogger(DailyReportKpiStore.class);
+    private static final int COLUMNS = DailyReportTotals.COLUMNS.size();
+    private static final int FUTURE_DAYS = 7;
+
+    private final EntityManager entityManager;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final long ttlMs;
+    private final long maxBytes;
+    private final int windowDays;
+    private final long remoteSettleMs;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<UUID, CompanyKpis> companies = new ConcurrentHashMap<>();
+    private final Map<UUID, CompanyChanges> changesByCompany = new ConcurrentHashMap<>();
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final MessageListener deltaListener = (message, pattern) -> onMessage(message.getBody());
+    private volatile boolean subscribed;
+
+    public DailyReportKpiStore(
+            EntityManager entityManager,
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${app.reports.kpi-store-ttl-ms:600000}") long ttlMs,
+            @Value("${app.reports.kpi-store-max-bytes:268435456}") long maxBytes,
+            @Value("${app.reports.kpi-store-window-days:400}") int windowDays,
+            @Value("${app.reports.kpi-store-remote-settle-ms:5000}") long remoteSettleMs
+    ) {
+        this.entityManager = entityManager;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.ttlMs = ttlMs;
+        this.maxBytes = maxBytes;
+        this.windowDays = windowDays;
+        this.remoteSettleMs = remoteSettleMs;
+    }
+
+    /**
+     * Sums the given agents over {@code [from, to]}; must run inside a transaction so a missing
+     * company can be loaded.
+     */
+    public Optional<DailyReportTotals> sumForAgents(UUID companyId, Collection<UUID> agentMembershipIds, LocalDate from, LocalDate to) {
+        return company(companyId).flatMap(company -> company.sum(agentMembershipIds, from, to));
+    }
+
+    public Optional<DailyReportTotals> sumForCompany(UUID companyId, LocalDate from, LocalDate to) {
+        return company(companyId).flatMap(company -> company.sum(null, from, to));
+    }
+
+    /**
+     * Adds a report's delta once the surrounding transaction commits, on this node and on the
+     * others.
+     */
+    public void apply(UUID companyId, UUID agentMembershipId, LocalDate reportDate, DailyReportTotals delta) {
+        long[] values = toColumns(delta);
+        afterCommit(companyId, () -> {
+            applyLocally(companyId, agentMembershipId, reportDate, values);
+            publish("D|" + nodeId + "|" + companyId + "|" + agentMembershipId + "|" + reportDate + "|"
+                    + String.join(",", Arrays.stream(values).mapToObj(Long::toString).toList()));
+        });
+    }
+
+    /**
+     * Drops the company everywhere once the surrounding transaction commits, for changes that
+     * are not a single report delta.
+     */
+    public void evict(UUID companyId) {
+        afterCommit(companyId, () -> {
+            evictLocally(companyId);
+            publish("E|" + nodeId + "|" + companyId);
+        });
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.reports.kpi-store-subscribe-initial-delay-ms:0}",
+            fixedDelayString = "${app.reports.kpi-store-subscribe-retry-ms:30000}"
+    )
+    public void ensureSubscribed() {
+        if (subscribed) {
+            return;
+        }
+        try {
+            listenerContainer.addMessageListener(deltaListener, new ChannelTopic(KPI_DELTA_CHANNEL));
+            subscribed = true;
+            LOG.info("Report KPI store subscribed to delta channel={}", KPI_DELTA_CHANNEL);
+        } catch (RuntimeException exception) {
+            LOG.warn("Report KPI store could not subscribe to deltas, relying on TTL ttlMs={}: {}",
+                    ttlMs, exception.getMessage());
+        }
+    }
+
+    long usedBytes() {
+        return usedBytes.get();
+    }
+
+    private Optional<CompanyKpis> company(UUID companyId) {
+        long nowMs = System.currentTimeMillis();
+        CompanyKpis cached = companies.get(companyId);
+        if (cached != null && nowMs - cached.loadedAtMs < ttlMs) {
+            cached.lastReadAtMs = nowMs;
+            return Optional.of(cached);
+        }
+        CompanyChanges changes = changesByCompany.computeIfAbsent(companyId, ignored -> new CompanyChanges());
+        long changesBeforeLoad = changes.applied.get();
+        if (changes.committing.get() > 0) {
+            // the load could not be kept, so leave the read to the rollups
+            return Optional.empty();
+        }
+        LocalDate lastDay = LocalDate.now(ZoneOffset.UTC).plusDays(FUTURE_DAYS);
+        LocalDate origin = lastDay.minusDays(windowDays - 1L);
+        long bytes = bytes(countAgents(companyId, origin, lastDay));
+        if (bytes > maxBytes) {
+            LOG.debug("Report KPI store skips company={} bytes={} over budget maxBytes={}", companyId, bytes, maxBytes);
+            return Optional.empty();
+        }
+        CompanyKpis loaded = load(companyId, origin, lastDay, nowMs);
+        // a delta that committed while the rows were read may or may not be in them
+        if (changes.committing.get() == 0 && changes.applied.get() == changesBeforeLoad) {
+            store(companyId, loaded);
+        }
+        return Optional.of(loaded);
+    }
+
+    private long countAgents(UUID companyId, LocalDate origin, LocalDate lastDay) {
+        Object count = entityManager.createNativeQuery("""
+                        SELECT COUNT(DISTINCT scope_id)
+                        FROM daily_report_rollups
+                        WHERE company_id = :companyId
+                          AND scope_type = 'AGENT'
+                          AND grain = 'DAY'
+                          AND period_start BETWEEN :origin AND :lastDay
+                        """)
+                .setParameter("companyId", companyId)
+                .setParameter("origin", origin)
+                .setParameter("lastDay", lastDay)
+                .getSingleResult();
+        return count instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private long bytes(long agents) {
+        return (agents + 1) * COLUMNS * (windowDays + 1L) * Long.BYTES;
+    }
+
+    private CompanyKpis load(UUID companyId, LocalDate origin, LocalDate lastDay, long nowMs) {
+        int days = windowDays;
+        List<?> rows = entityManager.createNativeQuery("""
+                        SELECT scope_id, period_start, %s
+                        FROM daily_report_rollups
+                        WHERE company_id = :companyId
+                          AND scope_type = 'AGENT'
+                          AND grain = 'DAY'
+                          AND period_start BETWEEN :origin AND :lastDay
+                        """.formatted(String.join(", ", DailyReportTotals.COLUMNS)))
+                .setParameter("companyId", companyId)
+                .setParameter("origin", origin)
+                .setParameter("lastDay", lastDay)
+                .getResultList();
+        Map<UUID, long[][]> prefixByAgent = new HashMap<>();
+        long[][] companyPrefix = new long[COLUMNS][days + 1];
+        for (Object item : rows) {
+            Object[] row = (Object[]) item;
+            UUID agentId = row[0] instanceof UUID id ? id : UUID.fromString(row[0].toString());
+            LocalDate day = row[1] instanceof Date date ? date.toLocalDate() : (LocalDate) row[1];
+            long[] values = toColumns(DailyReportTotals.fromRow(Arrays.copyOfRange(row, 2, row.length)));
+            long[][] agentPrefix = prefixByAgent.computeIfAbsent(agentId, ignored -> new long[COLUMNS][days + 1]);
+            int index = (int) ChronoUnit.DAYS.between(origin, day) + 1;
+            for (int column = 0; column < COLUMNS; column++) {
+                agentPrefix[column][index] += values[column];
+                companyPrefix[column][index] += values[column];
+            }
+        }
+        for (long[][] prefix : prefixByAgent.values()) {
+            accumulate(prefix);
+        }
+        accumulate(companyPrefix);
+        return new CompanyKpis(origin, days, prefixByAgent, companyPrefix, bytes(prefixByAgent.size()), nowMs);
+    }
+
+    private void store(UUID companyId, CompanyKpis loaded) {
+        if (loaded.bytes > maxBytes) {
+            // an agent appeared between the count and the load
+            return;
+        }
+        CompanyKpis previous = companies.put(companyId, loaded);
+        usedBytes.addAndGet(loaded.bytes - (previous == null ? 0 : previous.bytes));
+        while (usedBytes.get() > maxBytes) {
+            Optional<Map.Entry<UUID, CompanyKpis>> leastRecentlyRead = companies.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastReadAtMs));
+            if (leastRecentlyRead.isEmpty()) {
+                break;
+            }
+            remove(leastRecentlyRead.get().getKey(), leastRecentlyRead.get().getValue());
+        }
+    }
+
+    private void remove(UUID companyId, CompanyKpis kpis) {
+        if (companies.remove(companyId, kpis)) {
+            usedBytes.addAndGet(-kpis.bytes);
+        }
+    }
+
+    private void applyLocally(UUID companyId, UUID agentMembershipId, LocalDate reportDate, long[] values) {
+        changesByCompany.computeIfAbsent(companyId, ignored -> new CompanyChanges()).applied.incrementAndGet();
+        CompanyKpis company = companies.get(companyId);
+        if (company != null && !company.add(agentMembershipId, reportDate, values)) {
+            // a new agent or a day outside the window: reload on the next read
+            remove(companyId, company);
+        }
+    }
+
+    private void applyRemotely(UUID companyId, UUID agentMembershipId, LocalDate reportDate, long[] values) {
+        CompanyKpis company = companies.get(companyId);
+        if (company != null && System.currentTimeMillis() - company.loadedAtMs < remoteSettleMs) {
+            // the delta may already be in the rows that were just loaded
+            evictLocally(companyId);
+            return;
+        }
+        applyLocally(companyId, agentMembershipId, reportDate, values);
+    }
+
+    private void evictLocally(UUID companyId) {
+        changesByCompany.computeIfAbsent(companyId, ignored -> new CompanyChanges()).applied.incrementAndGet();
+        CompanyKpis company = companies.get(companyId);
+        if (company != null) {
+            remove(companyId, company);
+        }
+    }
+
+    private void afterCommit(UUID companyId, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        AtomicInteger committing = changesByCompany.computeIfAbsent(companyId, ignored -> new CompanyChanges()).committing;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean counted;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                committing.incrementAndGet();
+                counted = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (counted) {
+                    committing.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(KPI_DELTA_CHANNEL, message);
+        } catch (DataAccessException exception) {
+            LOG.warn("Failed to publish report KPI change, other nodes refresh within ttlMs={}", ttlMs, exception);
+        }
+    }
+
+    private void onMessage(byte[] body) {
+        Object payload = redisTemplate.getValueSerializer().deserialize(body);
+        if (payload == null) {
+            return;
+        }
+        String[] parts = payload.toString().split("\\|");
+        try {
+            if (parts.length < 3 || nodeId.equals(parts[1])) {
+                return;
+            }
+            UUID companyId = UUID.fromString(parts[2]);
+            if ("E".equals(parts[0])) {
+                evictLocally(companyId);
+            } else if ("D".equals(parts[0]) && parts.length == 6) {
+                long[] values = Arrays.stream(parts[5].split(",")).mapToLong(Long::parseLong).toArray();
+                if (values.length != COLUMNS) {
+                    throw new IllegalArgumentException("Expected " + COLUMNS + " values");
+                }
+                applyRemotely(companyId, UUID.fromString(parts[3]), LocalDate.parse(parts[4]), values);
+            }
+        } catch (RuntimeException exception) {
+            LOG.warn("Ignoring malformed report KPI payload={}", payload);
+        }
+    }
+
+    private static void accumulate(long[][] prefix) {
+        for (long[] column : prefix) {
+            for (int index = 1; index < column.length; index++) {
+                column[index] += column[index - 1];
+            }
+        }
+    }
+
+    private static long[] toColumns(DailyReportTotals totals) {
+        List<Object> values = totals.values();
+        long[] columns = new long[COLUMNS];
+        for (int index = 0; index < COLUMNS; index++) {
+            Object value = values.get(index);
+            columns[index] = value instanceof BigDecimal decimal
+                    ? decimal.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact()
+                    : (Long) value;
+        }
+        return columns;
+    }
+
+    private static DailyReportTotals toTotals(long[] columns) {
+        Object[] row = new Object[COLUMNS];
+        for (int index = 0; index < COLUMNS; index++) {
+            row[index] = columns[index];
+        }
+        row[COLUMNS - 2] = BigDecimal.valueOf(columns[COLUMNS - 2], 2);
+        row[COLUMNS - 1] = BigDecimal.valueOf(columns[COLUMNS - 1], 2);
+        return DailyReportTotals.fromRow(row);
+    }
+
+    private static final class CompanyChanges {
+        // deltas and evictions applied on this node
+        private final AtomicLong applied = new AtomicLong();
+        // local transactions between commit and applying their delta
+        private final AtomicInteger committing = new AtomicInteger();
+    }
+
+    private static final class CompanyKpis {
+        private final LocalDate origin;
+        private final int days;
+        private final Map<UUID, long[][]> prefixByAgent;
+        private final long[][] companyPrefix;
+        private final long bytes;
+        private final long loadedAtMs;
+        private volatile long lastReadAtMs;
+
+        private CompanyKpis(
+                LocalDate origin,
+                int days,
+                Map<UUID, long[][]> prefixByAgent,
+                long[][] companyPrefix,
+                long bytes,
+                long loadedAtMs
+        ) {
+            this.origin = origin;
+            this.days = days;
+            this.prefixByAgent = prefixByAgent;
+            this.companyPrefix = companyPrefix;
+            this.bytes = bytes;
+            this.loadedAtMs = loadedAtMs;
+            this.lastReadAtMs = loadedAtMs;
+        }
+
+        /**
+         * @param agentMembershipIds the agents to add up, or {@code null} for the company
+         */
+        private synchronized Optional<DailyReportTotals> sum(Collection<UUID> agentMembershipIds, LocalDate from, LocalDate to) {
+            long first = ChronoUnit.DAYS.between(origin, from);
+            long last = ChronoUnit.DAYS.between(origin, to);
+            if (first < 0 || last >= days) {
+                return Optional.empty();
+            }
+            long[] sums = new long[COLUMNS];
+            if (agentMembershipIds == null) {
+                addRange(sums, companyPrefix, (int) first, (int) last);
+            } else {
+                for (UUID agentMembershipId : agentMembershipIds) {
+                    long[][] prefix = prefixByAgent.get(agentMembershipId);
+                    if (prefix != null) {
+                        addRange(sums, prefix, (int) first, (int) last);
+                    }
+                }
+            }
+            return Optional.of(toTotals(sums));
+        }
+
+        /**
+         * @return {@code false} when the delta cannot be applied and the company must be reloaded
+         */
+        private synchronized boolean add(UUID agentMembershipId, LocalDate reportDate, long[] values) {
+            long day = ChronoUnit.DAYS.between(origin, reportDate);
+            long[][] agentPrefix = prefixByAgent.get(agentMembershipId);
+            if (day < 0 || day >= days || agentPrefix == null) {
+                return false;
+            }
+            for (int column = 0; column < COLUMNS; column++) {
+                if (values[column] == 0) {
+                    continue;
+                }
+                for (int index = (int) day + 1; index <= days; index++) {
+                    agentPrefix[column][index] += values[column];
+                    companyPrefix[column][index] += values[column];
+                }
+            }
+            return true;
+        }
+
+        private static void addRange(long[] sums, long[][] prefix, int first, int last) {
+            for (int column = 0; column < COLUMNS; column++) {
+                sums[column] += prefix[column][last + 1] - prefix[column][first];
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.salesway.reports.service;
+
+import com.salesway.reports.dto.DailyReportSummaryResponse;
+import com.salesway.reports.entity.DailyReportMetrics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * The derived sales KPIs, computed the same way for a single report's metrics row and for a
+ * summary over any number of reports. Rates use five decimals, per-sale averages two; a zero
+ * denominator yields zero.
+ */
+public final class DailyReportKpis {
+    private static final BigDecimal ZERO = BigDecimal.ZERO;
+
+    private DailyReportKpis() {
+    }
+
+    public static DailyReportSummaryResponse summarize(LocalDate from, LocalDate to, DailyReportTotals totals) {
+        Rates rates = rates(totals);
+        return new DailyReportSummaryResponse(
+                from,
+                to,
+                (int) totals.reportCount(),
+                (int) totals.outboundDials(),
+                (int) totals.pickups(),
+                (int) totals.conversations30sPlus(),
+                (int) totals.salesCallBookedFromOutbound(),
+                (int) totals.salesCallOnCalendar(),
+                (int) totals.noShow(),
+                (int) totals.rescheduleRequest(),
+                (int) totals.cancel(),
+                (int) totals.deposits(),
+                (int) totals.salesOneCallClose(),
+                (int) totals.followupSales(),
+                (int) totals.upsellConversationTaken(),
+                (int) totals.upsells(),
+                totals.contractValue(),
+                totals.newCashCollected(),
+                rates.totalSales(),
+                rates.triagePassthroughRate(),
+                rates.salesCallShowupRate(),
+                rates.sitRate(),
+                rates.oneCallCloseRate(),
+                rates.followupCloseRate(),
+                rates.totalClosingRate(),
+                rates.upsellCloseRate(),
+                rates.cashCollectionRate(),
+                rates.avgContractValuePerSale(),
+                rates.avgCashCollectedPerSale()
+        );
+    }
+
+    /**
+     * Fills the KPI columns of a report's metrics row; the caller stamps {@code computedAt}.
+     */
+    public static void applyTo(DailyReportMetrics metrics, DailyReportTotals totals) {
+        Rates rates = rates(totals);
+        metrics.setTotalSales(rates.totalSales());
+        metrics.setTriagePassthroughRate(rates.triagePassthroughRate());
+        metrics.setSalesCallShowupRate(rates.salesCallShowupRate());
+        metrics.setSitRate(rates.sitRate());
+        metrics.setOneCallCloseRate(rates.oneCallCloseRate());
+        metrics.setFollowupCloseRate(rates.followupCloseRate());
+        metrics.setTotalClosingRate(rates.totalClosingRate());
+        metrics.setUpsellCloseRate(rates.upsellCloseRate());
+        metrics.setCashCollectionRate(rates.cashCollectionRate());
+        metrics.setAvgContractValuePerSale(rates.avgContractValuePerSale());
+        metrics.setAvgCashCollectedPerSale(rates.avgCashCollectedPerSale());
+    }
+
+    private static Rates rates(DailyReportTotals totals) {
+        int outboundDials = (int) totals.outboundDials();
+        int salesCallOnCalendar = (int) totals.salesCallOnCalendar();
+        int salesOneCallClose = (int) totals.salesOneCallClose();
+        int followupSales = (int) totals.followupSales();
+        int upsells = (int) totals.upsells();
+        int totalSales = salesOneCallClose + followupSales + upsells;
+        int salesCallShowups = Math.max(0, salesCallOnCalendar - (int) totals.noShow() - (int) totals.cancel());
+        return new Rates(
+                totalSales,
+                rate((int) totals.pickups(), outboundDials),
+                rate(salesCallShowups, salesCallOnCalendar),
+                rate((int) totals.salesCallBookedFromOutbound(), (int) totals.conversations30sPlus()),
+                rate(salesOneCallClose, totalSales),
+                rate(followupSales, totalSales),
+                rate(totalSales, salesCallOnCalendar),
+                rate(upsells, (int) totals.upsellConversationTaken()),
+                rate(totals.newCashCollected(), totals.contractValue()),
+                divide(totals.contractValue(), totalSales, 2),
+                divide(totals.newCashCollected(), totalSales, 2)
+        );
+    }
+
+    private static BigDecimal rate(int numerator, int denominator) {
+        return divide(new BigDecimal(numerator), denominator, 5);
+    }
+
+    private static BigDecimal rate(BigDecimal numerator, BigDecimal denominator) {
+        if (denominator == null || denominator.compareTo(ZERO) <= 0) {
+            return ZERO;
+        }
+        return numerator.divide(denominator, 5, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal divide(BigDecimal numerator, int denominator, int scale) {
+        if (denominator <= 0) {
+            return ZERO;
+        }
+        return numerator.divide(new BigDecimal(denominator), scale, RoundingMode.HALF_UP);
+    }
+
+    private record Rates(
+            int totalSales,
+            BigDecimal triagePassthroughRate,
+            BigDecimal salesCallShowupRate,
+            BigDecimal sitRate,
+            BigDecimal oneCallCloseRate,
+            BigDecimal followupCloseRate,
+            BigDecimal totalClosingRate,
+            BigDecimal upsellCloseRate,
+            BigDecimal cashCollectionRate,
+            BigDecimal avgContractValuePerSale,
+            BigDecimal avgCashCollectedPerSale
+    ) {
+    }
+}
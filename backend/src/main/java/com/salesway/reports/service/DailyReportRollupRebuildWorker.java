@@ -0,0 +1,40 @@
+package com.salesway.reports.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+public class DailyReportRollupRebuildWorker {
+    private static final Logger LOG = LoggerFactory.getLogger(DailyReportRollupRebuildWorker.class);
+
+    private final DailyReportRollupService dailyReportRollupService;
+    private final boolean enabled;
+
+    public DailyReportRollupRebuildWorker(
+            DailyReportRollupService dailyReportRollupService,
+            @Value("${app.reports.rollup-rebuild-enabled:true}") boolean enabled
+    ) {
+        this.dailyReportRollupService = dailyReportRollupService;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(cron = "${app.reports.rollup-rebuild-cron:0 15 4 * * *}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        for (UUID companyId : dailyReportRollupService.findCompanyIds()) {
+            // one transaction per company keeps the rewrite of each company short
+            try {
+                dailyReportRollupService.rebuildCompany(companyId);
+            } catch (Exception exception) {
+                LOG.error("Report rollup rebuild failed for company {}, retrying on the next run", companyId, exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.salesway.reports.service;
+
+import com.salesway.reports.entity.DailyReport;
+import com.salesway.reports.entity.DailyReportInputs;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code daily_report_rollups} in step with report writes and answers range summaries
+ * from it. Every report counts towards its agent and its company at day, ISO week and month
+ * grain; writes add signed deltas inside the writing transaction and {@link #rebuildCompany}
+ * recomputes a company from the reports. A manager's team is not stored as its own scope: it
+ * is read as the sum of the rows of the agents currently reporting to the manager, so moving an
+ * agent to another manager needs no rollup change.
+ */
+@Service
+public class DailyReportRollupService {
+    static final String AGENT = "AGENT";
+    static final String COMPANY = "COMPANY";
+
+    // one row per report, scope and grain, grouped into rollup rows; aliases match the table
+    private static final String AGGREGATE = """
+            SELECT scope.scope_type AS scope_type,
+                   scope.scope_id AS scope_id,
+                   period.grain AS grain,
+                   period.period_start AS period_start,
+                   r.company_id AS company_id,
+                   count(*) AS report_count,
+                   %s
+            FROM daily_reports r
+            LEFT JOIN daily_report_inputs i ON i.daily_report_id = r.id
+            CROSS JOIN LATERAL (
+                VALUES ('AGENT', r.agent_membership_id),
+                       ('COMPANY', r.company_id)
+            ) AS scope (scope_type, scope_id)
+            CROSS JOIN LATERAL (
+                VALUES ('DAY', r.report_date),
+                       ('WEEK', CAST(date_trunc('week', r.report_date) AS DATE)),
+                       ('MONTH', CAST(date_trunc('month', r.report_date) AS DATE))
+            ) AS period (grain, period_start)
+            WHERE %s
+            GROUP BY scope.scope_type, scope.scope_id, period.grain, period.period_start, r.company_id
+            """;
+
+    private final EntityManager entityManager;
+    private final DailyReportKpiStore dailyReportKpiStore;
+
+    public DailyReportRollupService(EntityManager entityManager, DailyReportKpiStore dailyReportKpiStore) {
+        this.entityManager = entityManager;
+        this.dailyReportKpiStore = dailyReportKpiStore;
+    }
+
+    /**
+     * The coarsest set of rollup periods that exactly covers a date range: whole months, then
+     * whole ISO weeks of what is left on either side, then single days.
+     */
+    public record Periods(List<LocalDate> months, List<LocalDate> weeks, List<LocalDate> days) {
+    }
+
+    @Transactional
+    public void reportCreated(DailyReport report) {
+        apply(report, DailyReportTotals.ONE_REPORT);
+    }
+
+    /**
+     * @param before the report's inputs as they were before the write, see
+     *               {@link DailyReportTotals#of(DailyReportInputs)}
+     */
+    @Transactional
+    public void inputsChanged(DailyReport report, DailyReportTotals before, DailyReportInputs after) {
+        apply(report, DailyReportTotals.of(after).minus(before));
+    }
+
+    /**
+     * Adds reports that were inserted in bulk, without going through {@link #reportCreated}.
+     */
+    @Transactional
+    public void reportsCreated(UUID companyId, Collection<UUID> reportIds) {
+        if (reportIds.isEmpty()) {
+            return;
+        }
+        dailyReportKpiStore.evict(companyId);
+        entityManager.createNativeQuery("""
+                        INSERT INTO daily_report_rollups (scope_type, scope_id, grain, period_start, company_id, %s, updated_at)
+                        SELECT d.*, now() FROM (%s) d
+                        ORDER BY 1, 2, 3, 4
+                        ON CONFLICT (scope_type, scope_id, grain, period_start)
+                        DO UPDATE SET %s, updated_at = EXCLUDED.updated_at
+                        """.formatted(
+                        String.join(", ", DailyReportTotals.COLUMNS),
+                        aggregate("r.id IN (:reportIds)"),
+                        addExcluded()
+                ))
+                .setParameter("reportIds", reportIds)
+                .executeUpdate();
+    }
+
+    /**
+     * Subtracts reports that are about to be deleted; call it before their inputs are removed.
+     */
+    @Transactional
+    public void reportsDeleted(UUID companyId, Collection<UUID> reportIds) {
+        if (reportIds.isEmpty()) {
+            return;
+        }
+        dailyReportKpiStore.evict(companyId);
+        String assignments = DailyReportTotals.COLUMNS.stream()
+                .map(column -> column + " = t." + column + " - d." + column)
+                .collect(Collectors.joining(", "));
+        entityManager.createNativeQuery("""
+                        UPDATE daily_report_rollups t
+                        SET %s, updated_at = now()
+                        FROM (%s) d
+                        WHERE t.scope_type = d.scope_type
+                          AND t.scope_id = d.scope_id
+                          AND t.grain = d.grain
+                          AND t.period_start = d.period_start
+                        """.formatted(assignments, aggregate("r.id IN (:reportIds)")))
+                .setParameter("reportIds", reportIds)
+                .executeUpdate();
+    }
+
+    /**
+     * Replaces the company's rollups with totals recomputed from its reports. A report write
+     * that races the rebuild still lands exactly once: it either commits before the recount
+     * reads the reports, or adds its delta to the recomputed row afterwards.
+     */
+    @Transactional
+    public void rebuildCompany(UUID companyId) {
+        dailyReportKpiStore.evict(companyId);
+        entityManager.createNativeQuery("DELETE FROM daily_report_rollups WHERE company_id = :companyId")
+                .setParameter("companyId", companyId)
+                .executeUpdate();
+        entityManager.createNativeQuery("""
+                        INSERT INTO daily_report_rollups (scope_type, scope_id, grain, period_start, company_id, %s, updated_at)
+                        SELECT d.*, now() FROM (%s) d
+                        """.formatted(String.join(", ", DailyReportTotals.COLUMNS), aggregate("r.company_id = :companyId")))
+                .setParameter("companyId", companyId)
+                .executeUpdate();
+    }
+
+    @Transactional(readOnly = true)
+    public List<UUID> findCompanyIds() {
+        List<?> rows = entityManager.createNativeQuery("""
+                        SELECT company_id FROM daily_reports
+                        UNION
+                        SELECT company_id FROM daily_report_rollups
+                        """)
+                .getResultList();
+        return rows.stream()
+                .map(row -> row instanceof UUID id ? id : UUID.fromString(row.toString()))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public DailyReportTotals sumForAgent(UUID agentMembershipId, LocalDate from, LocalDate to) {
+        return sum(AGENT, "scope_id = :scopeId", agentMembershipId, from, to);
+    }
+
+    @Transactional(readOnly = true)
+    public DailyReportTotals sumForCompany(UUID companyId, LocalDate from, LocalDate to) {
+        return sum(COMPANY, "scope_id = :scopeId", companyId, from, to);
+    }
+
+    /**
+     * Sums the agents whose manager is {@code managerMembershipId}.
+     */
+    @Transactional(readOnly = true)
+    public DailyReportTotals sumForManagerTeam(UUID managerMembershipId, LocalDate from, LocalDate to) {
+        return sum(
+                AGENT,
+                "scope_id IN (SELECT m.id FROM company_memberships m WHERE m.manager_membership_id = :scopeId)",
+                managerMembershipId,
+                from,
+                to
+        );
+    }
+
+    static Periods periods(LocalDate from, LocalDate to) {
+        Periods periods = new Periods(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        LocalDate firstMonth = from.getDayOfMonth() == 1 ? from : from.plusMonths(1).withDayOfMonth(1);
+        LocalDate afterMonths = firstMonth;
+        while (!afterMonths.plusMonths(1).minusDays(1).isAfter(to)) {
+            periods.months().add(afterMonths);
+            afterMonths = afterMonths.plusMonths(1);
+        }
+        if (periods.months().isEmpty()) {
+            addWeeksAndDays(periods, from, to);
+        } else {
+            addWeeksAndDays(periods, from, firstMonth.minusDays(1));
+            addWeeksAndDays(periods, afterMonths, to);
+        }
+        return periods;
+    }
+
+    private static void addWeeksAndDays(Periods periods, LocalDate from, LocalDate to) {
+        LocalDate cursor = from;
+        while (!cursor.isAfter(to)) {
+            if (cursor.getDayOfWeek() == DayOfWeek.MONDAY && !cursor.plusDays(6).isAfter(to)) {
+                periods.weeks().add(cursor);
+                cursor = cursor.plusWeeks(1);
+            } else {
+                periods.days().add(cursor);
+                cursor = cursor.plusDays(1);
+            }
+        }
+    }
+
+    private void apply(DailyReport report, DailyReportTotals delta) {
+        if (delta.isZero()) {
+            return;
+        }
+        List<String> columns = DailyReportTotals.COLUMNS;
+        String values = columns.stream()
+                .map(column -> ":" + column)
+                .collect(Collectors.joining(", "));
+        // rows are locked in key order so two reports of the same company cannot deadlock on
+        // the shared company rows
+        Query query = entityManager.createNativeQuery("""
+                INSERT INTO daily_report_rollups (scope_type, scope_id, grain, period_start, company_id, %s, updated_at)
+                SELECT scope.scope_type, scope.scope_id, period.grain, period.period_start, :companyId, %s, now()
+                FROM (VALUES ('AGENT', CAST(:agentId AS UUID)), ('COMPANY', CAST(:companyId AS UUID)))
+                    AS scope (scope_type, scope_id)
+                CROSS JOIN (VALUES ('DAY', CAST(:day AS DATE)), ('WEEK', CAST(:week AS DATE)), ('MONTH', CAST(:month AS DATE)))
+                    AS period (grain, period_start)
+                ORDER BY 1, 2, 3, 4
+                ON CONFLICT (scope_type, scope_id, grain, period_start)
+                DO UPDATE SET %s, updated_at = EXCLUDED.updated_at
+                """.formatted(String.join(", ", columns), values, addExcluded()));
+        LocalDate reportDate = report.getReportDate();
+        query.setParameter("companyId", report.getCompany().getId());
+        query.setParameter("agentId", report.getAgentMembership().getId());
+        query.setParameter("day", reportDate);
+        query.setParameter("week", reportDate.with(DayOfWeek.MONDAY));
+        query.setParameter("month", reportDate.withDayOfMonth(1));
+        List<Object> deltaValues = delta.values();
+        for (int index = 0; index < columns.size(); index++) {
+            query.setParameter(columns.get(index), deltaValues.get(index));
+        }
+        query.executeUpdate();
+        dailyReportKpiStore.apply(report.getCompany().getId(), report.getAgentMembership().getId(), reportDate, delta);
+    }
+
+    private DailyReportTotals sum(String scopeType, String scopeFilter, UUID scopeId, LocalDate from, LocalDate to) {
+        Periods periods = periods(from, to);
+        List<String> grainFilters = new ArrayList<>();
+        if (!periods.months().isEmpty()) {
+            grainFilters.add("(grain = 'MONTH' AND period_start IN (:months))");
+        }
+        if (!periods.weeks().isEmpty()) {
+            grainFilters.add("(grain = 'WEEK' AND period_start IN (:weeks))");
+        }
+        if (!periods.days().isEmpty()) {
+            grainFilters.add("(grain = 'DAY' AND period_start IN (:days))");
+        }
+        String sums = DailyReportTotals.COLUMNS.stream()
+                .map(column -> "sum(" + column + ")")
+                .collect(Collectors.joining(", "));
+        Query query = entityManager.createNativeQuery("""
+                SELECT %s
+                FROM daily_report_rollups
+                WHERE scope_type = :scopeType
+                  AND %s
+                  AND (%s)
+                """.formatted(sums, scopeFilter, String.join(" OR ", grainFilters)));
+        query.setParameter("scopeType", scopeType);
+        query.setParameter("scopeId", scopeId);
+        if (!periods.months().isEmpty()) {
+            query.setParameter("months", periods.months());
+        }
+        if (!periods.weeks().isEmpty()) {
+            query.setParameter("weeks", periods.weeks());
+        }
+        if (!periods.days().isEmpty()) {
+            query.setParameter("days", periods.days());
+        }
+        return DailyReportTotals.fromRow((Object[]) query.getSingleResult());
+    }
+
+    // adds the incoming row to the existing one in an upsert
+    private static String addExcluded() {
+        return DailyReportTotals.COLUMNS.stream()
+                .map(column -> column + " = daily_report_rollups." + column + " + EXCLUDED." + column)
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String aggregate(String where) {
+        String sums = DailyReportTotals.COLUMNS.stream()
+                .skip(1)
+                .map(column -> "COALESCE(sum(i." + column + "), 0) AS " + column)
+                .collect(Collectors.joining(",\n       "));
+        return AGGREGATE.formatted(sums, where);
+    }
+}
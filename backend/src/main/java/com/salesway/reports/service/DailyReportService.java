@@ -3,6 +3,7 @@ package com.salesway.reports.service;
 import com.salesway.common.enums.DailyReportAuditAction;
 import com.salesway.common.enums.DailyReportStatus;
 import com.salesway.common.enums.MembershipStatus;
+import com.salesway.manager.service.TeamDashboardStreamService;
 import com.salesway.memberships.entity.CompanyMembership;
 import com.salesway.memberships.repository.CompanyMembershipRepository;
 import com.salesway.reports.dto.DailyReportInputsRequest;
@@ -29,7 +30,6 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
@@ -53,6 +53,10 @@ public class DailyReportService {
     private final DailyReportAuditLogRepository dailyReportAuditLogRepository;
     private final CompanyMembershipRepository companyMembershipRepository;
     private final NotificationService notificationService;
+    private final DailyReportRollupService dailyReportRollupService;
+    private final DailyReportAggregationService dailyReportAggregationService;
+    private final TeamDashboardStreamService teamDashboardStreamService;
+    private final DailyReportDraftBuffer dailyReportDraftBuffer;
 
     public DailyReportService(
             DailyReportRepository dailyReportRepository,
@@ -60,7 +64,11 @@ public class DailyReportService {
             DailyReportMetricsRepository dailyReportMetricsRepository,
             DailyReportAuditLogRepository dailyReportAuditLogRepository,
             CompanyMembershipRepository companyMembershipRepository,
-            NotificationService notificationService
+            NotificationService notificationService,
+            DailyReportRollupService dailyReportRollupService,
+            DailyReportAggregationService dailyReportAggregationService,
+            TeamDashboardStreamService teamDashboardStreamService,
+            DailyReportDraftBuffer dailyReportDraftBuffer
     ) {
         this.dailyReportRepository = dailyReportRepository;
         this.dailyReportInputsRepository = dailyReportInputsRepository;
@@ -68,14 +76,17 @@ public class DailyReportService {
         this.dailyReportAuditLogRepository = dailyReportAuditLogRepository;
         this.companyMembershipRepository = companyMembershipRepository;
         this.notificationService = notificationService;
+        this.dailyReportRollupService = dailyReportRollupService;
+        this.dailyReportAggregationService = dailyReportAggregationService;
+        this.teamDashboardStreamService = teamDashboardStreamService;
+        this.dailyReportDraftBuffer = dailyReportDraftBuffer;
     }
 
     @Transactional
     public DailyReportResponse getTodayReport() {
         CompanyMembership membership = getReportingMembership(true);
         DailyReport report = getOrCreateReport(membership, LocalDate.now(ZoneOffset.UTC));
-        DailyReportInputs inputs = getOrCreateInputs(report);
-        return toResponse(report, inputs);
+        return toResponse(report, currentInputs(report));
     }
 
     @Transactional
@@ -84,8 +95,7 @@ public class DailyReportService {
         LocalDate today = LocalDate.now(ZoneOffset.UTC);
         if (reportDate.equals(today)) {
             DailyReport report = getOrCreateReport(membership, reportDate);
-            DailyReportInputs inputs = getOrCreateInputs(report);
-            return toResponse(report, inputs);
+            return toResponse(report, currentInputs(report));
         }
 
         DailyReport report = dailyReportRepository
@@ -127,110 +137,61 @@ public class DailyReportService {
     public DailyReportSummaryResponse getSummary(LocalDate from, LocalDate to) {
         validateDateRange(from, to);
         CompanyMembership membership = getReportingMembership(true);
-        List<DailyReport> reports = dailyReportRepository
-                .findByAgentMembershipIdAndReportDateBetweenOrderByReportDateAsc(membership.getId(), from, to);
-        if (reports.isEmpty()) {
-            return emptySummary(from, to);
-        }
-
-        Map<UUID, DailyReportInputs> inputsMap = fetchInputsByReportId(reports);
-
-        int outboundDials = 0;
-        int pickups = 0;
-        int conversations30sPlus = 0;
-        int salesCallBookedFromOutbound = 0;
-        int salesCallOnCalendar = 0;
-        int noShow = 0;
-        int rescheduleRequest = 0;
-        int cancel = 0;
-        int deposits = 0;
-        int salesOneCallClose = 0;
-        int followupSales = 0;
-        int upsellConversationTaken = 0;
-        int upsells = 0;
-        BigDecimal contractValue = ZERO;
-        BigDecimal newCashCollected = ZERO;
-
-        for (DailyReport report : reports) {
-            DailyReportInputs inputs = inputsMap.getOrDefault(report.getId(), new DailyReportInputs());
-            outboundDials += inputs.getOutboundDials();
-            pickups += inputs.getPickups();
-            conversations30sPlus += inputs.getConversations30sPlus();
-            salesCallBookedFromOutbound += inputs.getSalesCallBookedFromOutbound();
-            salesCallOnCalendar += inputs.getSalesCallOnCalendar();
-            noShow += inputs.getNoShow();
-            rescheduleRequest += inputs.getRescheduleRequest();
-            cancel += inputs.getCancel();
-            deposits += inputs.getDeposits();
-            salesOneCallClose += inputs.getSalesOneCallClose();
-            followupSales += inputs.getFollowupSales();
-            upsellConversationTaken += inputs.getUpsellConversationTaken();
-            upsells += inputs.getUpsells();
-            contractValue = contractValue.add(inputs.getContractValue());
-            newCashCollected = newCashCollected.add(inputs.getNewCashCollected());
-        }
-
-        int totalSales = salesOneCallClose + followupSales + upsells;
-        int salesCallShowups = Math.max(0, salesCallOnCalendar - noShow - cancel);
-
-        return new DailyReportSummaryResponse(
-                from,
-                to,
-                reports.size(),
-                outboundDials,
-                pickups,
-                conversations30sPlus,
-                salesCallBookedFromOutbound,
-                salesCallOnCalendar,
-                noShow,
-                rescheduleRequest,
-                cancel,
-                deposits,
-                salesOneCallClose,
-                followupSales,
-                upsellConversationTaken,
-                upsells,
-                contractValue,
-                newCashCollected,
-                totalSales,
-                rate(pickups, outboundDials),
-                rate(salesCallShowups, salesCallOnCalendar),
-                rate(salesCallBookedFromOutbound, conversations30sPlus),
-                rate(salesOneCallClose, totalSales),
-                rate(followupSales, totalSales),
-                rate(totalSales, salesCallOnCalendar),
-                rate(upsells, upsellConversationTaken),
-                rate(newCashCollected, contractValue),
-                divide(contractValue, totalSales, 2),
-                divide(newCashCollected, totalSales, 2)
-        );
+        return dailyReportAggregationService.summarizeAgent(membership.getCompany().getId(), membership.getId(), from, to);
     }
 
+    /**
+     * Autosave. The draft is normally only buffered, see {@link DailyReportDraftBuffer}, and
+     * reaches the report, its metrics and the audit log when the flush worker picks it up.
+     */
     @Transactional
     public DailyReportResponse saveDraft(DailyReportInputsRequest request) {
         CompanyMembership membership = getReportingMembership(true);
         DailyReport report = getOrCreateReport(membership, LocalDate.now(ZoneOffset.UTC));
         ensureEditable(report, false);
 
-        DailyReportInputs inputs = getOrCreateInputs(report);
-        applyInputs(inputs, request);
-        dailyReportInputsRepository.save(inputs);
-
-        report.setStatus(DailyReportStatus.DRAFT);
-        dailyReportRepository.save(report);
-        updateMetrics(report, inputs);
-        writeAudit(report, membership, DailyReportAuditAction.DRAFT_UPDATE);
-
+        if (dailyReportDraftBuffer.save(membership.getId(), report.getReportDate(), request)) {
+            return toResponse(report, detachedInputs(request));
+        }
+        DailyReportInputs inputs = writeDraft(report, membership, request, 1);
         return toResponse(report, inputs);
     }
 
+    /**
+     * Writes a buffered draft to its report, counting {@code saves} autosaves in the audit log.
+     * Drafts of reports that were submitted or locked in the meantime are dropped.
+     */
+    @Transactional
+    public void flushDraft(UUID agentMembershipId, LocalDate reportDate, DailyReportInputsRequest request, long saves) {
+        // the row lock orders the flush against a concurrent submit of the same report
+        Optional<DailyReport> report = dailyReportRepository
+                .findByAgentMembershipIdAndReportDateForUpdate(agentMembershipId, reportDate);
+        if (report.isEmpty()
+                || report.get().getLockedAt() != null
+                || report.get().getStatus() != DailyReportStatus.DRAFT) {
+            LOG.debug("Dropping buffered draft agentMembershipId={} reportDate={}", agentMembershipId, reportDate);
+            return;
+        }
+        writeDraft(report.get(), report.get().getAgentMembership(), request, saves);
+    }
+
     @Transactional
     public DailyReportResponse submitReport(DailyReportInputsRequest request) {
         CompanyMembership membership = getReportingMembership(true);
-        DailyReport report = getOrCreateReport(membership, LocalDate.now(ZoneOffset.UTC));
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        // locked before the inputs are read, so a draft flush in flight is either fully in them or dropped
+        DailyReport report = dailyReportRepository
+                .findByAgentMembershipIdAndReportDateForUpdate(membership.getId(), today)
+                .orElseGet(() -> getOrCreateReport(membership, today));
         ensureEditable(report, true);
 
+        // the submitted values replace any buffered draft, whose saves are still audited
+        dailyReportDraftBuffer.find(membership.getId(), report.getReportDate())
+                .ifPresent(draft -> writeDraftAudit(report, membership, draft.saves()));
+        dailyReportDraftBuffer.discard(membership.getId(), report.getReportDate());
+
         DailyReportInputs inputs = getOrCreateInputs(report);
+        DailyReportTotals before = DailyReportTotals.of(inputs);
         applyInputs(inputs, request);
         dailyReportInputsRepository.save(inputs);
 
@@ -239,8 +200,14 @@ public class DailyReportService {
         report.setSubmittedByMembership(membership);
         dailyReportRepository.save(report);
         updateMetrics(report, inputs);
+        dailyReportRollupService.inputsChanged(report, before, inputs);
         writeAudit(report, membership, DailyReportAuditAction.SUBMIT);
         notifyManager(report, inputs);
+        teamDashboardStreamService.reportChanged(
+                DailyReportAuditAction.SUBMIT,
+                report,
+                DailyReportTotals.of(inputs).minus(before)
+        );
 
         return toResponse(report, inputs);
     }
@@ -272,7 +239,9 @@ public class DailyReportService {
         report.setAgentMembership(membership);
         report.setReportDate(reportDate);
         report.setStatus(DailyReportStatus.DRAFT);
-        return dailyReportRepository.save(report);
+        DailyReport saved = dailyReportRepository.save(report);
+        dailyReportRollupService.reportCreated(saved);
+        return saved;
     }
 
     private DailyReportInputs getOrCreateInputs(DailyReport report) {
@@ -285,6 +254,48 @@ public class DailyReportService {
                 });
     }
 
+    private DailyReportInputs writeDraft(
+            DailyReport report,
+            CompanyMembership membership,
+            DailyReportInputsRequest request,
+            long saves
+    ) {
+        DailyReportInputs inputs = getOrCreateInputs(report);
+        DailyReportTotals before = DailyReportTotals.of(inputs);
+        applyInputs(inputs, request);
+        dailyReportInputsRepository.save(inputs);
+
+        updateMetrics(report, inputs);
+        dailyReportRollupService.inputsChanged(report, before, inputs);
+        writeDraftAudit(report, membership, saves);
+        teamDashboardStreamService.reportChanged(
+                DailyReportAuditAction.DRAFT_UPDATE,
+                report,
+                DailyReportTotals.of(inputs).minus(before)
+        );
+        return inputs;
+    }
+
+    /**
+     * The report's inputs as the agent last saved them, including a draft that is still
+     * buffered. A buffered draft is returned as a detached copy so it is not written here.
+     */
+    private DailyReportInputs currentInputs(DailyReport report) {
+        DailyReportInputs inputs = getOrCreateInputs(report);
+        if (report.getStatus() != DailyReportStatus.DRAFT) {
+            return inputs;
+        }
+        return dailyReportDraftBuffer.find(report.getAgentMembership().getId(), report.getReportDate())
+                .map(draft -> detachedInputs(draft.inputs()))
+                .orElse(inputs);
+    }
+
+    private DailyReportInputs detachedInputs(DailyReportInputsRequest request) {
+        DailyReportInputs inputs = new DailyReportInputs();
+        applyInputs(inputs, request);
+        return inputs;
+    }
+
     private void ensureEditable(DailyReport report, boolean submitting) {
         if (report.getLockedAt() != null) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Report is locked");
@@ -325,20 +336,7 @@ public class DailyReportService {
                     return fresh;
                 });
 
-        int totalSales = inputs.getSalesOneCallClose() + inputs.getFollowupSales() + inputs.getUpsells();
-        metrics.setTotalSales(totalSales);
-        metrics.setTriagePassthroughRate(rate(inputs.getPickups(), inputs.getOutboundDials()));
-
-        int salesCallShowups = Math.max(0, inputs.getSalesCallOnCalendar() - inputs.getNoShow() - inputs.getCancel());
-        metrics.setSalesCallShowupRate(rate(salesCallShowups, inputs.getSalesCallOnCalendar()));
-        metrics.setSitRate(rate(inputs.getSalesCallBookedFromOutbound(), inputs.getConversations30sPlus()));
-        metrics.setOneCallCloseRate(rate(inputs.getSalesOneCallClose(), totalSales));
-        metrics.setFollowupCloseRate(rate(inputs.getFollowupSales(), totalSales));
-        metrics.setTotalClosingRate(rate(totalSales, inputs.getSalesCallOnCalendar()));
-        metrics.setUpsellCloseRate(rate(inputs.getUpsells(), inputs.getUpsellConversationTaken()));
-        metrics.setCashCollectionRate(rate(inputs.getNewCashCollected(), inputs.getContractValue()));
-        metrics.setAvgContractValuePerSale(divide(inputs.getContractValue(), totalSales, 2));
-        metrics.setAvgCashCollectedPerSale(divide(inputs.getNewCashCollected(), totalSales, 2));
+        DailyReportKpis.applyTo(metrics, DailyReportTotals.of(inputs));
         metrics.setComputedAt(Instant.now());
 
         dailyReportMetricsRepository.save(metrics);
@@ -377,58 +375,6 @@ public class DailyReportService {
                 .collect(Collectors.toMap(DailyReportInputs::getId, Function.identity()));
     }
 
-    private DailyReportSummaryResponse emptySummary(LocalDate from, LocalDate to) {
-        return new DailyReportSummaryResponse(
-                from,
-                to,
-                0,
-                0,
-                0,
-                0,
-                0,
-                0,
-                0,
-                0,
-                0,
-                0,
-                0,
-                0,
-                0,
-                0,
-                ZERO,
-                ZERO,
-                0,
-                ZERO,
-                ZERO,
-                ZERO,
-                ZERO,
-                ZERO,
-                ZERO,
-                ZERO,
-                ZERO,
-                ZERO,
-                ZERO
-        );
-    }
-
-    private BigDecimal rate(int numerator, int denominator) {
-        return divide(new BigDecimal(numerator), denominator, 5);
-    }
-
-    private BigDecimal rate(BigDecimal numerator, BigDecimal denominator) {
-        if (denominator == null || denominator.compareTo(ZERO) <= 0) {
-            return ZERO;
-        }
-        return numerator.divide(denominator, 5, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal divide(BigDecimal numerator, int denominator, int scale) {
-        if (denominator <= 0) {
-            return ZERO;
-        }
-        return numerator.divide(new BigDecimal(denominator), scale, RoundingMode.HALF_UP);
-    }
-
     private DailyReportResponse toResponse(DailyReport report, DailyReportInputs inputs) {
         DailyReportInputsResponse inputsResponse = new DailyReportInputsResponse(
                 inputs.getOutboundDials(),
@@ -466,6 +412,29 @@ public class DailyReportService {
         dailyReportAuditLogRepository.save(log);
     }
 
+    /**
+     * Consecutive draft saves by the same member are counted on one audit entry.
+     */
+    private void writeDraftAudit(DailyReport report, CompanyMembership membership, long saves) {
+        Instant now = Instant.now();
+        DailyReportAuditLog log = dailyReportAuditLogRepository
+                .findFirstByDailyReportIdOrderByCreatedAtDesc(report.getId())
+                .filter(latest -> latest.getAction() == DailyReportAuditAction.DRAFT_UPDATE
+                        && latest.getActorMembership() != null
+                        && latest.getActorMembership().getId().equals(membership.getId()))
+                .orElseGet(() -> {
+                    DailyReportAuditLog fresh = new DailyReportAuditLog();
+                    fresh.setDailyReport(report);
+                    fresh.setActorMembership(membership);
+                    fresh.setAction(DailyReportAuditAction.DRAFT_UPDATE);
+                    fresh.setOccurrences(0);
+                    return fresh;
+                });
+        log.setOccurrences(Math.toIntExact(log.getOccurrences() + saves));
+        log.setLastOccurredAt(now);
+        dailyReportAuditLogRepository.save(log);
+    }
+
     private void notifyManager(DailyReport report, DailyReportInputs inputs) {
         CompanyMembership agent = report.getAgentMembership();
         CompanyMembership manager = agent.getManagerMembership();
@@ -0,0 +1,149 @@
+package com.salesway.reports.service;
+
+import com.salesway.reports.entity.DailyReportInputs;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Summed report inputs over any set of reports, together with how many reports were summed.
+ * Also used as the signed delta a report write applies to the rollups.
+ */
+public record DailyReportTotals(
+        long reportCount,
+        long outboundDials,
+        long pickups,
+        long conversations30sPlus,
+        long salesCallBookedFromOutbound,
+        long salesCallOnCalendar,
+        long noShow,
+        long rescheduleRequest,
+        long cancel,
+        long deposits,
+        long salesOneCallClose,
+        long followupSales,
+        long upsellConversationTaken,
+        long upsells,
+        BigDecimal contractValue,
+        BigDecimal newCashCollected
+) {
+    public static final DailyReportTotals ZERO = new DailyReportTotals(
+            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO
+    );
+
+    public static final DailyReportTotals ONE_REPORT = new DailyReportTotals(
+            1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO
+    );
+
+    // rollup columns in component order
+    static final List<String> COLUMNS = List.of(
+            "report_count",
+            "outbound_dials",
+            "pickups",
+            "conversations_30s_plus",
+            "sales_call_booked_from_outbound",
+            "sales_call_on_calendar",
+            "no_show",
+            "reschedule_request",
+            "cancel",
+            "deposits",
+            "sales_one_call_close",
+            "followup_sales",
+            "upsell_conversation_taken",
+            "upsells",
+            "contract_value",
+            "new_cash_collected"
+    );
+
+    /**
+     * The inputs of one report, without counting the report itself.
+     */
+    public static DailyReportTotals of(DailyReportInputs inputs) {
+        return new DailyReportTotals(
+                0,
+                inputs.getOutboundDials(),
+                inputs.getPickups(),
+                inputs.getConversations30sPlus(),
+                inputs.getSalesCallBookedFromOutbound(),
+                inputs.getSalesCallOnCalendar(),
+                inputs.getNoShow(),
+                inputs.getRescheduleRequest(),
+                inputs.getCancel(),
+                inputs.getDeposits(),
+                inputs.getSalesOneCallClose(),
+                inputs.getFollowupSales(),
+                inputs.getUpsellConversationTaken(),
+                inputs.getUpsells(),
+                inputs.getContractValue(),
+                inputs.getNewCashCollected()
+        );
+    }
+
+    static DailyReportTotals fromRow(Object[] row) {
+        long[] counts = new long[14];
+        for (int index = 0; index < counts.length; index++) {
+            counts[index] = row[index] == null ? 0 : ((Number) row[index]).longValue();
+        }
+        return new DailyReportTotals(
+                counts[0], counts[1], counts[2], counts[3], counts[4], counts[5], counts[6],
+                counts[7], counts[8], counts[9], counts[10], counts[11], counts[12], counts[13],
+                decimal(row[14]),
+                decimal(row[15])
+        );
+    }
+
+    public DailyReportTotals minus(DailyReportTotals other) {
+        return new DailyReportTotals(
+                reportCount - other.reportCount,
+                outboundDials - other.outboundDials,
+                pickups - other.pickups,
+                conversations30sPlus - other.conversations30sPlus,
+                salesCallBookedFromOutbound - other.salesCallBookedFromOutbound,
+                salesCallOnCalendar - other.salesCallOnCalendar,
+                noShow - other.noShow,
+                rescheduleRequest - other.rescheduleRequest,
+                cancel - other.cancel,
+                deposits - other.deposits,
+                salesOneCallClose - other.salesOneCallClose,
+                followupSales - other.followupSales,
+                upsellConversationTaken - other.upsellConversationTaken,
+                upsells - other.upsells,
+                contractValue.subtract(other.contractValue),
+                newCashCollected.subtract(other.newCashCollected)
+        );
+    }
+
+    public boolean isZero() {
+        return values().stream().allMatch(value -> value instanceof BigDecimal decimal
+                ? decimal.signum() == 0
+                : (Long) value == 0L);
+    }
+
+    List<Object> values() {
+        return List.of(
+                reportCount,
+                outboundDials,
+                pickups,
+                conversations30sPlus,
+                salesCallBookedFromOutbound,
+                salesCallOnCalendar,
+                noShow,
+                rescheduleRequest,
+                cancel,
+                deposits,
+                salesOneCallClose,
+                followupSales,
+                upsellConversationTaken,
+                upsells,
+                contractValue,
+                newCashCollected
+        );
+    }
+
+    private static BigDecimal decimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+}
@@ -10,15 +10,29 @@ import java.util.List;
 
 public class CustomUserDetails implements UserDetails {
     private final User user;
+    private final PrincipalCache.MembershipRef tokenMembership;
 
     public CustomUserDetails(User user) {
+        this(user, null);
+    }
+
+    /**
+     * @param tokenMembership membership embedded in a current access token, or {@code null}
+     *                        when the principal was loaded from the database
+     */
+    public CustomUserDetails(User user, PrincipalCache.MembershipRef tokenMembership) {
         this.user = user;
+        this.tokenMembership = tokenMembership;
     }
 
     public User getUser() {
         return user;
     }
 
+    public PrincipalCache.MembershipRef getTokenMembership() {
+        return tokenMembership;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority("ROLE_USER"));
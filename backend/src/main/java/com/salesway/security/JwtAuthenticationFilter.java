@@ -1,5 +1,8 @@
 package com.salesway.security;
 
+import com.salesway.auth.entity.User;
+import com.salesway.auth.enums.PlatformRole;
+import com.salesway.common.enums.MembershipRole;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -13,15 +16,32 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    /**
+     * Request attribute holding the parsed claims of the bearer token, so later readers of the
+     * token do not verify it again.
+     */
+    public static final String CLAIMS_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".claims";
+
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenVersionService tokenVersionService;
 
-    public JwtAuthenticationFilter(JwtService jwtService, CustomUserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            CustomUserDetailsService userDetailsService,
+            PrincipalCache principalCache,
+            TokenVersionService tokenVersionService
+    ) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.tokenVersionService = tokenVersionService;
     }
 
     @Override
@@ -45,9 +65,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        request.setAttribute(CLAIMS_ATTRIBUTE, claims);
         String subject = claims.getSubject();
         if (subject != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            CustomUserDetails userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(subject);
+            CustomUserDetails userDetails = principalFromClaims(claims, subject)
+                    .orElseGet(() -> loadPrincipal(claims, subject));
+            if (!userDetails.isEnabled()) {
+                filterChain.doFilter(request, response);
+                return;
+            }
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -57,6 +83,60 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Builds the principal from a self-contained token without touching the database, as long
+     * as its version is still current. Tokens issued before the version claim existed, or whose
+     * claims went stale, fall back to {@link #loadPrincipal}.
+     */
+    private Optional<CustomUserDetails> principalFromClaims(Claims claims, String subject) {
+        Object userIdClaim = claims.get(JwtService.CLAIM_USER_ID);
+        Object membershipIdClaim = claims.get(JwtService.CLAIM_MEMBERSHIP_ID);
+        Object companyIdClaim = claims.get(JwtService.CLAIM_COMPANY_ID);
+        Object roleClaim = claims.get(JwtService.CLAIM_ROLE);
+        Object platformRoleClaim = claims.get(JwtService.CLAIM_PLATFORM_ROLE);
+        if (!(claims.get(JwtService.CLAIM_TOKEN_VERSION) instanceof Number tokenVersion)
+                || userIdClaim == null || membershipIdClaim == null || companyIdClaim == null
+                || roleClaim == null || platformRoleClaim == null) {
+            return Optional.empty();
+        }
+        try {
+            UUID userId = UUID.fromString(userIdClaim.toString());
+            if (!tokenVersionService.isCurrent(userId, tokenVersion.longValue())) {
+                return Optional.empty();
+            }
+            // detached and partial: only what callers read from the principal
+            User user = new User();
+            user.setId(userId);
+            user.setEmail(subject);
+            user.setFirstName((String) claims.get(JwtService.CLAIM_FIRST_NAME));
+            user.setLastName((String) claims.get(JwtService.CLAIM_LAST_NAME));
+            user.setPlatformRole(PlatformRole.valueOf(platformRoleClaim.toString()));
+            PrincipalCache.MembershipRef membership = new PrincipalCache.MembershipRef(
+                    UUID.fromString(membershipIdClaim.toString()),
+                    UUID.fromString(companyIdClaim.toString()),
+                    MembershipRole.valueOf(roleClaim.toString())
+            );
+            return Optional.of(new CustomUserDetails(user, membership));
+        } catch (IllegalArgumentException ignored) {
+            return Optional.empty();
+        }
+    }
+
+    private CustomUserDetails loadPrincipal(Claims claims, String subject) {
+        Object userIdClaim = claims.get(JwtService.CLAIM_USER_ID);
+        if (userIdClaim != null) {
+            try {
+                Optional<User> user = principalCache.findUser(UUID.fromString(userIdClaim.toString()));
+                if (user.isPresent() && user.get().getEmail().equalsIgnoreCase(subject)) {
+                    return new CustomUserDetails(user.get());
+                }
+            } catch (IllegalArgumentException ignored) {
+                // malformed claim, fall back to the subject lookup
+            }
+        }
+        return (CustomUserDetails) userDetailsService.loadUserByUsername(subject);
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String method = request.getMethod();
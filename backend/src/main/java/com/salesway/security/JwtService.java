@@ -1,5 +1,7 @@
 package com.salesway.security;
 
+import com.salesway.auth.entity.User;
+import com.salesway.memberships.entity.CompanyMembership;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -11,10 +13,20 @@ import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Service
 public class JwtService {
+    public static final String CLAIM_USER_ID = "userId";
+    public static final String CLAIM_COMPANY_ID = "companyId";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_MEMBERSHIP_ID = "membershipId";
+    public static final String CLAIM_PLATFORM_ROLE = "platformRole";
+    public static final String CLAIM_FIRST_NAME = "firstName";
+    public static final String CLAIM_LAST_NAME = "lastName";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
     private final Key signingKey;
     private final long expirationSeconds;
 
@@ -26,6 +38,23 @@ public class JwtService {
         this.expirationSeconds = expirationSeconds;
     }
 
+    /**
+     * Issues a token carrying everything {@link JwtAuthenticationFilter} needs to build the
+     * principal without a database lookup while {@code tokenVersion} is current.
+     */
+    public String generateAccessToken(User user, CompanyMembership membership, long tokenVersion) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId().toString());
+        claims.put(CLAIM_COMPANY_ID, membership.getCompany().getId().toString());
+        claims.put(CLAIM_ROLE, membership.getRole().name());
+        claims.put(CLAIM_MEMBERSHIP_ID, membership.getId().toString());
+        claims.put(CLAIM_PLATFORM_ROLE, user.getPlatformRole().name());
+        claims.put(CLAIM_FIRST_NAME, user.getFirstName());
+        claims.put(CLAIM_LAST_NAME, user.getLastName());
+        claims.put(CLAIM_TOKEN_VERSION, tokenVersion);
+        return generateToken(user.getEmail(), claims);
+    }
+
     public String generateToken(String subject, Map<String, Object> claims) {
         Instant now = Instant.now();
         return Jwts.builder()
@@ -0,0 +1,190 @@
+package com.salesway.security;
+
+import com.salesway.auth.entity.User;
+import com.salesway.auth.repository.UserRepository;
+import com.salesway.common.enums.MembershipRole;
+import com.salesway.common.enums.MembershipStatus;
+import com.salesway.memberships.repository.CompanyMembershipRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-node cache of authenticated users and their active memberships keyed by user id, so an
+ * authenticated request does not have to query {@code users} and {@code company_memberships}
+ * every time. Role, status, team and membership changes evict the user locally and publish the
+ * id on a Redis channel so other nodes evict too; the TTL bounds staleness when a message is
+ * missed.
+ *
+ * <p>Cached users are shared between requests and must be treated as read-only; code that
+ * changes a user reloads it first.
+ */
+@Service
+public class PrincipalCache {
+    public static final String PRINCIPAL_INVALIDATION_CHANNEL = "principal-invalidations";
+    private static final Logger LOG = LoggerFactory.getLogger(PrincipalCache.class);
+
+    private final UserRepository userRepository;
+    private final CompanyMembershipRepository companyMembershipRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final TokenVersionService tokenVersionService;
+    private final long ttlMs;
+    private final Map<UUID, CachedUser> usersById = new ConcurrentHashMap<>();
+    private final Map<UUID, CachedMemberships> membershipsByUserId = new ConcurrentHashMap<>();
+    // bumped on every eviction; a load that raced one is returned but not cached
+    private final AtomicLong evictions = new AtomicLong();
+    private final MessageListener invalidationListener = (message, pattern) -> onInvalidation(message.getBody());
+    private volatile boolean subscribed;
+
+    public PrincipalCache(
+            UserRepository userRepository,
+            CompanyMembershipRepository companyMembershipRepository,
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            TokenVersionService tokenVersionService,
+            @Value("${app.security.principal-cache-ttl-ms:30000}") long ttlMs
+    ) {
+        this.userRepository = userRepository;
+        this.companyMembershipRepository = companyMembershipRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.tokenVersionService = tokenVersionService;
+        this.ttlMs = ttlMs;
+    }
+
+    public Optional<User> findUser(UUID userId) {
+        CachedUser cached = usersById.get(userId);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAtMs() < ttlMs) {
+            return Optional.of(cached.user());
+        }
+        long evictionsBeforeLoad = evictions.get();
+        Optional<User> user = userRepository.findById(userId);
+        if (user.isPresent() && evictions.get() == evictionsBeforeLoad) {
+            usersById.put(userId, new CachedUser(user.get(), System.currentTimeMillis()));
+        }
+        return user;
+    }
+
+    /**
+     * Active memberships of the user, most recently updated first.
+     */
+    public List<MembershipRef> findActiveMemberships(UUID userId) {
+        CachedMemberships cached = membershipsByUserId.get(userId);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAtMs() < ttlMs) {
+            return cached.memberships();
+        }
+        long evictionsBeforeLoad = evictions.get();
+        List<MembershipRef> memberships = companyMembershipRepository
+                .findByUserIdAndStatusInOrderByUpdatedAtDescCreatedAtDescIdDesc(userId, EnumSet.of(MembershipStatus.ACTIVE))
+                .stream()
+                .map(membership -> new MembershipRef(membership.getId(), membership.getCompany().getId(), membership.getRole()))
+                .toList();
+        if (evictions.get() == evictionsBeforeLoad) {
+            membershipsByUserId.put(userId, new CachedMemberships(memberships, System.currentTimeMillis()));
+        }
+        return memberships;
+    }
+
+    /**
+     * Evicts the given users once the surrounding transaction commits (immediately when there
+     * is none), so no node can reload the pre-change state in between, and marks the claims
+     * of their issued access tokens as stale.
+     */
+    public void invalidate(UUID... userIds) {
+        List<UUID> ids = Arrays.stream(userIds).filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        tokenVersionService.revoke(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAndPublish(ids);
+                }
+            });
+        } else {
+            evictAndPublish(ids);
+        }
+    }
+
+    /**
+     * Drops the local entries right away, for callers that found the cached state stale.
+     */
+    public void evictLocally(UUID userId) {
+        evictions.incrementAndGet();
+        usersById.remove(userId);
+        membershipsByUserId.remove(userId);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.security.principal-cache-subscribe-initial-delay-ms:0}",
+            fixedDelayString = "${app.security.principal-cache-subscribe-retry-ms:30000}"
+    )
+    public void ensureSubscribed() {
+        if (subscribed) {
+            return;
+        }
+        try {
+            listenerContainer.addMessageListener(invalidationListener, new ChannelTopic(PRINCIPAL_INVALIDATION_CHANNEL));
+            subscribed = true;
+            LOG.info("Principal cache subscribed to invalidation channel={}", PRINCIPAL_INVALIDATION_CHANNEL);
+        } catch (RuntimeException exception) {
+            LOG.warn("Principal cache could not subscribe to invalidations, relying on TTL ttlMs={}: {}",
+                    ttlMs, exception.getMessage());
+        }
+    }
+
+    private void onInvalidation(byte[] body) {
+        Object userId = redisTemplate.getValueSerializer().deserialize(body);
+        if (userId == null) {
+            return;
+        }
+        try {
+            evictLocally(UUID.fromString(userId.toString()));
+        } catch (IllegalArgumentException exception) {
+            LOG.warn("Ignoring malformed principal invalidation payload={}", userId);
+        }
+    }
+
+    private void evictAndPublish(List<UUID> userIds) {
+        for (UUID userId : userIds) {
+            evictLocally(userId);
+            try {
+                redisTemplate.convertAndSend(PRINCIPAL_INVALIDATION_CHANNEL, userId.toString());
+            } catch (DataAccessException exception) {
+                LOG.warn("Failed to publish principal invalidation userId={}, other nodes refresh within ttlMs={}",
+                        userId, ttlMs, exception);
+            }
+        }
+    }
+
+    public record MembershipRef(UUID membershipId, UUID companyId, MembershipRole role) {
+    }
+
+    private record CachedUser(User user, long loadedAtMs) {
+    }
+
+    private record CachedMemberships(List<MembershipRef> memberships, long loadedAtMs) {
+    }
+}
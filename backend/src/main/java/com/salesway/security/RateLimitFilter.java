@@ -0,0 +1,175 @@
+package com.salesway.security;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.salesway.security.RateLimitPolicy.Scope.CLIENT_IP;
+import static com.salesway.security.RateLimitPolicy.Scope.COMPANY;
+import static com.salesway.security.RateLimitPolicy.Scope.FORM_SLUG;
+import static com.salesway.security.RateLimitPolicy.Scope.USER;
+
+/**
+ * Applies {@link RateLimitPolicy per-route budgets} to the public and abuse-prone endpoints
+ * before they reach the database. Runs after {@link JwtAuthenticationFilter} so user and
+ * company scopes can read the authenticated principal. The client IP scope uses the remote
+ * address, which {@code server.forward-headers-strategy=native} resolves from
+ * {@code X-Forwarded-For} only across trusted proxies, so a client cannot pick its own key by
+ * sending the header. Each policy's limit and window can be
+ * overridden with {@code app.rate-limit.<policy>.limit} and
+ * {@code app.rate-limit.<policy>.window-seconds}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final Logger LOG = LoggerFactory.getLogger(RateLimitFilter.class);
+    private static final String PUBLIC_SUBMIT_PATH = "/public/lead-form/{publicSlug}/submit";
+
+    private final RateLimiter rateLimiter;
+    private final boolean enabled;
+    private final List<RateLimitPolicy> policies;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(
+            RateLimiter rateLimiter,
+            Environment environment,
+            @Value("${app.rate-limit.enabled:true}") boolean enabled
+    ) {
+        this.rateLimiter = rateLimiter;
+        this.enabled = enabled;
+        List<RateLimitPolicy> configured = new ArrayList<>();
+        configured.add(policy(environment, "public-submit-ip", HttpMethod.POST, PUBLIC_SUBMIT_PATH, List.of(CLIENT_IP, FORM_SLUG), 10, 60));
+        configured.add(policy(environment, "public-submit-form", HttpMethod.POST, PUBLIC_SUBMIT_PATH, List.of(FORM_SLUG), 300, 60));
+        configured.add(policy(environment, "login", HttpMethod.POST, "/auth/login", List.of(CLIENT_IP), 10, 60));
+        configured.add(policy(environment, "payment-link", HttpMethod.POST, "/auth/checkout/send-payment-link", List.of(CLIENT_IP), 5, 600));
+        configured.add(policy(environment, "chatbot-user", HttpMethod.POST, "/chatbot/chat", List.of(USER), 20, 60));
+        configured.add(policy(environment, "chatbot-company", HttpMethod.POST, "/chatbot/chat", List.of(COMPANY), 200, 60));
+        this.policies = List.copyOf(configured);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String path = normalizePath(request.getServletPath());
+        for (RateLimitPolicy policy : policies) {
+            if (!policy.method().matches(request.getMethod()) || !pathMatcher.match(policy.pathPattern(), path)) {
+                continue;
+            }
+            String key = resolveKey(policy, request, path);
+            if (key == null) {
+                continue;
+            }
+            long retryAfterMs = rateLimiter.acquire(policy, key);
+            if (retryAfterMs > 0) {
+                LOG.info("Rate limit exceeded policy={} key={} retryAfterMs={}", policy.name(), key, retryAfterMs);
+                reject(response, retryAfterMs);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || "OPTIONS".equalsIgnoreCase(request.getMethod());
+    }
+
+    /**
+     * Joins the values of the policy's scopes, or returns {@code null} when one is unavailable
+     * (an anonymous call to a user-scoped route is rejected by security anyway).
+     */
+    private String resolveKey(RateLimitPolicy policy, HttpServletRequest request, String path) {
+        StringBuilder key = new StringBuilder();
+        for (RateLimitPolicy.Scope scope : policy.scopes()) {
+            String value = switch (scope) {
+                case CLIENT_IP -> request.getRemoteAddr();
+                case USER -> currentUserId();
+                case COMPANY -> tokenCompanyId(request);
+                case FORM_SLUG -> pathVariable(policy, path, "publicSlug");
+            };
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            if (!key.isEmpty()) {
+                key.append('|');
+            }
+            key.append(value);
+        }
+        return key.toString();
+    }
+
+    private String pathVariable(RateLimitPolicy policy, String path, String name) {
+        Map<String, String> variables = pathMatcher.extractUriTemplateVariables(policy.pathPattern(), path);
+        String value = variables.get(name);
+        return value == null ? null : value.toLowerCase();
+    }
+
+    private String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails userDetails)) {
+            return null;
+        }
+        return userDetails.getUser().getId().toString();
+    }
+
+    private String tokenCompanyId(HttpServletRequest request) {
+        if (!(request.getAttribute(JwtAuthenticationFilter.CLAIMS_ATTRIBUTE) instanceof Claims claims)) {
+            return null;
+        }
+        Object companyId = claims.get(JwtService.CLAIM_COMPANY_ID);
+        return companyId == null ? null : companyId.toString();
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterMs) throws IOException {
+        long retryAfterSeconds = Math.max(1, (retryAfterMs + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many requests, retry later\",\"fieldErrors\":[]}");
+    }
+
+    private static RateLimitPolicy policy(
+            Environment environment,
+            String name,
+            HttpMethod method,
+            String pathPattern,
+            List<RateLimitPolicy.Scope> scopes,
+            int defaultLimit,
+            long defaultWindowSeconds
+    ) {
+        String prefix = "app.rate-limit." + name + ".";
+        int limit = environment.getProperty(prefix + "limit", Integer.class, defaultLimit);
+        long windowSeconds = environment.getProperty(prefix + "window-seconds", Long.class, defaultWindowSeconds);
+        return new RateLimitPolicy(name, method, pathPattern, scopes, limit, Duration.ofSeconds(windowSeconds));
+    }
+
+    private String normalizePath(String path) {
+        if (path == null || path.length() <= 1) {
+            return path;
+        }
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+}
@@ -0,0 +1,30 @@
+package com.salesway.security;
+
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A request budget for one route: at most {@code limit} requests per {@code window} for each
+ * distinct combination of the values named by {@code scopes}.
+ *
+ * @param pathPattern Ant-style pattern matched against the servlet path; may bind
+ *                    {@code {publicSlug}} for {@link Scope#FORM_SLUG}
+ */
+public record RateLimitPolicy(
+        String name,
+        HttpMethod method,
+        String pathPattern,
+        List<Scope> scopes,
+        int limit,
+        Duration window
+) {
+    public enum Scope {
+        CLIENT_IP,
+        USER,
+        // taken from the signed token, not from X-Company-Id, so callers cannot spend another company's budget
+        COMPANY,
+        FORM_SLUG
+    }
+}
@@ -0,0 +1,119 @@
+package com.salesway.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sliding-window rate limiter shared by all nodes through Redis. Each key is a sorted set of
+ * request timestamps trimmed to the window, so a burst at a window boundary cannot pass twice
+ * the limit. When Redis is unreachable every node falls back to its own fixed-window counters:
+ * the effective limit grows with the node count, but the database stays protected.
+ */
+@Service
+public class RateLimiter {
+    private static final Logger LOG = LoggerFactory.getLogger(RateLimiter.class);
+    private static final String KEY_PREFIX = "rate-limit:";
+    private static final long FALLBACK_WARN_INTERVAL_MS = 60_000;
+    // returns 0 when the request is admitted, otherwise the milliseconds until a slot frees up
+    private static final RedisScript<Long> SLIDING_WINDOW = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            if redis.call('ZCARD', KEYS[1]) < tonumber(ARGV[3]) then
+                redis.call('ZADD', KEYS[1], now, ARGV[4])
+                redis.call('PEXPIRE', KEYS[1], window)
+                return 0
+            end
+            local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+            return math.max(1, tonumber(oldest[2]) + window - now)
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxLocalKeys;
+    private final Map<String, LocalWindow> localWindows = new ConcurrentHashMap<>();
+    private final AtomicLong lastFallbackWarningAtMs = new AtomicLong();
+
+    public RateLimiter(
+            RedisTemplate<String, Object> redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.max-local-keys:100000}") int maxLocalKeys
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxLocalKeys = maxLocalKeys;
+    }
+
+    /**
+     * Counts one request against {@code key} under the policy.
+     *
+     * @return 0 when the request may proceed, otherwise the milliseconds to wait
+     */
+    public long acquire(RateLimitPolicy policy, String key) {
+        long nowMs = System.currentTimeMillis();
+        long retryAfterMs;
+        String backend;
+        try {
+            Long result = redisTemplate.execute(
+                    SLIDING_WINDOW,
+                    List.of(KEY_PREFIX + policy.name() + ":" + key),
+                    nowMs,
+                    policy.window().toMillis(),
+                    (long) policy.limit(),
+                    nowMs + ":" + UUID.randomUUID()
+            );
+            retryAfterMs = result == null ? 0 : result;
+            backend = "redis";
+        } catch (DataAccessException exception) {
+            warnFallback(exception);
+            retryAfterMs = acquireLocally(policy, policy.name() + ":" + key, nowMs);
+            backend = "local";
+        }
+        Counter.builder("rate_limit.decisions")
+                .tag("policy", policy.name())
+                .tag("outcome", retryAfterMs == 0 ? "allowed" : "rejected")
+                .tag("backend", backend)
+                .register(meterRegistry)
+                .increment();
+        return retryAfterMs;
+    }
+
+    private long acquireLocally(RateLimitPolicy policy, String key, long nowMs) {
+        if (localWindows.size() > maxLocalKeys) {
+            localWindows.entrySet().removeIf(entry -> entry.getValue().windowEndsAtMs() <= nowMs);
+        }
+        LocalWindow window = localWindows.compute(key, (ignored, existing) -> {
+            if (existing == null || existing.windowEndsAtMs() <= nowMs) {
+                return new LocalWindow(1, nowMs + policy.window().toMillis());
+            }
+            return new LocalWindow(existing.requests() + 1, existing.windowEndsAtMs());
+        });
+        return window.requests() <= policy.limit() ? 0 : window.windowEndsAtMs() - nowMs;
+    }
+
+    private void warnFallback(DataAccessException exception) {
+        long nowMs = System.currentTimeMillis();
+        long lastWarningAtMs = lastFallbackWarningAtMs.get();
+        if (nowMs - lastWarningAtMs >= FALLBACK_WARN_INTERVAL_MS
+                && lastFallbackWarningAtMs.compareAndSet(lastWarningAtMs, nowMs)) {
+            LOG.warn("Rate limiter cannot reach Redis, enforcing per-node limits: {}", exception.getMessage());
+        }
+    }
+
+    private record LocalWindow(int requests, long windowEndsAtMs) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.salesway.security;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.Supplier;
+
+/**
+ * Memoizes a value for the lifetime of the current HTTP request. Outside a request (scheduled
+ * jobs, async workers) the loader runs every time. Failures are not memoized.
+ */
+public final class RequestMemo {
+    private static final String ATTRIBUTE_PREFIX = RequestMemo.class.getName() + ".";
+
+    private RequestMemo() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T computeIfAbsent(String key, Supplier<T> loader) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return loader.get();
+        }
+        String attribute = ATTRIBUTE_PREFIX + key;
+        Object memoized = attributes.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST);
+        if (memoized != null) {
+            return (T) memoized;
+        }
+        T value = loader.get();
+        if (value != null) {
+            attributes.setAttribute(attribute, value, RequestAttributes.SCOPE_REQUEST);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,129 @@
+package com.salesway.security;
+
+import com.salesway.auth.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Versions the claims embedded in access tokens. {@code users.token_version} is the source of
+ * truth and is bumped in the transaction that changes a user's memberships; once it commits
+ * the new version is mirrored to Redis, where {@link JwtAuthenticationFilter} checks it on
+ * every request. A token carrying an older version is no longer trusted on its own and the
+ * principal is loaded from the database instead until the client refreshes it.
+ */
+@Service
+public class TokenVersionService {
+    private static final Logger LOG = LoggerFactory.getLogger(TokenVersionService.class);
+    private static final String VERSION_KEY_PREFIX = "auth:token-version:";
+    // written for users that no longer exist, so every token they hold is stale
+    private static final long REVOKED_VERSION = Long.MAX_VALUE;
+    private static final RedisScript<Long> SET_IF_GREATER = new DefaultRedisScript<>("""
+            local current = tonumber(redis.call('GET', KEYS[1]) or '-1')
+            if current < tonumber(ARGV[1]) then
+                redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Duration versionTtl;
+
+    public TokenVersionService(
+            UserRepository userRepository,
+            RedisTemplate<String, Object> redisTemplate,
+            @Value("${app.security.jwt.expiration-seconds}") long expirationSeconds
+    ) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        // a mirrored version only has to outlive the tokens it makes stale
+        this.versionTtl = Duration.ofSeconds(expirationSeconds);
+    }
+
+    /**
+     * Version to embed in a token issued now; reads the database so a bump earlier in the
+     * same transaction is included.
+     */
+    public long issueVersion(UUID userId) {
+        return userRepository.findTokenVersionById(userId).orElse(0L);
+    }
+
+    public boolean isCurrent(UUID userId, long tokenVersion) {
+        String key = VERSION_KEY_PREFIX + userId;
+        try {
+            Object mirrored = redisTemplate.opsForValue().get(key);
+            if (mirrored instanceof Number number) {
+                return tokenVersion >= number.longValue();
+            }
+            long current = userRepository.findTokenVersionById(userId).orElse(REVOKED_VERSION);
+            // only fills a missing key, so it cannot overwrite a newer version published meanwhile
+            redisTemplate.opsForValue().setIfAbsent(key, current, versionTtl);
+            return tokenVersion >= current;
+        } catch (DataAccessException exception) {
+            LOG.warn("Token version lookup failed in Redis for userId={}, using the database: {}",
+                    userId, exception.getMessage());
+            return tokenVersion >= userRepository.findTokenVersionById(userId).orElse(REVOKED_VERSION);
+        }
+    }
+
+    /**
+     * Makes every token issued so far to the given users stale. Must run inside the
+     * transaction that changes them; the new versions are published once it commits.
+     */
+    public void revoke(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        userRepository.incrementTokenVersions(userIds);
+        Map<UUID, Long> versions = new HashMap<>();
+        for (Object[] row : userRepository.findTokenVersionsByIdIn(userIds)) {
+            versions.put((UUID) row[0], ((Number) row[1]).longValue());
+        }
+        for (UUID userId : userIds) {
+            versions.putIfAbsent(userId, REVOKED_VERSION);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(versions);
+                }
+            });
+        } else {
+            publish(versions);
+        }
+    }
+
+    private void publish(Map<UUID, Long> versions) {
+        versions.forEach((userId, version) -> {
+            try {
+                redisTemplate.execute(
+                        SET_IF_GREATER,
+                        List.of(VERSION_KEY_PREFIX + userId),
+                        version,
+                        versionTtl.toMillis()
+                );
+            } catch (DataAccessException exception) {
+                // the filter reads the database when Redis is unreachable, but a reachable Redis
+                // holding the old version keeps accepting stale claims until the key expires
+                LOG.error("Failed to publish token version userId={} version={}", userId, version, exception);
+            }
+        });
+    }
+}
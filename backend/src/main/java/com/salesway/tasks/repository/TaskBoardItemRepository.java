@@ -30,6 +30,18 @@ public interface TaskBoardItemRepository extends JpaRepository<TaskBoardItem, UU
             @Param("doneStatus") TaskBoardStatus doneStatus
     );
 
+    @Query("""
+            select t.leadId, count(t) from TaskBoardItem t
+            where t.membership.id = :membershipId
+              and t.leadId is not null
+              and t.status <> :doneStatus
+            group by t.leadId
+            """)
+    List<Object[]> countOpenByLeadForMembershipId(
+            @Param("membershipId") UUID membershipId,
+            @Param("doneStatus") TaskBoardStatus doneStatus
+    );
+
     @Query("""
             select t from TaskBoardItem t
             join t.membership m
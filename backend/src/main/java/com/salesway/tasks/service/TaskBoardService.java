@@ -5,6 +5,7 @@ import com.salesway.leads.entity.Lead;
 import com.salesway.leads.enums.LeadEventType;
 import com.salesway.leads.repository.LeadRepository;
 import com.salesway.leads.service.LeadEventService;
+import com.salesway.leads.service.LeadOpenTaskService;
 import com.salesway.memberships.entity.CompanyMembership;
 import com.salesway.memberships.repository.CompanyMembershipRepository;
 import com.salesway.security.AuthenticatedUserService;
@@ -36,6 +37,7 @@ public class TaskBoardService {
     private final CompanyMembershipRepository companyMembershipRepository;
     private final LeadRepository leadRepository;
     private final LeadEventService leadEventService;
+    private final LeadOpenTaskService leadOpenTaskService;
     private final AuthenticatedUserService authenticatedUserService;
 
     public TaskBoardService(
@@ -43,12 +45,14 @@ public class TaskBoardService {
             CompanyMembershipRepository companyMembershipRepository,
             LeadRepository leadRepository,
             LeadEventService leadEventService,
+            LeadOpenTaskService leadOpenTaskService,
             AuthenticatedUserService authenticatedUserService
     ) {
         this.taskBoardItemRepository = taskBoardItemRepository;
         this.companyMembershipRepository = companyMembershipRepository;
         this.leadRepository = leadRepository;
         this.leadEventService = leadEventService;
+        this.leadOpenTaskService = leadOpenTaskService;
         this.authenticatedUserService = authenticatedUserService;
     }
 
@@ -122,6 +126,7 @@ public class TaskBoardService {
 
         TaskBoardItem saved = taskBoardItemRepository.save(task);
         appendTaskEventOnCreate(saved, companyId);
+        leadOpenTaskService.taskCreated(saved.getLeadId(), saved.getStatus());
         return toResponse(saved);
     }
 
@@ -134,6 +139,7 @@ public class TaskBoardService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
 
         TaskBoardStatus oldStatus = task.getStatus();
+        UUID oldLeadId = task.getLeadId();
         task.setTitle(request.getTitle());
         task.setGoal(request.resolvedGoal());
         task.setDeadline(request.resolvedDeadline());
@@ -143,6 +149,7 @@ public class TaskBoardService {
 
         TaskBoardItem saved = taskBoardItemRepository.save(task);
         appendTaskEventOnUpdate(saved, companyId, oldStatus);
+        leadOpenTaskService.taskChanged(oldLeadId, oldStatus, saved.getLeadId(), saved.getStatus());
         return toResponse(saved);
     }
 
@@ -152,6 +159,7 @@ public class TaskBoardService {
         TaskBoardItem task = taskBoardItemRepository.findByIdAndCompanyId(taskId, membership.getCompany().getId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
         taskBoardItemRepository.delete(task);
+        leadOpenTaskService.taskDeleted(task.getLeadId(), task.getStatus());
     }
 
     private TaskBoardResponse toResponse(TaskBoardItem item) {
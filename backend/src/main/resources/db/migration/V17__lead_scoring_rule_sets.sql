@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS lead_scoring_rule_sets (
+    id UUID PRIMARY KEY,
+    company_id UUID NOT NULL,
+    rules JSONB NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL,
+    CONSTRAINT uq_lead_scoring_rule_sets_company UNIQUE (company_id),
+    CONSTRAINT fk_lead_scoring_rule_sets_company FOREIGN KEY (company_id) REFERENCES companies(id)
+);
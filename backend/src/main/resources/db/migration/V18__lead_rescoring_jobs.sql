@@ -0,0 +1,26 @@
+CREATE TABLE IF NOT EXISTS lead_rescoring_jobs (
+    id UUID PRIMARY KEY,
+    company_id UUID NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    requested_by_user_id UUID,
+    total_leads INTEGER NOT NULL DEFAULT 0,
+    processed_leads INTEGER NOT NULL DEFAULT 0,
+    last_lead_id UUID,
+    locked_until TIMESTAMPTZ,
+    started_at TIMESTAMPTZ,
+    finished_at TIMESTAMPTZ,
+    error TEXT,
+    created_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL,
+    CONSTRAINT fk_lead_rescoring_jobs_company FOREIGN KEY (company_id) REFERENCES companies(id),
+    CONSTRAINT chk_lead_rescoring_jobs_status CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_lead_rescoring_jobs_status_created
+    ON lead_rescoring_jobs (status, created_at);
+
+CREATE INDEX IF NOT EXISTS idx_lead_rescoring_jobs_company_created
+    ON lead_rescoring_jobs (company_id, created_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_leads_company_id_keyset
+    ON leads (company_id, id);
@@ -0,0 +1,39 @@
+ALTER TABLE leads
+    ADD COLUMN IF NOT EXISTS email_hash VARCHAR(64);
+
+ALTER TABLE leads
+    ADD COLUMN IF NOT EXISTS phone_hash VARCHAR(64);
+
+-- Mirrors LeadContactNormalizer: lower-cased email, phone in E.164 with +40 as the default country.
+WITH normalized AS (
+    SELECT sf.lead_id,
+           NULLIF(lower(trim(sf.email)), '') AS email,
+           trim(sf.phone) AS raw_phone,
+           regexp_replace(sf.phone, '[^0-9]', '', 'g') AS digits
+    FROM lead_standard_fields sf
+), e164 AS (
+    SELECT lead_id,
+           email,
+           CASE
+               WHEN digits = '' THEN NULL
+               WHEN raw_phone LIKE '+%' THEN '+' || digits
+               WHEN digits LIKE '00%' THEN '+' || substr(digits, 3)
+               WHEN digits LIKE '0%' THEN '+40' || substr(digits, 2)
+               WHEN length(digits) = 9 THEN '+40' || digits
+               ELSE '+' || digits
+           END AS phone
+    FROM normalized
+)
+UPDATE leads l
+SET email_hash = encode(sha256(convert_to(e164.email, 'UTF8')), 'hex'),
+    phone_hash = encode(sha256(convert_to(e164.phone, 'UTF8')), 'hex')
+FROM e164
+WHERE e164.lead_id = l.id
+  AND l.email_hash IS NULL
+  AND l.phone_hash IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_leads_company_email_hash_submitted
+    ON leads (company_id, email_hash, submitted_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_leads_company_phone_hash_submitted
+    ON leads (company_id, phone_hash, submitted_at DESC);
@@ -0,0 +1,8 @@
+ALTER TABLE leads
+    ADD COLUMN IF NOT EXISTS intake_id UUID;
+
+-- Submissions accepted through the async intake buffer keep their intake id, so a batch that is
+-- redelivered after a crash cannot create the same lead twice.
+CREATE UNIQUE INDEX IF NOT EXISTS uq_leads_intake_id
+    ON leads (intake_id)
+    WHERE intake_id IS NOT NULL;
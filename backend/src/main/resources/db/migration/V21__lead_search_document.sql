@@ -0,0 +1,49 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+ALTER TABLE leads
+    ADD COLUMN IF NOT EXISTS search_document TEXT;
+
+ALTER TABLE leads
+    ADD COLUMN IF NOT EXISTS search_phone_digits VARCHAR(32);
+
+-- Mirrors LeadSearchDocument: folded names and email, then the E.164 phone digits and, for
+-- Romanian numbers, the national form with a leading 0.
+WITH normalized AS (
+    SELECT sf.lead_id,
+           lower(unaccent(concat_ws(' ', trim(sf.first_name), trim(sf.last_name), trim(sf.email)))) AS text_part,
+           trim(sf.phone) AS raw_phone,
+           regexp_replace(sf.phone, '[^0-9]', '', 'g') AS digits
+    FROM lead_standard_fields sf
+), e164 AS (
+    SELECT lead_id,
+           regexp_replace(text_part, '\s+', ' ', 'g') AS text_part,
+           CASE
+               WHEN digits = '' THEN NULL
+               WHEN raw_phone LIKE '+%' THEN digits
+               WHEN digits LIKE '00%' THEN substr(digits, 3)
+               WHEN digits LIKE '0%' THEN '40' || substr(digits, 2)
+               WHEN length(digits) = 9 THEN '40' || digits
+               ELSE digits
+           END AS phone_digits
+    FROM normalized
+)
+UPDATE leads l
+SET search_document = concat_ws(
+        ' ',
+        NULLIF(e164.text_part, ''),
+        e164.phone_digits,
+        CASE WHEN e164.phone_digits LIKE '40%' THEN '0' || substr(e164.phone_digits, 3) END
+    ),
+    search_phone_digits = e164.phone_digits
+FROM e164
+WHERE e164.lead_id = l.id
+  AND l.search_document IS NULL;
+
+-- Serves the substring terms of the list search box (LIKE '%term%').
+CREATE INDEX IF NOT EXISTS idx_leads_search_document_trgm
+    ON leads USING gin (search_document gin_trgm_ops);
+
+-- Serves prefix matches on phone digits (LIKE '4074%').
+CREATE INDEX IF NOT EXISTS idx_leads_company_search_phone_digits
+    ON leads (company_id, search_phone_digits text_pattern_ops);
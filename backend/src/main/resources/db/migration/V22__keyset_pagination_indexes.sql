@@ -0,0 +1,9 @@
+-- Keyset pages seek on (sort key, id), so the tie-breaking id is part of every index.
+CREATE INDEX IF NOT EXISTS idx_leads_company_submitted_id
+    ON leads (company_id, submitted_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_leads_company_activity_id
+    ON leads (company_id, (COALESCE(last_activity_at, submitted_at)) DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_lead_events_company_lead_created_id
+    ON lead_events (company_id, lead_id, created_at DESC, id DESC);
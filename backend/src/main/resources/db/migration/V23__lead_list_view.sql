@@ -0,0 +1,75 @@
+CREATE TABLE IF NOT EXISTS lead_list_view (
+    lead_id UUID PRIMARY KEY,
+    company_id UUID NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    source VARCHAR(255) NOT NULL,
+    stage_id UUID,
+    assigned_to_user_id UUID,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    phone VARCHAR(255) NOT NULL,
+    submitted_at TIMESTAMPTZ NOT NULL,
+    last_activity_at TIMESTAMPTZ,
+    ai_score INTEGER,
+    open_task_count INTEGER NOT NULL DEFAULT 0,
+    duplicate_group_id UUID,
+    search_document TEXT,
+    search_phone_digits VARCHAR(32),
+    created_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL,
+    CONSTRAINT fk_lead_list_view_lead FOREIGN KEY (lead_id) REFERENCES leads(id) ON DELETE CASCADE
+);
+
+INSERT INTO lead_list_view (
+    lead_id, company_id, status, source, stage_id, assigned_to_user_id,
+    first_name, last_name, email, phone, submitted_at, last_activity_at, ai_score,
+    open_task_count, duplicate_group_id, search_document, search_phone_digits, created_at, updated_at
+)
+SELECT l.id,
+       l.company_id,
+       l.status,
+       l.source,
+       l.stage_id,
+       l.assigned_to_user_id,
+       sf.first_name,
+       sf.last_name,
+       sf.email,
+       sf.phone,
+       l.submitted_at,
+       l.last_activity_at,
+       l.ai_score,
+       COALESCE(open_tasks.open_task_count, 0),
+       l.duplicate_group_id,
+       l.search_document,
+       l.search_phone_digits,
+       now(),
+       now()
+FROM leads l
+JOIN lead_standard_fields sf ON sf.lead_id = l.id
+LEFT JOIN (
+    SELECT t.lead_id, count(*) AS open_task_count
+    FROM task_board_items t
+    WHERE t.lead_id IS NOT NULL
+      AND t.status <> 'DONE'
+    GROUP BY t.lead_id
+) open_tasks ON open_tasks.lead_id = l.id
+ON CONFLICT (lead_id) DO NOTHING;
+
+CREATE INDEX IF NOT EXISTS idx_lead_list_view_company_submitted
+    ON lead_list_view (company_id, submitted_at DESC, lead_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_lead_list_view_company_activity
+    ON lead_list_view (company_id, (COALESCE(last_activity_at, submitted_at)) DESC, lead_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_lead_list_view_company_status_submitted
+    ON lead_list_view (company_id, status, submitted_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_lead_list_view_company_assignee_submitted
+    ON lead_list_view (company_id, assigned_to_user_id, submitted_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_lead_list_view_search_document_trgm
+    ON lead_list_view USING gin (search_document gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_lead_list_view_company_search_phone_digits
+    ON lead_list_view (company_id, search_phone_digits text_pattern_ops);
@@ -0,0 +1,31 @@
+ALTER TABLE leads ADD COLUMN IF NOT EXISTS open_task_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE leads l
+SET open_task_count = open_tasks.open_task_count
+FROM (
+    SELECT t.lead_id, count(*) AS open_task_count
+    FROM task_board_items t
+    WHERE t.lead_id IS NOT NULL
+      AND t.status <> 'DONE'
+    GROUP BY t.lead_id
+) open_tasks
+WHERE open_tasks.lead_id = l.id
+  AND l.open_task_count <> open_tasks.open_task_count;
+
+UPDATE lead_list_view v
+SET open_task_count = l.open_task_count
+FROM leads l
+WHERE l.id = v.lead_id
+  AND v.open_task_count <> l.open_task_count;
+
+CREATE INDEX IF NOT EXISTS idx_leads_company_open_tasks
+    ON leads (company_id, submitted_at DESC)
+    WHERE open_task_count > 0;
+
+CREATE INDEX IF NOT EXISTS idx_lead_list_view_company_open_tasks
+    ON lead_list_view (company_id, submitted_at DESC)
+    WHERE open_task_count > 0;
+
+CREATE INDEX IF NOT EXISTS idx_task_board_items_lead_status
+    ON task_board_items (lead_id, status)
+    WHERE lead_id IS NOT NULL;
@@ -0,0 +1,71 @@
+CREATE TABLE IF NOT EXISTS daily_report_rollups (
+    scope_type VARCHAR(16) NOT NULL,
+    scope_id UUID NOT NULL,
+    grain VARCHAR(8) NOT NULL,
+    period_start DATE NOT NULL,
+    company_id UUID NOT NULL,
+    report_count BIGINT NOT NULL DEFAULT 0,
+    outbound_dials BIGINT NOT NULL DEFAULT 0,
+    pickups BIGINT NOT NULL DEFAULT 0,
+    conversations_30s_plus BIGINT NOT NULL DEFAULT 0,
+    sales_call_booked_from_outbound BIGINT NOT NULL DEFAULT 0,
+    sales_call_on_calendar BIGINT NOT NULL DEFAULT 0,
+    no_show BIGINT NOT NULL DEFAULT 0,
+    reschedule_request BIGINT NOT NULL DEFAULT 0,
+    cancel BIGINT NOT NULL DEFAULT 0,
+    deposits BIGINT NOT NULL DEFAULT 0,
+    sales_one_call_close BIGINT NOT NULL DEFAULT 0,
+    followup_sales BIGINT NOT NULL DEFAULT 0,
+    upsell_conversation_taken BIGINT NOT NULL DEFAULT 0,
+    upsells BIGINT NOT NULL DEFAULT 0,
+    contract_value NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    new_cash_collected NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL,
+    CONSTRAINT pk_daily_report_rollups PRIMARY KEY (scope_type, scope_id, grain, period_start)
+);
+
+CREATE INDEX IF NOT EXISTS idx_daily_report_rollups_company
+    ON daily_report_rollups (company_id);
+
+INSERT INTO daily_report_rollups (
+    scope_type, scope_id, grain, period_start, company_id, report_count,
+    outbound_dials, pickups, conversations_30s_plus, sales_call_booked_from_outbound,
+    sales_call_on_calendar, no_show, reschedule_request, cancel, deposits,
+    sales_one_call_close, followup_sales, upsell_conversation_taken, upsells,
+    contract_value, new_cash_collected, updated_at
+)
+SELECT scope.scope_type,
+       scope.scope_id,
+       period.grain,
+       period.period_start,
+       r.company_id,
+       count(*),
+       COALESCE(sum(i.outbound_dials), 0),
+       COALESCE(sum(i.pickups), 0),
+       COALESCE(sum(i.conversations_30s_plus), 0),
+       COALESCE(sum(i.sales_call_booked_from_outbound), 0),
+       COALESCE(sum(i.sales_call_on_calendar), 0),
+       COALESCE(sum(i.no_show), 0),
+       COALESCE(sum(i.reschedule_request), 0),
+       COALESCE(sum(i.cancel), 0),
+       COALESCE(sum(i.deposits), 0),
+       COALESCE(sum(i.sales_one_call_close), 0),
+       COALESCE(sum(i.followup_sales), 0),
+       COALESCE(sum(i.upsell_conversation_taken), 0),
+       COALESCE(sum(i.upsells), 0),
+       COALESCE(sum(i.contract_value), 0),
+       COALESCE(sum(i.new_cash_collected), 0),
+       now()
+FROM daily_reports r
+LEFT JOIN daily_report_inputs i ON i.daily_report_id = r.id
+CROSS JOIN LATERAL (
+    VALUES ('AGENT', r.agent_membership_id),
+           ('COMPANY', r.company_id)
+) AS scope (scope_type, scope_id)
+CROSS JOIN LATERAL (
+    VALUES ('DAY', r.report_date),
+           ('WEEK', CAST(date_trunc('week', r.report_date) AS DATE)),
+           ('MONTH', CAST(date_trunc('month', r.report_date) AS DATE))
+) AS period (grain, period_start)
+GROUP BY scope.scope_type, scope.scope_id, period.grain, period.period_start, r.company_id
+ON CONFLICT (scope_type, scope_id, grain, period_start) DO NOTHING;
@@ -0,0 +1,5 @@
+ALTER TABLE daily_report_audit_log
+    ADD COLUMN IF NOT EXISTS occurrences INTEGER NOT NULL DEFAULT 1;
+
+ALTER TABLE daily_report_audit_log
+    ADD COLUMN IF NOT EXISTS last_occurred_at TIMESTAMPTZ;
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_type_scheduled
+    ON notifications (recipient_membership_id, type, scheduled_for);
@@ -19,6 +19,8 @@ import com.salesway.memberships.entity.CompanyMembership;
 import com.salesway.memberships.repository.CompanyMembershipRepository;
 import com.salesway.notifications.service.NotificationService;
 import com.salesway.security.JwtService;
+import com.salesway.security.PrincipalCache;
+import com.salesway.security.TokenVersionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -103,6 +105,8 @@ class AuthServiceGoogleInviteTest {
                 passwordResetTokenRepository,
                 emailService,
                 subscriptionAccessService,
+                org.mockito.Mockito.mock(PrincipalCache.class),
+                org.mockito.Mockito.mock(TokenVersionService.class),
                 "http://localhost:3000/reset-password"
         );
 
@@ -202,6 +206,8 @@ class AuthServiceGoogleInviteTest {
                 org.mockito.Mockito.mock(PasswordResetTokenRepository.class),
                 org.mockito.Mockito.mock(EmailService.class),
                 org.mockito.Mockito.mock(SubscriptionAccessService.class),
+                org.mockito.Mockito.mock(PrincipalCache.class),
+                org.mockito.Mockito.mock(TokenVersionService.class),
                 "http://localhost:3000/reset-password"
         );
 
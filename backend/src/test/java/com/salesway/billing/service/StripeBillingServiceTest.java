@@ -17,6 +17,7 @@ import com.salesway.manager.service.CompanyAccessService;
 import com.salesway.memberships.entity.CompanyMembership;
 import com.salesway.memberships.repository.CompanyMembershipRepository;
 import com.salesway.security.JwtService;
+import com.salesway.security.TokenVersionService;
 import com.stripe.Stripe;
 import com.stripe.model.Subscription;
 import com.stripe.model.checkout.Session;
@@ -96,7 +97,8 @@ class StripeBillingServiceTest {
                 pendingSignupRepository,
                 processedStripeEventRepository,
                 planCatalogService,
-                emailService
+                emailService,
+                mock(TokenVersionService.class)
         );
     }
 
@@ -3,6 +3,7 @@ package com.salesway.billing.service;
 import com.salesway.companies.entity.Company;
 import com.salesway.companies.repository.CompanyRepository;
 import com.salesway.leads.repository.LeadRepository;
+import com.salesway.leads.service.LeadListViewService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -25,7 +26,7 @@ class SubscriptionGracePeriodServiceTest {
     void setUp() {
         companyRepository = mock(CompanyRepository.class);
         leadRepository = mock(LeadRepository.class);
-        service = new SubscriptionGracePeriodService(companyRepository, leadRepository);
+        service = new SubscriptionGracePeriodService(companyRepository, leadRepository, mock(LeadListViewService.class));
     }
 
     @Test
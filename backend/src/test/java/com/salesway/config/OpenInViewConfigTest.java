@@ -0,0 +1,39 @@
+package com.salesway.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenInViewConfigTest {
+
+    @Test
+    void addInterceptors_keepsTheDashboardStreamOutOfOpenInView() {
+        ExposedRegistry registry = new ExposedRegistry();
+
+        new OpenInViewConfig().addInterceptors(registry);
+
+        List<Object> interceptors = registry.interceptors();
+        assertThat(interceptors).singleElement().isInstanceOf(MappedInterceptor.class);
+        MappedInterceptor openInView = (MappedInterceptor) interceptors.get(0);
+        assertThat(openInView.matches(request("/manager/overview/stream"))).isFalse();
+        assertThat(openInView.matches(request("/manager/overview/agents"))).isTrue();
+    }
+
+    private MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        ServletRequestPathUtils.parseAndCache(request);
+        return request;
+    }
+
+    private static final class ExposedRegistry extends InterceptorRegistry {
+        List<Object> interceptors() {
+            return getInterceptors();
+        }
+    }
+}
@@ -16,6 +16,10 @@ import com.salesway.leads.dto.LeadFormResponse;
 import com.salesway.leads.dto.LeadQuestionResponse;
 import com.salesway.leads.enums.LeadInsightFeedbackStatus;
 import com.salesway.leads.service.LeadAsyncScoringService;
+import com.salesway.leads.service.LeadExportService;
+import com.salesway.leads.service.LeadFacetService;
+import com.salesway.leads.service.LeadOverviewService;
+import com.salesway.leads.service.LeadImportService;
 import com.salesway.leads.service.LeadAiInsightsAsyncService;
 import com.salesway.leads.service.LeadDetailsService;
 import com.salesway.leads.service.LeadManagementService;
@@ -55,7 +59,11 @@ class LeadManagementControllerIntegrationTest {
                 leadManagementService,
                 leadDetailsService,
                 leadAsyncScoringService,
-                leadAiInsightsAsyncService
+                leadAiInsightsAsyncService,
+                mock(LeadImportService.class),
+                mock(LeadExportService.class),
+                mock(LeadFacetService.class),
+                mock(LeadOverviewService.class)
         );
         mockMvc = MockMvcBuilders.standaloneSetup(controller)
                 .setControllerAdvice(new ApiExceptionHandler())
@@ -139,7 +147,11 @@ class LeadManagementControllerIntegrationTest {
                 leadManagementService,
                 leadDetailsService,
                 leadAsyncScoringService,
-                leadAiInsightsAsyncService
+                leadAiInsightsAsyncService,
+                mock(LeadImportService.class),
+                mock(LeadExportService.class),
+                mock(LeadFacetService.class),
+                mock(LeadOverviewService.class)
         );
         mockMvc = MockMvcBuilders.standaloneSetup(controller)
                 .setControllerAdvice(new ApiExceptionHandler())
@@ -260,7 +272,11 @@ class LeadManagementControllerIntegrationTest {
                 leadManagementService,
                 leadDetailsService,
                 leadAsyncScoringService,
-                leadAiInsightsAsyncService
+                leadAiInsightsAsyncService,
+                mock(LeadImportService.class),
+                mock(LeadExportService.class),
+                mock(LeadFacetService.class),
+                mock(LeadOverviewService.class)
         );
         mockMvc = MockMvcBuilders.standaloneSetup(controller)
                 .setControllerAdvice(new ApiExceptionHandler())
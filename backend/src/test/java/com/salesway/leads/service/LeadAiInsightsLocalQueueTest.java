@@ -0,0 +1,80 @@
+package com.salesway.leads.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeadAiInsightsLocalQueueTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void restoreJournal_replaysOffersPollsAndPushBacks() {
+        Path journal = tempDir.resolve("ai-insights.journal");
+        LeadAiInsightsLocalQueue queue = new LeadAiInsightsLocalQueue(10, journal.toString());
+        queue.offer("{\"job\":1}");
+        queue.offer("{\"job\":2}");
+        queue.offer("{\"job\":3}");
+        assertThat(queue.poll()).isEqualTo("{\"job\":1}");
+        String second = queue.poll();
+        queue.pushBack(second);
+
+        LeadAiInsightsLocalQueue restored = new LeadAiInsightsLocalQueue(10, journal.toString());
+        restored.restoreJournal();
+
+        assertThat(restored.size()).isEqualTo(2);
+        assertThat(restored.poll()).isEqualTo("{\"job\":2}");
+        assertThat(restored.poll()).isEqualTo("{\"job\":3}");
+    }
+
+    @Test
+    void poll_appendsInsteadOfRewritingAndCompactsPastTwiceTheCapacity() throws Exception {
+        Path journal = tempDir.resolve("ai-insights.journal");
+        LeadAiInsightsLocalQueue queue = new LeadAiInsightsLocalQueue(4, journal.toString());
+        for (int i = 0; i < 4; i++) {
+            queue.offer("{\"job\":" + i + "}");
+        }
+        queue.poll();
+        assertThat(Files.readAllLines(journal, StandardCharsets.UTF_8)).hasSize(5).last().isEqualTo("-");
+
+        for (int i = 0; i < 4; i++) {
+            queue.poll();
+            queue.offer("{\"job\":" + (i + 4) + "}");
+        }
+
+        assertThat(Files.readAllLines(journal, StandardCharsets.UTF_8).size()).isLessThanOrEqualTo(8);
+        LeadAiInsightsLocalQueue restored = new LeadAiInsightsLocalQueue(4, journal.toString());
+        restored.restoreJournal();
+        assertThat(restored.size()).isEqualTo(3);
+        assertThat(restored.poll()).isEqualTo("{\"job\":5}");
+    }
+
+    @Test
+    void poll_truncatesTheJournalOnceDrained() throws Exception {
+        Path journal = tempDir.resolve("ai-insights.journal");
+        LeadAiInsightsLocalQueue queue = new LeadAiInsightsLocalQueue(4, journal.toString());
+        queue.offer("{\"job\":1}");
+        queue.poll();
+
+        assertThat(Files.readAllLines(journal, StandardCharsets.UTF_8)).isEmpty();
+    }
+
+    @Test
+    void restoreJournal_readsBarePayloadLinesFromOlderJournals() throws Exception {
+        Path journal = tempDir.resolve("ai-insights.journal");
+        Files.write(journal, List.of("{\"job\":1}", "{\"job\":2}"), StandardCharsets.UTF_8);
+
+        LeadAiInsightsLocalQueue queue = new LeadAiInsightsLocalQueue(4, journal.toString());
+        queue.restoreJournal();
+
+        assertThat(queue.poll()).isEqualTo("{\"job\":1}");
+        assertThat(queue.size()).isEqualTo(1);
+    }
+}
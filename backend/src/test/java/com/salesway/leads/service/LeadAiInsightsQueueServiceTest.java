@@ -0,0 +1,81 @@
+package com.salesway.leads.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeadAiInsightsQueueServiceTest {
+
+    private ListOperations<String, Object> listOperations;
+    private LeadAiInsightsLocalQueue localQueue;
+    private LeadAiInsightsQueueService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        listOperations = mock(ListOperations.class);
+        when(redisTemplate.opsForList()).thenReturn(listOperations);
+        localQueue = new LeadAiInsightsLocalQueue(2, "");
+        service = new LeadAiInsightsQueueService(
+                redisTemplate,
+                new ObjectMapper().registerModule(new JavaTimeModule()),
+                localQueue
+        );
+    }
+
+    @Test
+    void enqueueRegeneration_buffersLocallyWhenRedisIsDown() {
+        when(listOperations.leftPush(eq(LeadAiInsightsQueueService.LEAD_AI_INSIGHTS_QUEUE_KEY), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        UUID leadId = UUID.randomUUID();
+
+        LeadAiInsightsQueueService.LeadAiInsightsJob job = service.enqueueRegeneration(leadId);
+
+        assertThat(job.leadId()).isEqualTo(leadId);
+        assertThat(localQueue.size()).isEqualTo(1);
+        assertThat(service.isDegraded()).isTrue();
+        assertThat(service.pollNextPayload()).contains(leadId.toString());
+        assertThat(localQueue.size()).isZero();
+    }
+
+    @Test
+    void enqueueRegeneration_rejectsWhenLocalBufferIsFull() {
+        when(listOperations.leftPush(eq(LeadAiInsightsQueueService.LEAD_AI_INSIGHTS_QUEUE_KEY), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        service.enqueueRegeneration(UUID.randomUUID());
+        service.enqueueRegeneration(UUID.randomUUID());
+
+        assertThatThrownBy(() -> service.enqueueRegeneration(UUID.randomUUID()))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(error -> assertThat(((ResponseStatusException) error).getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    @Test
+    void replayLocalBacklog_pushesBufferedJobsToRedisOnRecovery() {
+        localQueue.offer("{\"leadId\":\"" + UUID.randomUUID() + "\"}");
+
+        int replayed = service.replayLocalBacklog();
+
+        assertThat(replayed).isEqualTo(1);
+        assertThat(localQueue.size()).isZero();
+        assertThat(service.isDegraded()).isFalse();
+        verify(listOperations).leftPush(eq(LeadAiInsightsQueueService.LEAD_AI_INSIGHTS_QUEUE_KEY), any());
+    }
+}
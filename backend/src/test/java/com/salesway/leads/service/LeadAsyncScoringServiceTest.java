@@ -0,0 +1,77 @@
+package com.salesway.leads.service;
+
+import com.salesway.billing.service.SubscriptionAccessService;
+import com.salesway.companies.entity.Company;
+import com.salesway.leads.entity.Lead;
+import com.salesway.leads.entity.LeadListView;
+import com.salesway.leads.repository.LeadAnswerRepository;
+import com.salesway.leads.repository.LeadListViewRepository;
+import com.salesway.leads.repository.LeadRepository;
+import com.salesway.leads.repository.LeadStandardFieldsRepository;
+import com.salesway.manager.service.ManagerAccessService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeadAsyncScoringServiceTest {
+
+    private LeadRepository leadRepository;
+    private LeadListViewRepository leadListViewRepository;
+    private LeadAsyncScoringService service;
+    private Lead lead;
+    private LeadListView row;
+
+    @BeforeEach
+    void setUp() {
+        leadRepository = mock(LeadRepository.class);
+        leadListViewRepository = mock(LeadListViewRepository.class);
+        LeadStandardFieldsRepository standardFieldsRepository = mock(LeadStandardFieldsRepository.class);
+        service = new LeadAsyncScoringService(
+                leadRepository,
+                standardFieldsRepository,
+                mock(LeadAnswerRepository.class),
+                mock(ManagerAccessService.class),
+                mock(LeadScoringQueueService.class),
+                mock(SubscriptionAccessService.class),
+                mock(LeadScoringRulesService.class),
+                new LeadListViewService(leadListViewRepository, standardFieldsRepository, mock(LeadFacetService.class))
+        );
+
+        Company company = new Company();
+        company.setId(UUID.randomUUID());
+        lead = new Lead();
+        lead.setId(UUID.randomUUID());
+        lead.setCompany(company);
+        lead.setStatus("new");
+        lead.setAiScore(10);
+        row = new LeadListView();
+        row.setId(lead.getId());
+        row.setAiScore(10);
+        when(leadRepository.findById(lead.getId())).thenReturn(Optional.of(lead));
+        when(leadListViewRepository.findById(lead.getId())).thenReturn(Optional.of(row));
+    }
+
+    @Test
+    void markCompleted_projectsTheNewScoreIntoTheListView() {
+        service.markCompleted(lead.getId(), new LeadAsyncScoringService.ScoringResult(73, "summary"));
+
+        assertThat(lead.getAiScore()).isEqualTo(73);
+        assertThat(row.getAiScore()).isEqualTo(73);
+    }
+
+    @Test
+    void markProcessing_leavesTheListViewAlone() {
+        service.markProcessing(lead.getId());
+
+        verify(leadListViewRepository, never()).findById(any());
+    }
+}
@@ -4,12 +4,12 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.salesway.billing.service.SubscriptionAccessService;
 import com.salesway.companies.entity.Company;
+import com.salesway.companies.repository.CompanyRepository;
 import com.salesway.leads.dto.PublicLeadSubmitRequest;
 import com.salesway.leads.entity.Lead;
 import com.salesway.leads.entity.LeadAnswer;
 import com.salesway.leads.entity.LeadForm;
 import com.salesway.leads.entity.LeadFormQuestion;
-import com.salesway.leads.entity.LeadStandardFields;
 import com.salesway.leads.enums.LeadSource;
 import com.salesway.leads.repository.LeadAnswerRepository;
 import com.salesway.leads.repository.LeadFormQuestionRepository;
@@ -24,6 +24,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -37,6 +39,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -58,6 +61,16 @@ class LeadCaptureServiceTest {
     private LeadEventService leadEventService;
     @Mock
     private SubscriptionAccessService subscriptionAccessService;
+    @Mock
+    private CompanyRepository companyRepository;
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+    @Mock
+    private LeadDuplicateFilter leadDuplicateFilter;
+    @Mock
+    private LeadListViewService leadListViewService;
 
     private LeadCaptureService service;
     private final ObjectMapper objectMapper = new ObjectMapper();
@@ -75,7 +88,11 @@ class LeadCaptureServiceTest {
                 standardFieldsRepository,
                 answerRepository,
                 leadEventService,
-                objectMapper,
+                new LeadFormDefinitionCache(
+                        leadFormRepository, questionRepository, objectMapper, redisTemplate, listenerContainer, 300_000L),
+                companyRepository,
+                leadDuplicateFilter,
+                leadListViewService,
                 subscriptionAccessService,
                 7
         );
@@ -107,6 +124,8 @@ class LeadCaptureServiceTest {
         singleSelectQuestion.setOptionsJson(readJson("[\"Facebook\",\"Google\"]"));
 
         when(leadFormRepository.findByPublicSlugAndIsActiveTrue("slug")).thenReturn(Optional.of(form));
+        when(leadFormRepository.getReferenceById(form.getId())).thenReturn(form);
+        when(companyRepository.findById(company.getId())).thenReturn(Optional.of(company));
         when(leadRepository.save(any(Lead.class))).thenAnswer(invocation -> {
             Lead lead = invocation.getArgument(0);
             if (lead.getId() == null) {
@@ -117,7 +136,8 @@ class LeadCaptureServiceTest {
             }
             return lead;
         });
-        when(standardFieldsRepository.findRecentPotentialDuplicates(any(), any(), any(), any()))
+        when(leadDuplicateFilter.mightContain(any(), any(), any())).thenReturn(true);
+        when(leadRepository.findRecentDuplicateCandidates(any(), any(), any(), any(), any()))
                 .thenReturn(List.of());
     }
 
@@ -136,10 +156,90 @@ class LeadCaptureServiceTest {
         assertThat(response.leadId()).isNotNull();
         assertThat(response.status()).isEqualTo("new");
 
-        ArgumentCaptor<LeadAnswer> answerCaptor = ArgumentCaptor.forClass(LeadAnswer.class);
-        verify(answerRepository, atLeastOnce()).save(answerCaptor.capture());
-        assertThat(answerCaptor.getValue().getAnswerValue().isTextual()).isTrue();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LeadAnswer>> answersCaptor = ArgumentCaptor.forClass(List.class);
+        verify(answerRepository).saveAll(answersCaptor.capture());
+        assertThat(answersCaptor.getValue()).hasSize(2);
+        assertThat(answersCaptor.getValue()).allSatisfy(answer -> assertThat(answer.getAnswerValue().isTextual()).isTrue());
+        verify(leadRepository, times(1)).save(any(Lead.class));
+
+    }
+
+    @Test
+    void submitWithContactUnknownToDuplicateFilter_skipsDuplicateQuery() {
+        when(questionRepository.findByLeadFormIdAndIsActiveTrue(form.getId()))
+                .thenReturn(List.of(shortTextQuestion, singleSelectQuestion));
+        when(leadDuplicateFilter.mightContain(any(), any(), any())).thenReturn(false);
+
+        PublicLeadSubmitRequest request = baseRequest(List.of(
+                answer(shortTextQuestion.getId(), "Acme SRL"),
+                answer(singleSelectQuestion.getId(), "Facebook")
+        ));
+        request.getStandard().setPhone("0740 111 222");
+
+        service.submitLead("slug", request);
 
+        String phoneHash = LeadContactNormalizer.phoneHash("+40740111222");
+        verify(leadRepository, never()).findRecentDuplicateCandidates(any(), any(), any(), any(), any());
+        verify(leadDuplicateFilter).add(form.getCompany().getId(), LeadContactNormalizer.emailHash("ana@example.com"), phoneHash);
+        ArgumentCaptor<Lead> leadCaptor = ArgumentCaptor.forClass(Lead.class);
+        verify(leadRepository).save(leadCaptor.capture());
+        assertThat(leadCaptor.getValue().getPhoneHash()).isEqualTo(phoneHash);
+        assertThat(leadCaptor.getValue().getDuplicateGroupId()).isNull();
+    }
+
+    @Test
+    void submitTwice_reusesCachedFormDefinition() {
+        when(questionRepository.findByLeadFormIdAndIsActiveTrue(form.getId()))
+                .thenReturn(List.of(shortTextQuestion, singleSelectQuestion));
+
+        PublicLeadSubmitRequest request = baseRequest(List.of(
+                answer(shortTextQuestion.getId(), "Acme SRL"),
+                answer(singleSelectQuestion.getId(), "Google")
+        ));
+
+        service.submitLead("slug", request);
+        service.submitLead("slug", request);
+
+        verify(leadFormRepository, times(1)).findByPublicSlugAndIsActiveTrue("slug");
+        verify(questionRepository, times(1)).findByLeadFormIdAndIsActiveTrue(form.getId());
+        verify(subscriptionAccessService, times(2)).assertCanCreateLead(form.getCompany());
+    }
+
+    @Test
+    void persistIntakeBatch_skipsPersistedIntakeIdsAndDedupesWithinBatch() {
+        when(questionRepository.findByLeadFormIdAndIsActiveTrue(form.getId()))
+                .thenReturn(List.of(shortTextQuestion, singleSelectQuestion));
+        UUID alreadyPersistedIntakeId = UUID.randomUUID();
+        UUID alreadyPersistedLeadId = UUID.randomUUID();
+        when(leadRepository.findIdsByIntakeIdIn(any()))
+                .thenReturn(List.<Object[]>of(new Object[]{alreadyPersistedIntakeId, alreadyPersistedLeadId}));
+
+        PublicLeadSubmitRequest request = baseRequest(List.of(
+                answer(shortTextQuestion.getId(), "Acme SRL"),
+                answer(singleSelectQuestion.getId(), "Facebook")
+        ));
+        Instant receivedAt = Instant.parse("2026-01-05T10:00:00Z");
+        UUID firstIntakeId = UUID.randomUUID();
+        UUID secondIntakeId = UUID.randomUUID();
+
+        List<LeadCaptureService.IntakeResult> results = service.persistIntakeBatch(List.of(
+                new LeadCaptureService.IntakeSubmission(alreadyPersistedIntakeId, "slug", receivedAt, request),
+                new LeadCaptureService.IntakeSubmission(firstIntakeId, "slug", receivedAt.plusSeconds(1), request),
+                new LeadCaptureService.IntakeSubmission(secondIntakeId, "slug", receivedAt.plusSeconds(2), request)
+        ));
+
+        ArgumentCaptor<Lead> leadCaptor = ArgumentCaptor.forClass(Lead.class);
+        verify(leadRepository, times(2)).save(leadCaptor.capture());
+        Lead first = leadCaptor.getAllValues().get(0);
+        Lead second = leadCaptor.getAllValues().get(1);
+        assertThat(first.getIntakeId()).isEqualTo(firstIntakeId);
+        assertThat(first.getSubmittedAt()).isEqualTo(receivedAt.plusSeconds(1));
+        assertThat(first.getDuplicateGroupId()).isNull();
+        assertThat(second.getDuplicateOfLeadId()).isEqualTo(first.getId());
+        assertThat(second.getDuplicateGroupId()).isEqualTo(first.getId());
+        assertThat(results).extracting(LeadCaptureService.IntakeResult::leadId)
+                .containsExactly(alreadyPersistedLeadId, first.getId(), second.getId());
     }
 
     @Test
@@ -168,14 +268,8 @@ class LeadCaptureServiceTest {
         UUID existingLeadId = UUID.randomUUID();
         existingLead.setId(existingLeadId);
         existingLead.setSubmittedAt(Instant.now().minusSeconds(3600));
-        Lead duplicateLead = new Lead();
-        duplicateLead.setId(existingLeadId);
-        duplicateLead.setDuplicateGroupId(existingLeadId);
-        LeadStandardFields duplicateStandard = new LeadStandardFields();
-        duplicateStandard.setLead(duplicateLead);
-
-        when(standardFieldsRepository.findRecentPotentialDuplicates(any(), any(), any(), any()))
-                .thenReturn(List.of(duplicateStandard));
+        when(leadRepository.findRecentDuplicateCandidates(any(), any(), any(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{existingLeadId, existingLeadId}));
 
         PublicLeadSubmitRequest request = baseRequest(List.of(
                 answer(shortTextQuestion.getId(), "Acme SRL"),
@@ -234,7 +328,7 @@ class LeadCaptureServiceTest {
                     assertThat(rse.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
                     assertThat(rse.getReason()).contains("not in options");
                 });
-        verify(leadEventService, never()).appendSystemEvent(any(), any(), any(), any());
+        verify(leadEventService, never()).appendSystemEvent(any(), any(), any(), any(), any());
     }
 
     @Test
@@ -0,0 +1,153 @@
+package com.salesway.leads.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the old and new public-submission write pattern against a real Postgres and
+ * publishes both rates as test report entries. Skipped in the default run; run it with
+ * LEAD_CAPTURE_BENCHMARK_JDBC_URL (and optionally _USER/_PASSWORD) set, e.g.
+ * {@code LEAD_CAPTURE_BENCHMARK_JDBC_URL=jdbc:postgresql://localhost:5432/salesway mvn test -Dtest=LeadCaptureWriteBenchmarkTest}.
+ */
+@EnabledIfEnvironmentVariable(named = "LEAD_CAPTURE_BENCHMARK_JDBC_URL", matches = ".+")
+class LeadCaptureWriteBenchmarkTest {
+    private static final int ANSWERS_PER_SUBMISSION = 15;
+    private static final int WARMUP_SUBMISSIONS = 200;
+    private static final int MEASURED_SUBMISSIONS = 2_000;
+
+    @Test
+    void compareRowByRowAndBatchedSubmissionWrites(TestReporter reporter) throws SQLException {
+        double rowByRow;
+        double batched;
+        try (Connection connection = open(false)) {
+            createTables(connection);
+            run(connection, WARMUP_SUBMISSIONS, false);
+            rowByRow = run(connection, MEASURED_SUBMISSIONS, false);
+        }
+        try (Connection connection = open(true)) {
+            createTables(connection);
+            run(connection, WARMUP_SUBMISSIONS, true);
+            batched = run(connection, MEASURED_SUBMISSIONS, true);
+        }
+        reporter.publishEntry(Map.of(
+                "rowByRowSubmissionsPerSecond", String.format(Locale.ROOT, "%.0f", rowByRow),
+                "batchedSubmissionsPerSecond", String.format(Locale.ROOT, "%.0f", batched),
+                "speedup", String.format(Locale.ROOT, "%.2f", batched / rowByRow)
+        ));
+        assertThat(batched).isPositive();
+    }
+
+    private Connection open(boolean rewriteBatchedInserts) throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", System.getenv().getOrDefault("LEAD_CAPTURE_BENCHMARK_JDBC_USER", "postgres"));
+        properties.setProperty("password", System.getenv().getOrDefault("LEAD_CAPTURE_BENCHMARK_JDBC_PASSWORD", ""));
+        properties.setProperty("reWriteBatchedInserts", Boolean.toString(rewriteBatchedInserts));
+        Connection connection = DriverManager.getConnection(System.getenv("LEAD_CAPTURE_BENCHMARK_JDBC_URL"), properties);
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    private void createTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TEMP TABLE bench_leads (
+                        id UUID PRIMARY KEY, status VARCHAR(50) NOT NULL, submitted_at TIMESTAMPTZ NOT NULL,
+                        last_activity_at TIMESTAMPTZ, created_at TIMESTAMPTZ NOT NULL, updated_at TIMESTAMPTZ NOT NULL)
+                    """);
+            statement.execute("""
+                    CREATE TEMP TABLE bench_lead_standard_fields (
+                        lead_id UUID PRIMARY KEY REFERENCES bench_leads(id), email VARCHAR(255) NOT NULL,
+                        phone VARCHAR(50) NOT NULL, created_at TIMESTAMPTZ NOT NULL)
+                    """);
+            statement.execute("""
+                    CREATE TEMP TABLE bench_lead_answers (
+                        id UUID PRIMARY KEY, lead_id UUID NOT NULL REFERENCES bench_leads(id),
+                        answer_value JSONB NOT NULL, display_order_snapshot INTEGER NOT NULL, created_at TIMESTAMPTZ NOT NULL)
+                    """);
+            statement.execute("""
+                    CREATE TEMP TABLE bench_lead_events (
+                        id UUID PRIMARY KEY, lead_id UUID NOT NULL REFERENCES bench_leads(id),
+                        summary TEXT NOT NULL, created_at TIMESTAMPTZ NOT NULL)
+                    """);
+        }
+        connection.commit();
+    }
+
+    private double run(Connection connection, int submissions, boolean batched) throws SQLException {
+        try (PreparedStatement insertLead = connection.prepareStatement(
+                "INSERT INTO bench_leads (id, status, submitted_at, last_activity_at, created_at, updated_at) VALUES (?, 'new', ?, ?, ?, ?)");
+             PreparedStatement insertStandard = connection.prepareStatement(
+                     "INSERT INTO bench_lead_standard_fields (lead_id, email, phone, created_at) VALUES (?, ?, ?, ?)");
+             PreparedStatement insertAnswer = connection.prepareStatement(
+                     "INSERT INTO bench_lead_answers (id, lead_id, answer_value, display_order_snapshot, created_at) VALUES (?, ?, ?::jsonb, ?, ?)");
+             PreparedStatement insertEvent = connection.prepareStatement(
+                     "INSERT INTO bench_lead_events (id, lead_id, summary, created_at) VALUES (?, ?, 'Lead captured from public form', ?)");
+             PreparedStatement touchLead = connection.prepareStatement(
+                     "UPDATE bench_leads SET last_activity_at = ?, updated_at = ? WHERE id = ?")) {
+            long started = System.nanoTime();
+            for (int submission = 0; submission < submissions; submission++) {
+                UUID leadId = UUID.randomUUID();
+                Timestamp now = Timestamp.from(Instant.now());
+                insertLead.setObject(1, leadId);
+                insertLead.setTimestamp(2, now);
+                insertLead.setTimestamp(3, now);
+                insertLead.setTimestamp(4, now);
+                insertLead.setTimestamp(5, now);
+                insertLead.executeUpdate();
+
+                insertStandard.setObject(1, leadId);
+                insertStandard.setString(2, "lead" + submission + "@example.com");
+                insertStandard.setString(3, "+4070000" + submission);
+                insertStandard.setTimestamp(4, now);
+                insertStandard.executeUpdate();
+
+                for (int answer = 1; answer <= ANSWERS_PER_SUBMISSION; answer++) {
+                    insertAnswer.setObject(1, UUID.randomUUID());
+                    insertAnswer.setObject(2, leadId);
+                    insertAnswer.setString(3, "\"answer " + answer + "\"");
+                    insertAnswer.setInt(4, answer);
+                    insertAnswer.setTimestamp(5, now);
+                    if (batched) {
+                        insertAnswer.addBatch();
+                    } else {
+                        insertAnswer.executeUpdate();
+                    }
+                }
+                if (batched) {
+                    insertAnswer.executeBatch();
+                }
+
+                insertEvent.setObject(1, UUID.randomUUID());
+                insertEvent.setObject(2, leadId);
+                insertEvent.setTimestamp(3, now);
+                insertEvent.executeUpdate();
+
+                if (!batched) {
+                    Timestamp touchedAt = Timestamp.from(Instant.now());
+                    touchLead.setTimestamp(1, touchedAt);
+                    touchLead.setTimestamp(2, touchedAt);
+                    touchLead.setObject(3, leadId);
+                    touchLead.executeUpdate();
+                }
+                connection.commit();
+            }
+            double seconds = (System.nanoTime() - started) / 1_000_000_000d;
+            return submissions / seconds;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.salesway.leads.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeadContactNormalizerTest {
+
+    @Test
+    void normalizePhone_nationalAndInternationalFormsShareE164() {
+        assertThat(LeadContactNormalizer.normalizePhone("+40 740 111 222")).isEqualTo("+40740111222");
+        assertThat(LeadContactNormalizer.normalizePhone("0740-111-222")).isEqualTo("+40740111222");
+        assertThat(LeadContactNormalizer.normalizePhone("0040 740 111 222")).isEqualTo("+40740111222");
+        assertThat(LeadContactNormalizer.normalizePhone("740111222")).isEqualTo("+40740111222");
+        assertThat(LeadContactNormalizer.normalizePhone("+44 20 7946 0958")).isEqualTo("+442079460958");
+        assertThat(LeadContactNormalizer.phoneHash("(0740) 111 222"))
+                .isEqualTo(LeadContactNormalizer.phoneHash("+40740111222"));
+    }
+
+    @Test
+    void hashes_ignoreCaseAndBlankInput() {
+        assertThat(LeadContactNormalizer.emailHash(" Ana@Example.com "))
+                .isEqualTo(LeadContactNormalizer.emailHash("ana@example.com"))
+                .hasSize(64);
+        assertThat(LeadContactNormalizer.emailHash("  ")).isNull();
+        assertThat(LeadContactNormalizer.phoneHash("n/a")).isNull();
+    }
+}
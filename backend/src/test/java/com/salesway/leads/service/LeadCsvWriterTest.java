@@ -0,0 +1,52 @@
+package com.salesway.leads.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeadCsvWriterTest {
+
+    @Test
+    void writtenRecordsReadBackUnchanged() throws Exception {
+        List<String> header = List.of("id", "Nume companie", "Note");
+        List<String> record = Arrays.asList("1", "Acme, \"SRL\"", "first line\r\nsecond line");
+        StringWriter output = new StringWriter();
+        LeadCsvWriter writer = new LeadCsvWriter(output, ',');
+        writer.writeRecord(header);
+        writer.writeRecord(record);
+        writer.writeRecord(Arrays.asList("2", null, ""));
+
+        LeadCsvReader reader = new LeadCsvReader(new StringReader(output.toString()), ',');
+
+        assertThat(reader.readRecord()).isEqualTo(header);
+        assertThat(reader.readRecord()).isEqualTo(record);
+        assertThat(reader.readRecord()).containsExactly("2", "", "");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void fieldsThatWouldRunAsFormulasAreNeutralized() throws Exception {
+        StringWriter output = new StringWriter();
+        LeadCsvWriter writer = new LeadCsvWriter(output, ',');
+        writer.writeRecord(Arrays.asList("=HYPERLINK(\"http://evil\")", "+A1", "-2+3", "@SUM(A1)", "\tx", "\rx", "a=b"));
+
+        assertThat(output.toString()).startsWith("\"'=HYPERLINK(\"\"http://evil\"\")\",\"'+A1\",\"'-2+3\",\"'@SUM(A1)\",");
+        LeadCsvReader reader = new LeadCsvReader(new StringReader(output.toString()), ',');
+        assertThat(reader.readRecord())
+                .containsExactly("'=HYPERLINK(\"http://evil\")", "'+A1", "'-2+3", "'@SUM(A1)", "'\tx", "'\rx", "a=b");
+    }
+
+    @Test
+    void numbersAndPhoneNumbersAreWrittenAsTheyAre() throws Exception {
+        StringWriter output = new StringWriter();
+        LeadCsvWriter writer = new LeadCsvWriter(output, ',');
+        writer.writeRecord(List.of("+40740111222", "+40 (721) 234-567", "-5", "-3.25"));
+
+        assertThat(output.toString()).isEqualTo("+40740111222,+40 (721) 234-567,-5,-3.25\r\n");
+    }
+}
@@ -0,0 +1,43 @@
+package com.salesway.leads.service;
+
+import com.salesway.leads.dto.CursorPageResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LeadCursorTest {
+
+    @Test
+    void decode_roundTripsAndRejectsCursorOfAnotherOrdering() {
+        Instant key = Instant.parse("2026-03-01T10:15:30.123456Z");
+        UUID id = UUID.randomUUID();
+        String cursor = LeadCursor.encode("submittedAt,desc", key, id);
+
+        assertThat(LeadCursor.decode("submittedAt,desc", cursor)).isEqualTo(new LeadCursor(key, id));
+        assertThat(LeadCursor.decode("submittedAt,desc", " ")).isNull();
+        assertThatThrownBy(() -> LeadCursor.decode("lastActivityAt,desc", cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> LeadCursor.decode("submittedAt,desc", "not a cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void slice_usesExtraRowOnlyToSignalNextPage() {
+        CursorPageResponse<String> page = LeadCursor.slice(List.of(1, 2, 3), 2, String::valueOf, row -> "after-" + row);
+        CursorPageResponse<String> last = LeadCursor.slice(List.of(3), 2, String::valueOf, row -> "after-" + row);
+
+        assertThat(page.items()).containsExactly("1", "2");
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.nextCursor()).isEqualTo("after-2");
+        assertThat(last.items()).containsExactly("3");
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last.nextCursor()).isNull();
+    }
+}
@@ -163,6 +163,8 @@ class LeadDetailsServiceTest {
                 companyMembershipRepository,
                 companyAccessService,
                 leadEventService,
+                mock(LeadListViewService.class),
+                mock(LeadOpenTaskService.class),
                 managerAccessService,
                 userRepository,
                 kbDocumentRepository,
@@ -0,0 +1,74 @@
+package com.salesway.leads.service;
+
+import com.salesway.leads.repository.LeadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LeadDuplicateFilterTest {
+
+    @Mock
+    private LeadRepository leadRepository;
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private LeadDuplicateFilter filter;
+    private final UUID companyId = UUID.randomUUID();
+    private final String knownEmailHash = LeadContactNormalizer.emailHash("ana@example.com");
+    private final String knownPhoneHash = LeadContactNormalizer.phoneHash("+40740111222");
+
+    @BeforeEach
+    void setUp() {
+        filter = new LeadDuplicateFilter(leadRepository, redisTemplate, listenerContainer, true, 7, 0.01);
+        when(leadRepository.findContactHashesSince(any(), any(), any())).thenReturn(List.<Object[]>of(
+                new Object[]{UUID.randomUUID(), companyId, knownEmailHash, knownPhoneHash}
+        ));
+    }
+
+    @Test
+    void mightContain_answersMaybeUntilRebuilt() {
+        String unknownEmail = LeadContactNormalizer.emailHash("new@example.com");
+
+        assertThat(filter.mightContain(companyId, unknownEmail, null)).isTrue();
+
+        filter.rebuild();
+
+        assertThat(filter.mightContain(companyId, unknownEmail, null)).isFalse();
+        assertThat(filter.mightContain(companyId, unknownEmail, knownPhoneHash)).isTrue();
+        assertThat(filter.mightContain(UUID.randomUUID(), knownEmailHash, knownPhoneHash)).isFalse();
+    }
+
+    @Test
+    void add_makesContactVisibleAndFallsBackWhenPublishFails() {
+        filter.rebuild();
+        String addedPhone = LeadContactNormalizer.phoneHash("0740999888");
+
+        filter.add(companyId, null, addedPhone);
+        assertThat(filter.mightContain(companyId, null, addedPhone)).isTrue();
+
+        doThrow(new QueryTimeoutException("redis down")).when(redisTemplate).convertAndSend(anyString(), any());
+        filter.add(companyId, null, LeadContactNormalizer.phoneHash("0740999777"));
+
+        assertThat(filter.mightContain(companyId, LeadContactNormalizer.emailHash("other@example.com"), null)).isTrue();
+    }
+}
@@ -0,0 +1,69 @@
+package com.salesway.leads.service;
+
+import com.salesway.leads.dto.LeadFacetsResponse;
+import com.salesway.leads.dto.LeadSearchCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeadFacetServiceTest {
+
+    private EntityManager entityManager;
+    private LeadFacetService service;
+    private LeadManagementService.LeadSearch search;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        Query query = mock(Query.class);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of(
+                new Object[]{"new", null, null, null, 0b0111, 4L},
+                new Object[]{"won", null, null, null, 0b0111, 9L},
+                new Object[]{null, "FORM", null, null, 0b1011, 13L},
+                new Object[]{null, null, null, null, 0b1101, 13L},
+                new Object[]{null, null, null, "3f1c6a62-6f0e-4d8b-9a51-2d1f2f4c0b11", 0b1110, 5L},
+                new Object[]{null, null, null, null, 0b1110, 8L},
+                new Object[]{null, null, null, null, 0b1111, 13L}
+        ));
+        service = new LeadFacetService(entityManager, 60_000, 64);
+        search = new LeadManagementService.LeadSearch(
+                UUID.randomUUID(),
+                new LeadSearchCriteria(null, "ana", null, null, null, null, null, null, false)
+        );
+    }
+
+    @Test
+    void getFacets_splitsGroupingSetRowsByFacet() {
+        LeadFacetsResponse facets = service.getFacets(search);
+
+        assertThat(facets.total()).isEqualTo(13);
+        assertThat(facets.statuses()).extracting("value").containsExactly("won", "new");
+        assertThat(facets.sources()).singleElement().extracting("value").isEqualTo("FORM");
+        assertThat(facets.stages()).singleElement().extracting("value").isNull();
+        assertThat(facets.assignees()).extracting("count").containsExactly(8L, 5L);
+    }
+
+    @Test
+    void getFacets_servesCachedCountsUntilTheCompanyIsInvalidated() {
+        service.getFacets(search);
+        service.getFacets(search);
+        verify(entityManager, times(1)).createNativeQuery(anyString());
+
+        service.invalidate(search.companyId());
+        service.getFacets(search);
+
+        verify(entityManager, times(2)).createNativeQuery(anyString());
+    }
+}
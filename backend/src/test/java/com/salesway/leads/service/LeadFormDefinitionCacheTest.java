@@ -0,0 +1,89 @@
+package com.salesway.leads.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesway.companies.entity.Company;
+import com.salesway.leads.entity.LeadForm;
+import com.salesway.leads.entity.LeadFormQuestion;
+import com.salesway.leads.repository.LeadFormQuestionRepository;
+import com.salesway.leads.repository.LeadFormRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LeadFormDefinitionCacheTest {
+
+    @Mock
+    private LeadFormRepository leadFormRepository;
+    @Mock
+    private LeadFormQuestionRepository questionRepository;
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private LeadFormDefinitionCache cache;
+    private LeadForm form;
+    private LeadFormQuestion question;
+
+    @BeforeEach
+    void setUp() {
+        cache = new LeadFormDefinitionCache(
+                leadFormRepository, questionRepository, new ObjectMapper(), redisTemplate, listenerContainer, 300_000L);
+
+        Company company = new Company();
+        company.setId(UUID.randomUUID());
+        form = new LeadForm();
+        form.setId(UUID.randomUUID());
+        form.setCompany(company);
+        form.setPublicSlug("slug");
+
+        question = new LeadFormQuestion();
+        question.setId(UUID.randomUUID());
+        question.setLeadForm(form);
+        question.setQuestionType("short_text");
+        question.setLabel("Nume companie");
+        question.setDisplayOrder(1);
+
+        when(leadFormRepository.findByPublicSlugAndIsActiveTrue("slug")).thenReturn(Optional.of(form));
+        when(questionRepository.findByLeadFormIdAndIsActiveTrue(form.getId())).thenReturn(List.of(question));
+    }
+
+    @Test
+    void findActive_servesCachedDefinitionUntilInvalidated() {
+        LeadFormDefinition first = cache.findActive("slug").orElseThrow();
+        LeadFormDefinition second = cache.findActive("slug").orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        verify(leadFormRepository, times(1)).findByPublicSlugAndIsActiveTrue("slug");
+
+        question.setLabel("Nume firma");
+        cache.invalidate("slug");
+        LeadFormDefinition reloaded = cache.findActive("slug").orElseThrow();
+
+        verify(redisTemplate).convertAndSend(LeadFormDefinitionCache.LEAD_FORM_INVALIDATION_CHANNEL, "slug");
+        assertThat(reloaded.getResponse().questions().get(0).label()).isEqualTo("Nume firma");
+        assertThat(reloaded.getEtag()).isNotEqualTo(first.getEtag());
+    }
+
+    @Test
+    void findActive_identicalFormsShareEtag() {
+        String etag = cache.findActive("slug").orElseThrow().getEtag();
+        cache.invalidate("slug");
+
+        assertThat(cache.findActive("slug").orElseThrow().getEtag()).isEqualTo(etag).startsWith("\"");
+    }
+}
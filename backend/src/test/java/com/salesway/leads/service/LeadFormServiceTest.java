@@ -45,6 +45,8 @@ class LeadFormServiceTest {
     private ManagerAccessService managerAccessService;
     @Mock
     private CompanyRepository companyRepository;
+    @Mock
+    private LeadFormDefinitionCache leadFormDefinitionCache;
 
     private LeadFormService leadFormService;
 
@@ -57,7 +59,8 @@ class LeadFormServiceTest {
                 questionRepository,
                 managerAccessService,
                 companyRepository,
-                new ObjectMapper()
+                new ObjectMapper(),
+                leadFormDefinitionCache
         );
 
         Company company = new Company();
@@ -69,6 +72,7 @@ class LeadFormServiceTest {
         form = new LeadForm();
         form.setId(UUID.randomUUID());
         form.setCompany(company);
+        form.setPublicSlug("lead-form");
 
         when(managerAccessService.getManagerMembership()).thenReturn(membership);
         when(leadFormRepository.findByCompanyId(company.getId())).thenReturn(Optional.of(form));
@@ -95,6 +99,7 @@ class LeadFormServiceTest {
         assertThat(captor.getValue().getOptionsJson()).isNull();
         assertThat(response.questionType()).isEqualTo("short_text");
         assertThat(response.optionsJson()).isNull();
+        verify(leadFormDefinitionCache).invalidate("lead-form");
     }
 
     @Test
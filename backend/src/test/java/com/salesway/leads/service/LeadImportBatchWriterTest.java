@@ -0,0 +1,93 @@
+package com.salesway.leads.service;
+
+import com.salesway.companies.repository.CompanyRepository;
+import com.salesway.leads.repository.LeadAnswerRepository;
+import com.salesway.leads.repository.LeadFormQuestionRepository;
+import com.salesway.leads.repository.LeadFormRepository;
+import com.salesway.leads.repository.LeadRepository;
+import com.salesway.leads.repository.LeadStandardFieldsRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeadImportBatchWriterTest {
+
+    private EntityManager entityManager;
+    private LeadRepository leadRepository;
+    private LeadAnswerRepository answerRepository;
+    private LeadImportBatchWriter writer;
+    private UUID companyId;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        leadRepository = mock(LeadRepository.class);
+        answerRepository = mock(LeadAnswerRepository.class);
+        writer = new LeadImportBatchWriter(
+                entityManager,
+                leadRepository,
+                mock(LeadStandardFieldsRepository.class),
+                answerRepository,
+                mock(LeadFormRepository.class),
+                mock(LeadFormQuestionRepository.class),
+                mock(CompanyRepository.class),
+                mock(LeadEventService.class),
+                mock(LeadDuplicateFilter.class),
+                mock(LeadListViewService.class)
+        );
+        companyId = UUID.randomUUID();
+    }
+
+    @Test
+    void writeBatch_doesNotTreatMissingContactsAsDuplicates() {
+        List<Object[]> existing = new ArrayList<>();
+        existing.add(new Object[]{"known-email", null});
+        when(leadRepository.findContactHashesByCompanyIdAndHashes(eq(companyId), any(), any())).thenReturn(existing);
+
+        List<Integer> duplicates = writer.writeBatch(companyId, UUID.randomUUID(), List.of(
+                row(2, "email-a", null),
+                row(3, "email-b", null),
+                row(4, "known-email", null),
+                row(5, "email-a", "phone-c")
+        ));
+
+        assertThat(duplicates).containsExactly(4, 5);
+    }
+
+    @Test
+    void writeBatch_clearsThePersistenceContextOnceTheBatchIsWritten() {
+        when(leadRepository.findContactHashesByCompanyIdAndHashes(eq(companyId), any(), any())).thenReturn(List.of());
+
+        writer.writeBatch(companyId, UUID.randomUUID(), List.of(row(2, "email-a", null)));
+        writer.writeBatch(companyId, UUID.randomUUID(), List.of(row(3, "email-b", null)));
+
+        // each batch is flushed and evicted before the next one starts
+        InOrder order = inOrder(leadRepository, answerRepository, entityManager);
+        for (int batch = 0; batch < 2; batch++) {
+            order.verify(leadRepository).saveAll(any());
+            order.verify(answerRepository).saveAll(any());
+            order.verify(entityManager).flush();
+            order.verify(entityManager).clear();
+        }
+    }
+
+    private LeadImportBatchWriter.Row row(int rowNumber, String emailHash, String phoneHash) {
+        return new LeadImportBatchWriter.Row(
+                rowNumber, "Ana", "Pop", "ana@example.com", "", emailHash, phoneHash,
+                "OTHER", Instant.parse("2026-01-10T10:00:00Z"), Map.of());
+    }
+}
@@ -0,0 +1,189 @@
+package com.salesway.leads.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesway.billing.service.SubscriptionAccessService;
+import com.salesway.companies.entity.Company;
+import com.salesway.leads.dto.LeadImportResponse;
+import com.salesway.leads.dto.LeadImportRowError;
+import com.salesway.leads.entity.LeadForm;
+import com.salesway.leads.entity.LeadFormQuestion;
+import com.salesway.leads.repository.LeadFormQuestionRepository;
+import com.salesway.leads.repository.LeadFormRepository;
+import com.salesway.manager.service.ManagerAccessService;
+import com.salesway.memberships.entity.CompanyMembership;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeadImportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private LeadFormQuestionRepository questionRepository;
+    private LeadImportBatchWriter batchWriter;
+    private LeadImportService service;
+    private Company company;
+    private LeadForm form;
+    private LeadFormQuestion channelQuestion;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        company = new Company();
+        company.setId(UUID.randomUUID());
+        CompanyMembership membership = new CompanyMembership();
+        membership.setCompany(company);
+
+        form = new LeadForm();
+        form.setId(UUID.randomUUID());
+        form.setCompany(company);
+        form.setPublicSlug("slug");
+
+        channelQuestion = new LeadFormQuestion();
+        channelQuestion.setId(UUID.randomUUID());
+        channelQuestion.setLeadForm(form);
+        channelQuestion.setQuestionType("single_select");
+        channelQuestion.setLabel("Canal");
+        channelQuestion.setRequired(true);
+        channelQuestion.setDisplayOrder(1);
+        channelQuestion.setOptionsJson(objectMapper.readTree("[\"Facebook\",\"Google\"]"));
+
+        ManagerAccessService managerAccessService = mock(ManagerAccessService.class);
+        when(managerAccessService.getManagerMembership()).thenReturn(membership);
+        LeadFormRepository leadFormRepository = mock(LeadFormRepository.class);
+        when(leadFormRepository.findByCompanyId(company.getId())).thenReturn(Optional.of(form));
+        questionRepository = mock(LeadFormQuestionRepository.class);
+        when(questionRepository.findByLeadFormIdAndIsActiveTrue(form.getId())).thenReturn(List.of(channelQuestion));
+        batchWriter = mock(LeadImportBatchWriter.class);
+
+        service = new LeadImportService(
+                leadFormRepository,
+                questionRepository,
+                batchWriter,
+                managerAccessService,
+                mock(SubscriptionAccessService.class),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                objectMapper,
+                2
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importCsv_mapsColumnsValidatesRowsAndReportsDuplicates() {
+        when(batchWriter.writeBatch(eq(company.getId()), eq(form.getId()), any())).thenReturn(List.of(), List.of(5));
+        String csv = """
+                First Name,Last Name,Email,Phone,Canal,Legacy Id
+                Ana,Popescu,ANA@example.com,0740111222,Facebook,17
+                "Ion, Jr.",Ionescu,ion@example.com,0740111333,"Google",18
+                Maria,Pop,maria@example.com,0740111444,TikTok,19
+                Dan,Duplicate,ana@example.com,0740111555,Google,20
+                Eva,Nomail,,0740111666,Google,21
+                """;
+
+        LeadImportResponse response = service.importLeads(
+                new MockMultipartFile("file", "leads.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)), null, ',');
+
+        assertThat(response.totalRows()).isEqualTo(5);
+        assertThat(response.importedRows()).isEqualTo(2);
+        assertThat(response.duplicateRows()).isEqualTo(1);
+        assertThat(response.failedRows()).isEqualTo(2);
+        assertThat(response.ignoredColumns()).containsExactly("Legacy Id");
+        assertThat(response.errors()).extracting(LeadImportRowError::row).containsExactly(4, 6, 5);
+
+        ArgumentCaptor<List<LeadImportBatchWriter.Row>> batches = ArgumentCaptor.forClass(List.class);
+        verify(batchWriter, times(2)).writeBatch(eq(company.getId()), eq(form.getId()), batches.capture());
+        LeadImportBatchWriter.Row first = batches.getAllValues().get(0).get(0);
+        assertThat(first.email()).isEqualTo("ana@example.com");
+        assertThat(first.phoneHash()).isEqualTo(LeadContactNormalizer.phoneHash("+40740111222"));
+        assertThat(first.source()).isEqualTo("OTHER");
+        assertThat(first.answers()).hasSize(1);
+        assertThat(batches.getAllValues().get(0).get(1).firstName()).isEqualTo("Ion, Jr.");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importCsv_readsBackPhonesAndNegativeNumbersAsExported() throws Exception {
+        LeadFormQuestion scoreQuestion = new LeadFormQuestion();
+        scoreQuestion.setId(UUID.randomUUID());
+        scoreQuestion.setLeadForm(form);
+        scoreQuestion.setQuestionType("number");
+        scoreQuestion.setLabel("Scor");
+        scoreQuestion.setRequired(false);
+        scoreQuestion.setDisplayOrder(2);
+        when(questionRepository.findByLeadFormIdAndIsActiveTrue(form.getId())).thenReturn(List.of(channelQuestion, scoreQuestion));
+        when(batchWriter.writeBatch(any(), any(), any())).thenReturn(List.of());
+        StringWriter exported = new StringWriter();
+        LeadCsvWriter csv = new LeadCsvWriter(exported, ',');
+        csv.writeRecord(List.of("firstName", "lastName", "email", "phone", "Canal", "Scor"));
+        csv.writeRecord(List.of("Ana", "Pop", "ana@example.com", "+40740111222", "Google", "-5"));
+
+        LeadImportResponse response = service.importLeads(
+                new MockMultipartFile("file", "leads.csv", "text/csv", exported.toString().getBytes(StandardCharsets.UTF_8)),
+                null,
+                ',');
+
+        assertThat(response.importedRows()).isEqualTo(1);
+        assertThat(response.failedRows()).isZero();
+        ArgumentCaptor<List<LeadImportBatchWriter.Row>> batches = ArgumentCaptor.forClass(List.class);
+        verify(batchWriter).writeBatch(eq(company.getId()), eq(form.getId()), batches.capture());
+        LeadImportBatchWriter.Row row = batches.getValue().get(0);
+        assertThat(row.phoneHash()).isEqualTo(LeadContactNormalizer.phoneHash("+40740111222"));
+        assertThat(row.answers().values()).extracting(JsonNode::toString).containsExactlyInAnyOrder("\"Google\"", "-5");
+    }
+
+    @Test
+    void importNdjson_reportsMalformedLinesAndKeepsGoing() {
+        when(batchWriter.writeBatch(any(), any(), any())).thenReturn(List.of());
+        String ndjson = "{\"firstName\":\"Ana\",\"lastName\":\"Pop\",\"email\":\"ana@example.com\",\"phone\":\"0740111222\","
+                + "\"" + channelQuestion.getId() + "\":\"Google\",\"source\":\"meta\"}\n"
+                + "{not json}\n";
+
+        LeadImportResponse response = service.importLeads(
+                new MockMultipartFile("file", "leads.ndjson", "application/x-ndjson", ndjson.getBytes(StandardCharsets.UTF_8)),
+                null,
+                ',');
+
+        assertThat(response.importedRows()).isEqualTo(1);
+        assertThat(response.failedRows()).isEqualTo(1);
+        assertThat(response.errors()).singleElement().satisfies(error -> {
+            assertThat(error.row()).isEqualTo(2);
+            assertThat(error.message()).startsWith("invalid JSON");
+        });
+    }
+
+    @Test
+    void importCsv_rejectsRowsMissingARequiredAnswer() {
+        when(batchWriter.writeBatch(any(), any(), any())).thenReturn(List.of());
+        String csv = """
+                First Name,Last Name,Email,Phone,Canal
+                Ana,Popescu,ana@example.com,0740111222,
+                Ion,Ionescu,ion@example.com,0740111333,Google
+                """;
+
+        LeadImportResponse response = service.importLeads(
+                new MockMultipartFile("file", "leads.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)), null, ',');
+
+        assertThat(response.importedRows()).isEqualTo(1);
+        assertThat(response.failedRows()).isEqualTo(1);
+        assertThat(response.errors()).singleElement().satisfies(error -> {
+            assertThat(error.row()).isEqualTo(2);
+            assertThat(error.message()).isEqualTo("missing required questionIds: [" + channelQuestion.getId() + "]");
+        });
+    }
+}
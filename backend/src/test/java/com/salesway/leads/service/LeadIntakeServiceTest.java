@@ -0,0 +1,190 @@
+package com.salesway.leads.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.salesway.leads.dto.PublicLeadSubmitRequest;
+import com.salesway.leads.repository.LeadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeadIntakeServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private LeadCaptureService leadCaptureService;
+    private StreamOperations<String, Object, Object> streamOperations;
+    private ValueOperations<String, Object> valueOperations;
+    private HashOperations<String, Object, Object> hashOperations;
+    private LeadIntakeService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        streamOperations = mock(StreamOperations.class);
+        valueOperations = mock(ValueOperations.class);
+        hashOperations = mock(HashOperations.class);
+        when(redisTemplate.opsForStream()).thenReturn((StreamOperations) streamOperations);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        when(streamOperations.pending(anyString(), anyString(), any(), anyLong()))
+                .thenReturn(new PendingMessages(LeadIntakeService.LEAD_INTAKE_GROUP, List.of()));
+        leadCaptureService = mock(LeadCaptureService.class);
+        service = new LeadIntakeService(
+                leadCaptureService,
+                mock(LeadRepository.class),
+                redisTemplate,
+                objectMapper,
+                true,
+                24,
+                60_000,
+                3
+        );
+    }
+
+    @Test
+    void enqueue_fallsBackToSynchronousSubmitWhenRedisIsDown() {
+        when(streamOperations.add(eq(LeadIntakeService.LEAD_INTAKE_STREAM_KEY), anyMap()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(service.enqueue("slug", new PublicLeadSubmitRequest())).isEmpty();
+    }
+
+    @Test
+    void processBatch_retriesFailedBatchOneByOneAndRejectsPoisonSubmission() throws Exception {
+        UUID goodIntakeId = UUID.randomUUID();
+        UUID poisonIntakeId = UUID.randomUUID();
+        UUID leadId = UUID.randomUUID();
+        MapRecord<String, Object, Object> good = record("1-0", goodIntakeId);
+        MapRecord<String, Object, Object> poison = record("2-0", poisonIntakeId);
+        stubRead(ReadOffset.lastConsumed(), List.of(good, poison));
+        when(leadCaptureService.persistIntakeBatch(argThat(batch -> batch != null && batch.size() == 2)))
+                .thenThrow(new IllegalStateException("constraint"));
+        when(leadCaptureService.persistIntakeBatch(argThat(batch -> batch != null && batch.size() == 1
+                && batch.get(0).intakeId().equals(goodIntakeId))))
+                .thenReturn(List.of(new LeadCaptureService.IntakeResult(goodIntakeId, leadId, null)));
+        when(leadCaptureService.persistIntakeBatch(argThat(batch -> batch != null && batch.size() == 1
+                && batch.get(0).intakeId().equals(poisonIntakeId))))
+                .thenThrow(new IllegalStateException("constraint"));
+
+        int settled = service.processBatch(10);
+
+        assertThat(settled).isEqualTo(2);
+        verify(valueOperations).set(eq("lead-intake:status:" + goodIntakeId),
+                argThat(value -> value.toString().contains("PERSISTED") && value.toString().contains(leadId.toString())),
+                any(Duration.class));
+        verify(valueOperations).set(eq("lead-intake:status:" + poisonIntakeId),
+                argThat(value -> value.toString().contains("REJECTED")), any(Duration.class));
+        verify(streamOperations).acknowledge(eq(LeadIntakeService.LEAD_INTAKE_STREAM_KEY), anyString(),
+                eq(good.getId()), eq(poison.getId()));
+    }
+
+    @Test
+    void processBatch_rejectsASubmissionTheDatabaseRefusesAndPersistsTheEntriesBehindIt() throws Exception {
+        UUID poisonIntakeId = UUID.randomUUID();
+        UUID nextIntakeId = UUID.randomUUID();
+        UUID leadId = UUID.randomUUID();
+        MapRecord<String, Object, Object> poison = record("1-0", poisonIntakeId);
+        MapRecord<String, Object, Object> next = record("2-0", nextIntakeId);
+        stubRead(ReadOffset.lastConsumed(), List.of(poison, next));
+        when(leadCaptureService.persistIntakeBatch(argThat(batch -> batch != null && batch.size() == 2)))
+                .thenThrow(new DataIntegrityViolationException("value too long for type character varying(255)"));
+        when(leadCaptureService.persistIntakeBatch(argThat(batch -> batch != null && batch.size() == 1
+                && batch.get(0).intakeId().equals(poisonIntakeId))))
+                .thenThrow(new DataIntegrityViolationException("value too long for type character varying(255)"));
+        when(leadCaptureService.persistIntakeBatch(argThat(batch -> batch != null && batch.size() == 1
+                && batch.get(0).intakeId().equals(nextIntakeId))))
+                .thenReturn(List.of(new LeadCaptureService.IntakeResult(nextIntakeId, leadId, null)));
+
+        assertThat(service.processBatch(10)).isEqualTo(2);
+
+        verify(valueOperations).set(eq("lead-intake:status:" + poisonIntakeId),
+                argThat(value -> value.toString().contains("REJECTED")), any(Duration.class));
+        verify(streamOperations).acknowledge(eq(LeadIntakeService.LEAD_INTAKE_STREAM_KEY), anyString(),
+                eq(poison.getId()), eq(next.getId()));
+        verify(hashOperations, never()).increment(anyString(), any(), anyLong());
+    }
+
+    @Test
+    void processBatch_readsNewEntriesPastARetriedOneAndDeadLettersItAtTheAttemptLimit() throws Exception {
+        UUID stuckIntakeId = UUID.randomUUID();
+        UUID nextIntakeId = UUID.randomUUID();
+        UUID leadId = UUID.randomUUID();
+        MapRecord<String, Object, Object> stuck = record("1-0", stuckIntakeId);
+        MapRecord<String, Object, Object> next = record("2-0", nextIntakeId);
+        stubRead(ReadOffset.from("0"), List.of(stuck));
+        stubRead(ReadOffset.lastConsumed(), List.of(next));
+        when(leadCaptureService.persistIntakeBatch(argThat(batch -> batch != null && batch.size() == 2)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+        when(leadCaptureService.persistIntakeBatch(argThat(batch -> batch != null && batch.size() == 1
+                && batch.get(0).intakeId().equals(stuckIntakeId))))
+                .thenThrow(new QueryTimeoutException("timeout"));
+        when(leadCaptureService.persistIntakeBatch(argThat(batch -> batch != null && batch.size() == 1
+                && batch.get(0).intakeId().equals(nextIntakeId))))
+                .thenReturn(List.of(new LeadCaptureService.IntakeResult(nextIntakeId, leadId, null)));
+        when(hashOperations.increment(anyString(), eq(stuckIntakeId.toString()), eq(1L))).thenReturn(1L, 3L);
+
+        assertThat(service.processBatch(10)).isEqualTo(1);
+        verify(streamOperations).acknowledge(eq(LeadIntakeService.LEAD_INTAKE_STREAM_KEY), anyString(), eq(next.getId()));
+        verify(streamOperations, never()).add(eq(LeadIntakeService.LEAD_INTAKE_DEAD_LETTER_STREAM_KEY), anyMap());
+        stubRead(ReadOffset.lastConsumed(), List.of());
+
+        assertThat(service.processBatch(10)).isEqualTo(1);
+
+        verify(streamOperations).add(eq(LeadIntakeService.LEAD_INTAKE_DEAD_LETTER_STREAM_KEY), eq(stuck.getValue()));
+        verify(valueOperations).set(eq("lead-intake:status:" + stuckIntakeId),
+                argThat(value -> value.toString().contains("REJECTED")), any(Duration.class));
+        verify(streamOperations).acknowledge(eq(LeadIntakeService.LEAD_INTAKE_STREAM_KEY), anyString(), eq(stuck.getId()));
+    }
+
+    private void stubRead(ReadOffset offset, List<MapRecord<String, Object, Object>> records) {
+        ArgumentMatcher<StreamOffset<String>> atOffset = streamOffset -> streamOffset != null
+                && streamOffset.getOffset().equals(offset);
+        @SuppressWarnings("unchecked")
+        List<MapRecord<String, Object, Object>> read = streamOperations.read(
+                any(Consumer.class), any(StreamReadOptions.class), argThat(atOffset));
+        when(read).thenReturn(records);
+    }
+
+    private MapRecord<String, Object, Object> record(String id, UUID intakeId) throws Exception {
+        String payload = objectMapper.writeValueAsString(new LeadIntakeService.BufferedSubmission(
+                intakeId, "slug", Instant.parse("2026-01-05T10:00:00Z"), new PublicLeadSubmitRequest()));
+        return StreamRecords.newRecord()
+                .in(LeadIntakeService.LEAD_INTAKE_STREAM_KEY)
+                .withId(RecordId.of(id))
+                .ofMap(Map.<Object, Object>of("payload", payload));
+    }
+}
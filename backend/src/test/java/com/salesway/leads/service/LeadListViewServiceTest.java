@@ -0,0 +1,90 @@
+package com.salesway.leads.service;
+
+import com.salesway.companies.entity.Company;
+import com.salesway.leads.entity.Lead;
+import com.salesway.leads.entity.LeadListView;
+import com.salesway.leads.entity.LeadStandardFields;
+import com.salesway.leads.repository.LeadListViewRepository;
+import com.salesway.leads.repository.LeadStandardFieldsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeadListViewServiceTest {
+
+    private LeadListViewRepository leadListViewRepository;
+    private LeadStandardFieldsRepository standardFieldsRepository;
+    private LeadListViewService service;
+    private Lead lead;
+
+    @BeforeEach
+    void setUp() {
+        leadListViewRepository = mock(LeadListViewRepository.class);
+        standardFieldsRepository = mock(LeadStandardFieldsRepository.class);
+        service = new LeadListViewService(leadListViewRepository, standardFieldsRepository, mock(LeadFacetService.class));
+
+        Company company = new Company();
+        company.setId(UUID.randomUUID());
+        lead = new Lead();
+        lead.setId(UUID.randomUUID());
+        lead.setCompany(company);
+        lead.setStatus("new");
+        lead.setSource("FORM");
+        lead.setSubmittedAt(Instant.parse("2026-01-10T10:00:00Z"));
+    }
+
+    @Test
+    void refresh_copiesLeadColumnsOntoExistingRow() {
+        LeadListView row = new LeadListView();
+        row.setId(lead.getId());
+        row.setOpenTaskCount(2);
+        when(leadListViewRepository.findById(lead.getId())).thenReturn(Optional.of(row));
+        lead.setStatus("won");
+        lead.setAiScore(81);
+        lead.setDuplicateGroupId(UUID.randomUUID());
+
+        service.refresh(lead);
+
+        assertThat(row.getStatus()).isEqualTo("won");
+        assertThat(row.getAiScore()).isEqualTo(81);
+        assertThat(row.getDuplicateGroupId()).isEqualTo(lead.getDuplicateGroupId());
+        assertThat(row.getOpenTaskCount()).isEqualTo(2);
+        verify(leadListViewRepository, never()).save(any());
+    }
+
+    @Test
+    void refresh_backfillsMissingRow() {
+        LeadStandardFields fields = new LeadStandardFields();
+        fields.setFirstName("Ana");
+        fields.setLastName("Pop");
+        fields.setEmail("ana@example.com");
+        fields.setPhone("+40740111222");
+        when(leadListViewRepository.findById(lead.getId())).thenReturn(Optional.empty());
+        when(standardFieldsRepository.findByLeadId(lead.getId())).thenReturn(Optional.of(fields));
+        ArgumentCaptor<LeadListView> saved = ArgumentCaptor.forClass(LeadListView.class);
+        when(leadListViewRepository.save(saved.capture())).thenAnswer(invocation -> {
+            LeadListView row = invocation.getArgument(0);
+            row.setId(lead.getId());
+            return row;
+        });
+
+        service.refresh(lead);
+
+        LeadListView row = saved.getValue();
+        assertThat(row.getCompanyId()).isEqualTo(lead.getCompany().getId());
+        assertThat(row.getEmail()).isEqualTo("ana@example.com");
+        assertThat(row.getStatus()).isEqualTo("new");
+        assertThat(row.getOpenTaskCount()).isZero();
+    }
+}
@@ -10,6 +10,7 @@ import com.salesway.leads.entity.PipelineStage;
 import com.salesway.leads.enums.LeadEventType;
 import com.salesway.leads.enums.LeadNoteCategory;
 import com.salesway.leads.repository.LeadAnswerRepository;
+import com.salesway.leads.repository.LeadListViewRepository;
 import com.salesway.leads.repository.LeadRepository;
 import com.salesway.leads.repository.LeadStandardFieldsRepository;
 import com.salesway.leads.repository.PipelineStageRepository;
@@ -82,6 +83,8 @@ class LeadManagementServiceTest {
 
         leadManagementService = new LeadManagementService(
                 leadRepository,
+                mock(LeadListViewRepository.class),
+                mock(LeadListViewService.class),
                 standardFieldsRepository,
                 leadAnswerRepository,
                 companyAccessService,
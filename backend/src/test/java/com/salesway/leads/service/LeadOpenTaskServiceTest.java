@@ -0,0 +1,98 @@
+package com.salesway.leads.service;
+
+import com.salesway.leads.repository.LeadListViewRepository;
+import com.salesway.leads.repository.LeadRepository;
+import com.salesway.tasks.enums.TaskBoardStatus;
+import com.salesway.tasks.repository.TaskBoardItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeadOpenTaskServiceTest {
+
+    private LeadRepository leadRepository;
+    private LeadListViewRepository leadListViewRepository;
+    private LeadFacetService leadFacetService;
+    private LeadOpenTaskService service;
+
+    @BeforeEach
+    void setUp() {
+        leadRepository = mock(LeadRepository.class);
+        leadListViewRepository = mock(LeadListViewRepository.class);
+        leadFacetService = mock(LeadFacetService.class);
+        service = new LeadOpenTaskService(
+                leadRepository, leadListViewRepository, mock(TaskBoardItemRepository.class), leadFacetService);
+    }
+
+    @Test
+    void taskChanged_closingTaskDecrementsLeadAndView() {
+        UUID leadId = UUID.randomUUID();
+
+        service.taskChanged(leadId, TaskBoardStatus.IN_PROGRESS, leadId, TaskBoardStatus.DONE);
+
+        verify(leadRepository).adjustOpenTaskCount(leadId, -1);
+        verify(leadListViewRepository).adjustOpenTaskCount(leadId, -1);
+    }
+
+    @Test
+    void taskCreated_evictsTheCompanyFacets() {
+        UUID leadId = UUID.randomUUID();
+        UUID companyId = UUID.randomUUID();
+        when(leadRepository.findCompanyIdById(leadId)).thenReturn(Optional.of(companyId));
+
+        service.taskCreated(leadId, TaskBoardStatus.TODO);
+
+        verify(leadFacetService).invalidate(companyId);
+    }
+
+    @Test
+    void taskChanged_movingOpenTaskShiftsCountBetweenLeads() {
+        UUID oldLeadId = UUID.randomUUID();
+        UUID newLeadId = UUID.randomUUID();
+
+        service.taskChanged(oldLeadId, TaskBoardStatus.TODO, newLeadId, TaskBoardStatus.TODO);
+
+        verify(leadRepository).adjustOpenTaskCount(oldLeadId, -1);
+        verify(leadRepository).adjustOpenTaskCount(newLeadId, 1);
+    }
+
+    @Test
+    void taskChanged_ignoresEditsThatKeepTheTaskOpenOnTheSameLead() {
+        UUID leadId = UUID.randomUUID();
+
+        service.taskChanged(leadId, TaskBoardStatus.TODO, leadId, TaskBoardStatus.IN_PROGRESS);
+        service.taskCreated(null, TaskBoardStatus.TODO);
+
+        verify(leadRepository, never()).adjustOpenTaskCount(any(), anyInt());
+    }
+
+    @Test
+    void reconcileBatch_repairsDriftedCountsAndStopsOnShortPage() {
+        UUID drifted = UUID.randomUUID();
+        UUID inSync = UUID.randomUUID();
+        when(leadRepository.findOpenTaskCountsAfter(eq(LeadOpenTaskService.MIN_UUID), eq(TaskBoardStatus.DONE), any()))
+                .thenReturn(List.of(
+                        new Object[]{drifted, 3, 3, 1L},
+                        new Object[]{inSync, 2, null, 2L}
+                ));
+
+        UUID next = service.reconcileBatch(LeadOpenTaskService.MIN_UUID, 10);
+
+        assertThat(next).isNull();
+        verify(leadRepository).repairOpenTaskCount(drifted, 3, 1);
+        verify(leadListViewRepository).repairOpenTaskCount(drifted, 3, 1);
+        verify(leadRepository, never()).repairOpenTaskCount(eq(inSync), anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,89 @@
+package com.salesway.leads.service;
+
+import com.salesway.leads.dto.LeadOverviewResponse;
+import com.salesway.leads.entity.Lead;
+import com.salesway.leads.entity.LeadAnswer;
+import com.salesway.leads.repository.LeadAnswerRepository;
+import com.salesway.manager.service.CompanyAccessService;
+import com.salesway.memberships.entity.CompanyMembership;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeadOverviewServiceTest {
+
+    private LeadManagementService leadManagementService;
+    private LeadDetailsService leadDetailsService;
+    private LeadAnswerRepository leadAnswerRepository;
+    private LeadOverviewService service;
+    private CompanyMembership membership;
+    private Lead lead;
+
+    @BeforeEach
+    void setUp() {
+        CompanyAccessService companyAccessService = mock(CompanyAccessService.class);
+        leadManagementService = mock(LeadManagementService.class);
+        leadDetailsService = mock(LeadDetailsService.class);
+        leadAnswerRepository = mock(LeadAnswerRepository.class);
+        service = new LeadOverviewService(companyAccessService, leadManagementService, leadDetailsService, leadAnswerRepository);
+
+        membership = new CompanyMembership();
+        lead = new Lead();
+        lead.setId(UUID.randomUUID());
+        when(companyAccessService.getActiveMembership()).thenReturn(membership);
+        when(leadManagementService.getLeadOrThrow(lead.getId(), membership)).thenReturn(lead);
+    }
+
+    @Test
+    void getOverview_authorizesOnceAndLoadsAnswersOnceForBothSections() {
+        List<LeadAnswer> answers = List.of(new LeadAnswer());
+        when(leadAnswerRepository.findByLeadIdOrderByDisplayOrderSnapshotAscCreatedAtAsc(lead.getId())).thenReturn(answers);
+
+        LeadOverviewResponse response = service.getOverview(lead.getId(), "lead, answers", 20);
+
+        verify(leadManagementService, times(1)).getLeadOrThrow(lead.getId(), membership);
+        verify(leadAnswerRepository, times(1)).findByLeadIdOrderByDisplayOrderSnapshotAscCreatedAtAsc(lead.getId());
+        verify(leadManagementService).toDetailResponse(lead, answers);
+        verify(leadDetailsService).toAnswerItems(answers);
+        verify(leadDetailsService, never()).getAiInsights(any(), any());
+        assertThat(response.activities()).isNull();
+        assertThat(response.tasks()).isNull();
+    }
+
+    @Test
+    void getOverview_leavesAiInsightsOutByDefault() {
+        when(leadAnswerRepository.findByLeadIdOrderByDisplayOrderSnapshotAscCreatedAtAsc(lead.getId())).thenReturn(List.of());
+
+        LeadOverviewResponse response = service.getOverview(lead.getId(), null, 20);
+
+        verify(leadDetailsService, never()).getAiInsights(any(), any());
+        verify(leadDetailsService).getActivities(membership, lead, null, 20);
+        verify(leadManagementService).getLeadTasks(lead);
+        assertThat(response.aiInsights()).isNull();
+    }
+
+    @Test
+    void getOverview_loadsAiInsightsWhenRequested() {
+        service.getOverview(lead.getId(), "aiInsights", 20);
+
+        verify(leadDetailsService).getAiInsights(membership, lead);
+    }
+
+    @Test
+    void getOverview_rejectsUnknownFields() {
+        assertThatThrownBy(() -> service.getOverview(lead.getId(), "lead,timeline", 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid field: timeline");
+    }
+}
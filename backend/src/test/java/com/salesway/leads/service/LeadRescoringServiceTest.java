@@ -0,0 +1,135 @@
+package com.salesway.leads.service;
+
+import com.salesway.billing.service.SubscriptionAccessService;
+import com.salesway.companies.entity.Company;
+import com.salesway.leads.entity.Lead;
+import com.salesway.leads.entity.LeadRescoringJob;
+import com.salesway.leads.enums.LeadRescoringJobStatus;
+import com.salesway.leads.repository.LeadAnswerRepository;
+import com.salesway.leads.repository.LeadRepository;
+import com.salesway.leads.repository.LeadRescoringJobRepository;
+import com.salesway.manager.service.ManagerAccessService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeadRescoringServiceTest {
+
+    private LeadRescoringJobRepository jobRepository;
+    private LeadRepository leadRepository;
+    private LeadAsyncScoringService leadAsyncScoringService;
+    private LeadScoringRulesService leadScoringRulesService;
+    private LeadRescoringService service;
+    private Company company;
+    private LeadRescoringJob job;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(LeadRescoringJobRepository.class);
+        leadRepository = mock(LeadRepository.class);
+        LeadAnswerRepository answerRepository = mock(LeadAnswerRepository.class);
+        leadAsyncScoringService = mock(LeadAsyncScoringService.class);
+        leadScoringRulesService = mock(LeadScoringRulesService.class);
+        service = new LeadRescoringService(
+                jobRepository,
+                leadRepository,
+                answerRepository,
+                leadAsyncScoringService,
+                leadScoringRulesService,
+                mock(ManagerAccessService.class),
+                mock(SubscriptionAccessService.class),
+                mock(LeadListViewService.class),
+                2,
+                120_000
+        );
+
+        company = new Company();
+        company.setId(UUID.randomUUID());
+        job = new LeadRescoringJob();
+        job.setId(UUID.randomUUID());
+        job.setCompany(company);
+        job.setStatus(LeadRescoringJobStatus.RUNNING);
+        when(jobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(answerRepository.findByLeadIdInOrderByDisplayOrderSnapshotAscCreatedAtAsc(anyList())).thenReturn(List.of());
+        when(leadScoringRulesService.getCompiledRules(company.getId()))
+                .thenReturn(LeadScoringRules.compile(LeadScoringRulesService.defaultDefinition()));
+        when(leadAsyncScoringService.scoreLead(any(LeadScoringRules.class), any(), any(), anyList()))
+                .thenReturn(new LeadAsyncScoringService.ScoringResult(42, "summary"));
+    }
+
+    @Test
+    void processNextPage_scoresAPageAndAdvancesTheCursor() {
+        Lead first = lead();
+        Lead second = lead();
+        when(leadRepository.findByCompanyIdOrderByIdAsc(company.getId(), PageRequest.of(0, 2)))
+                .thenReturn(List.of(first, second));
+
+        assertThat(service.processNextPage(job.getId())).isTrue();
+
+        assertThat(job.getProcessedLeads()).isEqualTo(2);
+        assertThat(job.getLastLeadId()).isEqualTo(second.getId());
+        assertThat(first.getAiScore()).isEqualTo(42);
+        assertThat(job.getLockedUntil()).isNotNull();
+        verify(leadScoringRulesService, times(1)).getCompiledRules(company.getId());
+    }
+
+    @Test
+    void processNextPage_resumesAfterTheStoredCursor() {
+        UUID cursor = UUID.randomUUID();
+        job.setLastLeadId(cursor);
+        job.setProcessedLeads(2);
+        Lead next = lead();
+        when(leadRepository.findByCompanyIdAndIdGreaterThanOrderByIdAsc(company.getId(), cursor, PageRequest.of(0, 2)))
+                .thenReturn(List.of(next));
+
+        assertThat(service.processNextPage(job.getId())).isTrue();
+
+        assertThat(job.getProcessedLeads()).isEqualTo(3);
+        assertThat(job.getLastLeadId()).isEqualTo(next.getId());
+        verify(leadRepository, never()).findByCompanyIdOrderByIdAsc(any(), any());
+    }
+
+    @Test
+    void processNextPage_completesTheJobOnceNoLeadsAreLeft() {
+        job.setLastLeadId(UUID.randomUUID());
+        when(leadRepository.findByCompanyIdAndIdGreaterThanOrderByIdAsc(eq(company.getId()), any(), any()))
+                .thenReturn(List.of());
+
+        assertThat(service.processNextPage(job.getId())).isFalse();
+
+        assertThat(job.getStatus()).isEqualTo(LeadRescoringJobStatus.COMPLETED);
+        assertThat(job.getFinishedAt()).isNotNull();
+        assertThat(job.getLockedUntil()).isNull();
+    }
+
+    @Test
+    void processNextPage_ignoresJobsThatAreNotRunning() {
+        job.setStatus(LeadRescoringJobStatus.FAILED);
+
+        assertThat(service.processNextPage(job.getId())).isFalse();
+
+        verify(leadRepository, never()).findByCompanyIdOrderByIdAsc(any(), any());
+    }
+
+    private Lead lead() {
+        Lead lead = new Lead();
+        lead.setId(UUID.randomUUID());
+        lead.setCompany(company);
+        lead.setStatus("new");
+        return lead;
+    }
+}
@@ -0,0 +1,70 @@
+package com.salesway.leads.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeadRescoringWorkerTest {
+
+    private LeadRescoringService leadRescoringService;
+    private UUID jobId;
+
+    @BeforeEach
+    void setUp() {
+        leadRescoringService = mock(LeadRescoringService.class);
+        jobId = UUID.randomUUID();
+        when(leadRescoringService.findClaimableJobIds()).thenReturn(List.of(jobId));
+        when(leadRescoringService.claimJob(jobId)).thenReturn(true);
+    }
+
+    @Test
+    void processJobs_stopsAfterThePageBudgetAndReleasesTheJob() {
+        when(leadRescoringService.processNextPage(jobId)).thenReturn(true);
+
+        new LeadRescoringWorker(leadRescoringService, true, 3).processJobs();
+
+        verify(leadRescoringService, times(3)).processNextPage(jobId);
+        verify(leadRescoringService).releaseJob(jobId);
+    }
+
+    @Test
+    void processJobs_leavesAFinishedJobUnreleased() {
+        when(leadRescoringService.processNextPage(jobId)).thenReturn(true, false);
+
+        new LeadRescoringWorker(leadRescoringService, true, 5).processJobs();
+
+        verify(leadRescoringService, times(2)).processNextPage(jobId);
+        verify(leadRescoringService, never()).releaseJob(any());
+    }
+
+    @Test
+    void processJobs_sharesTheBudgetAcrossJobs() {
+        UUID otherJobId = UUID.randomUUID();
+        when(leadRescoringService.findClaimableJobIds()).thenReturn(List.of(jobId, otherJobId));
+        when(leadRescoringService.processNextPage(jobId)).thenReturn(true);
+
+        new LeadRescoringWorker(leadRescoringService, true, 2).processJobs();
+
+        verify(leadRescoringService, never()).claimJob(otherJobId);
+    }
+
+    @Test
+    void processJobs_marksTheJobFailedWhenAPageThrows() {
+        IllegalStateException failure = new IllegalStateException("boom");
+        when(leadRescoringService.processNextPage(jobId)).thenThrow(failure);
+
+        new LeadRescoringWorker(leadRescoringService, true, 5).processJobs();
+
+        verify(leadRescoringService).markFailed(jobId, failure);
+        verify(leadRescoringService, never()).releaseJob(any());
+    }
+}
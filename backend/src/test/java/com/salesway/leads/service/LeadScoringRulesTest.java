@@ -0,0 +1,70 @@
+package com.salesway.leads.service;
+
+import com.salesway.leads.dto.LeadScoringRulesRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LeadScoringRulesTest {
+
+    @Test
+    void matcher_findsOverlappingPhrasesInSinglePassOverFoldedText() {
+        Map<String, List<String>> phrases = new LinkedHashMap<>();
+        phrases.put("he", List.of("he"));
+        phrases.put("she", List.of("she"));
+        phrases.put("hers", List.of("hers"));
+        phrases.put("diacritics", List.of("mă încetinește"));
+        LeadKeywordMatcher matcher = LeadKeywordMatcher.compile(phrases);
+
+        long mask = matcher.matchMask("USHERS and ma incetineste");
+
+        assertThat(matcher.signalsIn(mask)).containsExactly("he", "she", "hers", "diacritics");
+        assertThat(matcher.matchMask("nothing relevant")).isZero();
+    }
+
+    @Test
+    void defaultRules_scoreRomanianAnswersWithOrWithoutDiacritics() {
+        LeadScoringRules rules = LeadScoringRules.compile(LeadScoringRulesService.defaultDefinition());
+
+        LeadScoringRules.Evaluation withDiacritics = rules.evaluate("Vreau să încep cât mai curând, prețul contează");
+        LeadScoringRules.Evaluation folded = rules.evaluate("vreau sa incep cat mai curand, pretul conteaza");
+
+        assertThat(withDiacritics).isEqualTo(folded);
+        assertThat(withDiacritics.matchedSignals()).containsExactly("readyNow", "priceMentioned");
+        assertThat(scoreOf(withDiacritics, "Urgency To Change")).isEqualTo(9);
+        assertThat(scoreOf(withDiacritics, "Value Orientation")).isEqualTo(2);
+        assertThat(scoreOf(withDiacritics, "Decision Authority")).isEqualTo(5);
+    }
+
+    @Test
+    void compile_rejectsUnknownSignalsAndScoresAboveBudget() {
+        LeadScoringRulesRequest unknownSignal = LeadScoringRulesService.defaultDefinition();
+        unknownSignal.getCriteria().get(0).getTiers().get(0).setSignals(List.of("missing"));
+        assertThatThrownBy(() -> LeadScoringRules.compile(unknownSignal))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unknown signal");
+
+        LeadScoringRulesRequest overBudget = LeadScoringRulesService.defaultDefinition();
+        LeadScoringRulesRequest.Criterion extra = new LeadScoringRulesRequest.Criterion();
+        extra.setLabel("Extra");
+        extra.setDefaultScore(10);
+        overBudget.setCriteria(new java.util.ArrayList<>(overBudget.getCriteria()));
+        overBudget.getCriteria().add(extra);
+        assertThatThrownBy(() -> LeadScoringRules.compile(overBudget))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("must not exceed 100");
+    }
+
+    private int scoreOf(LeadScoringRules.Evaluation evaluation, String label) {
+        return evaluation.criteria().stream()
+                .filter(criterion -> criterion.label().equals(label))
+                .findFirst()
+                .orElseThrow()
+                .value();
+    }
+}
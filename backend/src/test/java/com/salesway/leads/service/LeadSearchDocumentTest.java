@@ -0,0 +1,30 @@
+package com.salesway.leads.service;
+
+import com.salesway.leads.entity.Lead;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeadSearchDocumentTest {
+
+    @Test
+    void apply_foldsDiacriticsAndIndexesBothPhoneForms() {
+        Lead lead = new Lead();
+
+        LeadSearchDocument.apply(lead, "Ștefan  Ţugui", "Brânză-Mureșan", "Stefan@Example.com", "0740 111 222");
+
+        assertThat(lead.getSearchDocument())
+                .isEqualTo("stefan tugui branza-muresan stefan@example.com 40740111222 0740111222");
+        assertThat(lead.getSearchPhoneDigits()).isEqualTo("40740111222");
+    }
+
+    @Test
+    void queryHelpers_splitTermsAndOnlyPrefixMatchPhoneLookingQueries() {
+        assertThat(LeadSearchDocument.queryTerms("  Mureșan   ȘTEFAN ")).containsExactly("muresan", "stefan");
+        assertThat(LeadSearchDocument.queryTerms(" ")).isEmpty();
+        assertThat(LeadSearchDocument.phonePrefix("0740 11")).isEqualTo("4074011");
+        assertThat(LeadSearchDocument.phonePrefix("+44 20")).isEqualTo("4420");
+        assertThat(LeadSearchDocument.phonePrefix("07")).isNull();
+        assertThat(LeadSearchDocument.phonePrefix("ana 0740")).isNull();
+    }
+}
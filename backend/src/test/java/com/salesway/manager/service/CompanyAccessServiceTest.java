@@ -0,0 +1,118 @@
+package com.salesway.manager.service;
+
+import com.salesway.auth.entity.User;
+import com.salesway.common.enums.MembershipRole;
+import com.salesway.common.enums.MembershipStatus;
+import com.salesway.memberships.entity.CompanyMembership;
+import com.salesway.memberships.repository.CompanyMembershipRepository;
+import com.salesway.security.CustomUserDetails;
+import com.salesway.security.PrincipalCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CompanyAccessServiceTest {
+
+    private CompanyMembershipRepository companyMembershipRepository;
+    private PrincipalCache principalCache;
+    private CompanyAccessService companyAccessService;
+    private UUID userId;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        companyMembershipRepository = mock(CompanyMembershipRepository.class);
+        CompanyContextResolver companyContextResolver = mock(CompanyContextResolver.class);
+        principalCache = mock(PrincipalCache.class);
+        companyAccessService = new CompanyAccessService(companyMembershipRepository, companyContextResolver, principalCache);
+        when(companyContextResolver.resolveCompanyId()).thenReturn(Optional.empty());
+
+        userId = UUID.randomUUID();
+        user = new User();
+        user.setId(userId);
+        user.setEmail("agent@test.com");
+        user.setPasswordHash("x");
+        authenticate(new CustomUserDetails(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getActiveMembership_resolvesOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        CompanyMembership membership = membership(MembershipStatus.ACTIVE);
+        when(principalCache.findActiveMemberships(userId)).thenReturn(List.of(ref(membership)));
+        when(companyMembershipRepository.findById(membership.getId())).thenReturn(Optional.of(membership));
+
+        assertThat(companyAccessService.getActiveMembership()).isSameAs(membership);
+        assertThat(companyAccessService.getActiveMembership()).isSameAs(membership);
+
+        verify(principalCache, times(1)).findActiveMemberships(userId);
+        verify(companyMembershipRepository, times(1)).findById(membership.getId());
+    }
+
+    @Test
+    void getActiveMembership_usesTheTokenMembershipWithoutListingMemberships() {
+        CompanyMembership membership = membership(MembershipStatus.ACTIVE);
+        PrincipalCache.MembershipRef tokenMembership = ref(membership);
+        authenticate(new CustomUserDetails(user, tokenMembership));
+        when(companyMembershipRepository.findById(membership.getId())).thenReturn(Optional.of(membership));
+
+        assertThat(companyAccessService.getActiveMembership()).isSameAs(membership);
+        verify(principalCache, never()).findActiveMemberships(userId);
+    }
+
+    @Test
+    void getActiveMembership_evictsAndRetriesWhenCachedMembershipWasDeactivated() {
+        CompanyMembership deactivated = membership(MembershipStatus.INACTIVE);
+        when(principalCache.findActiveMemberships(userId))
+                .thenReturn(List.of(ref(deactivated)))
+                .thenReturn(List.of());
+        when(companyMembershipRepository.findById(deactivated.getId())).thenReturn(Optional.of(deactivated));
+
+        assertThatThrownBy(() -> companyAccessService.getActiveMembership())
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Active company membership required");
+        verify(principalCache).evictLocally(userId);
+    }
+
+    private void authenticate(CustomUserDetails principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())
+        );
+    }
+
+    private CompanyMembership membership(MembershipStatus status) {
+        CompanyMembership membership = new CompanyMembership();
+        membership.setId(UUID.randomUUID());
+        membership.setRole(MembershipRole.AGENT);
+        membership.setStatus(status);
+        return membership;
+    }
+
+    private PrincipalCache.MembershipRef ref(CompanyMembership membership) {
+        return new PrincipalCache.MembershipRef(membership.getId(), UUID.randomUUID(), membership.getRole());
+    }
+}
@@ -0,0 +1,135 @@
+package com.salesway.manager.service;
+
+import com.salesway.auth.entity.User;
+import com.salesway.common.enums.DailyReportAuditAction;
+import com.salesway.common.enums.DailyReportStatus;
+import com.salesway.companies.entity.Company;
+import com.salesway.manager.dto.ManagerDailyReportUpdateRequest;
+import com.salesway.memberships.entity.CompanyMembership;
+import com.salesway.reports.entity.DailyReport;
+import com.salesway.reports.repository.DailyReportAuditLogRepository;
+import com.salesway.reports.repository.DailyReportInputsRepository;
+import com.salesway.reports.repository.DailyReportMetricsRepository;
+import com.salesway.reports.repository.DailyReportRepository;
+import com.salesway.reports.service.DailyReportDraftBuffer;
+import com.salesway.reports.service.DailyReportRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ManagerReportServiceTest {
+
+    private DailyReportRepository dailyReportRepository;
+    private DailyReportInputsRepository dailyReportInputsRepository;
+    private TeamDashboardStreamService teamDashboardStreamService;
+    private DailyReportDraftBuffer dailyReportDraftBuffer;
+    private ManagerReportService managerReportService;
+    private CompanyMembership agent;
+    private DailyReport report;
+
+    @BeforeEach
+    void setUp() {
+        ManagerAccessService managerAccessService = mock(ManagerAccessService.class);
+        dailyReportRepository = mock(DailyReportRepository.class);
+        dailyReportInputsRepository = mock(DailyReportInputsRepository.class);
+        teamDashboardStreamService = mock(TeamDashboardStreamService.class);
+        dailyReportDraftBuffer = mock(DailyReportDraftBuffer.class);
+        managerReportService = new ManagerReportService(
+                managerAccessService,
+                dailyReportRepository,
+                dailyReportInputsRepository,
+                mock(DailyReportMetricsRepository.class),
+                mock(DailyReportAuditLogRepository.class),
+                mock(DailyReportRollupService.class),
+                teamDashboardStreamService,
+                dailyReportDraftBuffer
+        );
+
+        Company company = new Company();
+        company.setId(UUID.randomUUID());
+        CompanyMembership manager = new CompanyMembership();
+        manager.setId(UUID.randomUUID());
+        manager.setCompany(company);
+        when(managerAccessService.getManagerMembership()).thenReturn(manager);
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("agent@test.com");
+        user.setPasswordHash("x");
+        agent = new CompanyMembership();
+        agent.setId(UUID.randomUUID());
+        agent.setCompany(company);
+        agent.setUser(user);
+
+        report = new DailyReport();
+        report.setId(UUID.randomUUID());
+        report.setCompany(company);
+        report.setAgentMembership(agent);
+        report.setReportDate(LocalDate.of(2024, 5, 16));
+        report.setStatus(DailyReportStatus.DRAFT);
+        when(dailyReportRepository.findByIdForUpdate(report.getId())).thenReturn(Optional.of(report));
+    }
+
+    @Test
+    void updateReport_discardsTheAgentsBufferedDraftUnderTheRowLock() {
+        when(dailyReportInputsRepository.findByDailyReportId(report.getId())).thenReturn(Optional.empty());
+
+        managerReportService.updateReport(report.getId(), request(DailyReportStatus.DRAFT, 12));
+
+        InOrder order = inOrder(dailyReportRepository, dailyReportDraftBuffer, dailyReportInputsRepository);
+        order.verify(dailyReportRepository).findByIdForUpdate(report.getId());
+        order.verify(dailyReportDraftBuffer).discard(agent.getId(), report.getReportDate());
+        order.verify(dailyReportInputsRepository).findByDailyReportId(report.getId());
+        verify(teamDashboardStreamService).reportChanged(eq(DailyReportAuditAction.MANAGER_EDIT), eq(report), any());
+        assertThat(report.getStatus()).isEqualTo(DailyReportStatus.DRAFT);
+    }
+
+    @Test
+    void updateReport_keepsTheBufferedDraftOfALockedReport() {
+        report.setLockedAt(Instant.now());
+
+        assertThatThrownBy(() -> managerReportService.updateReport(report.getId(), request(DailyReportStatus.DRAFT, 12)))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Report is locked");
+
+        verify(dailyReportDraftBuffer, never()).discard(any(), any());
+    }
+
+    private ManagerDailyReportUpdateRequest request(DailyReportStatus status, int outboundDials) {
+        ManagerDailyReportUpdateRequest request = new ManagerDailyReportUpdateRequest();
+        request.setStatus(status);
+        request.setOutboundDials(outboundDials);
+        request.setPickups(0);
+        request.setConversations30sPlus(0);
+        request.setSalesCallBookedFromOutbound(0);
+        request.setSalesCallOnCalendar(0);
+        request.setNoShow(0);
+        request.setRescheduleRequest(0);
+        request.setCancel(0);
+        request.setDeposits(0);
+        request.setSalesOneCallClose(0);
+        request.setFollowupSales(0);
+        request.setUpsellConversationTaken(0);
+        request.setUpsells(0);
+        request.setContractValue(BigDecimal.ZERO);
+        request.setNewCashCollected(BigDecimal.ZERO);
+        return request;
+    }
+}
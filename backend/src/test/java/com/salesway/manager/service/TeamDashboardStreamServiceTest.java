@@ -0,0 +1,259 @@
+package com.salesway.manager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesway.common.enums.DailyReportAuditAction;
+import com.salesway.common.enums.DailyReportStatus;
+import com.salesway.common.enums.MembershipRole;
+import com.salesway.companies.entity.Company;
+import com.salesway.memberships.entity.CompanyMembership;
+import com.salesway.reports.entity.DailyReport;
+import com.salesway.reports.service.DailyReportTotals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TeamDashboardStreamServiceTest {
+
+    private ManagerAccessService managerAccessService;
+    private PlatformTransactionManager transactionManager;
+    private AtomicInteger openTransactions;
+    private RedisTemplate<String, Object> redisTemplate;
+    private QueuedExecutor sendExecutor;
+    private Company company;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        managerAccessService = mock(ManagerAccessService.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        openTransactions = new AtomicInteger();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            openTransactions.incrementAndGet();
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> openTransactions.decrementAndGet()).when(transactionManager).commit(any());
+        redisTemplate = mock(RedisTemplate.class);
+        sendExecutor = new QueuedExecutor();
+        company = new Company();
+        company.setId(UUID.randomUUID());
+    }
+
+    @Test
+    void reportChanged_publishesTheDeltaWithItsRoutingKeys() {
+        TeamDashboardStreamService service = service(10);
+        CompanyMembership manager = membership(MembershipRole.MANAGER, null);
+        CompanyMembership agent = membership(MembershipRole.AGENT, manager);
+        DailyReportTotals delta = new DailyReportTotals(
+                0, 5, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, new BigDecimal("12.50"), BigDecimal.ZERO
+        );
+
+        service.reportChanged(DailyReportAuditAction.SUBMIT, report(agent), delta);
+
+        ArgumentCaptor<Object> message = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).convertAndSend(eq(TeamDashboardStreamService.DASHBOARD_EVENT_CHANNEL), message.capture());
+        String[] parts = message.getValue().toString().split("\\|", 5);
+        assertThat(parts[1]).isEqualTo(company.getId().toString());
+        assertThat(parts[2]).isEqualTo(manager.getId().toString());
+        assertThat(parts[3]).isEmpty();
+        assertThat(parts[4])
+                .contains("\"action\":\"SUBMIT\"")
+                .contains("\"agent_membership_id\":\"" + agent.getId() + "\"")
+                .contains("\"outbound_dials\":5")
+                .contains("\"contract_value\":12.50");
+    }
+
+    @Test
+    void reportChanged_skipsDraftSavesThatChangedNothing() {
+        TeamDashboardStreamService service = service(10);
+        CompanyMembership agent = membership(MembershipRole.AGENT, null);
+
+        service.reportChanged(DailyReportAuditAction.DRAFT_UPDATE, report(agent), DailyReportTotals.ZERO);
+
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    @Test
+    void subscriber_isScopedToItsManagerAndTeam() {
+        UUID managerId = UUID.randomUUID();
+        UUID teamId = UUID.randomUUID();
+        SseEmitter emitter = new SseEmitter();
+
+        TeamDashboardStreamService.Subscriber admin =
+                new TeamDashboardStreamService.Subscriber(emitter, company.getId(), null, null, 1);
+        TeamDashboardStreamService.Subscriber managerTeam =
+                new TeamDashboardStreamService.Subscriber(emitter, company.getId(), managerId, teamId, 1);
+
+        assertThat(admin.matches(UUID.randomUUID(), null)).isTrue();
+        assertThat(managerTeam.matches(managerId, teamId)).isTrue();
+        assertThat(managerTeam.matches(managerId, UUID.randomUUID())).isFalse();
+        assertThat(managerTeam.matches(UUID.randomUUID(), teamId)).isFalse();
+    }
+
+    @Test
+    void subscribe_rejectsStreamsOverTheLimit() {
+        when(managerAccessService.getManagerMembership()).thenReturn(membership(MembershipRole.ADMIN, null));
+        TeamDashboardStreamService service = service(1);
+
+        service.subscribe(null);
+
+        assertThatThrownBy(() -> service.subscribe(null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        exception -> assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(service.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void subscribe_resolvesTheManagerInATransactionThatEndsBeforeTheStreamIsReturned() {
+        AtomicInteger openWhileResolving = new AtomicInteger(-1);
+        CompanyMembership manager = membership(MembershipRole.MANAGER, null);
+        when(managerAccessService.getManagerMembership()).thenAnswer(invocation -> {
+            openWhileResolving.set(openTransactions.get());
+            return manager;
+        });
+
+        service(10).subscribe(null);
+
+        assertThat(openWhileResolving).hasValue(1);
+        assertThat(openTransactions).hasValue(0);
+        verify(transactionManager).commit(any(TransactionStatus.class));
+    }
+
+    @Test
+    void reportChanged_queuesDeliveryForTheSendPool() {
+        when(managerAccessService.getManagerMembership()).thenReturn(membership(MembershipRole.ADMIN, null));
+        TeamDashboardStreamService service = service(10);
+        service.subscribe(null);
+        sendExecutor.runAll();
+
+        service.reportChanged(DailyReportAuditAction.SUBMIT, report(membership(MembershipRole.AGENT, null)), delta());
+
+        assertThat(sendExecutor.tasks).hasSize(1);
+        sendExecutor.runAll();
+        assertThat(service.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reportChanged_dropsASubscriberThatFallsBehindItsBacklog() {
+        when(managerAccessService.getManagerMembership()).thenReturn(membership(MembershipRole.ADMIN, null));
+        TeamDashboardStreamService service = service(10);
+        service.subscribe(null);
+        CompanyMembership agent = membership(MembershipRole.AGENT, null);
+
+        // the ready event and the first report fill the backlog while the sender is busy
+        service.reportChanged(DailyReportAuditAction.SUBMIT, report(agent), delta());
+        service.reportChanged(DailyReportAuditAction.SUBMIT, report(agent), delta());
+
+        assertThat(service.subscriberCount()).isZero();
+        assertThat(sendExecutor.tasks).hasSize(1);
+        sendExecutor.runAll();
+        service.reportChanged(DailyReportAuditAction.SUBMIT, report(agent), delta());
+        assertThat(sendExecutor.tasks).isEmpty();
+    }
+
+    private TeamDashboardStreamService service(int maxSubscribers) {
+        return new TeamDashboardStreamService(
+                managerAccessService,
+                transactionManager,
+                redisTemplate,
+                mock(RedisMessageListenerContainer.class),
+                new ObjectMapper().findAndRegisterModules(),
+                60_000,
+                maxSubscribers,
+                2,
+                sendExecutor
+        );
+    }
+
+    private DailyReportTotals delta() {
+        return new DailyReportTotals(0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    private CompanyMembership membership(MembershipRole role, CompanyMembership manager) {
+        CompanyMembership membership = new CompanyMembership();
+        membership.setId(UUID.randomUUID());
+        membership.setCompany(company);
+        membership.setRole(role);
+        membership.setManagerMembership(manager);
+        return membership;
+    }
+
+    private DailyReport report(CompanyMembership agent) {
+        DailyReport report = new DailyReport();
+        report.setId(UUID.randomUUID());
+        report.setCompany(company);
+        report.setAgentMembership(agent);
+        report.setReportDate(LocalDate.of(2024, 5, 16));
+        report.setStatus(DailyReportStatus.SUBMITTED);
+        return report;
+    }
+
+    /**
+     * Holds submitted tasks until the test runs them, standing in for a busy send pool.
+     */
+    private static final class QueuedExecutor extends AbstractExecutorService {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
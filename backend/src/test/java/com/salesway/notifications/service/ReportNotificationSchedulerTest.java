@@ -0,0 +1,118 @@
+package com.salesway.notifications.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesway.companies.repository.CompanyRepository;
+import com.salesway.memberships.repository.CompanyMembershipRepository;
+import com.salesway.notifications.entity.Notification;
+import com.salesway.notifications.repository.NotificationRepository;
+import com.salesway.reports.repository.DailyReportRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReportNotificationSchedulerTest {
+
+    private EntityManager entityManager;
+    private CompanyRepository companyRepository;
+    private NotificationRepository notificationRepository;
+    private Query query;
+    private ReportNotificationScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        companyRepository = mock(CompanyRepository.class);
+        notificationRepository = mock(NotificationRepository.class);
+        query = mock(Query.class);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        scheduler = new ReportNotificationScheduler(
+                entityManager,
+                companyRepository,
+                mock(CompanyMembershipRepository.class),
+                mock(DailyReportRepository.class),
+                notificationRepository,
+                new NotificationService(notificationRepository, new ObjectMapper()),
+                "23:59:59",
+                30
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendReportReminders_queriesOnlyZonesInsideTheWindowAndSavesInOneBatch() {
+        when(companyRepository.findDistinctTimezones()).thenReturn(List.of("UTC", "Not/AZone", "America/New_York"));
+        UUID agentId = UUID.randomUUID();
+        when(query.getResultList()).thenReturn(List.of(
+                new Object[]{agentId, UUID.randomUUID(), UUID.randomUUID(), "agent@example.com"},
+                new Object[]{UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "other@example.com"}
+        ));
+
+        // 23:45 in UTC, hours before the New York deadline
+        scheduler.sendReportReminders(Instant.parse("2024-05-16T23:45:00Z"));
+
+        verify(entityManager, times(1)).createNativeQuery(anyString());
+        verify(query).setParameter("timezones", List.of("UTC", "Not/AZone"));
+        verify(query).setParameter("reportDate", LocalDate.of(2024, 5, 16));
+        ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).hasSize(2);
+        assertThat(saved.getValue().get(0).getPayloadJsonText())
+                .contains(agentId.toString())
+                .contains("agent@example.com");
+    }
+
+    @Test
+    void sendReportReminders_remindsAboutTheUtcDayEastOfUtcUntilThatDayCloses() {
+        when(companyRepository.findDistinctTimezones()).thenReturn(List.of("Europe/Bucharest"));
+        when(query.getResultList()).thenReturn(List.of());
+
+        // 23:45 in Bucharest: the local deadline is close, but the report stays open until UTC midnight
+        scheduler.sendReportReminders(Instant.parse("2024-05-16T20:45:00Z"));
+        verify(entityManager, never()).createNativeQuery(anyString());
+
+        // 02:45 on the 17th in Bucharest, 15 minutes before reports dated the 16th close
+        scheduler.sendReportReminders(Instant.parse("2024-05-16T23:45:00Z"));
+        verify(query).setParameter("reportDate", LocalDate.of(2024, 5, 16));
+        verify(query).setParameter("windowStart", Instant.parse("2024-05-16T23:30:00Z"));
+        verify(query).setParameter("windowEnd", Instant.parse("2024-05-17T00:00:00Z"));
+    }
+
+    @Test
+    void sendReportReminders_skipsEveryZoneOutsideTheWindow() {
+        when(companyRepository.findDistinctTimezones()).thenReturn(List.of("UTC", "Europe/Bucharest"));
+
+        scheduler.sendReportReminders(Instant.parse("2024-05-16T12:00:00Z"));
+
+        verify(entityManager, never()).createNativeQuery(anyString());
+        verify(notificationRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void sendReportReminders_savesNothingWhenEveryAgentIsCovered() {
+        when(companyRepository.findDistinctTimezones()).thenReturn(List.of("UTC"));
+        when(query.getResultList()).thenReturn(List.of());
+
+        scheduler.sendReportReminders(Instant.parse("2024-05-16T23:45:00Z"));
+
+        verify(query).setParameter(eq("timezones"), eq(List.of("UTC")));
+        verify(notificationRepository, never()).saveAll(any());
+    }
+}
@@ -0,0 +1,103 @@
+package com.salesway.reports.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesway.reports.dto.DailyReportInputsRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DailyReportDraftBufferTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RedisTemplate<String, Object> redisTemplate;
+    private HashOperations<String, Object, Object> hashOperations;
+    private UUID agentMembershipId;
+    private LocalDate reportDate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        hashOperations = mock(HashOperations.class);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        agentMembershipId = UUID.randomUUID();
+        reportDate = LocalDate.of(2024, 5, 16);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void save_fallsBackWhenRedisIsUnavailable() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(buffer(true).save(agentMembershipId, reportDate, request(12))).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void save_isSkippedWhenDisabled() {
+        assertThat(buffer(false).save(agentMembershipId, reportDate, request(12))).isFalse();
+
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void find_countsTheSavesSinceTheLastFlush() throws Exception {
+        when(hashOperations.multiGet(anyString(), anyList()))
+                .thenReturn(Arrays.asList(objectMapper.writeValueAsString(request(12)), 7, 4));
+
+        DailyReportDraftBuffer.Draft draft = buffer(true).find(agentMembershipId, reportDate).orElseThrow();
+
+        assertThat(draft.revision()).isEqualTo(7);
+        assertThat(draft.saves()).isEqualTo(3);
+        assertThat(draft.inputs().getOutboundDials()).isEqualTo(12);
+        assertThat(draft.inputs().getContractValue()).isEqualByComparingTo("99.90");
+    }
+
+    @Test
+    void find_isEmptyWithoutABufferedDraft() {
+        when(hashOperations.multiGet(anyString(), anyList())).thenReturn(Arrays.asList(null, null, null));
+
+        assertThat(buffer(true).find(agentMembershipId, reportDate)).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void claimDue_parsesTheLeasedDrafts() {
+        String member = new DailyReportDraftBuffer.DraftKey(agentMembershipId, reportDate).member();
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(List.of(member));
+
+        List<DailyReportDraftBuffer.DraftKey> due = buffer(true).claimDue(50);
+
+        assertThat(due).containsExactly(new DailyReportDraftBuffer.DraftKey(agentMembershipId, reportDate));
+    }
+
+    private DailyReportDraftBuffer buffer(boolean enabled) {
+        return new DailyReportDraftBuffer(redisTemplate, objectMapper, enabled, 5_000, 60_000, 86_400_000);
+    }
+
+    private DailyReportInputsRequest request(int outboundDials) {
+        DailyReportInputsRequest request = new DailyReportInputsRequest();
+        request.setOutboundDials(outboundDials);
+        request.setContractValue(new BigDecimal("99.90"));
+        return request;
+    }
+}
@@ -0,0 +1,91 @@
+package com.salesway.reports.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DailyReportFinalizationServiceTest {
+
+    private static final LocalDate REPORT_DATE = LocalDate.of(2024, 5, 16);
+    private static final Instant DEADLINE = Instant.parse("2024-05-17T00:00:00Z");
+
+    private EntityManager entityManager;
+    private Query query;
+    private DailyReportRollupService dailyReportRollupService;
+    private DailyReportFinalizationService service;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        query = mock(Query.class);
+        dailyReportRollupService = mock(DailyReportRollupService.class);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        service = new DailyReportFinalizationService(entityManager, dailyReportRollupService);
+    }
+
+    @Test
+    void finalizeDay_submitsDraftsCreatesMissingReportsAndFillsTheirRows() {
+        when(query.executeUpdate()).thenReturn(3, 0, 0);
+        List<Object> created = new ArrayList<>();
+        created.add(new Object[]{UUID.randomUUID(), UUID.randomUUID()});
+        when(query.getResultList()).thenReturn(created);
+
+        DailyReportFinalizationService.Result result = service.finalizeDay(List.of("UTC"), REPORT_DATE, DEADLINE);
+
+        assertThat(result).isEqualTo(new DailyReportFinalizationService.Result(3, 1));
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        verify(entityManager, times(4)).createNativeQuery(statements.capture());
+        assertThat(statements.getAllValues().get(0))
+                .contains("SET status = 'AUTO_SUBMITTED'")
+                .contains("status = 'DRAFT'")
+                .contains("INSERT INTO daily_report_audit_log");
+        assertThat(statements.getAllValues().get(1))
+                .contains("INSERT INTO daily_reports")
+                .contains("m.created_at <= :deadline")
+                .contains("ON CONFLICT (agent_membership_id, report_date) DO NOTHING");
+        assertThat(statements.getAllValues().get(2)).contains("INSERT INTO daily_report_inputs");
+        assertThat(statements.getAllValues().get(3)).contains("INSERT INTO daily_report_metrics");
+        verify(query, times(4)).setParameter("reportDate", REPORT_DATE);
+        verify(query, times(2)).setParameter("deadline", DEADLINE);
+        verify(query, times(4)).setParameter("timezones", List.of("UTC"));
+    }
+
+    @Test
+    void finalizeDay_addsCreatedReportsToTheRollupsPerCompanyInChunks() {
+        UUID companyId = UUID.randomUUID();
+        UUID otherCompanyId = UUID.randomUUID();
+        List<Object> created = new ArrayList<>();
+        for (int index = 0; index < 1_001; index++) {
+            created.add(new Object[]{UUID.randomUUID(), companyId});
+        }
+        created.add(new Object[]{UUID.randomUUID().toString(), otherCompanyId.toString()});
+        when(query.getResultList()).thenReturn(created);
+
+        DailyReportFinalizationService.Result result = service.finalizeDay(List.of("UTC"), REPORT_DATE, DEADLINE);
+
+        assertThat(result.createdEmpty()).isEqualTo(1_002);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UUID>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(dailyReportRollupService, times(2)).reportsCreated(eq(companyId), chunks.capture());
+        assertThat(chunks.getAllValues()).extracting(List::size).containsExactly(1_000, 1);
+        verify(dailyReportRollupService).reportsCreated(eq(otherCompanyId), any());
+    }
+}
@@ -0,0 +1,89 @@
+package com.salesway.reports.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DailyReportFinalizationWorkerTest {
+
+    private DailyReportFinalizationService finalizationService;
+    private DailyReportDraftFlushWorker draftFlushWorker;
+
+    @BeforeEach
+    void setUp() {
+        finalizationService = mock(DailyReportFinalizationService.class);
+        draftFlushWorker = mock(DailyReportDraftFlushWorker.class);
+        when(finalizationService.finalizeDay(anyList(), any(), any()))
+                .thenReturn(new DailyReportFinalizationService.Result(0, 0));
+    }
+
+    @Test
+    void lastDueDay_isYesterdaysUntilTodaysDeadlinePasses() {
+        DailyReportFinalizationWorker worker = worker(360);
+        ZoneId newYork = ZoneId.of("America/New_York");
+
+        DailyReportFinalizationWorker.DueDay beforeDeadline =
+                worker.lastDueDay(newYork, Instant.parse("2024-05-17T03:00:00Z"));
+        DailyReportFinalizationWorker.DueDay afterDeadline =
+                worker.lastDueDay(newYork, Instant.parse("2024-05-17T04:30:00Z"));
+
+        assertThat(beforeDeadline.reportDate()).isEqualTo(LocalDate.of(2024, 5, 15));
+        assertThat(afterDeadline.reportDate()).isEqualTo(LocalDate.of(2024, 5, 16));
+        assertThat(afterDeadline.closesAt()).isEqualTo(Instant.parse("2024-05-17T03:59:59Z"));
+    }
+
+    @Test
+    void lastDueDay_waitsForTheUtcDayTheReportsAreDatedByInZonesEastOfUtc() {
+        DailyReportFinalizationWorker worker = worker(360);
+        ZoneId bucharest = ZoneId.of("Europe/Bucharest");
+
+        // the local deadline has passed, but reports dated 2024-05-16 are still being written
+        DailyReportFinalizationWorker.DueDay afterLocalDeadline =
+                worker.lastDueDay(bucharest, Instant.parse("2024-05-16T21:30:00Z"));
+        DailyReportFinalizationWorker.DueDay afterUtcMidnight =
+                worker.lastDueDay(bucharest, Instant.parse("2024-05-17T00:00:30Z"));
+
+        assertThat(afterLocalDeadline.reportDate()).isEqualTo(LocalDate.of(2024, 5, 15));
+        assertThat(afterLocalDeadline.closesAt()).isEqualTo(Instant.parse("2024-05-16T00:00:00Z"));
+        assertThat(afterUtcMidnight.reportDate()).isEqualTo(LocalDate.of(2024, 5, 16));
+        assertThat(afterUtcMidnight.closesAt()).isEqualTo(Instant.parse("2024-05-17T00:00:00Z"));
+    }
+
+    @Test
+    void finalizeDueDays_runsOncePerZoneAndFoldsUnknownTimezonesIntoUtc() {
+        when(finalizationService.findTimezones()).thenReturn(List.of("UTC", "Not/AZone", "Europe/Bucharest"));
+
+        worker(24 * 60).finalizeDueDays();
+
+        verify(finalizationService).finalizeDay(eq(List.of("UTC", "Not/AZone")), any(), any());
+        verify(finalizationService).finalizeDay(eq(List.of("Europe/Bucharest")), any(), any());
+        verify(draftFlushWorker, atLeastOnce()).flushPending(any());
+    }
+
+    @Test
+    void finalizeDueDays_skipsZonesPastTheGracePeriod() {
+        when(finalizationService.findTimezones()).thenReturn(List.of("UTC"));
+
+        worker(-1).finalizeDueDays();
+
+        verify(finalizationService, never()).finalizeDay(anyList(), any(), any());
+    }
+
+    private DailyReportFinalizationWorker worker(long graceMinutes) {
+        return new DailyReportFinalizationWorker(finalizationService, draftFlushWorker, true, "23:59:59", graceMinutes);
+    }
+}
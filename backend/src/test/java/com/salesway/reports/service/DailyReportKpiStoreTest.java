@@ -0,0 +1,203 @@
+package com.salesway.reports.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DailyReportKpiStoreTest {
+
+    private static final long WINDOW_BYTES = 16L * 31 * Long.BYTES;
+
+    private EntityManager entityManager;
+    private Query query;
+    private RedisTemplate<String, Object> redisTemplate;
+    private RedisMessageListenerContainer listenerContainer;
+    private LocalDate today;
+    private UUID companyId;
+    private UUID firstAgentId;
+    private UUID secondAgentId;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        query = mock(Query.class);
+        redisTemplate = mock(RedisTemplate.class);
+        listenerContainer = mock(RedisMessageListenerContainer.class);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.getSingleResult()).thenReturn(0L);
+        today = LocalDate.now(ZoneOffset.UTC);
+        companyId = UUID.randomUUID();
+        firstAgentId = UUID.randomUUID();
+        secondAgentId = UUID.randomUUID();
+    }
+
+    @Test
+    void sums_answerAgentAndCompanyRangesFromOneLoad() {
+        when(query.getResultList()).thenReturn(List.of(
+                row(firstAgentId, today.minusDays(2), 10, "100.50"),
+                row(firstAgentId, today, 5, "0.00"),
+                row(secondAgentId, today.minusDays(1), 7, "20.00")
+        ));
+        DailyReportKpiStore store = store(30, Long.MAX_VALUE);
+
+        DailyReportTotals agent = store.sumForAgents(companyId, List.of(firstAgentId), today.minusDays(2), today).orElseThrow();
+        DailyReportTotals company = store.sumForCompany(companyId, today.minusDays(1), today).orElseThrow();
+
+        assertThat(agent.reportCount()).isEqualTo(2);
+        assertThat(agent.outboundDials()).isEqualTo(15);
+        assertThat(agent.contractValue()).isEqualByComparingTo("100.50");
+        assertThat(company.outboundDials()).isEqualTo(12);
+        assertThat(company.contractValue()).isEqualByComparingTo("20.00");
+        verify(query, times(1)).getResultList();
+    }
+
+    @Test
+    void sums_areEmptyForRangesOutsideTheWindow() {
+        when(query.getResultList()).thenReturn(List.of());
+        DailyReportKpiStore store = store(30, Long.MAX_VALUE);
+
+        assertThat(store.sumForCompany(companyId, today.minusDays(60), today)).isEmpty();
+    }
+
+    @Test
+    void apply_updatesLoadedCompanyAndPublishesTheDelta() {
+        when(query.getResultList()).thenReturn(List.<Object[]>of(row(firstAgentId, today, 5, "10.00")));
+        DailyReportKpiStore store = store(30, Long.MAX_VALUE);
+        store.sumForCompany(companyId, today, today);
+
+        DailyReportTotals delta = new DailyReportTotals(
+                0, 3, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, new BigDecimal("2.25"), BigDecimal.ZERO
+        );
+        store.apply(companyId, firstAgentId, today, delta);
+
+        DailyReportTotals company = store.sumForCompany(companyId, today.minusDays(3), today).orElseThrow();
+        assertThat(company.outboundDials()).isEqualTo(8);
+        assertThat(company.contractValue()).isEqualByComparingTo("12.25");
+        verify(query, times(1)).getResultList();
+        verify(redisTemplate).convertAndSend(eq(DailyReportKpiStore.KPI_DELTA_CHANNEL), startsWith("D|"));
+    }
+
+    @Test
+    void store_dropsTheLeastRecentlyReadCompanyOverBudget() {
+        when(query.getResultList()).thenReturn(List.of());
+        DailyReportKpiStore store = store(30, WINDOW_BYTES);
+        UUID otherCompanyId = UUID.randomUUID();
+
+        store.sumForCompany(companyId, today, today);
+        store.sumForCompany(otherCompanyId, today, today);
+        store.sumForCompany(otherCompanyId, today, today);
+
+        assertThat(store.usedBytes()).isEqualTo(WINDOW_BYTES);
+        verify(query, times(2)).getResultList();
+        store.sumForCompany(companyId, today, today);
+        verify(query, times(3)).getResultList();
+    }
+
+    @Test
+    void sums_fallBackWithoutLoadingACompanyOverBudget() {
+        when(query.getSingleResult()).thenReturn(5L);
+        DailyReportKpiStore store = store(30, WINDOW_BYTES);
+
+        assertThat(store.sumForCompany(companyId, today, today)).isEmpty();
+        verify(query, never()).getResultList();
+        assertThat(store.usedBytes()).isZero();
+    }
+
+    @Test
+    void sums_fallBackWithoutLoadingWhileALocalWriteCommits() {
+        DailyReportKpiStore store = store(30, Long.MAX_VALUE);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.apply(companyId, firstAgentId, today, DailyReportTotals.ZERO);
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+
+            assertThat(store.sumForCompany(companyId, today, today)).isEmpty();
+            verify(query, never()).getResultList();
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        when(query.getResultList()).thenReturn(List.of());
+        assertThat(store.sumForCompany(companyId, today, today)).isPresent();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void remoteDelta_evictsACompanyLoadedWithinTheSettleWindow() {
+        when(query.getResultList()).thenReturn(List.<Object[]>of(row(firstAgentId, today, 5, "10.00")));
+        DailyReportKpiStore store = store(30, Long.MAX_VALUE);
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        when(serializer.deserialize(any())).thenReturn("D|other-node|" + companyId + "|" + firstAgentId + "|" + today
+                + "|0,3,0,0,0,0,0,0,0,0,0,0,0,0,0,0");
+        store.ensureSubscribed();
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), any(ChannelTopic.class));
+        store.sumForCompany(companyId, today, today);
+
+        listener.getValue().onMessage(mock(Message.class), null);
+
+        DailyReportTotals company = store.sumForCompany(companyId, today, today).orElseThrow();
+        assertThat(company.outboundDials()).isEqualTo(5);
+        verify(query, times(2)).getResultList();
+    }
+
+    private DailyReportKpiStore store(int windowDays, long maxBytes) {
+        return new DailyReportKpiStore(
+                entityManager,
+                redisTemplate,
+                listenerContainer,
+                600_000,
+                maxBytes,
+                windowDays,
+                60_000
+        );
+    }
+
+    private Object[] row(UUID agentId, LocalDate day, long outboundDials, String contractValue) {
+        Object[] row = new Object[18];
+        row[0] = agentId;
+        row[1] = day;
+        row[2] = 1L;
+        row[3] = outboundDials;
+        for (int index = 4; index < 16; index++) {
+            row[index] = 0L;
+        }
+        row[16] = new BigDecimal(contractValue);
+        row[17] = BigDecimal.ZERO;
+        return row;
+    }
+}
@@ -0,0 +1,62 @@
+package com.salesway.reports.service;
+
+import com.salesway.reports.dto.DailyReportSummaryResponse;
+import com.salesway.reports.entity.DailyReportInputs;
+import com.salesway.reports.entity.DailyReportMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DailyReportKpisTest {
+
+    @Test
+    void summarize_derivesRatesFromTheSummedTotals() {
+        DailyReportTotals totals = new DailyReportTotals(
+                2, 200, 50, 20, 8, 10, 2, 0, 1, 0, 3, 1, 4, 2,
+                new BigDecimal("1200.00"), new BigDecimal("300.00")
+        );
+
+        DailyReportSummaryResponse summary = DailyReportKpis.summarize(
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31), totals
+        );
+
+        assertThat(summary.getReportCount()).isEqualTo(2);
+        assertThat(summary.getTotalSales()).isEqualTo(6);
+        assertThat(summary.getTriagePassthroughRate()).isEqualByComparingTo("0.25");
+        assertThat(summary.getSalesCallShowupRate()).isEqualByComparingTo("0.7");
+        assertThat(summary.getCashCollectionRate()).isEqualByComparingTo("0.25");
+        assertThat(summary.getAvgContractValuePerSale()).isEqualByComparingTo("200.00");
+    }
+
+    @Test
+    void summarize_returnsZeroRatesWithoutReports() {
+        DailyReportSummaryResponse summary = DailyReportKpis.summarize(
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31), DailyReportTotals.ZERO
+        );
+
+        assertThat(summary.getReportCount()).isZero();
+        assertThat(summary.getTotalClosingRate()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(summary.getAvgCashCollectedPerSale()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void applyTo_fillsTheMetricsOfASingleReport() {
+        DailyReportInputs inputs = new DailyReportInputs();
+        inputs.setOutboundDials(40);
+        inputs.setPickups(10);
+        inputs.setSalesOneCallClose(1);
+        inputs.setFollowupSales(1);
+        inputs.setContractValue(new BigDecimal("500.00"));
+        DailyReportMetrics metrics = new DailyReportMetrics();
+
+        DailyReportKpis.applyTo(metrics, DailyReportTotals.of(inputs));
+
+        assertThat(metrics.getTotalSales()).isEqualTo(2);
+        assertThat(metrics.getTriagePassthroughRate()).isEqualByComparingTo("0.25");
+        assertThat(metrics.getOneCallCloseRate()).isEqualByComparingTo("0.5");
+        assertThat(metrics.getAvgContractValuePerSale()).isEqualByComparingTo("250.00");
+    }
+}
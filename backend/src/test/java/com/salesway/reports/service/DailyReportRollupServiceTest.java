@@ -0,0 +1,138 @@
+package com.salesway.reports.service;
+
+import com.salesway.companies.entity.Company;
+import com.salesway.memberships.entity.CompanyMembership;
+import com.salesway.reports.entity.DailyReport;
+import com.salesway.reports.entity.DailyReportInputs;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DailyReportRollupServiceTest {
+
+    private EntityManager entityManager;
+    private Query query;
+    private DailyReportKpiStore dailyReportKpiStore;
+    private DailyReportRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        query = mock(Query.class);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        dailyReportKpiStore = mock(DailyReportKpiStore.class);
+        service = new DailyReportRollupService(entityManager, dailyReportKpiStore);
+    }
+
+    @Test
+    void periods_usesWholeMonthsForAFullYear() {
+        DailyReportRollupService.Periods periods = DailyReportRollupService.periods(
+                LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 12, 31)
+        );
+
+        assertThat(periods.months()).hasSize(12).first().isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(periods.weeks()).isEmpty();
+        assertThat(periods.days()).isEmpty();
+    }
+
+    @Test
+    void periods_fillsPartialMonthsWithWeeksThenDays() {
+        DailyReportRollupService.Periods periods = DailyReportRollupService.periods(
+                LocalDate.of(2024, 1, 3),
+                LocalDate.of(2024, 3, 10)
+        );
+
+        assertThat(periods.months()).containsExactly(LocalDate.of(2024, 2, 1));
+        assertThat(periods.weeks()).containsExactly(
+                LocalDate.of(2024, 1, 8),
+                LocalDate.of(2024, 1, 15),
+                LocalDate.of(2024, 1, 22),
+                LocalDate.of(2024, 3, 4)
+        );
+        assertThat(periods.days()).containsExactly(
+                LocalDate.of(2024, 1, 3),
+                LocalDate.of(2024, 1, 4),
+                LocalDate.of(2024, 1, 5),
+                LocalDate.of(2024, 1, 6),
+                LocalDate.of(2024, 1, 7),
+                LocalDate.of(2024, 1, 29),
+                LocalDate.of(2024, 1, 30),
+                LocalDate.of(2024, 1, 31),
+                LocalDate.of(2024, 3, 1),
+                LocalDate.of(2024, 3, 2),
+                LocalDate.of(2024, 3, 3)
+        );
+    }
+
+    @Test
+    void inputsChanged_appliesOnlyTheDifference() {
+        DailyReportInputs inputs = new DailyReportInputs();
+        inputs.setOutboundDials(10);
+        inputs.setContractValue(new BigDecimal("100.00"));
+        DailyReportTotals before = DailyReportTotals.of(inputs);
+        inputs.setOutboundDials(25);
+        inputs.setContractValue(new BigDecimal("40.00"));
+
+        service.inputsChanged(report(LocalDate.of(2024, 5, 16)), before, inputs);
+
+        verify(query).setParameter("report_count", 0L);
+        verify(query).setParameter("outbound_dials", 15L);
+        verify(query).setParameter("contract_value", new BigDecimal("-60.00"));
+        verify(query).setParameter("week", LocalDate.of(2024, 5, 13));
+        verify(query).setParameter("month", LocalDate.of(2024, 5, 1));
+        verify(query).executeUpdate();
+        verify(dailyReportKpiStore).apply(any(), any(), eq(LocalDate.of(2024, 5, 16)), any());
+    }
+
+    @Test
+    void inputsChanged_skipsWritesThatChangeNoTotals() {
+        DailyReportInputs inputs = new DailyReportInputs();
+        inputs.setPickups(3);
+
+        service.inputsChanged(report(LocalDate.of(2024, 5, 16)), DailyReportTotals.of(inputs), inputs);
+
+        verify(entityManager, never()).createNativeQuery(anyString());
+    }
+
+    @Test
+    void sumForAgent_returnsZeroTotalsWhenNoRollupMatches() {
+        Object[] row = new Object[16];
+        when(query.getSingleResult()).thenReturn(row);
+
+        DailyReportTotals totals = service.sumForAgent(UUID.randomUUID(), LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31));
+
+        assertThat(totals.reportCount()).isZero();
+        assertThat(totals.contractValue()).isEqualByComparingTo(BigDecimal.ZERO);
+        verify(query).setParameter("months", List.of(LocalDate.of(2024, 5, 1)));
+        verify(query, never()).setParameter("days", List.of());
+    }
+
+    private DailyReport report(LocalDate reportDate) {
+        Company company = new Company();
+        company.setId(UUID.randomUUID());
+        CompanyMembership agent = new CompanyMembership();
+        agent.setId(UUID.randomUUID());
+        DailyReport report = new DailyReport();
+        report.setCompany(company);
+        report.setAgentMembership(agent);
+        report.setReportDate(reportDate);
+        return report;
+    }
+}
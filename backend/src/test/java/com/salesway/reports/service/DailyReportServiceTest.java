@@ -0,0 +1,158 @@
+package com.salesway.reports.service;
+
+import com.salesway.auth.entity.User;
+import com.salesway.common.enums.DailyReportAuditAction;
+import com.salesway.common.enums.DailyReportStatus;
+import com.salesway.companies.entity.Company;
+import com.salesway.manager.service.TeamDashboardStreamService;
+import com.salesway.memberships.entity.CompanyMembership;
+import com.salesway.memberships.repository.CompanyMembershipRepository;
+import com.salesway.notifications.service.NotificationService;
+import com.salesway.reports.dto.DailyReportInputsRequest;
+import com.salesway.reports.entity.DailyReport;
+import com.salesway.reports.entity.DailyReportInputs;
+import com.salesway.reports.repository.DailyReportAuditLogRepository;
+import com.salesway.reports.repository.DailyReportInputsRepository;
+import com.salesway.reports.repository.DailyReportMetricsRepository;
+import com.salesway.reports.repository.DailyReportRepository;
+import com.salesway.security.CustomUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DailyReportServiceTest {
+
+    private DailyReportRepository dailyReportRepository;
+    private DailyReportInputsRepository dailyReportInputsRepository;
+    private DailyReportRollupService dailyReportRollupService;
+    private TeamDashboardStreamService teamDashboardStreamService;
+    private DailyReportService dailyReportService;
+    private CompanyMembership agent;
+    private DailyReport report;
+
+    @BeforeEach
+    void setUp() {
+        dailyReportRepository = mock(DailyReportRepository.class);
+        dailyReportInputsRepository = mock(DailyReportInputsRepository.class);
+        CompanyMembershipRepository companyMembershipRepository = mock(CompanyMembershipRepository.class);
+        dailyReportRollupService = mock(DailyReportRollupService.class);
+        teamDashboardStreamService = mock(TeamDashboardStreamService.class);
+        dailyReportService = new DailyReportService(
+                dailyReportRepository,
+                dailyReportInputsRepository,
+                mock(DailyReportMetricsRepository.class),
+                mock(DailyReportAuditLogRepository.class),
+                companyMembershipRepository,
+                mock(NotificationService.class),
+                dailyReportRollupService,
+                mock(DailyReportAggregationService.class),
+                teamDashboardStreamService,
+                mock(DailyReportDraftBuffer.class)
+        );
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("agent@test.com");
+        user.setPasswordHash("x");
+        Company company = new Company();
+        company.setId(UUID.randomUUID());
+        agent = new CompanyMembership();
+        agent.setId(UUID.randomUUID());
+        agent.setCompany(company);
+        agent.setUser(user);
+        when(companyMembershipRepository.findFirstByUserIdAndStatusIn(eq(user.getId()), any()))
+                .thenReturn(Optional.of(agent));
+        CustomUserDetails principal = new CustomUserDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())
+        );
+
+        report = new DailyReport();
+        report.setId(UUID.randomUUID());
+        report.setCompany(company);
+        report.setAgentMembership(agent);
+        report.setReportDate(LocalDate.now(ZoneOffset.UTC));
+        report.setStatus(DailyReportStatus.DRAFT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void submitReport_locksTheReportBeforeReadingTheInputsAFlushWrote() {
+        DailyReportInputs flushed = new DailyReportInputs();
+        flushed.setDailyReport(report);
+        flushed.setOutboundDials(5);
+        when(dailyReportRepository.findByAgentMembershipIdAndReportDateForUpdate(agent.getId(), report.getReportDate()))
+                .thenReturn(Optional.of(report));
+        when(dailyReportInputsRepository.findByDailyReportId(report.getId())).thenReturn(Optional.of(flushed));
+
+        dailyReportService.submitReport(request(8));
+
+        InOrder order = inOrder(dailyReportRepository, dailyReportInputsRepository);
+        order.verify(dailyReportRepository).findByAgentMembershipIdAndReportDateForUpdate(agent.getId(), report.getReportDate());
+        order.verify(dailyReportInputsRepository).findByDailyReportId(report.getId());
+        verify(dailyReportRepository, never()).findByAgentMembershipIdAndReportDate(any(), any());
+        ArgumentCaptor<DailyReportTotals> delta = ArgumentCaptor.forClass(DailyReportTotals.class);
+        verify(teamDashboardStreamService).reportChanged(eq(DailyReportAuditAction.SUBMIT), eq(report), delta.capture());
+        // only the change on top of the flushed draft is applied
+        assertThat(delta.getValue().outboundDials()).isEqualTo(3);
+        assertThat(report.getStatus()).isEqualTo(DailyReportStatus.SUBMITTED);
+    }
+
+    @Test
+    void flushDraft_dropsADraftWhoseReportWasSubmittedUnderTheLock() {
+        report.setStatus(DailyReportStatus.SUBMITTED);
+        when(dailyReportRepository.findByAgentMembershipIdAndReportDateForUpdate(agent.getId(), report.getReportDate()))
+                .thenReturn(Optional.of(report));
+
+        dailyReportService.flushDraft(agent.getId(), report.getReportDate(), request(5), 2);
+
+        verify(dailyReportInputsRepository, never()).findByDailyReportId(any());
+        verify(dailyReportRollupService, never()).inputsChanged(any(), any(), any());
+        verify(teamDashboardStreamService, never()).reportChanged(any(), any(), any());
+        verify(dailyReportRepository, never()).findByAgentMembershipIdAndReportDate(any(), any());
+        verify(dailyReportInputsRepository, never()).save(any());
+    }
+
+    private DailyReportInputsRequest request(int outboundDials) {
+        DailyReportInputsRequest request = new DailyReportInputsRequest();
+        request.setOutboundDials(outboundDials);
+        request.setPickups(0);
+        request.setConversations30sPlus(0);
+        request.setSalesCallBookedFromOutbound(0);
+        request.setSalesCallOnCalendar(0);
+        request.setNoShow(0);
+        request.setRescheduleRequest(0);
+        request.setCancel(0);
+        request.setDeposits(0);
+        request.setSalesOneCallClose(0);
+        request.setFollowupSales(0);
+        request.setUpsellConversationTaken(0);
+        request.setUpsells(0);
+        request.setContractValue(BigDecimal.ZERO);
+        request.setNewCashCollected(BigDecimal.ZERO);
+        return request;
+    }
+}
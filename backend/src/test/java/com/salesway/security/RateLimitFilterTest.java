@@ -0,0 +1,121 @@
+package com.salesway.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitFilterTest {
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.rate-limit.login.limit", "2");
+        filter = new RateLimitFilter(new RateLimiter(redisTemplate, meterRegistry, 100), environment, true);
+    }
+
+    @Test
+    void rejectsWithRetryAfterWhenRedisReportsTheWindowIsFull() throws Exception {
+        when(redisTemplate.execute(anyScript(), eq(List.of("rate-limit:login:203.0.113.7")), any(), any(), any(), any()))
+                .thenReturn(1_500L);
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("POST", "/auth/login"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+        verify(chain, never()).doFilter(any(), any());
+        assertThat(meterRegistry.counter("rate_limit.decisions",
+                "policy", "login", "outcome", "rejected", "backend", "redis").count()).isEqualTo(1);
+    }
+
+    @Test
+    void scopesPublicSubmitsByClientAndFormSlug() throws Exception {
+        when(redisTemplate.execute(anyScript(), anyList(), any(), any(), any(), any())).thenReturn(0L);
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(request("POST", "/public/lead-form/Spring-Promo/submit"), new MockHttpServletResponse(), chain);
+
+        verify(redisTemplate).execute(anyScript(), eq(List.of("rate-limit:public-submit-ip:203.0.113.7|spring-promo")),
+                any(), any(), any(), any());
+        verify(redisTemplate).execute(anyScript(), eq(List.of("rate-limit:public-submit-form:spring-promo")),
+                any(), any(), any(), any());
+        verify(chain).doFilter(any(), any());
+    }
+
+    @Test
+    void fallsBackToPerNodeLimitsWhenRedisIsDown() throws Exception {
+        when(redisTemplate.execute(anyScript(), anyList(), any(), any(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        filter.doFilter(request("POST", "/auth/login"), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("POST", "/auth/login"), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("POST", "/auth/login"), rejected, chain);
+
+        verify(chain, times(2)).doFilter(any(), any());
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isNotNull();
+    }
+
+    @Test
+    void keysClientScopesOnTheRemoteAddressNotOnForwardedHeaders() throws Exception {
+        when(redisTemplate.execute(anyScript(), anyList(), any(), any(), any(), any())).thenReturn(0L);
+        MockHttpServletRequest request = request("POST", "/auth/login");
+        request.addHeader("X-Forwarded-For", "198.51.100.99");
+        request.addHeader("X-Real-IP", "198.51.100.98");
+
+        filter.doFilter(request, new MockHttpServletResponse(), mock(FilterChain.class));
+
+        verify(redisTemplate).execute(anyScript(), eq(List.of("rate-limit:login:203.0.113.7")),
+                any(), any(), any(), any());
+    }
+
+    @Test
+    void ignoresRoutesWithoutAPolicy() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(request("GET", "/manager/leads"), new MockHttpServletResponse(), chain);
+
+        verify(chain).doFilter(any(), any());
+        verify(redisTemplate, never()).execute(anyScript(), anyList(), any(), any(), any(), any());
+    }
+
+    private static RedisScript<Long> anyScript() {
+        return any();
+    }
+
+    private MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        request.setRemoteAddr("203.0.113.7");
+        return request;
+    }
+}
@@ -0,0 +1,80 @@
+package com.salesway.security;
+
+import com.salesway.auth.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenVersionServiceTest {
+
+    private UserRepository userRepository;
+    private RedisTemplate<String, Object> redisTemplate;
+    private ValueOperations<String, Object> valueOperations;
+    private TokenVersionService service;
+    private UUID userId;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        service = new TokenVersionService(userRepository, redisTemplate, 3600);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void isCurrent_comparesAgainstTheMirroredVersionWithoutTouchingTheDatabase() {
+        when(valueOperations.get("auth:token-version:" + userId)).thenReturn(3);
+
+        assertThat(service.isCurrent(userId, 3)).isTrue();
+        assertThat(service.isCurrent(userId, 2)).isFalse();
+        verify(userRepository, never()).findTokenVersionById(any());
+    }
+
+    @Test
+    void isCurrent_fillsAMissingKeyFromTheDatabase() {
+        when(userRepository.findTokenVersionById(userId)).thenReturn(Optional.of(5L));
+
+        assertThat(service.isCurrent(userId, 4)).isFalse();
+        verify(valueOperations).setIfAbsent("auth:token-version:" + userId, 5L, Duration.ofSeconds(3600));
+    }
+
+    @Test
+    void isCurrent_treatsDeletedUsersAsRevokedWhenRedisIsDown() {
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        when(userRepository.findTokenVersionById(userId)).thenReturn(Optional.empty());
+
+        assertThat(service.isCurrent(userId, 7)).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void revoke_bumpsTheVersionAndPublishesItOutsideATransaction() {
+        when(userRepository.findTokenVersionsByIdIn(List.of(userId))).thenReturn(List.<Object[]>of(new Object[]{userId, 2L}));
+
+        service.revoke(List.of(userId));
+
+        verify(userRepository).incrementTokenVersions(List.of(userId));
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), eq(2L), eq(3_600_000L));
+    }
+}
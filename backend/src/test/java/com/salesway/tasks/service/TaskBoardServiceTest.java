@@ -4,6 +4,7 @@ import com.salesway.common.enums.MembershipStatus;
 import com.salesway.companies.entity.Company;
 import com.salesway.leads.repository.LeadRepository;
 import com.salesway.leads.service.LeadEventService;
+import com.salesway.leads.service.LeadOpenTaskService;
 import com.salesway.memberships.entity.CompanyMembership;
 import com.salesway.memberships.repository.CompanyMembershipRepository;
 import com.salesway.security.AuthenticatedUserService;
@@ -76,6 +77,7 @@ class TaskBoardServiceTest {
                 companyMembershipRepository,
                 leadRepository,
                 leadEventService,
+                mock(LeadOpenTaskService.class),
                 authenticatedUserService
         );
 